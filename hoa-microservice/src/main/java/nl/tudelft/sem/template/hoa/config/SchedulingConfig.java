@@ -0,0 +1,14 @@
+package nl.tudelft.sem.template.hoa.config;
+
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background jobs, like the ActivitySweeper.
+ */
+@Generated
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,57 @@
+package nl.tudelft.sem.template.hoa.config;
+
+import nl.tudelft.sem.template.hoa.utils.MembershipCache;
+import nl.tudelft.sem.template.hoa.utils.ServiceClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+
+/**
+ * The config of the clients for the other microservices, read from the hoa.clients.* properties.
+ * The clients, and the cache of the looked up memberships, are injected into ElectionUtils and MembershipUtils.
+ */
+@Configuration
+public class ServiceClientConfig {
+
+    private final transient Environment environment;
+
+    /**
+     * Constructor for the client config.
+     *
+     * @param environment the environment the hoa.clients.* properties are read from
+     */
+    public ServiceClientConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Client for the voting microservice.
+     *
+     * @return The client.
+     */
+    @Bean(destroyMethod = "close")
+    public ServiceClient votingClient() {
+        return ServiceClient.of("voting", "http://localhost:8085/voting/", environment);
+    }
+
+    /**
+     * Client for the membership microservice.
+     *
+     * @return The client.
+     */
+    @Bean(destroyMethod = "close")
+    public ServiceClient membershipClient() {
+        return ServiceClient.of("membership", "http://localhost:8083/member/", environment);
+    }
+
+    /**
+     * Cache of the memberships looked up in the membership microservice.
+     *
+     * @return The cache.
+     */
+    @Bean
+    public MembershipCache membershipCache() {
+        return MembershipCache.of(environment);
+    }
+}
@@ -1,10 +1,12 @@
 package nl.tudelft.sem.template.hoa.controllers;
 
 import java.util.List;
+import java.util.Optional;
 
 import nl.tudelft.sem.template.hoa.db.ActivityService;
 import nl.tudelft.sem.template.hoa.db.HoaService;
 import nl.tudelft.sem.template.hoa.domain.Activity;
+import nl.tudelft.sem.template.hoa.exception.ActivityDoesntExistException;
 import nl.tudelft.sem.template.hoa.exception.BadActivityException;
 import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
 import nl.tudelft.sem.template.hoa.models.ActivityRequestModel;
@@ -23,6 +25,8 @@ import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 public class ActivityController {
+    private static final int PARTICIPANTS_PAGE_SIZE = 50;
+
     private final transient ActivityService activityService;
     private final transient HoaService hoaService;
 
@@ -83,13 +87,39 @@ public class ActivityController {
     public ResponseEntity<List<Activity>> getPublicBoard(@PathVariable long hoaId,
                                                          @PathVariable long membershipId) {
         if (this.activityService.isInThisHoa(membershipId, hoaId)) {
-            return ResponseEntity.ok(this.activityService.updateAndRetrieveActivities(hoaId));
+            return ResponseEntity.ok(this.activityService.getUpcomingActivities(hoaId));
         } else {
             return ResponseEntity.badRequest().build();
         }
     }
 
 
+    /**
+     * Endpoint for listing the members that joined an activity, a page at a time,
+     * if the requesting member is in the HOA that hosts the activity.
+     *
+     * @param membershipId the membership id of the member requesting
+     * @param activityId   the id of the activity
+     * @param page         Optional number of the page, starting at 0
+     * @return a response entity with the membership ids of the participants on the page, in the order they joined
+     */
+    @GetMapping(value = {"/activity/participants/{membershipId}/{activityId}",
+        "/activity/participants/{membershipId}/{activityId}/{page}"})
+    public ResponseEntity<List<Long>> getParticipants(@PathVariable long membershipId,
+                                                      @PathVariable long activityId,
+                                                      @PathVariable Optional<Integer> page) {
+        try {
+            Activity activity = this.activityService.getActivityById(activityId);
+            if (!this.activityService.isInThisHoa(membershipId, activity.getHoaId())) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(this.activityService.getParticipants(activityId,
+                    Math.max(0, page.orElse(0)), PARTICIPANTS_PAGE_SIZE));
+        } catch (ActivityDoesntExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Endpoint for creating an activity for a specific HOA,
      * works if the user requesting it is in the hoa that will host the activity.
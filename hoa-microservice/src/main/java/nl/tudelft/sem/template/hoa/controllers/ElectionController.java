@@ -1,15 +1,13 @@
 package nl.tudelft.sem.template.hoa.controllers;
 
 import nl.tudelft.sem.template.hoa.authentication.AuthManager;
-import nl.tudelft.sem.template.hoa.db.HoaRepo;
-import nl.tudelft.sem.template.hoa.domain.Hoa;
+import nl.tudelft.sem.template.hoa.db.ElectionOutcomeService;
 import nl.tudelft.sem.template.hoa.domain.electionchecks.NotBoardForTooLongValidator;
 import nl.tudelft.sem.template.hoa.domain.electionchecks.NotInAnyOtherBoardValidator;
 import nl.tudelft.sem.template.hoa.domain.electionchecks.TimeInCurrentHoaValidator;
 import nl.tudelft.sem.template.hoa.domain.electionchecks.Validator;
 import nl.tudelft.sem.template.hoa.models.MembershipResponseModel;
 import nl.tudelft.sem.template.hoa.models.RemoveVoteModel;
-import nl.tudelft.sem.template.hoa.models.TimeModel;
 import nl.tudelft.sem.template.hoa.utils.ElectionUtils;
 import nl.tudelft.sem.template.hoa.utils.MembershipUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,10 +24,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 import nl.tudelft.sem.template.hoa.models.BoardElectionRequestModel;
@@ -41,15 +37,15 @@ import nl.tudelft.sem.template.hoa.models.VotingModel;
 public class ElectionController {
 
     private transient AuthManager authManager;
-    private transient HoaRepo hoaRepo;
+    private transient ElectionOutcomeService outcomeService;
 
     private static final String winC = "winningChoice";
 
     @Autowired
     public ElectionController(AuthManager authManager,
-                              HoaRepo hoaRepo) {
+                              ElectionOutcomeService outcomeService) {
         this.authManager = authManager;
-        this.hoaRepo = hoaRepo;
+        this.outcomeService = outcomeService;
     }
 
     /**
@@ -165,35 +161,8 @@ public class ElectionController {
             LinkedHashMap<String, Object> e = fetchElectionAsEntity(electionId, true, token);
             Object result = ElectionUtils.concludeElection(electionId);
             // having winningChoice -> proposal, otherwise board election (bad class casting, but works...)
-            if (!e.containsKey(winC)) {
-                TimeModel scheduledFor = TimeModel.createModelFromArr(Arrays.stream(
-                        ((String) e.get("scheduledFor"))
-                        .split("\\D+")).map(Integer::parseInt).toArray(Integer[]::new));
-                long hoaId = (long) (int) e.get("hoaId");
-                // start automatic annual board election
-                scheduledFor.year += 1;
-                ElectionUtils.createBoardElection(new BoardElectionRequestModel(hoaId, 2,
-                        List.of(), "Annual board election",
-                        "This is the auto-generated annual board election", scheduledFor));
-                // clear board
-                MembershipUtils.resetBoard(hoaId);
-                // promote winners and demote rest of board
-                MembershipUtils.promoteWinners(result, hoaId);
-            } else if ((Boolean) result) {
-                long hoaId = (long) (int) e.get("hoaId");
-                Optional<Hoa> hoa = hoaRepo.findById(hoaId);
-                if (hoa.isEmpty()) throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "Hoa with given id does not exists?");
-                // for each member in the HOA, add an entry in notification mapper
-                for (String memberId : MembershipUtils.getActiveMembershipsOfHoa(hoaId, token)
-                        .stream().map(MembershipResponseModel::getMemberId).collect(Collectors.toList())) {
-                    // PMD... cmon, really?
-                    String rule = (String) e.get("description");
-                    hoa.get().notify(memberId, rule);
-                }
-                // explicit save due to lack of hoaService
-                hoaRepo.save(hoa.get());
-            }
+            outcomeService.deliver(electionId, !e.containsKey(winC), (long) (int) e.get("hoaId"),
+                    (String) e.get("scheduledFor"), (String) e.get("description"), result);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
@@ -318,11 +287,4 @@ public class ElectionController {
         this.authManager = a;
     }
 
-
-    /** Setter method used when AuthManager needs to be mocked
-     * @param a - AuthManager to be mocked
-     */
-    public void setHoaRepo(HoaRepo a) {
-        this.hoaRepo = a;
-    }
 }
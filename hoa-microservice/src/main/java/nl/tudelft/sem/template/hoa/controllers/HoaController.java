@@ -120,9 +120,11 @@ public class HoaController {
                                                          @RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
         try {
             List<MembershipResponseModel> memberships = MembershipUtils.getActiveMembershipsForUser(memberId, token);
-            if (memberships.stream().noneMatch(m -> m.getHoaId() == hoaId))
+            Optional<MembershipResponseModel> membership = memberships.stream()
+                    .filter(m -> m.getHoaId() == hoaId).findFirst();
+            if (membership.isEmpty())
                 throw new IllegalAccessException("Access is not allowed");
-            List<String> res = hoaService.clearNotifications(hoaId, memberId);
+            List<String> res = hoaService.clearNotifications(hoaId, memberId, membership.get().getStartTime());
             return ResponseEntity.ok(res);
         } catch (HoaDoesntExistException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
@@ -131,6 +133,22 @@ public class HoaController {
         }
     }
 
+    /**
+     * Hook for when memberships of an HOA change, so the cached memberships of the HOA
+     * (and of the member that joined or left it, if given) are looked up again.
+     *
+     * @param hoaId    id of the HOA whose memberships changed
+     * @param memberId Optional id of the member that joined or left the HOA
+     * @return 200 OK once the cached memberships are forgotten
+     */
+    @PostMapping(value = {"/invalidateMemberships/{hoaId}", "/invalidateMemberships/{hoaId}/{memberId}"})
+    public ResponseEntity<Boolean> invalidateMemberships(@PathVariable long hoaId,
+                                                         @PathVariable Optional<String> memberId) {
+        MembershipUtils.invalidateHoa(hoaId);
+        memberId.ifPresent(MembershipUtils::invalidateMember);
+        return ResponseEntity.ok(true);
+    }
+
     /**
      * Setter method used when HoaService needs to be mocked
      *
@@ -3,7 +3,9 @@ package nl.tudelft.sem.template.hoa.controllers;
 import nl.tudelft.sem.template.hoa.db.HoaRepo;
 import nl.tudelft.sem.template.hoa.db.HoaService;
 import nl.tudelft.sem.template.hoa.db.RequirementService;
+import nl.tudelft.sem.template.hoa.domain.MemberReportCount;
 import nl.tudelft.sem.template.hoa.domain.Requirement;
+import nl.tudelft.sem.template.hoa.domain.RequirementReportCount;
 import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
 import nl.tudelft.sem.template.hoa.exception.RequirementAlreadyPresent;
 import nl.tudelft.sem.template.hoa.exception.RequirementDoesNotExist;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * The controller related to requirements.
@@ -29,10 +32,13 @@ import java.util.List;
 @RestController
 @RequestMapping("/requirement")
 public class RequirementController {
+    private static final int DEFAULT_REPORT_LIMIT = 10;
+    private static final int MAX_REPORT_LIMIT = 100;
+
     private transient RequirementService requirementService;
     private final transient HoaRepo hoaRepo;
 
-    private final transient HoaService hoaService;
+    private transient HoaService hoaService;
 
 
     /**
@@ -107,6 +113,13 @@ public class RequirementController {
         this.requirementService = h;
     }
 
+    /** Setter method used when HoaService needs to be mocked
+     * @param h - HoaService to be mocked
+     */
+    public void setHoaService(HoaService h) {
+        this.hoaService = h;
+    }
+
     /**
      * Endpoint for reporting a member of an HOA for violating a rule/requirement
      *
@@ -132,4 +145,42 @@ public class RequirementController {
         hoaService.report(memberId, reqId);
         return ResponseEntity.ok(true);
     }
+
+    /**
+     * Endpoint for getting the most reported members of an HOA
+     *
+     * @param hoaId id of HOA to consider
+     * @param limit Optional amount of members to return, 10 by default and 100 at most
+     * @return the report counters of the members, most reported first
+     */
+    @GetMapping(value = {"/topOffenders/{hoaId}", "/topOffenders/{hoaId}/{limit}"})
+    public ResponseEntity<List<MemberReportCount>> getTopOffenders(@PathVariable long hoaId,
+                                                                   @PathVariable Optional<Integer> limit) {
+        try {
+            return ResponseEntity.ok(hoaService.getTopOffenders(hoaId, reportLimit(limit)));
+        } catch (HoaDoesntExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Endpoint for getting the requirements of an HOA that were reported broken most often
+     *
+     * @param hoaId id of HOA to consider
+     * @param limit Optional amount of requirements to return, 10 by default and 100 at most
+     * @return the report counters of the requirements, most reported first
+     */
+    @GetMapping(value = {"/mostBroken/{hoaId}", "/mostBroken/{hoaId}/{limit}"})
+    public ResponseEntity<List<RequirementReportCount>> getMostBroken(@PathVariable long hoaId,
+                                                                      @PathVariable Optional<Integer> limit) {
+        try {
+            return ResponseEntity.ok(hoaService.getMostBrokenRequirements(hoaId, reportLimit(limit)));
+        } catch (HoaDoesntExistException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static int reportLimit(Optional<Integer> limit) {
+        return Math.min(MAX_REPORT_LIMIT, Math.max(1, limit.orElse(DEFAULT_REPORT_LIMIT)));
+    }
 }
@@ -0,0 +1,52 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import nl.tudelft.sem.template.hoa.domain.ActivityParticipant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository that holds the participants of the activities.
+ */
+@Repository
+public interface ActivityParticipantRepo extends JpaRepository<ActivityParticipant, Long> {
+
+    /**
+     * Check whether a member joined an activity.
+     */
+    boolean existsByActivityIdAndMembershipId(long activityId, long membershipId);
+
+    /**
+     * Find a page of the memberships that joined an activity, in the order they joined.
+     */
+    @Query("select p.membershipId from ActivityParticipant p where p.activityId = ?1 order by p.id")
+    List<Long> findMembershipIds(long activityId, Pageable page);
+
+    /**
+     * Remove a member from an activity.
+     *
+     * @return the amount of removed participants, 0 if the member did not join the activity
+     */
+    @Modifying
+    @Query("delete from ActivityParticipant p where p.activityId = ?1 and p.membershipId = ?2")
+    int removeParticipant(long activityId, long membershipId);
+
+    /**
+     * Remove all participants of an activity.
+     */
+    @Modifying
+    @Query("delete from ActivityParticipant p where p.activityId = ?1")
+    int removeAllOfActivity(long activityId);
+
+    /**
+     * Remove the participants of the activities that started before the given time.
+     */
+    @Modifying
+    @Query("delete from ActivityParticipant p where p.activityId in "
+            + "(select a.id from Activity a where a.activityTime < ?1)")
+    int removeAllOfActivitiesBefore(LocalDateTime time);
+}
@@ -1,10 +1,14 @@
 package nl.tudelft.sem.template.hoa.db;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import nl.tudelft.sem.template.hoa.domain.Activity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * The repository that will hold all of our activities.
@@ -21,4 +25,28 @@ public interface ActivityRepo extends JpaRepository<Activity, Long> {
      * Find activity by hoaID.
      */
     Optional<List<Activity>> findByHoaId(long hoaId);
+
+    /**
+     * Find the activities of an HOA that start after the given time, soonest first.
+     */
+    List<Activity> findByHoaIdAndActivityTimeAfterOrderByActivityTimeAsc(long hoaId, LocalDateTime time);
+
+    /**
+     * Delete the activities that started before the given time, in a single statement.
+     *
+     * @return the amount of deleted activities
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Activity a where a.activityTime < ?1")
+    int deleteByActivityTimeBefore(LocalDateTime time);
+
+    /**
+     * Add to the participant count of an activity in place, a negative amount removes participants.
+     *
+     * @return the amount of updated activities, 0 if the activity does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Activity a set a.participantCount = a.participantCount + ?2 where a.id = ?1")
+    int addToParticipantCount(long activityId, long amount);
 }
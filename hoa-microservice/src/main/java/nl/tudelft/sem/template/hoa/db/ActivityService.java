@@ -5,13 +5,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import nl.tudelft.sem.template.hoa.domain.Activity;
+import nl.tudelft.sem.template.hoa.domain.ActivityParticipant;
 import nl.tudelft.sem.template.hoa.exception.ActivityDoesntExistException;
 import nl.tudelft.sem.template.hoa.exception.BadActivityException;
 import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
 import nl.tudelft.sem.template.hoa.models.ActivityRequestModel;
 import nl.tudelft.sem.template.hoa.models.MembershipResponseModel;
 import nl.tudelft.sem.template.hoa.utils.MembershipUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * A DDD service for activity-related queries.
@@ -20,14 +23,17 @@ import org.springframework.stereotype.Service;
 public class ActivityService {
 
     private final transient ActivityRepo activityRepo;
+    private final transient ActivityParticipantRepo participantRepo;
 
     /**
      * Constructor for the activity service.
      *
-     * @param activityRepo the activity repository
+     * @param activityRepo    the activity repository
+     * @param participantRepo the repository of the participants of the activities
      */
-    public ActivityService(ActivityRepo activityRepo) {
+    public ActivityService(ActivityRepo activityRepo, ActivityParticipantRepo participantRepo) {
         this.activityRepo = activityRepo;
+        this.participantRepo = participantRepo;
     }
 
     /**
@@ -61,29 +67,32 @@ public class ActivityService {
      *
      * @param activity the activity to be deleted.
      */
+    @Transactional
     public void deleteActivity(Activity activity) {
+        participantRepo.removeAllOfActivity(activity.getId());
         activityRepo.delete(activity);
     }
 
     /**
      * Method that adds a user to an activity, if that user is in the hoa that hosts the activity.
+     * Joining an activity twice does nothing.
      *
      * @param membershipId the membership id of the user
      * @param activityId   the activity id
      * @return the activity where the user is added
      * @throws ActivityDoesntExistException is thrown if the activity does not exist
      */
+    @Transactional
     public Activity joinActivity(long membershipId, long activityId) throws ActivityDoesntExistException {
         Activity activity = this.getActivityById(activityId);
         MembershipResponseModel model = MembershipUtils.getMembershipById(membershipId);
         if (activity.getHoaId() != model.getHoaId()) {
             throw new IllegalArgumentException("Member is not eligible to join this!");
-        } else {
-            activity.joinActivity(membershipId);
-            this.addActivity(activity);
-            return activity;
         }
-
+        if (participantRepo.existsByActivityIdAndMembershipId(activityId, membershipId)) return activity;
+        participantRepo.save(new ActivityParticipant(activityId, membershipId, LocalDateTime.now()));
+        activityRepo.addToParticipantCount(activityId, 1);
+        return this.getActivityById(activityId);
     }
 
     /**
@@ -94,17 +103,32 @@ public class ActivityService {
      * @return the activity left
      * @throws ActivityDoesntExistException thrown if the activity does not exist
      */
+    @Transactional
     public Activity leaveActivity(long membershipId, long activityId) throws ActivityDoesntExistException {
         Activity activity = this.getActivityById(activityId);
         MembershipResponseModel model = MembershipUtils.getMembershipById(membershipId);
         if (activity.getHoaId() != model.getHoaId()) {
             throw new IllegalArgumentException("Member is not eligible to join this!");
-        } else {
-            activity.leaveActivity(membershipId);
-            this.addActivity(activity);
-            return activity;
         }
+        if (participantRepo.removeParticipant(activityId, membershipId) == 0) return activity;
+        activityRepo.addToParticipantCount(activityId, -1);
+        return this.getActivityById(activityId);
+    }
 
+    /**
+     * Query to get a page of the members that joined an activity, in the order they joined.
+     *
+     * @param activityId the id of the activity
+     * @param page       the number of the page, starting at 0
+     * @param size       the amount of participants per page
+     * @return the membership ids of the participants on the page
+     * @throws ActivityDoesntExistException thrown if the activity does not exist
+     */
+    public List<Long> getParticipants(long activityId, int page, int size) throws ActivityDoesntExistException {
+        if (!activityRepo.existsById(activityId)) {
+            throw new ActivityDoesntExistException("Activity with id " + activityId + " doesn't exist.");
+        }
+        return participantRepo.findMembershipIds(activityId, PageRequest.of(page, size));
     }
 
     /**
@@ -120,20 +144,26 @@ public class ActivityService {
     }
 
     /**
-     * Updates and retrieves ongoing activities.
+     * Retrieves the activities on the public board, the ones that did not start yet.
+     * Expired activities are left for the ActivitySweeper to remove, so reading the board does not write.
      *
      * @param hoaId the hoaId
-     * @return the list of activities
+     * @return the list of activities, soonest first
      */
-    public List<Activity> updateAndRetrieveActivities(long hoaId) {
-        List<Activity> activities = this.getActivitiesByHoaId(hoaId);
-        for (Activity activity : activities) {
-            if (activity.isExpired()) {
-                this.deleteActivity(activity);
-            }
-        }
-        activities = this.getActivitiesByHoaId(hoaId);
-        return activities;
+    public List<Activity> getUpcomingActivities(long hoaId) {
+        return activityRepo.findByHoaIdAndActivityTimeAfterOrderByActivityTimeAsc(hoaId, LocalDateTime.now());
+    }
+
+    /**
+     * Removes all expired activities, of every HOA.
+     *
+     * @param now the time activities that started before are expired
+     * @return the amount of removed activities
+     */
+    @Transactional
+    public int removeExpiredActivities(LocalDateTime now) {
+        participantRepo.removeAllOfActivitiesBefore(now);
+        return activityRepo.deleteByActivityTimeBefore(now);
     }
 
     /**
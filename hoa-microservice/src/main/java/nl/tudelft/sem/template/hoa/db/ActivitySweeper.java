@@ -0,0 +1,34 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.time.LocalDateTime;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically removes the activities that expired from the public boards, see hoa.activities.* properties.
+ */
+@Component
+public class ActivitySweeper {
+
+    private final transient ActivityService activityService;
+
+    /**
+     * Constructor for the activity sweeper.
+     *
+     * @param activityService the activity service
+     */
+    public ActivitySweeper(ActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    /**
+     * Removes the activities that started before now.
+     *
+     * @return the amount of removed activities
+     */
+    @Scheduled(initialDelayString = "${hoa.activities.sweep-interval-ms:60000}",
+            fixedDelayString = "${hoa.activities.sweep-interval-ms:60000}")
+    public int sweep() {
+        return activityService.removeExpiredActivities(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,12 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import nl.tudelft.sem.template.hoa.domain.AppliedElectionOutcome;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository that holds the elections whose outcome was applied, keyed by the id of the election.
+ */
+@Repository
+public interface AppliedElectionOutcomeRepo extends JpaRepository<AppliedElectionOutcome, Integer> {
+}
@@ -0,0 +1,60 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.util.List;
+import java.util.Map;
+
+import nl.tudelft.sem.template.hoa.utils.ElectionUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically applies the outcome of the elections the voting microservice concluded when their voting period
+ * was over, see hoa.elections.* properties.
+ * The voting microservice keeps an outcome pending until it is acknowledged, so an outcome that failed to apply
+ * or whose acknowledgement got lost is delivered again by the next sweep.
+ */
+@Component
+public class ElectionConclusionSweeper {
+
+    private final transient ElectionOutcomeService outcomeService;
+
+    /**
+     * Constructor for the election conclusion sweeper.
+     *
+     * @param outcomeService the service applying the outcome of a concluded election
+     */
+    public ElectionConclusionSweeper(ElectionOutcomeService outcomeService) {
+        this.outcomeService = outcomeService;
+    }
+
+    /**
+     * Applies and acknowledges the outcome of every concluded election that is still pending.
+     * If the voting microservice cannot be reached nothing is applied, and the next sweep tries again.
+     *
+     * @return the amount of elections whose outcome was applied and acknowledged
+     */
+    @Scheduled(initialDelayString = "${hoa.elections.conclude-interval-ms:60000}",
+            fixedDelayString = "${hoa.elections.conclude-interval-ms:60000}")
+    @SuppressWarnings("unchecked")
+    public int sweep() {
+        List<Map<String, Object>> pending;
+        try {
+            pending = (List<Map<String, Object>>) ElectionUtils.getPendingOutcomes();
+        } catch (RuntimeException e) {
+            return 0;
+        }
+        if (pending == null) return 0;
+        int delivered = 0;
+        for (Map<String, Object> e : pending) {
+            try {
+                boolean acknowledged = outcomeService.deliver(((Number) e.get("electionId")).intValue(),
+                        "board".equals(e.get("type")), ((Number) e.get("hoaId")).longValue(),
+                        (String) e.get("scheduledFor"), (String) e.get("description"), e.get("result"));
+                if (acknowledged) delivered++;
+            } catch (RuntimeException ex) {
+                // stays pending, one failing HOA does not keep the others from their outcome
+            }
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,97 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import nl.tudelft.sem.template.hoa.domain.AppliedElectionOutcome;
+import nl.tudelft.sem.template.hoa.models.BoardElectionRequestModel;
+import nl.tudelft.sem.template.hoa.models.TimeModel;
+import nl.tudelft.sem.template.hoa.utils.ElectionUtils;
+import nl.tudelft.sem.template.hoa.utils.MembershipUtils;
+import org.springframework.stereotype.Service;
+
+/**
+ * Applies the outcome of a concluded election to its HOA, whether it was concluded on request or by the sweeper.
+ */
+@Service
+public class ElectionOutcomeService {
+
+    private transient HoaService hoaService;
+    private final transient AppliedElectionOutcomeRepo appliedOutcomeRepo;
+
+    /**
+     * Constructor for the election outcome service.
+     *
+     * @param hoaService         the hoa service that publishes the notifications
+     * @param appliedOutcomeRepo the elections whose outcome was applied already
+     */
+    public ElectionOutcomeService(HoaService hoaService, AppliedElectionOutcomeRepo appliedOutcomeRepo) {
+        this.hoaService = hoaService;
+        this.appliedOutcomeRepo = appliedOutcomeRepo;
+    }
+
+    /**
+     * Applies the outcome of a concluded election unless it was applied before, then acknowledges it to the
+     * voting microservice. The voting microservice keeps delivering the outcome until it is acknowledged,
+     * so an acknowledgement that got lost only makes the next delivery acknowledge it again.
+     *
+     * @param electionId   the id of the concluded election
+     * @param board        whether the election is a board election or a proposal
+     * @param hoaId        the id of the HOA of the election
+     * @param scheduledFor the start of the election, in ISO format
+     * @param description  the description of the election
+     * @param result       the winning candidates of a board election, or whether a proposal passed
+     * @return whether the voting microservice received the acknowledgement
+     */
+    public boolean deliver(int electionId, boolean board, long hoaId, String scheduledFor, String description,
+                           Object result) {
+        if (!appliedOutcomeRepo.existsById(electionId)) {
+            apply(board, hoaId, scheduledFor, description, result);
+            appliedOutcomeRepo.save(new AppliedElectionOutcome(electionId, LocalDateTime.now()));
+        }
+        try {
+            ElectionUtils.acknowledgeOutcome(electionId);
+            return true;
+        } catch (RuntimeException e) {
+            // applied and recorded, the next delivery only acknowledges it
+            return false;
+        }
+    }
+
+    /**
+     * Applies the outcome of a concluded election.
+     * A board election replaces the board by its winners and schedules the next annual board election,
+     * a proposal that passed is published to the members of the HOA.
+     *
+     * @param board        whether the election is a board election or a proposal
+     * @param hoaId        the id of the HOA of the election
+     * @param scheduledFor the start of the election, in ISO format
+     * @param description  the description of the election
+     * @param result       the winning candidates of a board election, or whether a proposal passed
+     */
+    public void apply(boolean board, long hoaId, String scheduledFor, String description, Object result) {
+        if (board) {
+            // start automatic annual board election
+            LocalDateTime next = LocalDateTime.parse(scheduledFor).plusYears(1);
+            ElectionUtils.createBoardElection(new BoardElectionRequestModel(hoaId, 2,
+                    List.of(), "Annual board election",
+                    "This is the auto-generated annual board election",
+                    new TimeModel(next.getSecond(), next.getMinute(), next.getHour(),
+                            next.getDayOfMonth(), next.getMonthValue(), next.getYear())));
+            // clear board
+            MembershipUtils.resetBoard(hoaId);
+            // promote winners and demote rest of board
+            MembershipUtils.promoteWinners(result, hoaId);
+        } else if (Boolean.TRUE.equals(result)) {
+            // stored once, the members read it from their own cursor
+            hoaService.publishNotification(hoaId, description);
+        }
+    }
+
+    /** Setter method used when HoaService needs to be mocked
+     * @param h - HoaService to be mocked
+     */
+    public void setHoaService(HoaService h) {
+        this.hoaService = h;
+    }
+}
@@ -1,17 +1,27 @@
 package nl.tudelft.sem.template.hoa.db;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import nl.tudelft.sem.template.hoa.domain.Hoa;
+import nl.tudelft.sem.template.hoa.domain.MemberReportCount;
+import nl.tudelft.sem.template.hoa.domain.Notification;
+import nl.tudelft.sem.template.hoa.domain.NotificationCursor;
+import nl.tudelft.sem.template.hoa.domain.Report;
 import nl.tudelft.sem.template.hoa.domain.Requirement;
+import nl.tudelft.sem.template.hoa.domain.RequirementReportCount;
 import nl.tudelft.sem.template.hoa.exception.BadFormatHoaException;
 import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
 import nl.tudelft.sem.template.hoa.exception.HoaNameAlreadyTakenException;
 import nl.tudelft.sem.template.hoa.models.HoaRequestModel;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -21,15 +31,37 @@ import org.springframework.web.server.ResponseStatusException;
 public class HoaService {
     private final transient HoaRepo hoaRepo;
     private final transient RequirementRepo requirementRepo;
+    private final transient NotificationRepo notificationRepo;
+    private final transient NotificationCursorRepo notificationCursorRepo;
+    private final transient ReportRepo reportRepo;
+    private final transient MemberReportCountRepo memberReportCountRepo;
+    private final transient RequirementReportCountRepo requirementReportCountRepo;
+    private final transient TransactionOperations transactions;
 
     /**
      * Constructor for the HoaService.
      *
-     * @param hoaRepo the hoa repository
+     * @param hoaRepo                the hoa repository
+     * @param requirementRepo        the requirement repository
+     * @param notificationRepo       the repository of the rule changes
+     * @param notificationCursorRepo the repository of how far members read the rule changes
+     * @param reportRepo             the report repository
+     * @param memberReportCountRepo  the repository of the amount of reports per member
+     * @param requirementReportCountRepo the repository of the amount of reports per requirement
+     * @param transactions           the transactions reports are stored in
      */
-    public HoaService(HoaRepo hoaRepo, RequirementRepo requirementRepo) {
+    public HoaService(HoaRepo hoaRepo, RequirementRepo requirementRepo, NotificationRepo notificationRepo,
+                      NotificationCursorRepo notificationCursorRepo, ReportRepo reportRepo,
+                      MemberReportCountRepo memberReportCountRepo,
+                      RequirementReportCountRepo requirementReportCountRepo, TransactionOperations transactions) {
         this.hoaRepo = hoaRepo;
         this.requirementRepo = requirementRepo;
+        this.notificationRepo = notificationRepo;
+        this.notificationCursorRepo = notificationCursorRepo;
+        this.reportRepo = reportRepo;
+        this.memberReportCountRepo = memberReportCountRepo;
+        this.requirementReportCountRepo = requirementReportCountRepo;
+        this.transactions = transactions;
     }
 
     /**
@@ -91,53 +123,104 @@ public class HoaService {
     }
 
     /**
-     * Method to report another member that violates one of the HOA rules
+     * Method to report another member that violates one of the HOA rules.
+     * The report is stored in its own row and the counters of the member and the requirement are increased,
+     * so the HOA itself is neither loaded nor rewritten.
      *
      * @param memberId Id of member that violated an HOA rule
      * @param reqId    Id of requirement that was broken
      */
     public void report(String memberId, long reqId) throws ResponseStatusException {
+        try {
+            transactions.executeWithoutResult(status -> storeReport(memberId, reqId));
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent first report created the same counter, the retry finds it and increases it
+            transactions.executeWithoutResult(status -> storeReport(memberId, reqId));
+        }
+    }
+
+    private void storeReport(String memberId, long reqId) {
         Optional<Requirement> req = requirementRepo.findById(reqId);
         if (req.isEmpty())
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Requirement has no associated HOA");
-        Optional<Hoa> hoa = hoaRepo.findById(req.get().getHoaId());
-        if (hoa.isEmpty())
+        long hoaId = req.get().getHoaId();
+        if (!hoaRepo.existsById(hoaId))
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Associated HOA does not exist");
-        hoa.get().report(memberId, reqId);
-        hoaRepo.save(hoa.get());
+        reportRepo.save(new Report(hoaId, memberId, reqId, LocalDateTime.now()));
+        // the first report of a member or requirement creates its counter, later ones increase it in place
+        if (memberReportCountRepo.increment(hoaId, memberId) == 0)
+            memberReportCountRepo.saveAndFlush(new MemberReportCount(hoaId, memberId, 1));
+        if (requirementReportCountRepo.increment(hoaId, reqId) == 0)
+            requirementReportCountRepo.saveAndFlush(new RequirementReportCount(hoaId, reqId, 1));
+    }
+
+    /**
+     * Query to get the most reported members of an HOA.
+     *
+     * @param hoaId id of HOA to consider
+     * @param limit the amount of members to return at most
+     * @return the counters of the most reported members, most reported first
+     * @throws HoaDoesntExistException if there does not exist a hoa with the specified id
+     */
+    public List<MemberReportCount> getTopOffenders(long hoaId, int limit) throws HoaDoesntExistException {
+        if (!hoaRepo.existsById(hoaId)) throw new HoaDoesntExistException("Hoa with id " + hoaId + " doesn't exist.");
+        return memberReportCountRepo.findByHoaIdOrderByReportCountDesc(hoaId, PageRequest.of(0, limit));
     }
 
     /**
-     * Method to notify a member of a rule change/addition
+     * Query to get the most broken requirements of an HOA.
+     *
+     * @param hoaId id of HOA to consider
+     * @param limit the amount of requirements to return at most
+     * @return the counters of the most broken requirements, most reported first
+     * @throws HoaDoesntExistException if there does not exist a hoa with the specified id
+     */
+    public List<RequirementReportCount> getMostBrokenRequirements(long hoaId, int limit)
+            throws HoaDoesntExistException {
+        if (!hoaRepo.existsById(hoaId)) throw new HoaDoesntExistException("Hoa with id " + hoaId + " doesn't exist.");
+        return requirementReportCountRepo.findByHoaIdOrderByReportCountDesc(hoaId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Method to notify all members of an HOA of a rule change/addition.
+     * The rule change is stored once, members pick it up when they read their notifications.
      *
      * @param hoaId       id of HOA to consider
-     * @param memberId    id of member to be notified
      * @param rulesChange String representing the rule that was changed/added
      */
-    public void notify(long hoaId, String memberId, String rulesChange) throws
-            ResponseStatusException {
-        Optional<Hoa> hoa = hoaRepo.findById(hoaId);
-        if (hoa.isEmpty())
+    public void publishNotification(long hoaId, String rulesChange) throws ResponseStatusException {
+        if (!hoaRepo.existsById(hoaId))
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Associated HOA does not exist");
-        hoa.get().notify(memberId, rulesChange);
-        hoaRepo.save(hoa.get());
+        notificationRepo.save(new Notification(hoaId, rulesChange, LocalDateTime.now()));
     }
 
     /**
-     * Method to clear notifications of a member
+     * Method to clear notifications of a member, returning the ones published since the member last read them
+     * A member reading for the first time starts at the start of their membership.
      *
-     * @param hoaId    id of HOA to consider
-     * @param memberId id of member to be notified
+     * @param hoaId       id of HOA to consider
+     * @param memberId    id of member to be notified
+     * @param memberSince start of the membership, earlier rule changes are not the member's notifications
+     * @return the unread notifications, oldest first
      */
-    public List<String> clearNotifications(long hoaId, String memberId) throws HoaDoesntExistException {
-        try {
-            Hoa hoa = getHoaById(hoaId);
-            List<String> res = hoa.resetNotifications(memberId);
-            hoaRepo.save(hoa);
-            return res;
-        } catch (HoaDoesntExistException e) {
-            throw new HoaDoesntExistException("Associated HOA does not exist");
-        }
+    public List<String> clearNotifications(long hoaId, String memberId, LocalDateTime memberSince)
+            throws HoaDoesntExistException {
+        if (!hoaRepo.existsById(hoaId)) throw new HoaDoesntExistException("Associated HOA does not exist");
+        NotificationCursor cursor = notificationCursorRepo.findByHoaIdAndMemberId(hoaId, memberId)
+                .orElseGet(() -> {
+                    NotificationCursor first = new NotificationCursor(hoaId, memberId);
+                    notificationRepo.findFirstByHoaIdAndPublishedAtLessThanOrderByIdDesc(hoaId, memberSince)
+                            .ifPresent(n -> first.setLastReadId(n.getId()));
+                    return first;
+                });
+        List<Notification> unread = notificationRepo
+                .findByHoaIdAndIdGreaterThanOrderByIdAsc(hoaId, cursor.getLastReadId());
+        List<String> res = new ArrayList<>(unread.size());
+        if (unread.isEmpty()) return res;
+        for (Notification notification : unread) res.add(notification.getRulesChange());
+        cursor.setLastReadId(unread.get(unread.size() - 1).getId());
+        notificationCursorRepo.save(cursor);
+        return res;
     }
 
     /**
@@ -0,0 +1,247 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
+
+import nl.tudelft.sem.template.hoa.domain.ActivityParticipant;
+import nl.tudelft.sem.template.hoa.domain.MemberReportCount;
+import nl.tudelft.sem.template.hoa.domain.Notification;
+import nl.tudelft.sem.template.hoa.domain.NotificationCursor;
+import nl.tudelft.sem.template.hoa.domain.Report;
+import nl.tudelft.sem.template.hoa.domain.RequirementReportCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-time migration of the data the Hoa and Activity rows kept in serialized columns before it got its own tables.
+ * The schema update of Hibernate keeps the old columns, so on startup their values are moved into the new
+ * tables and the old columns are emptied, which makes the migration a no-op from then on.
+ */
+@Component
+public class LegacyHoaMigration {
+
+    /**
+     * The legacy columns did not keep when a rule changed, a member was reported or joined an activity. The migrated
+     * rows are dated before any membership, so a member without a migrated cursor starts reading after them.
+     */
+    public static final LocalDateTime LEGACY_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // member=[a,b] per member, an empty list was written as member=]
+    private static final Pattern LEGACY_MEMBER_LISTS = Pattern.compile("(\\w+)=(?:\\[([^\\]]*)]|])");
+
+    private final transient JdbcTemplate jdbc;
+    private final transient NotificationRepo notificationRepo;
+    private final transient NotificationCursorRepo notificationCursorRepo;
+    private final transient ReportRepo reportRepo;
+    private final transient MemberReportCountRepo memberReportCountRepo;
+    private final transient RequirementReportCountRepo requirementReportCountRepo;
+    private final transient ActivityRepo activityRepo;
+    private final transient ActivityParticipantRepo activityParticipantRepo;
+    private final transient TransactionOperations transactions;
+
+    /**
+     * Constructor for the migration, the transaction manager is built on the entity manager factory,
+     * so the schema is up to date before the migration runs.
+     *
+     * @param jdbc                   the template for the columns that are not mapped anymore
+     * @param notificationRepo       the repository of the rule changes
+     * @param notificationCursorRepo the repository of how far members read the rule changes
+     * @param reportRepo             the repository of the reports
+     * @param memberReportCountRepo  the repository of the amount of reports per member
+     * @param requirementReportCountRepo the repository of the amount of reports per requirement
+     * @param activityRepo           the repository of the activities
+     * @param activityParticipantRepo the repository of the members that joined an activity
+     * @param transactionManager     the transaction manager the migration runs in
+     */
+    @Autowired
+    public LegacyHoaMigration(JdbcTemplate jdbc, NotificationRepo notificationRepo,
+                              NotificationCursorRepo notificationCursorRepo, ReportRepo reportRepo,
+                              MemberReportCountRepo memberReportCountRepo,
+                              RequirementReportCountRepo requirementReportCountRepo, ActivityRepo activityRepo,
+                              ActivityParticipantRepo activityParticipantRepo,
+                              PlatformTransactionManager transactionManager) {
+        this(jdbc, notificationRepo, notificationCursorRepo, reportRepo, memberReportCountRepo,
+                requirementReportCountRepo, activityRepo, activityParticipantRepo,
+                new TransactionTemplate(transactionManager));
+    }
+
+    /**
+     * Constructor for the migration.
+     *
+     * @param jdbc                   the template for the columns that are not mapped anymore
+     * @param notificationRepo       the repository of the rule changes
+     * @param notificationCursorRepo the repository of how far members read the rule changes
+     * @param reportRepo             the repository of the reports
+     * @param memberReportCountRepo  the repository of the amount of reports per member
+     * @param requirementReportCountRepo the repository of the amount of reports per requirement
+     * @param activityRepo           the repository of the activities
+     * @param activityParticipantRepo the repository of the members that joined an activity
+     * @param transactions           the transactions the migration runs in
+     */
+    public LegacyHoaMigration(JdbcTemplate jdbc, NotificationRepo notificationRepo,
+                              NotificationCursorRepo notificationCursorRepo, ReportRepo reportRepo,
+                              MemberReportCountRepo memberReportCountRepo,
+                              RequirementReportCountRepo requirementReportCountRepo, ActivityRepo activityRepo,
+                              ActivityParticipantRepo activityParticipantRepo, TransactionOperations transactions) {
+        this.jdbc = jdbc;
+        this.notificationRepo = notificationRepo;
+        this.notificationCursorRepo = notificationCursorRepo;
+        this.reportRepo = reportRepo;
+        this.memberReportCountRepo = memberReportCountRepo;
+        this.requirementReportCountRepo = requirementReportCountRepo;
+        this.activityRepo = activityRepo;
+        this.activityParticipantRepo = activityParticipantRepo;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Migrates the legacy columns in one transaction, before any request is served.
+     */
+    @PostConstruct
+    public void migrate() {
+        transactions.executeWithoutResult(status -> {
+            migrateNotifications();
+            migrateReports();
+            migrateParticipants();
+        });
+    }
+
+    /**
+     * Moves the unread rule changes of the legacy notifications column into the feed of their HOA.
+     * Every member in the column gets a cursor right before the first rule change they had not read,
+     * so they read exactly those. Members in the column whose unread rule changes are not the tail of the feed,
+     * like a member that left and rejoined, start before their first unread one and may read some twice.
+     *
+     * @return the amount of HOAs whose notifications were migrated
+     */
+    public int migrateNotifications() {
+        if (!hasColumn("HOA", "NOTIFICATIONS")) return 0;
+        List<Object[]> rows = jdbc.query("SELECT id, notifications FROM hoa "
+                        + "WHERE notifications IS NOT NULL AND notifications <> ''",
+                (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2)});
+        for (Object[] row : rows) migrateNotifications((Long) row[0], parseMemberLists((String) row[1]));
+        jdbc.update("UPDATE hoa SET notifications = NULL WHERE notifications IS NOT NULL");
+        return rows.size();
+    }
+
+    private void migrateNotifications(long hoaId, Map<String, List<String>> unread) {
+        // the longest unread list is the tail of the feed every other list should be a tail of
+        List<String> feed = new ArrayList<>();
+        for (List<String> rules : unread.values()) if (rules.size() > feed.size()) feed = rules;
+        feed = new ArrayList<>(feed);
+        Map<String, Integer> firstUnread = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> e : unread.entrySet()) {
+            List<String> rules = e.getValue();
+            int start = feed.size() - rules.size();
+            if (!feed.subList(start, feed.size()).equals(rules)) {
+                start = feed.indexOf(rules.get(0));
+                if (start < 0) start = feed.size();
+                for (String rule : rules) if (!feed.subList(start, feed.size()).contains(rule)) feed.add(rule);
+            }
+            firstUnread.put(e.getKey(), start);
+        }
+
+        List<Long> ids = new ArrayList<>(feed.size());
+        for (String rule : feed) ids.add(notificationRepo.save(new Notification(hoaId, rule, LEGACY_TIME)).getId());
+        firstUnread.forEach((memberId, start) -> {
+            // a member that read the new feed already keeps its cursor, it reads the migrated rule changes after it
+            if (notificationCursorRepo.findByHoaIdAndMemberId(hoaId, memberId).isPresent()) return;
+            NotificationCursor cursor = new NotificationCursor(hoaId, memberId);
+            if (start > 0) cursor.setLastReadId(ids.get(start - 1));
+            notificationCursorRepo.save(cursor);
+        });
+    }
+
+    /**
+     * Moves the reports of the legacy reports column into the reports of their HOA, and adds them to the amount
+     * of reports per member and per requirement.
+     *
+     * @return the amount of HOAs whose reports were migrated
+     */
+    public int migrateReports() {
+        if (!hasColumn("HOA", "REPORTS")) return 0;
+        List<Object[]> rows = jdbc.query("SELECT id, reports FROM hoa WHERE reports IS NOT NULL AND reports <> ''",
+                (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2)});
+        for (Object[] row : rows) {
+            long hoaId = (Long) row[0];
+            parseMemberLists((String) row[1]).forEach((memberId, requirements) -> {
+                for (String requirement : requirements) {
+                    long reqId = Long.parseLong(requirement.trim());
+                    reportRepo.save(new Report(hoaId, memberId, reqId, LEGACY_TIME));
+                    if (memberReportCountRepo.increment(hoaId, memberId) == 0)
+                        memberReportCountRepo.saveAndFlush(new MemberReportCount(hoaId, memberId, 1));
+                    if (requirementReportCountRepo.increment(hoaId, reqId) == 0)
+                        requirementReportCountRepo.saveAndFlush(new RequirementReportCount(hoaId, reqId, 1));
+                }
+            });
+        }
+        jdbc.update("UPDATE hoa SET reports = NULL WHERE reports IS NOT NULL");
+        return rows.size();
+    }
+
+    /**
+     * Moves the members of the legacy participants column of the activities into their participants,
+     * and adds them to the participant count of the activity. The column was not nullable,
+     * so it is made nullable for the activities created from then on.
+     *
+     * @return the amount of activities whose participants were migrated
+     */
+    public int migrateParticipants() {
+        if (!hasColumn("ACTIVITIES", "PARTICIPANTS")) return 0;
+        jdbc.execute("ALTER TABLE activities ALTER COLUMN participants SET NULL");
+        List<Object[]> rows = jdbc.query("SELECT id, participants FROM activities "
+                        + "WHERE participants IS NOT NULL AND participants <> ''",
+                (rs, i) -> new Object[] {rs.getLong(1), rs.getString(2)});
+        for (Object[] row : rows) {
+            long activityId = (Long) row[0];
+            Set<Long> members = new LinkedHashSet<>();
+            for (String member : ((String) row[1]).split(",")) members.add(Long.parseLong(member.trim()));
+            int joined = 0;
+            for (long membershipId : members) {
+                if (activityParticipantRepo.existsByActivityIdAndMembershipId(activityId, membershipId)) continue;
+                activityParticipantRepo.save(new ActivityParticipant(activityId, membershipId, LEGACY_TIME));
+                joined++;
+            }
+            activityRepo.addToParticipantCount(activityId, joined);
+        }
+        jdbc.update("UPDATE activities SET participants = NULL WHERE participants IS NOT NULL");
+        return rows.size();
+    }
+
+    /**
+     * Reads a legacy column that kept a list per member, like the unread rule changes or the broken requirements.
+     *
+     * @param column the value of the column
+     * @return the list per member, in the order it was written
+     */
+    static Map<String, List<String>> parseMemberLists(String column) {
+        Map<String, List<String>> res = new LinkedHashMap<>();
+        Matcher m = LEGACY_MEMBER_LISTS.matcher(column);
+        while (m.find()) {
+            String values = m.group(2);
+            res.put(m.group(1), values == null || values.isEmpty()
+                    ? Collections.emptyList() : Arrays.asList(values.split(",")));
+        }
+        return res;
+    }
+
+    private boolean hasColumn(String table, String column) {
+        Integer found = jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = ? AND UPPER(COLUMN_NAME) = ?", Integer.class, table, column);
+        return found != null && found > 0;
+    }
+}
@@ -0,0 +1,30 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.util.List;
+import nl.tudelft.sem.template.hoa.domain.MemberReportCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository that holds the amount of reports per member.
+ */
+@Repository
+public interface MemberReportCountRepo extends JpaRepository<MemberReportCount, Long> {
+
+    /**
+     * Adds a report to the counter of a member, if the member has one.
+     *
+     * @return the amount of updated counters, 0 if the member was not reported before
+     */
+    @Modifying
+    @Query("update MemberReportCount c set c.reportCount = c.reportCount + 1 where c.hoaId = ?1 and c.memberId = ?2")
+    int increment(long hoaId, String memberId);
+
+    /**
+     * Find the most reported members of an HOA, most reported first.
+     */
+    List<MemberReportCount> findByHoaIdOrderByReportCountDesc(long hoaId, Pageable page);
+}
@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.util.Optional;
+import nl.tudelft.sem.template.hoa.domain.NotificationCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository that holds how far every member has read the notifications of their HOAs.
+ */
+@Repository
+public interface NotificationCursorRepo extends JpaRepository<NotificationCursor, Long> {
+
+    /**
+     * Find the cursor of a member in an HOA.
+     */
+    Optional<NotificationCursor> findByHoaIdAndMemberId(long hoaId, String memberId);
+}
@@ -0,0 +1,26 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import nl.tudelft.sem.template.hoa.domain.Notification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository that holds the rule changes of all HOAs.
+ */
+@Repository
+public interface NotificationRepo extends JpaRepository<Notification, Long> {
+
+    /**
+     * Find the notifications of an HOA after a given one, oldest first.
+     * Served by the (hoaId, id) index.
+     */
+    List<Notification> findByHoaIdAndIdGreaterThanOrderByIdAsc(long hoaId, long afterId);
+
+    /**
+     * Find the last notification of an HOA published before a given time.
+     */
+    Optional<Notification> findFirstByHoaIdAndPublishedAtLessThanOrderByIdDesc(long hoaId, LocalDateTime before);
+}
@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.util.List;
+import nl.tudelft.sem.template.hoa.domain.Report;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository that holds the reports of violated requirements.
+ */
+@Repository
+public interface ReportRepo extends JpaRepository<Report, Long> {
+
+    /**
+     * Find the reports of a member in an HOA.
+     */
+    List<Report> findByHoaIdAndMemberId(long hoaId, String memberId);
+}
@@ -0,0 +1,31 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import java.util.List;
+import nl.tudelft.sem.template.hoa.domain.RequirementReportCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository that holds the amount of reports per requirement.
+ */
+@Repository
+public interface RequirementReportCountRepo extends JpaRepository<RequirementReportCount, Long> {
+
+    /**
+     * Adds a report to the counter of a requirement, if the requirement has one.
+     *
+     * @return the amount of updated counters, 0 if the requirement was not reported before
+     */
+    @Modifying
+    @Query("update RequirementReportCount c set c.reportCount = c.reportCount + 1 "
+            + "where c.hoaId = ?1 and c.requirementId = ?2")
+    int increment(long hoaId, long requirementId);
+
+    /**
+     * Find the most broken requirements of an HOA, most reported first.
+     */
+    List<RequirementReportCount> findByHoaIdOrderByReportCountDesc(long hoaId, Pageable page);
+}
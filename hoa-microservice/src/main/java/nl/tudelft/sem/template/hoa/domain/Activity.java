@@ -2,15 +2,13 @@ package nl.tudelft.sem.template.hoa.domain;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 import javax.persistence.Column;
-import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import lombok.NoArgsConstructor;
 import nl.tudelft.sem.template.hoa.annotations.Generated;
@@ -20,7 +18,10 @@ import nl.tudelft.sem.template.hoa.annotations.Generated;
  */
 @Generated
 @Entity
-@Table(name = "Activities")
+@Table(name = "Activities", indexes = {
+    @Index(name = "publicBoard", columnList = "hoaId, activityTime"),
+    @Index(name = "activityExpiry", columnList = "activityTime")
+})
 @NoArgsConstructor
 public class Activity {
 
@@ -44,9 +45,8 @@ public class Activity {
     @Column(name = "activityDuration", nullable = false)
     private LocalTime activityDuration;
 
-    @Column(name = "participants", nullable = false)
-    @Convert(converter = ParticipantsConverter.class)
-    private List<Long> participants;
+    @Column(name = "participantCount", nullable = false)
+    private long participantCount;
 
     /**
      * Constructor for activity.
@@ -63,7 +63,6 @@ public class Activity {
         this.activityDescription = activityDescription;
         this.activityTime = activityTime;
         this.activityDuration = activityDuration;
-        this.participants = new ArrayList<>();
     }
 
     /**
@@ -102,15 +101,6 @@ public class Activity {
         return activityDuration;
     }
 
-    /**
-     * Method to join an activity.
-     *
-     * @param memberId the memberId of the member that joins.
-     */
-    public void joinActivity(long memberId) {
-        participants.add(memberId);
-    }
-
     /**
      * The id of the activity.
      *
@@ -130,21 +120,12 @@ public class Activity {
     }
 
     /**
-     * Retrieves the list of participants.
-     *
-     * @return the list of participants.
-     */
-    public List<Long> getParticipants() {
-        return participants;
-    }
-
-    /**
-     * Method for a participant to leave an activity.
+     * Retrieves the amount of members that joined the activity, the members are kept in ActivityParticipants.
      *
-     * @param memberId the memberId of the member that leaves.
+     * @return the amount of participants.
      */
-    public void leaveActivity(long memberId) {
-        participants.remove(memberId);
+    public long getParticipantCount() {
+        return participantCount;
     }
 
     /**
@@ -185,6 +166,6 @@ public class Activity {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id, activityName, activityDescription, hoaId, activityTime, activityDuration, participants);
+        return Objects.hash(activityName, activityDescription, hoaId, activityTime, activityDuration);
     }
 }
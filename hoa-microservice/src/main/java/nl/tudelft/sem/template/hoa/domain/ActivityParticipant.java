@@ -0,0 +1,62 @@
+package nl.tudelft.sem.template.hoa.domain;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+
+/**
+ * DDD entity representing a member that joined an activity.
+ */
+@Generated
+@Entity
+@Table(name = "ActivityParticipants",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"activityId", "membershipId"}))
+@NoArgsConstructor
+public class ActivityParticipant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private long id;
+
+    @Column(name = "activityId", nullable = false)
+    private long activityId;
+
+    @Column(name = "membershipId", nullable = false)
+    private long membershipId;
+
+    @Column(name = "joinedAt", nullable = false)
+    private LocalDateTime joinedAt;
+
+    /**
+     * Constructor for a participant.
+     *
+     * @param activityId   the activity that was joined
+     * @param membershipId the membership of the member that joined
+     * @param joinedAt     the time the member joined
+     */
+    public ActivityParticipant(long activityId, long membershipId, LocalDateTime joinedAt) {
+        this.activityId = activityId;
+        this.membershipId = membershipId;
+        this.joinedAt = joinedAt;
+    }
+
+    public long getActivityId() {
+        return activityId;
+    }
+
+    public long getMembershipId() {
+        return membershipId;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+}
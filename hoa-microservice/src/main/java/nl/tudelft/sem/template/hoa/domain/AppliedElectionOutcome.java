@@ -0,0 +1,46 @@
+package nl.tudelft.sem.template.hoa.domain;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+
+/**
+ * DDD entity remembering that the outcome of a concluded election was applied to its HOA,
+ * so an outcome the voting microservice delivers again is only acknowledged and not applied twice.
+ */
+@Generated
+@Entity
+@Table(name = "AppliedElectionOutcomes")
+@NoArgsConstructor
+public class AppliedElectionOutcome {
+
+    @Id
+    @Column(name = "electionId", nullable = false)
+    private int electionId;
+
+    @Column(name = "appliedAt", nullable = false)
+    private LocalDateTime appliedAt;
+
+    /**
+     * Constructor for the record of an applied outcome.
+     *
+     * @param electionId the concluded election
+     * @param appliedAt  the moment its outcome was applied
+     */
+    public AppliedElectionOutcome(int electionId, LocalDateTime appliedAt) {
+        this.electionId = electionId;
+        this.appliedAt = appliedAt;
+    }
+
+    public int getElectionId() {
+        return electionId;
+    }
+
+    public LocalDateTime getAppliedAt() {
+        return appliedAt;
+    }
+}
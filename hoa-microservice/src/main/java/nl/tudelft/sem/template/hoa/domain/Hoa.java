@@ -1,12 +1,7 @@
 package nl.tudelft.sem.template.hoa.domain;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import javax.persistence.Column;
-import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -15,8 +10,6 @@ import javax.persistence.Table;
 
 import lombok.NoArgsConstructor;
 import nl.tudelft.sem.template.hoa.annotations.Generated;
-import nl.tudelft.sem.template.hoa.db.NotificationsConverter;
-import nl.tudelft.sem.template.hoa.db.ReportsConverter;
 
 
 /**
@@ -45,14 +38,6 @@ public class Hoa {
     @Column(name = "name", nullable = false, unique = true)
     private String name;
 
-    @Column(name = "reports")
-    @Convert(converter = ReportsConverter.class)
-    private Map<String, List<Long>> reports;
-
-    @Column(name = "notifications")
-    @Convert(converter = NotificationsConverter.class)
-    private Map<String, List<String>> notifications;
-
     public long getId() {
         return id;
     }
@@ -69,14 +54,6 @@ public class Hoa {
         return name;
     }
 
-    public Map<String, List<Long>> getReports() {
-        return reports;
-    }
-
-    public Map<String, List<String>> getNotifications() {
-        return notifications;
-    }
-
     /**
      * Private constructor for the HOA class.
      *
@@ -88,8 +65,6 @@ public class Hoa {
         this.country = country;
         this.city = city;
         this.name = name;
-        this.reports = new HashMap<>();
-        this.notifications = new HashMap<>();
     }
 
     /**
@@ -104,40 +79,6 @@ public class Hoa {
         return new Hoa(country, city, name);
     }
 
-    /**
-     * Add an entry for a report to a member
-     *
-     * @param memberId id of member to report
-     * @param report   requirement id that has been violation
-     */
-    public void report(String memberId, Long report) {
-        reports.get(memberId).add(report);
-    }
-
-    /**
-     * Add a notification to a member's notification feed
-     *
-     * @param memberId    id of member
-     * @param rulesChange the rule change that will be contained in the notification
-     */
-    public void notify(String memberId, String rulesChange) {
-        if (!notifications.containsKey(memberId)) notifications.put(memberId, new ArrayList<>());
-        notifications.get(memberId).add(rulesChange);
-    }
-
-    /**
-     * Resets notifications of a member
-     *
-     * @param memberId id of member to clear
-     * @return Cleared notifications
-     */
-    public List<String> resetNotifications(String memberId) {
-        if (!notifications.containsKey(memberId)) return new ArrayList<>();
-        List<String> res = new ArrayList<>(notifications.get(memberId));
-        notifications.get(memberId).clear();
-        return res;
-    }
-
     /**
      * Equals method for HOA class.
      *
@@ -0,0 +1,63 @@
+package nl.tudelft.sem.template.hoa.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+
+/**
+ * DDD entity counting the reports of a member in an HOA, kept up to date on every report.
+ */
+@Generated
+@Entity
+@Table(name = "MemberReportCounts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"hoaId", "memberId"}),
+        indexes = @Index(name = "topOffenders", columnList = "hoaId, reportCount"))
+@NoArgsConstructor
+public class MemberReportCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private long id;
+
+    @Column(name = "hoaId", nullable = false)
+    private long hoaId;
+
+    @Column(name = "memberId", nullable = false)
+    private String memberId;
+
+    @Column(name = "reportCount", nullable = false)
+    private long reportCount;
+
+    /**
+     * Constructor for the counter of a member.
+     *
+     * @param hoaId       the HOA the member was reported in
+     * @param memberId    the reported member
+     * @param reportCount the amount of reports
+     */
+    public MemberReportCount(long hoaId, String memberId, long reportCount) {
+        this.hoaId = hoaId;
+        this.memberId = memberId;
+        this.reportCount = reportCount;
+    }
+
+    public long getHoaId() {
+        return hoaId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public long getReportCount() {
+        return reportCount;
+    }
+}
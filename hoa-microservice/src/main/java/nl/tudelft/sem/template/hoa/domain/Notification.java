@@ -0,0 +1,85 @@
+package nl.tudelft.sem.template.hoa.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+
+/**
+ * DDD entity representing a rule change of an HOA, published once for all of its members.
+ * Members read the feed of their HOA from their NotificationCursor onwards.
+ */
+@Generated
+@Entity
+@Table(name = "Notifications", indexes = @Index(name = "hoaFeed", columnList = "hoaId, id"))
+@NoArgsConstructor
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private long id;
+
+    @Column(name = "hoaId", nullable = false)
+    private long hoaId;
+
+    @Column(name = "rulesChange", nullable = false, length = 2048)
+    private String rulesChange;
+
+    @Column(name = "publishedAt", nullable = false)
+    private LocalDateTime publishedAt;
+
+    /**
+     * Constructor for a notification.
+     *
+     * @param hoaId       the HOA whose rules changed
+     * @param rulesChange the rule that was changed/added
+     * @param publishedAt the time the rule change was accepted
+     */
+    public Notification(long hoaId, String rulesChange, LocalDateTime publishedAt) {
+        this.hoaId = hoaId;
+        this.rulesChange = rulesChange;
+        this.publishedAt = publishedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getHoaId() {
+        return hoaId;
+    }
+
+    public String getRulesChange() {
+        return rulesChange;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Notification that = (Notification) o;
+        return id == that.id && hoaId == that.hoaId && Objects.equals(rulesChange, that.rulesChange)
+                && Objects.equals(publishedAt, that.publishedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, hoaId, rulesChange, publishedAt);
+    }
+}
@@ -0,0 +1,67 @@
+package nl.tudelft.sem.template.hoa.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+
+/**
+ * DDD entity remembering up to which notification of an HOA a member has read its feed.
+ */
+@Generated
+@Entity
+@Table(name = "NotificationCursors", uniqueConstraints = @UniqueConstraint(columnNames = {"hoaId", "memberId"}))
+@NoArgsConstructor
+public class NotificationCursor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private long id;
+
+    @Column(name = "hoaId", nullable = false)
+    private long hoaId;
+
+    @Column(name = "memberId", nullable = false)
+    private String memberId;
+
+    @Column(name = "lastReadId", nullable = false)
+    private long lastReadId;
+
+    /**
+     * Constructor for the cursor of a member that has not read any notification yet.
+     *
+     * @param hoaId    the HOA whose feed is read
+     * @param memberId the member reading the feed
+     */
+    public NotificationCursor(long hoaId, String memberId) {
+        this.hoaId = hoaId;
+        this.memberId = memberId;
+    }
+
+    public long getHoaId() {
+        return hoaId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public long getLastReadId() {
+        return lastReadId;
+    }
+
+    /**
+     * Moves the cursor past the notifications that were read.
+     *
+     * @param lastReadId id of the last notification that was read
+     */
+    public void setLastReadId(long lastReadId) {
+        this.lastReadId = Math.max(this.lastReadId, lastReadId);
+    }
+}
@@ -0,0 +1,74 @@
+package nl.tudelft.sem.template.hoa.domain;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+
+/**
+ * DDD entity representing a report of a member violating a requirement of their HOA.
+ */
+@Generated
+@Entity
+@Table(name = "Reports", indexes = @Index(name = "reportsByMember", columnList = "hoaId, memberId, requirementId"))
+@NoArgsConstructor
+public class Report {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private long id;
+
+    @Column(name = "hoaId", nullable = false)
+    private long hoaId;
+
+    @Column(name = "memberId", nullable = false)
+    private String memberId;
+
+    @Column(name = "requirementId", nullable = false)
+    private long requirementId;
+
+    @Column(name = "reportedAt", nullable = false)
+    private LocalDateTime reportedAt;
+
+    /**
+     * Constructor for a report.
+     *
+     * @param hoaId         the HOA of the requirement
+     * @param memberId      the member that violated the requirement
+     * @param requirementId the requirement that was violated
+     * @param reportedAt    the time of the report
+     */
+    public Report(long hoaId, String memberId, long requirementId, LocalDateTime reportedAt) {
+        this.hoaId = hoaId;
+        this.memberId = memberId;
+        this.requirementId = requirementId;
+        this.reportedAt = reportedAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getHoaId() {
+        return hoaId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public long getRequirementId() {
+        return requirementId;
+    }
+
+    public LocalDateTime getReportedAt() {
+        return reportedAt;
+    }
+}
@@ -0,0 +1,63 @@
+package nl.tudelft.sem.template.hoa.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.NoArgsConstructor;
+import nl.tudelft.sem.template.hoa.annotations.Generated;
+
+/**
+ * DDD entity counting how often a requirement of an HOA was reported broken, kept up to date on every report.
+ */
+@Generated
+@Entity
+@Table(name = "RequirementReportCounts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"hoaId", "requirementId"}),
+        indexes = @Index(name = "mostBroken", columnList = "hoaId, reportCount"))
+@NoArgsConstructor
+public class RequirementReportCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private long id;
+
+    @Column(name = "hoaId", nullable = false)
+    private long hoaId;
+
+    @Column(name = "requirementId", nullable = false)
+    private long requirementId;
+
+    @Column(name = "reportCount", nullable = false)
+    private long reportCount;
+
+    /**
+     * Constructor for the counter of a requirement.
+     *
+     * @param hoaId         the HOA of the requirement
+     * @param requirementId the broken requirement
+     * @param reportCount   the amount of reports
+     */
+    public RequirementReportCount(long hoaId, long requirementId, long reportCount) {
+        this.hoaId = hoaId;
+        this.requirementId = requirementId;
+        this.reportCount = reportCount;
+    }
+
+    public long getHoaId() {
+        return hoaId;
+    }
+
+    public long getRequirementId() {
+        return requirementId;
+    }
+
+    public long getReportCount() {
+        return reportCount;
+    }
+}
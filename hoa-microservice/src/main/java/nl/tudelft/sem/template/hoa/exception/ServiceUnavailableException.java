@@ -0,0 +1,18 @@
+package nl.tudelft.sem.template.hoa.exception;
+
+/**
+ * Exception to indicate that a call to another microservice was not attempted, because the circuit to that
+ * service is open after too many failures.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    static final long serialVersionUID = -6125862946719342287L;
+
+    /**
+     * Constructor for the service unavailable exception.
+     *
+     * @param message the error message
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,105 @@
+package nl.tudelft.sem.template.hoa.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker guarding the calls to one other microservice.
+ * After a number of consecutive failures the circuit opens and calls fail fast, so a slow or dead service
+ * does not tie up the request threads of the HOA service. Once the open duration passed, a single trial
+ * call is let through: if it succeeds the circuit closes again, otherwise it stays open for another period.
+ */
+public class CircuitBreaker {
+
+    /**
+     * The states of the circuit.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final transient int failureThreshold;
+    private final transient Duration openDuration;
+    private final transient Clock clock;
+
+    private transient State state = State.CLOSED;
+    private transient int failures;
+    private transient Instant openedAt;
+    private transient boolean trialRunning;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param failureThreshold the amount of consecutive failures that opens the circuit
+     * @param openDuration     the time the circuit stays open before a trial call is let through
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param failureThreshold the amount of consecutive failures that opens the circuit
+     * @param openDuration     the time the circuit stays open before a trial call is let through
+     * @param clock            the clock the open duration is measured with
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks permission for a call. Every permitted call must be followed by onSuccess or onFailure.
+     *
+     * @return true if the call may be made, false if it should fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.instant().isBefore(openedAt.plus(openDuration))) return false;
+                state = State.HALF_OPEN;
+                trialRunning = true;
+                return true;
+            default:
+                // only one trial call at a time while half open
+                if (trialRunning) return false;
+                trialRunning = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a call that got an answer from the service, which closes the circuit.
+     */
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        trialRunning = false;
+    }
+
+    /**
+     * Records a call that failed or timed out, which opens the circuit once the threshold is reached.
+     */
+    public synchronized void onFailure() {
+        trialRunning = false;
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    /**
+     * Getter for the state of the circuit.
+     *
+     * @return the current state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -5,23 +5,53 @@ import nl.tudelft.sem.template.hoa.models.BoardElectionRequestModel;
 import nl.tudelft.sem.template.hoa.models.ProposalRequestModel;
 import nl.tudelft.sem.template.hoa.models.RemoveVoteModel;
 import nl.tudelft.sem.template.hoa.models.VotingModel;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
-import javax.inject.Singleton;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 
-@Singleton
+@Component
 @Generated // solely contains endpoints, instead of mock-testing for cov, test other microservice's response instead
 // + the endpoints are being used for other tests to pass anyway
 public class ElectionUtils {
-    private static final String server = "http://localhost:8085/voting/";
-    private static final ResteasyClient client = new ResteasyClientBuilder().build();
+    private static final AtomicReference<ElectionUtils> endpoints = new AtomicReference<>();
 
+    private final transient ServiceClient client;
+
+    /**
+     * Constructor for the voting microservice endpoints, the static methods call them once Spring created them
+     *
+     * @param votingClient the client for the voting microservice, see ServiceClientConfig
+     */
+    public ElectionUtils(@Qualifier("votingClient") ServiceClient votingClient) {
+        this.client = votingClient;
+    }
+
+    /**
+     * Makes the static methods use the client injected into these endpoints
+     */
+    @PostConstruct
+    public void register() {
+        endpoints.set(this);
+    }
+
+    /**
+     * Stops the static methods from using the client of these endpoints, unless newer ones took over already
+     */
+    @PreDestroy
+    public void unregister() {
+        endpoints.compareAndSet(this, null);
+    }
 
     /**
      * Creates a proposal using the voting microservice
@@ -31,10 +61,10 @@ public class ElectionUtils {
      */
     public static Object createProposal(ProposalRequestModel model) {
         try {
-            return client.target(server).path("proposal/")
+            return client().call(target -> target.path("proposal/")
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .post(Entity.entity(model, APPLICATION_JSON), Object.class);
+                    .post(Entity.entity(model, APPLICATION_JSON), Object.class));
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
@@ -49,10 +79,10 @@ public class ElectionUtils {
      */
     public static Object createBoardElection(BoardElectionRequestModel model) {
         try {
-            return client.target(server).path("boardElection/")
+            return client().call(target -> target.path("boardElection/")
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .post(Entity.entity(model, APPLICATION_JSON), Object.class);
+                    .post(Entity.entity(model, APPLICATION_JSON), Object.class));
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
@@ -66,15 +96,21 @@ public class ElectionUtils {
      */
     public static HttpStatus vote(VotingModel model) {
         try {
-            return client.target(server).path("vote/")
-                    .request(APPLICATION_JSON)
-                    .accept(APPLICATION_JSON)
-                    .post(Entity.entity(model, APPLICATION_JSON), HttpStatus.class);
+            return client().call(voteRequest(model));
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
 
+    /**
+     * Allows the user to vote on an election using the voting microservice, without waiting for it
+     *
+     * @param model the model for vote
+     * @return the future status of the vote
+     */
+    public static CompletableFuture<HttpStatus> voteAsync(VotingModel model) {
+        return client().callAsync(voteRequest(model));
+    }
 
     /**
      * Allows the user to remove his vote on an election using the voting microservice
@@ -83,10 +119,17 @@ public class ElectionUtils {
      * @return the status of the removal of the vote
      */
     public static HttpStatus removeVote(RemoveVoteModel model) {
-        return client.target(server).path("removeVote/")
-            .request(APPLICATION_JSON)
-            .accept(APPLICATION_JSON)
-            .post(Entity.entity(model, APPLICATION_JSON), HttpStatus.class);
+        return client().call(removeVoteRequest(model));
+    }
+
+    /**
+     * Allows the user to remove his vote on an election using the voting microservice, without waiting for it
+     *
+     * @param model the model for removing a vote
+     * @return the future status of the removal of the vote
+     */
+    public static CompletableFuture<HttpStatus> removeVoteAsync(RemoveVoteModel model) {
+        return client().callAsync(removeVoteRequest(model));
     }
 
     /**
@@ -97,15 +140,22 @@ public class ElectionUtils {
      */
     public static Object getElectionById(int electionId) {
         try {
-            return client.target(server).path("getElection/" + electionId)
-                    .request(APPLICATION_JSON)
-                    .accept(APPLICATION_JSON)
-                    .get(Object.class);
+            return client().call(getElection(electionId));
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
 
+    /**
+     * Getter for elections using the voting microservice, without waiting for it
+     *
+     * @param electionId the id of the election
+     * @return the future election
+     */
+    public static CompletableFuture<Object> getElectionByIdAsync(int electionId) {
+        return client().callAsync(getElection(electionId));
+    }
+
     /**
      * Concludes an election with the given id using the voting microservice
      *
@@ -114,10 +164,43 @@ public class ElectionUtils {
      */
     public static Object concludeElection(int id) {
         try {
-            return client.target(server).path("conclude/" + id)
+            return client().call(target -> target.path("conclude/" + id)
+                    .request(APPLICATION_JSON)
+                    .accept(APPLICATION_JSON)
+                    .post(null, Object.class));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lists the concluded elections whose outcome was not acknowledged yet using the voting microservice
+     *
+     * @return every listed election with its result, oldest first
+     */
+    public static Object getPendingOutcomes() {
+        try {
+            return client().call(target -> target.path("pendingOutcomes")
+                    .request(APPLICATION_JSON)
+                    .accept(APPLICATION_JSON)
+                    .get(Object.class));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Acknowledges that the outcome of a concluded election was applied using the voting microservice
+     *
+     * @param id the id of the concluded election
+     * @return whether the outcome was still pending
+     */
+    public static boolean acknowledgeOutcome(int id) {
+        try {
+            return client().call(target -> target.path("acknowledgeOutcome/" + id)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .post(null, Object.class);
+                    .post(null, Boolean.class));
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
@@ -128,10 +211,10 @@ public class ElectionUtils {
      */
     public static boolean joinElection(String memberID, long hoaID) {
         try {
-            return client.target(server).path("joinElection/" + memberID + "/" + hoaID)
+            return client().call(target -> target.path("joinElection/" + memberID + "/" + hoaID)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .post(null, Boolean.class);
+                    .post(null, Boolean.class));
         } catch (Exception e) {
             throw new IllegalArgumentException("Could not join the election as a candidate.");
         }
@@ -142,12 +225,39 @@ public class ElectionUtils {
      */
     public static boolean leaveElection(String memberID, long hoaID) {
         try {
-            return client.target(server).path("leaveElection/" + memberID + "/" + hoaID)
+            return client().call(target -> target.path("leaveElection/" + memberID + "/" + hoaID)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .post(null, Boolean.class);
+                    .post(null, Boolean.class));
         } catch (Exception e) {
             throw new IllegalArgumentException("The HOA has no running election or the member did not participate.");
         }
     }
-}
\ No newline at end of file
+
+    private static ServiceClient client() {
+        ElectionUtils current = endpoints.get();
+        if (current == null) throw new IllegalStateException("The voting endpoints were not created by Spring");
+        return current.client;
+    }
+
+    private static Function<WebTarget, HttpStatus> voteRequest(VotingModel model) {
+        return target -> target.path("vote/")
+                .request(APPLICATION_JSON)
+                .accept(APPLICATION_JSON)
+                .post(Entity.entity(model, APPLICATION_JSON), HttpStatus.class);
+    }
+
+    private static Function<WebTarget, HttpStatus> removeVoteRequest(RemoveVoteModel model) {
+        return target -> target.path("removeVote/")
+                .request(APPLICATION_JSON)
+                .accept(APPLICATION_JSON)
+                .post(Entity.entity(model, APPLICATION_JSON), HttpStatus.class);
+    }
+
+    private static Function<WebTarget, Object> getElection(int electionId) {
+        return target -> target.path("getElection/" + electionId)
+                .request(APPLICATION_JSON)
+                .accept(APPLICATION_JSON)
+                .get(Object.class);
+    }
+}
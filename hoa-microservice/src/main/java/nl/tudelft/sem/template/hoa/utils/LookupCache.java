@@ -0,0 +1,186 @@
+package nl.tudelft.sem.template.hoa.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache for lookups in another microservice.
+ * Entries expire after a time to live and the least recently used entry is evicted once the cache is full.
+ * Lookups that failed with an expected answer, like an unknown id, are cached as well for a (shorter) negative
+ * time to live, other failures are not cached. Concurrent lookups of the same key wait for a single load.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the looked up values
+ */
+public class LookupCache<K, V> {
+    private final transient int maxEntries;
+    private final transient Duration ttl;
+    private final transient Duration negativeTtl;
+    private final transient Predicate<RuntimeException> negative;
+    private final transient Clock clock;
+    private final transient Map<K, Entry<V>> entries;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries  the amount of entries the cache holds at most
+     * @param ttl         the time a looked up value is kept
+     * @param negativeTtl the time a failed lookup is kept
+     * @param negative    tells the failures that are cached apart from the ones that are retried right away
+     */
+    public LookupCache(int maxEntries, Duration ttl, Duration negativeTtl, Predicate<RuntimeException> negative) {
+        this(maxEntries, ttl, negativeTtl, negative, Clock.systemUTC());
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries  the amount of entries the cache holds at most
+     * @param ttl         the time a looked up value is kept
+     * @param negativeTtl the time a failed lookup is kept
+     * @param negative    tells the failures that are cached apart from the ones that are retried right away
+     * @param clock       the clock the times to live are measured with
+     */
+    public LookupCache(int maxEntries, Duration ttl, Duration negativeTtl, Predicate<RuntimeException> negative,
+                       Clock clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.negative = negative;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            static final long serialVersionUID = 2837261537823471829L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > LookupCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value of a key, looking it up if it is missing or expired.
+     *
+     * @param key    the key
+     * @param loader looks up the value, called by at most one thread per key at a time
+     * @return the value
+     * @throws RuntimeException the failure of the lookup, also when it was cached
+     */
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry;
+        boolean load = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.isExpired(clock.instant())) {
+                entry = new Entry<>();
+                entries.put(key, entry);
+                load = true;
+            }
+        }
+        if (load) load(key, entry, loader);
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Removes the entry of a key, so the next get looks it up again.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes the entries that match, failed lookups are matched with a null value.
+     * Lookups that are still running are removed as well.
+     *
+     * @param predicate tells the entries to remove
+     */
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        synchronized (entries) {
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> next = it.next();
+                CompletableFuture<V> value = next.getValue().value;
+                if (!value.isDone() || predicate.test(next.getKey(), value.isCompletedExceptionally()
+                        ? null : value.join()))
+                    it.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Getter for the amount of entries, expired ones included.
+     *
+     * @return the amount of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void load(K key, Entry<V> entry, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            entry.expiresAt = clock.instant().plus(ttl);
+            entry.value.complete(value);
+        } catch (RuntimeException e) {
+            if (negative.test(e)) {
+                entry.expiresAt = clock.instant().plus(negativeTtl);
+            } else {
+                // not worth remembering, the next lookup tries again
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+            }
+            entry.value.completeExceptionally(e);
+        } catch (Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            // do not leave the threads waiting for this lookup hanging
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * A cached lookup, which is loading as long as its value is not done.
+     *
+     * @param <V> the type of the value
+     */
+    private static class Entry<V> {
+        private final transient CompletableFuture<V> value = new CompletableFuture<>();
+        private transient volatile Instant expiresAt;
+
+        private boolean isExpired(Instant now) {
+            return value.isDone() && !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package nl.tudelft.sem.template.hoa.utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.ws.rs.ClientErrorException;
+
+import nl.tudelft.sem.template.hoa.models.MembershipResponseModel;
+import org.springframework.core.env.PropertyResolver;
+
+/**
+ * Cache of the memberships looked up in the membership microservice, so validating a member does not cost
+ * a round trip on every request.
+ * Active memberships of a member are cached per member and token, as the membership microservice only
+ * returns them to the member itself. Answers like an unknown member or membership are cached for the
+ * negative time to live, unavailability of the service is not cached.
+ * The settings are read from hoa.membership-cache.* properties, see application.properties.
+ */
+public class MembershipCache {
+    private final transient LookupCache<List<String>, List<MembershipResponseModel>> byMember;
+    private final transient LookupCache<Long, List<MembershipResponseModel>> byHoa;
+    private final transient LookupCache<Long, MembershipResponseModel> byId;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries  the amount of entries each of the lookups holds at most
+     * @param ttl         the time memberships are kept
+     * @param negativeTtl the time a rejected lookup is kept
+     */
+    public MembershipCache(int maxEntries, Duration ttl, Duration negativeTtl) {
+        this.byMember = new LookupCache<>(maxEntries, ttl, negativeTtl, MembershipCache::isRejected);
+        this.byHoa = new LookupCache<>(maxEntries, ttl, negativeTtl, MembershipCache::isRejected);
+        this.byId = new LookupCache<>(maxEntries, ttl, negativeTtl, MembershipCache::isRejected);
+    }
+
+    /**
+     * Creates a cache from the hoa.membership-cache.* properties.
+     *
+     * @param properties the properties to read the settings from
+     * @return the cache
+     */
+    public static MembershipCache of(PropertyResolver properties) {
+        String prefix = "hoa.membership-cache.";
+        return new MembershipCache(
+                properties.getProperty(prefix + "max-entries", Integer.class, 10_000),
+                Duration.ofMillis(properties.getProperty(prefix + "ttl-ms", Long.class, 30_000L)),
+                Duration.ofMillis(properties.getProperty(prefix + "negative-ttl-ms", Long.class, 5_000L)));
+    }
+
+    /**
+     * Returns the active memberships of a member, looking them up if they are not cached.
+     *
+     * @param memberId the id of the member
+     * @param token    the authorization token the lookup is made with
+     * @param loader   looks up the memberships
+     * @return the active memberships
+     */
+    public List<MembershipResponseModel> activeMembershipsOfMember(String memberId, String token,
+                                                                   Supplier<List<MembershipResponseModel>> loader) {
+        return byMember.get(Arrays.asList(memberId, token), loader);
+    }
+
+    /**
+     * Returns the active memberships of an HOA, looking them up if they are not cached.
+     *
+     * @param hoaId  the id of the HOA
+     * @param loader looks up the memberships
+     * @return the active memberships
+     */
+    public List<MembershipResponseModel> activeMembershipsOfHoa(long hoaId,
+                                                                Supplier<List<MembershipResponseModel>> loader) {
+        return byHoa.get(hoaId, loader);
+    }
+
+    /**
+     * Returns a membership, looking it up if it is not cached.
+     *
+     * @param membershipId the id of the membership
+     * @param loader       looks up the membership
+     * @return the membership
+     */
+    public MembershipResponseModel membership(long membershipId, Supplier<MembershipResponseModel> loader) {
+        return byId.get(membershipId, loader);
+    }
+
+    /**
+     * Forgets everything cached about a member, to be called when the member joins or leaves an HOA.
+     *
+     * @param memberId the id of the member
+     */
+    public void invalidateMember(String memberId) {
+        byMember.invalidateIf((key, memberships) -> memberId.equals(key.get(0)));
+        byHoa.invalidateIf((hoaId, memberships) -> memberships == null || contains(memberships, memberId));
+        byId.invalidateIf((id, membership) -> membership == null || memberId.equals(membership.getMemberId()));
+    }
+
+    /**
+     * Forgets everything cached about an HOA, to be called when members join or leave it or its board changes.
+     *
+     * @param hoaId the id of the HOA
+     */
+    public void invalidateHoa(long hoaId) {
+        byHoa.invalidate(hoaId);
+        byMember.invalidateIf((key, memberships) -> memberships == null || ofHoa(memberships, hoaId));
+        byId.invalidateIf((id, membership) -> membership == null || membership.getHoaId() == hoaId);
+    }
+
+    /**
+     * Forgets all cached memberships.
+     */
+    public void clear() {
+        byMember.clear();
+        byHoa.clear();
+        byId.clear();
+    }
+
+    private static boolean isRejected(RuntimeException e) {
+        // the service answered, e.g. with an unknown member, instead of failing or timing out
+        return e instanceof ClientErrorException;
+    }
+
+    private static boolean contains(List<MembershipResponseModel> memberships, String memberId) {
+        return memberships.stream().anyMatch(m -> memberId.equals(m.getMemberId()));
+    }
+
+    private static boolean ofHoa(List<MembershipResponseModel> memberships, long hoaId) {
+        return memberships.stream().anyMatch(m -> m.getHoaId() == hoaId);
+    }
+}
@@ -2,30 +2,33 @@ package nl.tudelft.sem.template.hoa.utils;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 
-import javax.inject.Singleton;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 
 import nl.tudelft.sem.template.hoa.annotations.Generated;
 import nl.tudelft.sem.template.hoa.models.MembershipResponseModel;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 
 /**
  * Utils class that makes API requests to the membership microservice.
  */
-@Singleton
+@Component
 @Generated // solely contains endpoints, instead of mock-testing for cov, test other microservice's response instead
 // + the endpoints are being used for other tests to pass anyway
 public class MembershipUtils {
-    private static final String server = "http://localhost:8083/member/";
-
     // Definitely not a good way to do it, but it is a simple solution
     private static final String secretClearBoardKey = "Thisisacustomseckeyforclear";
 
@@ -33,7 +36,57 @@ public class MembershipUtils {
 
     private static final String invalidMembership = "Membership id invalid.";
 
-    private static final ResteasyClient client = new ResteasyClientBuilder().build();
+    private static final AtomicReference<MembershipUtils> endpoints = new AtomicReference<>();
+
+    private final transient ServiceClient client;
+
+    private final transient MembershipCache cache;
+
+    /**
+     * Constructor for the membership microservice endpoints, the static methods call them once Spring created them.
+     *
+     * @param membershipClient the client for the membership microservice, see ServiceClientConfig
+     * @param membershipCache  the cache of the looked up memberships
+     */
+    public MembershipUtils(@Qualifier("membershipClient") ServiceClient membershipClient,
+                           MembershipCache membershipCache) {
+        this.client = membershipClient;
+        this.cache = membershipCache;
+    }
+
+    /**
+     * Makes the static methods use the client and cache injected into these endpoints.
+     */
+    @PostConstruct
+    public void register() {
+        endpoints.set(this);
+    }
+
+    /**
+     * Stops the static methods from using the client of these endpoints, unless newer ones took over already.
+     */
+    @PreDestroy
+    public void unregister() {
+        endpoints.compareAndSet(this, null);
+    }
+
+    /**
+     * Forgets the cached memberships of a member, for when the member joins or leaves an HOA.
+     *
+     * @param memberId the id of the member
+     */
+    public static void invalidateMember(String memberId) {
+        cache().invalidateMember(memberId);
+    }
+
+    /**
+     * Forgets the cached memberships of an HOA, for when its members or its board change.
+     *
+     * @param hoaId the id of the HOA
+     */
+    public static void invalidateHoa(long hoaId) {
+        cache().invalidateHoa(hoaId);
+    }
 
     /**
      * Retrieves a membership (if present) from the membership microservice.
@@ -43,15 +96,22 @@ public class MembershipUtils {
      */
     public static MembershipResponseModel getMembershipById(long membershipId) {
         try {
-            return client.target(server).path("getMembershipById/" + membershipId)
-                    .request(APPLICATION_JSON)
-                    .accept(APPLICATION_JSON)
-                    .get(MembershipResponseModel.class);
+            return cache().membership(membershipId, () -> client().call(getMembership(membershipId)));
         } catch (Exception e) {
             throw new IllegalArgumentException(invalidMembership);
         }
     }
 
+    /**
+     * Retrieves a membership (if present) from the membership microservice, without waiting for it, bypassing the cache().
+     *
+     * @param membershipId the membership id for the membership being queried.
+     * @return the future membership response model
+     */
+    public static CompletableFuture<MembershipResponseModel> getMembershipByIdAsync(long membershipId) {
+        return client().callAsync(getMembership(membershipId));
+    }
+
     /**
      * Client for fetching all memberships (including history) of a user
      *
@@ -61,17 +121,24 @@ public class MembershipUtils {
      */
     public static List<MembershipResponseModel> getMembershipsForUser(String memberID, String token) {
         try {
-            return client.target(server).path("getMemberships/" + memberID)
-                    .request(APPLICATION_JSON)
-                    .header(HttpHeaders.AUTHORIZATION, token)
-                    .accept(APPLICATION_JSON)
-                    .get(new GenericType<>() {
-                    });
+            return client().call(getMemberships("getMemberships/" + memberID, token));
         } catch (Exception e) {
             throw new IllegalArgumentException(invalidMembership);
         }
     }
 
+    /**
+     * Client for fetching all memberships (including history) of a user, without waiting for it
+     *
+     * @param memberID id of member to consider
+     * @param token    Authorization token used for validation
+     * @return Future list of memberships
+     */
+    public static CompletableFuture<List<MembershipResponseModel>> getMembershipsForUserAsync(String memberID,
+                                                                                             String token) {
+        return client().callAsync(getMemberships("getMemberships/" + memberID, token));
+    }
+
     /**
      * Client for fetching all active memberships of a user
      *
@@ -81,17 +148,25 @@ public class MembershipUtils {
      */
     public static List<MembershipResponseModel> getActiveMembershipsForUser(String memberID, String token) {
         try {
-            return client.target(server).path("getActiveMemberships/" + memberID)
-                    .request(APPLICATION_JSON)
-                    .header(HttpHeaders.AUTHORIZATION, token)
-                    .accept(APPLICATION_JSON)
-                    .get(new GenericType<>() {
-                    });
+            return cache().activeMembershipsOfMember(memberID, token,
+                    () -> client().call(getMemberships("getActiveMemberships/" + memberID, token)));
         } catch (Exception e) {
             throw new IllegalArgumentException(e.getMessage());
         }
     }
 
+    /**
+     * Client for fetching all active memberships of a user, without waiting for it, bypassing the cache
+     *
+     * @param memberID id of member to consider
+     * @param token    Authorization token used for validation
+     * @return Future list of memberships
+     */
+    public static CompletableFuture<List<MembershipResponseModel>> getActiveMembershipsForUserAsync(
+            String memberID, String token) {
+        return client().callAsync(getMemberships("getActiveMemberships/" + memberID, token));
+    }
+
     /**
      * Client for fetching all active memberships of an HOA
      *
@@ -101,17 +176,25 @@ public class MembershipUtils {
      */
     public static List<MembershipResponseModel> getActiveMembershipsOfHoa(Long hoaId, String token) {
         try {
-            return client.target(server).path("getAllMemberships/" + hoaId)
-                    .request(APPLICATION_JSON)
-                    .header(HttpHeaders.AUTHORIZATION, token)
-                    .accept(APPLICATION_JSON)
-                    .get(new GenericType<>() {
-                    });
+            return cache().activeMembershipsOfHoa(hoaId,
+                    () -> client().call(getMemberships("getAllMemberships/" + hoaId, token)));
         } catch (Exception e) {
             throw new IllegalArgumentException(invalidMembership);
         }
     }
 
+    /**
+     * Client for fetching all active memberships of an HOA, without waiting for it, bypassing the cache
+     *
+     * @param hoaId id of hoa to consider
+     * @param token Authorization token used for validation
+     * @return Future list of memberships
+     */
+    public static CompletableFuture<List<MembershipResponseModel>> getActiveMembershipsOfHoaAsync(Long hoaId,
+                                                                                                 String token) {
+        return client().callAsync(getMemberships("getAllMemberships/" + hoaId, token));
+    }
+
     /**
      * Client for clearing a board of a HOA
      *
@@ -119,13 +202,15 @@ public class MembershipUtils {
      */
     public static void resetBoard(Long hoaId) {
         try {
-            boolean res = client.target(server).path("resetBoard/" + hoaId)
+            boolean res = client().call(target -> target.path("resetBoard/" + hoaId)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .post(Entity.entity(secretClearBoardKey, APPLICATION_JSON), Boolean.class);
+                    .post(Entity.entity(secretClearBoardKey, APPLICATION_JSON), Boolean.class));
             if (!res) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Board could not be reset.");
         } catch (Exception e) {
             throw new IllegalArgumentException(invalidMembership);
+        } finally {
+            invalidateHoa(hoaId);
         }
     }
 
@@ -137,14 +222,45 @@ public class MembershipUtils {
      */
     public static void promoteWinners(Object result, Long hoaId) {
         try {
-            boolean res = client.target(server).path("promoteWinners/" + hoaId + "/" + secretPromoteKey)
+            boolean res = client().call(target -> target.path("promoteWinners/" + hoaId + "/" + secretPromoteKey)
                     .request(APPLICATION_JSON)
                     .accept(APPLICATION_JSON)
-                    .post(Entity.entity(result, APPLICATION_JSON), Boolean.class);
+                    .post(Entity.entity(result, APPLICATION_JSON), Boolean.class));
             if (!res) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not promote winners");
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid operation");
+        } finally {
+            invalidateHoa(hoaId);
         }
     }
-}
 
+    private static MembershipUtils current() {
+        MembershipUtils current = endpoints.get();
+        if (current == null) throw new IllegalStateException("The membership endpoints were not created by Spring");
+        return current;
+    }
+
+    private static ServiceClient client() {
+        return current().client;
+    }
+
+    private static MembershipCache cache() {
+        return current().cache;
+    }
+
+    private static Function<WebTarget, MembershipResponseModel> getMembership(long membershipId) {
+        return target -> target.path("getMembershipById/" + membershipId)
+                .request(APPLICATION_JSON)
+                .accept(APPLICATION_JSON)
+                .get(MembershipResponseModel.class);
+    }
+
+    private static Function<WebTarget, List<MembershipResponseModel>> getMemberships(String path, String token) {
+        return target -> target.path(path)
+                .request(APPLICATION_JSON)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .accept(APPLICATION_JSON)
+                .get(new GenericType<List<MembershipResponseModel>>() {
+                });
+    }
+}
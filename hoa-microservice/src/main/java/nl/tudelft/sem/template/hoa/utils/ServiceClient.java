@@ -0,0 +1,232 @@
+package nl.tudelft.sem.template.hoa.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.ServerErrorException;
+import javax.ws.rs.client.WebTarget;
+
+import nl.tudelft.sem.template.hoa.exception.ServiceUnavailableException;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.springframework.core.env.PropertyResolver;
+
+/**
+ * HTTP client for one other microservice.
+ * Connections are kept alive in a bounded pool, every call is bounded by a connect, pool checkout and read
+ * timeout, async calls run on a bounded executor with an overall deadline, and a circuit breaker makes calls
+ * fail fast (or fall back) while the service keeps failing.
+ * The settings are read from hoa.clients.(name).* properties, see application.properties.
+ */
+public class ServiceClient implements AutoCloseable {
+    private final transient String name;
+    private final transient String baseUrl;
+    private final transient ResteasyClient client;
+    private final transient ExecutorService executor;
+    private final transient CircuitBreaker breaker;
+    private final transient Duration callTimeout;
+
+    /**
+     * Creates a client.
+     *
+     * @param name              the name of the service, used in the property keys and error messages
+     * @param baseUrl           the url all paths are resolved against
+     * @param maxConnections    the size of the keep-alive connection pool
+     * @param keepAlive         the time a pooled connection is kept for reuse
+     * @param connectTimeout    the timeout for opening a connection or taking one from the pool
+     * @param readTimeout       the timeout for waiting on the response
+     * @param callTimeout       the default deadline of an async call, queueing included
+     * @param asyncThreads      the amount of threads running async calls
+     * @param failureThreshold  the amount of consecutive failures that opens the circuit
+     * @param openDuration      the time the circuit stays open
+     */
+    public ServiceClient(String name, String baseUrl, int maxConnections, Duration keepAlive,
+                         Duration connectTimeout, Duration readTimeout, Duration callTimeout,
+                         int asyncThreads, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.baseUrl = baseUrl;
+        this.callTimeout = callTimeout;
+        this.breaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.client = new ResteasyClientBuilder()
+                .connectionPoolSize(maxConnections)
+                .maxPooledPerRoute(maxConnections)
+                .connectionTTL(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                .connectionCheckoutTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        this.executor = newExecutor(name, asyncThreads, maxConnections);
+    }
+
+    /**
+     * Creates a client from the hoa.clients.(name).* properties.
+     *
+     * @param name       the name of the service
+     * @param defaultUrl the url used when hoa.clients.(name).url is not set
+     * @param properties the properties to read the settings from
+     * @return the client
+     */
+    public static ServiceClient of(String name, String defaultUrl, PropertyResolver properties) {
+        String prefix = "hoa.clients." + name + ".";
+        return new ServiceClient(name,
+                properties.getProperty(prefix + "url", defaultUrl),
+                properties.getProperty(prefix + "max-connections", Integer.class, 20),
+                millis(properties, prefix + "keep-alive-ms", 30_000),
+                millis(properties, prefix + "connect-timeout-ms", 1_000),
+                millis(properties, prefix + "read-timeout-ms", 3_000),
+                millis(properties, prefix + "call-timeout-ms", 5_000),
+                properties.getProperty(prefix + "async-threads", Integer.class, 8),
+                properties.getProperty(prefix + "breaker.failure-threshold", Integer.class, 5),
+                millis(properties, prefix + "breaker.open-ms", 10_000));
+    }
+
+    /**
+     * Makes a call on the calling thread.
+     *
+     * @param request the request, made against the base url of the service
+     * @param <T>     the type of the response
+     * @return the response
+     * @throws ServiceUnavailableException if the circuit is open
+     */
+    public <T> T call(Function<WebTarget, T> request) {
+        if (!breaker.tryAcquire()) throw unavailable();
+        try {
+            T response = request.apply(client.target(baseUrl));
+            breaker.onSuccess();
+            return response;
+        } catch (RuntimeException e) {
+            record(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes a call on the calling thread, falling back when the service is unavailable.
+     * Errors the service answered with, like a 400, are not hidden by the fallback.
+     *
+     * @param request  the request, made against the base url of the service
+     * @param fallback supplies the response when the circuit is open or the service failed or timed out
+     * @param <T>      the type of the response
+     * @return the response or the fallback
+     */
+    public <T> T call(Function<WebTarget, T> request, Supplier<T> fallback) {
+        try {
+            return call(request);
+        } catch (ServiceUnavailableException | ProcessingException | ServerErrorException e) {
+            return fallback.get();
+        }
+    }
+
+    /**
+     * Makes a call on the executor of this client, bounded by the default call timeout.
+     *
+     * @param request the request, made against the base url of the service
+     * @param <T>     the type of the response
+     * @return the future response, which fails with a ServiceUnavailableException if the circuit is open
+     *      and with a TimeoutException once the call timeout passed
+     */
+    public <T> CompletableFuture<T> callAsync(Function<WebTarget, T> request) {
+        return callAsync(request, callTimeout);
+    }
+
+    /**
+     * Makes a call on the executor of this client.
+     *
+     * @param request the request, made against the base url of the service
+     * @param timeout the deadline of this call, queueing for a thread included
+     * @param <T>     the type of the response
+     * @return the future response, which fails with a ServiceUnavailableException if the circuit is open
+     *      and with a TimeoutException once the timeout passed
+     */
+    public <T> CompletableFuture<T> callAsync(Function<WebTarget, T> request, Duration timeout) {
+        if (!breaker.tryAcquire()) return CompletableFuture.failedFuture(unavailable());
+        CompletableFuture<T> response;
+        try {
+            response = CompletableFuture.supplyAsync(() -> request.apply(client.target(baseUrl)), executor);
+        } catch (RejectedExecutionException e) {
+            // every thread is busy and the queue is full, the service does not keep up
+            breaker.onFailure();
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((r, e) -> {
+                    if (e == null) breaker.onSuccess();
+                    else record(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                });
+    }
+
+    /**
+     * Makes a call on the executor of this client, falling back when the service is unavailable.
+     *
+     * @param request  the request, made against the base url of the service
+     * @param fallback supplies the response when the circuit is open or the service failed or timed out
+     * @param <T>      the type of the response
+     * @return the future response or fallback
+     */
+    public <T> CompletableFuture<T> callAsync(Function<WebTarget, T> request, Supplier<T> fallback) {
+        return callAsync(request).handle((response, e) -> {
+            if (e == null) return CompletableFuture.completedFuture(response);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (isServiceFailure(cause) || cause instanceof ServiceUnavailableException)
+                return CompletableFuture.completedFuture(fallback.get());
+            return CompletableFuture.<T>failedFuture(cause);
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Getter for the state of the circuit to the service.
+     *
+     * @return the state of the circuit
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Closes the pooled connections and stops the async threads.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        client.close();
+    }
+
+    private void record(Throwable e) {
+        // a 4xx is an answer of a healthy service, only timeouts, I/O errors and 5xx count as failures
+        if (isServiceFailure(e)) breaker.onFailure();
+        else breaker.onSuccess();
+    }
+
+    private static boolean isServiceFailure(Throwable e) {
+        return e instanceof ProcessingException || e instanceof ServerErrorException
+                || e instanceof TimeoutException || e instanceof RejectedExecutionException;
+    }
+
+    private ServiceUnavailableException unavailable() {
+        return new ServiceUnavailableException("The " + name + " service is unavailable, try again later.");
+    }
+
+    private static Duration millis(PropertyResolver properties, String key, long defaultMillis) {
+        return Duration.ofMillis(properties.getProperty(key, Long.class, defaultMillis));
+    }
+
+    private static ExecutorService newExecutor(String name, int threads, int queueSize) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-client-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import nl.tudelft.sem.template.hoa.db.ActivityParticipantRepo;
 import nl.tudelft.sem.template.hoa.db.ActivityRepo;
 import nl.tudelft.sem.template.hoa.db.ActivityService;
 import nl.tudelft.sem.template.hoa.models.ActivityRequestModel;
@@ -23,6 +24,9 @@ public class ActivityServiceBoundaryTest {
     @Mock
     private transient ActivityRepo activityRepo;
 
+    @Mock
+    private transient ActivityParticipantRepo participantRepo;
+
     private transient ActivityService activityService;
 
     private final transient String test = "Test";
@@ -30,7 +34,7 @@ public class ActivityServiceBoundaryTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        activityService = new ActivityService(activityRepo);
+        activityService = new ActivityService(activityRepo, participantRepo);
     }
 
     @Test
@@ -8,11 +8,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import nl.tudelft.sem.template.hoa.annotations.TestSuite;
 import nl.tudelft.sem.template.hoa.db.HoaRepo;
 import nl.tudelft.sem.template.hoa.db.HoaService;
+import nl.tudelft.sem.template.hoa.db.MemberReportCountRepo;
+import nl.tudelft.sem.template.hoa.db.NotificationCursorRepo;
+import nl.tudelft.sem.template.hoa.db.NotificationRepo;
+import nl.tudelft.sem.template.hoa.db.ReportRepo;
 import nl.tudelft.sem.template.hoa.db.RequirementRepo;
+import nl.tudelft.sem.template.hoa.db.RequirementReportCountRepo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionOperations;
 
 @TestSuite(testType = {BOUNDARY, UNIT})
 public class HoaServiceBoundaryTest {
@@ -22,12 +28,28 @@ public class HoaServiceBoundaryTest {
     @Mock
     private transient RequirementRepo reqRepo;
 
+    @Mock
+    private transient NotificationRepo notificationRepo;
+
+    @Mock
+    private transient NotificationCursorRepo notificationCursorRepo;
+
+    @Mock
+    private transient ReportRepo reportRepo;
+
+    @Mock
+    private transient MemberReportCountRepo memberReportCountRepo;
+
+    @Mock
+    private transient RequirementReportCountRepo requirementReportCountRepo;
+
     private transient HoaService hoaService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        hoaService = new HoaService(hoaRepo, reqRepo);
+        hoaService = new HoaService(hoaRepo, reqRepo, notificationRepo, notificationCursorRepo, reportRepo,
+                memberReportCountRepo, requirementReportCountRepo, TransactionOperations.withoutTransaction());
     }
 
     @Test
@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
@@ -18,6 +19,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import nl.tudelft.sem.template.hoa.db.ActivityParticipantRepo;
 import nl.tudelft.sem.template.hoa.db.ActivityRepo;
 import nl.tudelft.sem.template.hoa.db.HoaRepo;
 import nl.tudelft.sem.template.hoa.domain.Activity;
@@ -54,6 +56,8 @@ class ActivityControllerTest {
     private transient ActivityRepo activityRepo;
     @Autowired
     private transient HoaRepo hoaRepo;
+    @Autowired
+    private transient ActivityParticipantRepo participantRepo;
 
     private static MockedStatic<MembershipUtils> membershipUtils;
 
@@ -171,7 +175,24 @@ class ActivityControllerTest {
 
         Activity updatedActivity = activityRepo.findById(activityId).orElseThrow();
 
-        assertTrue(updatedActivity.getParticipants().contains(membershipId));
+        assertEquals(1, updatedActivity.getParticipantCount());
+        assertTrue(participantRepo.existsByActivityIdAndMembershipId(activityId, membershipId));
+    }
+
+    @Test
+    void joinActivityTwiceTest() throws Exception {
+
+        insertActivityInDatabase();
+
+        long membershipId = 1L;
+        long activityId = 2L;
+
+        mockMvc.perform(put("/activity/join/" + membershipId + "/" + activityId)).andExpect(status().isOk());
+        ResultActions resultActions = mockMvc.perform(put("/activity/join/" + membershipId + "/" + activityId));
+
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.participantCount").value(1));
+        assertEquals(1, participantRepo.count());
     }
 
     @Test
@@ -188,8 +209,8 @@ class ActivityControllerTest {
         resultActions.andExpect(status().isBadRequest());
     }
 
-    private void joinActivity(long membershipId, long activityId) {
-        activityRepo.findById(activityId).orElseThrow().joinActivity(membershipId);
+    private void joinActivity(long membershipId, long activityId) throws Exception {
+        mockMvc.perform(put("/activity/join/" + membershipId + "/" + activityId));
     }
 
     @Test
@@ -209,7 +230,39 @@ class ActivityControllerTest {
 
         Activity updatedActivity = activityRepo.findById(activityId).orElseThrow();
 
-        assertFalse(updatedActivity.getParticipants().contains(membershipId));
+        assertEquals(0, updatedActivity.getParticipantCount());
+        assertFalse(participantRepo.existsByActivityIdAndMembershipId(activityId, membershipId));
+    }
+
+    @Test
+    void getParticipantsTest() throws Exception {
+
+        insertActivityInDatabase();
+
+        long membershipId = 1L;
+        long activityId = 2L;
+
+        joinActivity(membershipId, activityId);
+
+        ResultActions resultActions = mockMvc.perform(get("/activity/participants/" + membershipId + "/" + activityId));
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.length()").value(1));
+        resultActions.andExpect(jsonPath("$[0]").value(membershipId));
+
+        ResultActions nextPage = mockMvc.perform(get("/activity/participants/" + membershipId + "/" + activityId + "/1"));
+        nextPage.andExpect(status().isOk());
+        nextPage.andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getParticipantsTest_BadCase() throws Exception {
+
+        insertActivityInDatabase();
+
+        // membership 2 is not in the HOA of the activity
+        mockMvc.perform(get("/activity/participants/2/2")).andExpect(status().isBadRequest());
+        // there is no activity 5
+        mockMvc.perform(get("/activity/participants/1/5")).andExpect(status().isBadRequest());
     }
 
     @Test
@@ -263,7 +316,7 @@ class ActivityControllerTest {
     }
 
     public boolean insertActivityInDatabase() {
-        LocalDateTime activityTime = LocalDateTime.of(2025, 9, 26, 20, 30, 0);
+        LocalDateTime activityTime = LocalDateTime.now().plusMonths(6).withNano(0);
         LocalTime activityDuration = LocalTime.of(1, 30, 0);
         Activity activity = new Activity(1L, "BBQ", "We are having a BBQ", activityTime, activityDuration);
         try {
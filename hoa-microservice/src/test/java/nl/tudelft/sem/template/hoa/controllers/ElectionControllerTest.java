@@ -2,8 +2,8 @@ package nl.tudelft.sem.template.hoa.controllers;
 
 import nl.tudelft.sem.template.hoa.annotations.TestSuite;
 import nl.tudelft.sem.template.hoa.authentication.AuthManager;
-import nl.tudelft.sem.template.hoa.db.HoaRepo;
-import nl.tudelft.sem.template.hoa.domain.Hoa;
+import nl.tudelft.sem.template.hoa.db.ElectionOutcomeService;
+import nl.tudelft.sem.template.hoa.db.HoaService;
 import nl.tudelft.sem.template.hoa.models.MembershipResponseModel;
 import nl.tudelft.sem.template.hoa.models.BoardElectionRequestModel;
 import nl.tudelft.sem.template.hoa.models.RemoveVoteModel;
@@ -34,22 +34,23 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.INTEGRATION;
 import static org.assertj.core.api.Assertions.assertThatNoException;
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -71,9 +72,11 @@ public class ElectionControllerTest {
     private transient AuthManager mockAuthenticationManager;
 
     @Mock
-    private transient HoaRepo hoaRepo;
+    private transient HoaService hoaService;
     @Autowired
     private transient ElectionController electionController;
+    @Autowired
+    private transient ElectionOutcomeService outcomeService;
 
     private static MockedStatic<MembershipUtils> membershipUtilsMockedStatic;
     private static MockedStatic<ElectionUtils> electionUtilsMockedStatic;
@@ -91,7 +94,6 @@ public class ElectionControllerTest {
     private static final String badId = "john_not_doe";
     private static final String randomId = "randomemberId";
 
-    private static Hoa hoaTwo;
     private static Address address = new Address("Netherlands", "Delft", "Drebelweg",
             "14", "1111AA");
     private static LocalDateTime start = LocalDateTime.now();
@@ -209,8 +211,7 @@ public class ElectionControllerTest {
 
     @BeforeEach
     void setup() {
-        hoaTwo = Hoa.createHoa("Germany", "Hamburg", "RandomAssoc");
-        electionController.setHoaRepo(hoaRepo);
+        outcomeService.setHoaService(hoaService);
         electionController.setAuthenticationManager(mockAuthenticationManager);
     }
 
@@ -462,12 +463,12 @@ public class ElectionControllerTest {
                 () -> ElectionUtils.createBoardElection(argThat(e -> e.hoaId == 2L
                         && e.scheduledFor.year == currTime.getYear() + 1))
         );
+        electionUtilsMockedStatic.verify(() -> ElectionUtils.acknowledgeOutcome(el2));
     }
 
     @Test
     void concludeProposal() throws Exception {
         Mockito.when(this.mockAuthenticationManager.getMemberId()).thenReturn(memberId);
-        when(hoaRepo.findById(2L)).thenReturn(Optional.of(hoaTwo));
         ResultActions resultActions = mockMvc.perform(post("/voting/conclude/" + pel)
                 .contentType(MediaType.APPLICATION_JSON)
                 .header(HttpHeaders.AUTHORIZATION, tok));
@@ -475,23 +476,21 @@ public class ElectionControllerTest {
         resultActions.andExpect(status().isOk());
         MvcResult result = resultActions.andReturn();
         String expected = result.getResponse().getContentAsString();
-        verify(hoaRepo, times(0)).save(hoaTwo);
-        assertEquals("{}", hoaTwo.getNotifications().toString());
+        verify(hoaService, times(0)).publishNotification(anyLong(), any());
         assertTrue(expected.contains("false"));
     }
 
     @Test
     void concludeProposalApproved() throws Exception {
         Mockito.when(this.mockAuthenticationManager.getMemberId()).thenReturn(randomId);
-        when(hoaRepo.findById(2L)).thenReturn(Optional.of(hoaTwo));
         ResultActions resultActions = mockMvc.perform(post("/voting/conclude/" + pel2)
                 .contentType(MediaType.APPLICATION_JSON)
                 .header(HttpHeaders.AUTHORIZATION, tok));
 
         resultActions.andExpect(status().isOk());
-        verify(hoaRepo, times(1)).save(hoaTwo);
-        assertTrue(hoaTwo.getNotifications().toString().contains(randomId + "=[SomeRandomNotif]"));
-        assertTrue(hoaTwo.getNotifications().toString().contains(memberId + "=[SomeRandomNotif]"));
+        // published once for the HOA, not once per member
+        verify(hoaService, times(1)).publishNotification(2L, "SomeRandomNotif");
+        membershipUtilsMockedStatic.verify(() -> MembershipUtils.getActiveMembershipsOfHoa(eq(2L), any()), times(0));
         MvcResult result = resultActions.andReturn();
         String expected = result.getResponse().getContentAsString();
         assertTrue(expected.contains("true"));
@@ -510,7 +509,8 @@ public class ElectionControllerTest {
     @Test
     void concludeProposalBadMethod() throws Exception {
         Mockito.when(this.mockAuthenticationManager.getMemberId()).thenReturn(randomId);
-        when(hoaRepo.findById(2L)).thenReturn(Optional.empty());
+        doThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Associated HOA does not exist"))
+                .when(hoaService).publishNotification(anyLong(), any());
         ResultActions resultActions = mockMvc.perform(post("/voting/conclude/" + pel2)
                 .contentType(MediaType.APPLICATION_JSON)
                 .header(HttpHeaders.AUTHORIZATION, tok));
@@ -19,7 +19,10 @@ import java.util.List;
 import nl.tudelft.sem.template.hoa.annotations.TestSuite;
 import nl.tudelft.sem.template.hoa.db.HoaRepo;
 import nl.tudelft.sem.template.hoa.db.HoaService;
+import nl.tudelft.sem.template.hoa.db.NotificationCursorRepo;
+import nl.tudelft.sem.template.hoa.db.NotificationRepo;
 import nl.tudelft.sem.template.hoa.domain.Hoa;
+import nl.tudelft.sem.template.hoa.domain.Notification;
 import nl.tudelft.sem.template.hoa.models.BoardElectionRequestModel;
 import nl.tudelft.sem.template.hoa.models.HoaRequestModel;
 import nl.tudelft.sem.template.hoa.models.MembershipResponseModel;
@@ -57,6 +60,12 @@ public class HoaControllerTest {
     @Autowired
     private transient HoaRepo hoaRepo;
 
+    @Autowired
+    private transient NotificationRepo notificationRepo;
+
+    @Autowired
+    private transient NotificationCursorRepo notificationCursorRepo;
+
     @Mock
     private transient HoaService hoaService;
 
@@ -106,7 +115,7 @@ public class HoaControllerTest {
                 .thenAnswer(i -> {
                     String memberId = (String) i.getArguments()[0];
                     return List.of(new MembershipResponseModel(1, "memberOne", 1,
-                            "a", "b", false, LocalDateTime.now(), Duration.ZERO));
+                            "a", "b", false, LocalDateTime.now().minusDays(1), Duration.ZERO));
                 });
     }
 
@@ -119,6 +128,8 @@ public class HoaControllerTest {
 
     @AfterEach
     void flushRepo() {
+        notificationCursorRepo.deleteAll();
+        notificationRepo.deleteAll();
         hoaRepo.deleteAll();
     }
 
@@ -273,29 +284,38 @@ public class HoaControllerTest {
     @Test
     void getNotificationsSuccessTest() throws Exception {
         Hoa test = Hoa.createHoa("a", "b", "testHOA");
-        test.notify("memberOne", "Notification1");
-        test.notify("memberOne", "Notification2");
         hoaRepo.save(test);
+        // published before the member joined, so not one of theirs
+        notificationRepo.save(new Notification(l1, "Notification0", LocalDateTime.now().minusDays(2)));
+        notificationRepo.save(new Notification(l1, "Notification1", LocalDateTime.now()));
+        notificationRepo.save(new Notification(l1, "Notification2", LocalDateTime.now()));
 
         ResultActions resultActions = mockMvc.perform(get("/hoa/getNotifications/memberOne/" + l1)
                 .header(HttpHeaders.AUTHORIZATION, token)
                 .contentType(MediaType.APPLICATION_JSON));
         resultActions.andExpect(status().isOk());
         String res = resultActions.andReturn().getResponse().getContentAsString();
-        assertTrue(res.contains("Notification1"));
-        assertTrue(res.contains("Notification2"));
+        Assertions.assertEquals("[\"Notification1\",\"Notification2\"]", res);
 
-        assertTrue(hoaRepo.findById(l1).isPresent());
-        Hoa hoa = hoaRepo.findById(l1).get();
-        System.out.println(hoa.getNotifications());
+        // read once, the cursor moved past them
+        resultActions = mockMvc.perform(get("/hoa/getNotifications/memberOne/" + l1)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON));
+        resultActions.andExpect(status().isOk());
+        Assertions.assertEquals("[]", resultActions.andReturn().getResponse().getContentAsString());
+
+        notificationRepo.save(new Notification(l1, "Notification3", LocalDateTime.now()));
+        resultActions = mockMvc.perform(get("/hoa/getNotifications/memberOne/" + l1)
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MediaType.APPLICATION_JSON));
+        Assertions.assertEquals("[\"Notification3\"]", resultActions.andReturn().getResponse().getContentAsString());
     }
 
     @Test
     void getNotificationsUnauthorizedTest() throws Exception {
         Hoa test = Hoa.createHoa("a", "b", "testHOA");
-        test.notify("memberOne", "Notification1");
-        test.notify("memberOne", "Notification2");
         hoaRepo.save(test);
+        notificationRepo.save(new Notification(l1, "Notification1", LocalDateTime.now()));
 
         ResultActions resultActions = mockMvc.perform(get("/hoa/getNotifications/memberOne/" + l2)
                 .header(HttpHeaders.AUTHORIZATION, token)
@@ -303,4 +323,16 @@ public class HoaControllerTest {
         resultActions.andExpect(status().isUnauthorized());
     }
 
-}
\ No newline at end of file
+    @Test
+    void invalidateMembershipsTest() throws Exception {
+        mockMvc.perform(post("/hoa/invalidateMemberships/" + l1 + "/memberOne"))
+                .andExpect(status().isOk());
+        membershipUtilsMockedStatic.verify(() -> MembershipUtils.invalidateHoa(l1));
+        membershipUtilsMockedStatic.verify(() -> MembershipUtils.invalidateMember("memberOne"));
+
+        mockMvc.perform(post("/hoa/invalidateMemberships/" + l2))
+                .andExpect(status().isOk());
+        membershipUtilsMockedStatic.verify(() -> MembershipUtils.invalidateHoa(l2));
+    }
+
+}
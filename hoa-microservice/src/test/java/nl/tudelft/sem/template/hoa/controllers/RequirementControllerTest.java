@@ -3,6 +3,7 @@ package nl.tudelft.sem.template.hoa.controllers;
 import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.INTEGRATION;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.ArrayList;
@@ -11,9 +12,13 @@ import java.util.List;
 import nl.tudelft.sem.template.hoa.annotations.TestSuite;
 import nl.tudelft.sem.template.hoa.db.HoaRepo;
 import nl.tudelft.sem.template.hoa.db.HoaService;
+import nl.tudelft.sem.template.hoa.db.MemberReportCountRepo;
+import nl.tudelft.sem.template.hoa.db.RequirementReportCountRepo;
 import nl.tudelft.sem.template.hoa.db.RequirementService;
 import nl.tudelft.sem.template.hoa.domain.Hoa;
+import nl.tudelft.sem.template.hoa.domain.MemberReportCount;
 import nl.tudelft.sem.template.hoa.domain.Requirement;
+import nl.tudelft.sem.template.hoa.domain.RequirementReportCount;
 import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
 import nl.tudelft.sem.template.hoa.exception.RequirementAlreadyPresent;
 import nl.tudelft.sem.template.hoa.exception.RequirementDoesNotExist;
@@ -44,6 +49,12 @@ public class RequirementControllerTest {
     @Autowired
     private transient HoaRepo hoaRepo;
 
+    @Autowired
+    private transient MemberReportCountRepo memberReportCountRepo;
+
+    @Autowired
+    private transient RequirementReportCountRepo requirementReportCountRepo;
+
     private transient HoaService hoaService = Mockito.mock(HoaService.class);
 
     private transient RequirementService requirementService = Mockito.mock(RequirementService.class);
@@ -57,13 +68,15 @@ public class RequirementControllerTest {
     private transient Long l1 = 1L;
     private transient Long l2 = 2L;
 
-    void insertHoa() {
+    long insertHoa() {
         Hoa hoa = Hoa.createHoa("Country", "City", "Test");
-        hoaRepo.save(hoa);
+        return hoaRepo.save(hoa).getId();
     }
 
     @AfterEach
     void flushRepo() {
+        memberReportCountRepo.deleteAll();
+        requirementReportCountRepo.deleteAll();
         hoaRepo.deleteAll();
     }
 
@@ -152,5 +165,56 @@ public class RequirementControllerTest {
         resultActions.andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getTopOffenders() throws Exception {
+        long hoaId = insertHoa();
+        memberReportCountRepo.save(new MemberReportCount(hoaId, "rarely", 1));
+        memberReportCountRepo.save(new MemberReportCount(hoaId, "often", 5));
+        memberReportCountRepo.save(new MemberReportCount(hoaId, "sometimes", 3));
+        memberReportCountRepo.save(new MemberReportCount(hoaId + 1, "elsewhere", 9));
+
+        ResultActions resultActions = mockMvc.perform(get("/requirement/topOffenders/" + hoaId + "/2")
+                .contentType(MediaType.APPLICATION_JSON));
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.length()").value(2));
+        resultActions.andExpect(jsonPath("$[0].memberId").value("often"));
+        resultActions.andExpect(jsonPath("$[0].reportCount").value(5));
+        resultActions.andExpect(jsonPath("$[1].memberId").value("sometimes"));
+    }
+
+    @Test
+    void getMostBroken() throws Exception {
+        long hoaId = insertHoa();
+        requirementReportCountRepo.save(new RequirementReportCount(hoaId, l1, 2));
+        requirementReportCountRepo.save(new RequirementReportCount(hoaId, l2, 4));
+
+        ResultActions resultActions = mockMvc.perform(get("/requirement/mostBroken/" + hoaId)
+                .contentType(MediaType.APPLICATION_JSON));
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.length()").value(2));
+        resultActions.andExpect(jsonPath("$[0].requirementId").value(l2));
+        resultActions.andExpect(jsonPath("$[1].requirementId").value(l1));
+    }
+
+    @Test
+    void getTopOffendersHoaDoesntExist() throws Exception {
+        Mockito.when(this.hoaService.getTopOffenders(l2, 10))
+                .thenThrow(new HoaDoesntExistException(l2 + " does not exist"));
+        requirementController.setHoaService(hoaService);
+
+        ResultActions resultActions = mockMvc.perform(get("/requirement/topOffenders/" + l2)
+                .contentType(MediaType.APPLICATION_JSON));
+        resultActions.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMostBrokenLimitIsCapped() throws Exception {
+        Mockito.when(this.hoaService.getMostBrokenRequirements(l1, 100)).thenReturn(List.of());
+        requirementController.setHoaService(hoaService);
 
+        ResultActions resultActions = mockMvc.perform(get("/requirement/mostBroken/" + l1 + "/5000")
+                .contentType(MediaType.APPLICATION_JSON));
+        resultActions.andExpect(status().isOk());
+        Mockito.verify(hoaService).getMostBrokenRequirements(l1, 100);
+    }
 }
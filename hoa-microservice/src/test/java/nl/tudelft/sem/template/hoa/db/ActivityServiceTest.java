@@ -10,6 +10,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -20,6 +21,7 @@ import java.util.Optional;
 
 import nl.tudelft.sem.template.hoa.annotations.TestSuite;
 import nl.tudelft.sem.template.hoa.domain.Activity;
+import nl.tudelft.sem.template.hoa.domain.ActivityParticipant;
 import nl.tudelft.sem.template.hoa.exception.ActivityDoesntExistException;
 import nl.tudelft.sem.template.hoa.exception.BadActivityException;
 import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
@@ -34,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
@@ -46,9 +49,18 @@ class ActivityServiceTest {
     @Autowired
     private transient ActivityRepo actualRepo;
 
+    @Autowired
+    private transient ActivityService actualService;
+
+    @Autowired
+    private transient ActivityParticipantRepo actualParticipantRepo;
+
     @Mock
     private transient ActivityRepo activityRepo;
 
+    @Mock
+    private transient ActivityParticipantRepo participantRepo;
+
     private transient HoaService hoaService;
 
     private transient ActivityService activityService;
@@ -59,9 +71,11 @@ class ActivityServiceTest {
 
     private static final String spaces = "   ";
 
+    private static final LocalDateTime activityTime = LocalDateTime.now().plusMonths(6).withNano(0);
+
     private final transient Activity activity = new Activity(1L, "activity 1",
             "description 1",
-            LocalDateTime.of(2025, 12, 12, 5, 0, 0),
+            activityTime,
             LocalTime.of(2, 0, 0));
 
     @BeforeAll
@@ -83,7 +97,7 @@ class ActivityServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        activityService = new ActivityService(activityRepo);
+        activityService = new ActivityService(activityRepo, participantRepo);
     }
 
     @Test
@@ -107,10 +121,20 @@ class ActivityServiceTest {
     @Test
     void joinActivity() throws ActivityDoesntExistException {
         when(activityRepo.findById(anyLong())).thenReturn(Optional.of(activity));
+        when(participantRepo.existsByActivityIdAndMembershipId(1L, 1L)).thenReturn(false);
         Activity updatedActivity = activityService.joinActivity(1, 1);
         assertEquals(activity, updatedActivity);
-        assertEquals(1, activity.getParticipants().size());
-        assertTrue(activity.getParticipants().contains(1L));
+        verify(participantRepo).save(any(ActivityParticipant.class));
+        verify(activityRepo).addToParticipantCount(1L, 1);
+    }
+
+    @Test
+    void joinActivityTwice() throws ActivityDoesntExistException {
+        when(activityRepo.findById(anyLong())).thenReturn(Optional.of(activity));
+        when(participantRepo.existsByActivityIdAndMembershipId(1L, 1L)).thenReturn(true);
+        assertEquals(activity, activityService.joinActivity(1, 1));
+        verify(participantRepo, never()).save(any(ActivityParticipant.class));
+        verify(activityRepo, never()).addToParticipantCount(anyLong(), anyLong());
     }
 
     @Test
@@ -123,15 +147,47 @@ class ActivityServiceTest {
     @Test
     void leaveActivity() throws ActivityDoesntExistException {
         when(activityRepo.findById(anyLong())).thenReturn(Optional.of(activity));
-        Activity updatedActivity = activityService.joinActivity(1, 1);
+        when(participantRepo.removeParticipant(1L, 1L)).thenReturn(1);
+        Activity updatedActivity = activityService.leaveActivity(1, 1);
         assertEquals(activity, updatedActivity);
-        assertEquals(1, activity.getParticipants().size());
-        assertTrue(activity.getParticipants().contains(1L));
-        updatedActivity = activityService.leaveActivity(1, 1);
-        assertEquals(0, activity.getParticipants().size());
-        assertFalse(activity.getParticipants().contains(1L));
-        assertEquals(0, activity.getParticipants().size());
-        assertFalse(activity.getParticipants().contains(1L));
+        verify(activityRepo).addToParticipantCount(1L, -1);
+    }
+
+    @Test
+    void leaveActivityNotJoined() throws ActivityDoesntExistException {
+        when(activityRepo.findById(anyLong())).thenReturn(Optional.of(activity));
+        when(participantRepo.removeParticipant(1L, 1L)).thenReturn(0);
+        assertEquals(activity, activityService.leaveActivity(1, 1));
+        verify(activityRepo, never()).addToParticipantCount(anyLong(), anyLong());
+    }
+
+    @Test
+    void joinAndLeaveActivityKeepsCount() throws ActivityDoesntExistException {
+        Activity upcoming = actualRepo.save(new Activity(1L, "activity 2", "description 2",
+                LocalDateTime.now().plusDays(1), LocalTime.of(2, 0, 0)));
+        long id = upcoming.getId();
+
+        assertEquals(1, actualService.joinActivity(1L, id).getParticipantCount());
+        // joining again does not count the member twice
+        assertEquals(1, actualService.joinActivity(1L, id).getParticipantCount());
+        assertEquals(List.of(1L), actualService.getParticipants(id, 0, 10));
+
+        assertEquals(0, actualService.leaveActivity(1L, id).getParticipantCount());
+        assertEquals(0, actualService.leaveActivity(1L, id).getParticipantCount());
+        assertTrue(actualService.getParticipants(id, 0, 10).isEmpty());
+    }
+
+    @Test
+    void getParticipants() throws ActivityDoesntExistException {
+        when(activityRepo.existsById(1L)).thenReturn(true);
+        when(participantRepo.findMembershipIds(1L, PageRequest.of(2, 10))).thenReturn(List.of(4L, 7L));
+        assertEquals(List.of(4L, 7L), activityService.getParticipants(1L, 2, 10));
+    }
+
+    @Test
+    void getParticipantsNoActivity() {
+        when(activityRepo.existsById(1L)).thenReturn(false);
+        assertThrows(ActivityDoesntExistException.class, () -> activityService.getParticipants(1L, 0, 10));
     }
 
     @Test
@@ -141,17 +197,56 @@ class ActivityServiceTest {
     }
 
     @Test
-    void updateAndRetrieveActivities() {
+    void getUpcomingActivities() {
+        Activity later = new Activity(1L, "activity 2", "description 2",
+                LocalDateTime.now().plusDays(2), LocalTime.of(2, 0, 0));
+        Activity sooner = new Activity(1L, "activity 3", "description 3",
+                LocalDateTime.now().plusDays(1), LocalTime.of(2, 0, 0));
+        Activity otherHoa = new Activity(2L, "activity 4", "description 4",
+                LocalDateTime.now().plusDays(1), LocalTime.of(2, 0, 0));
         Activity expiredActivity = new Activity(1L, "activity 1", "description 1",
                 LocalDateTime.of(2018, 12, 12, 5, 0, 0),
                 LocalTime.of(2, 0, 0));
 
-        actualRepo.save(activity);
+        actualRepo.save(later);
+        actualRepo.save(sooner);
+        actualRepo.save(otherHoa);
         actualRepo.save(expiredActivity);
 
-        ActivityService actualService = new ActivityService(actualRepo);
+        assertEquals(List.of(sooner, later), actualService.getUpcomingActivities(1L));
+        // reading the board leaves the expired activity to the sweeper
+        assertEquals(4, actualRepo.count());
+    }
 
-        assertEquals(List.of(activity), actualService.updateAndRetrieveActivities(1L));
+    @Test
+    void removeExpiredActivities() {
+        Activity upcoming = new Activity(1L, "activity 2", "description 2",
+                LocalDateTime.now().plusDays(1), LocalTime.of(2, 0, 0));
+        Activity expiredActivity = new Activity(1L, "activity 1", "description 1",
+                LocalDateTime.of(2018, 12, 12, 5, 0, 0),
+                LocalTime.of(2, 0, 0));
+        Activity otherHoaExpired = new Activity(2L, "activity 3", "description 3",
+                LocalDateTime.of(2019, 1, 1, 5, 0, 0),
+                LocalTime.of(2, 0, 0));
+
+        actualRepo.save(upcoming);
+        actualRepo.save(expiredActivity);
+        actualRepo.save(otherHoaExpired);
+        actualParticipantRepo.save(new ActivityParticipant(upcoming.getId(), 1L, LocalDateTime.now()));
+        actualParticipantRepo.save(new ActivityParticipant(expiredActivity.getId(), 1L, LocalDateTime.now()));
+
+        assertEquals(2, actualService.removeExpiredActivities(LocalDateTime.now()));
+        assertEquals(List.of(upcoming), actualRepo.findAll());
+        assertEquals(List.of(1L), actualParticipantRepo.findMembershipIds(upcoming.getId(), PageRequest.of(0, 10)));
+        assertEquals(1, actualParticipantRepo.count());
+    }
+
+    @Test
+    void sweeperRemovesExpiredActivities() {
+        when(activityRepo.deleteByActivityTimeBefore(any(LocalDateTime.class))).thenReturn(3);
+        assertEquals(3, new ActivitySweeper(activityService).sweep());
+        verify(activityRepo).deleteByActivityTimeBefore(any(LocalDateTime.class));
+        verify(participantRepo).removeAllOfActivitiesBefore(any(LocalDateTime.class));
     }
 
     @Test
@@ -159,7 +254,6 @@ class ActivityServiceTest {
         HoaService hoaService = mock(HoaService.class);
         when(hoaService.findHoaById(any(Long.class))).thenReturn(true);
 
-        LocalDateTime activityTime = LocalDateTime.of(2025, 12, 12, 5, 0, 0);
         LocalTime activityDuration = LocalTime.of(2, 0, 0);
         ActivityRequestModel requestModel = new ActivityRequestModel("activity 1", "description 1",
                 1L, activityTime, activityDuration);
@@ -177,6 +271,7 @@ class ActivityServiceTest {
     @Test
     void deleteActivity() {
         activityService.deleteActivity(activity);
+        verify(participantRepo).removeAllOfActivity(activity.getId());
         verify(activityRepo).delete(activity);
     }
 
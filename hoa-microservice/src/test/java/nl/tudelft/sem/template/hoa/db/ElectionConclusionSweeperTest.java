@@ -0,0 +1,94 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.UNIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import nl.tudelft.sem.template.hoa.exception.ServiceUnavailableException;
+import nl.tudelft.sem.template.hoa.utils.ElectionUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+@TestSuite(testType = UNIT)
+class ElectionConclusionSweeperTest {
+
+    private static final String START = "2030-01-01T10:00:00";
+
+    private static final List<Map<String, Object>> PENDING = List.of(
+            Map.of("electionId", 1, "type", "board", "hoaId", 1, "scheduledFor", START, "description", "board",
+                    "result", List.of("winner")),
+            Map.of("electionId", 2, "type", "proposal", "hoaId", 2, "scheduledFor", START,
+                    "description", "new rule", "result", true));
+
+    private transient ElectionOutcomeService outcomeService;
+    private transient ElectionConclusionSweeper sweeper;
+    private transient MockedStatic<ElectionUtils> electionUtils;
+
+    @BeforeEach
+    void setup() {
+        outcomeService = mock(ElectionOutcomeService.class);
+        electionUtils = mockStatic(ElectionUtils.class);
+        sweeper = new ElectionConclusionSweeper(outcomeService);
+        when(outcomeService.deliver(anyInt(), anyBoolean(), anyLong(), any(), any(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void close() {
+        electionUtils.close();
+    }
+
+    @Test
+    void deliversEveryPendingOutcome() {
+        electionUtils.when(ElectionUtils::getPendingOutcomes).thenReturn(PENDING);
+        assertEquals(2, sweeper.sweep());
+        verify(outcomeService).deliver(1, true, 1L, START, "board", List.of("winner"));
+        verify(outcomeService).deliver(2, false, 2L, START, "new rule", true);
+    }
+
+    @Test
+    void failingOutcomeDoesNotStopTheOthers() {
+        electionUtils.when(ElectionUtils::getPendingOutcomes).thenReturn(PENDING);
+        doThrow(new ServiceUnavailableException("membership"))
+                .when(outcomeService).deliver(1, true, 1L, START, "board", List.of("winner"));
+        assertEquals(1, sweeper.sweep());
+        verify(outcomeService).deliver(2, false, 2L, START, "new rule", true);
+    }
+
+    @Test
+    void malformedOutcomeDoesNotStopTheOthers() {
+        electionUtils.when(ElectionUtils::getPendingOutcomes).thenReturn(PENDING);
+        doThrow(new DateTimeParseException("bad start", START, 0))
+                .when(outcomeService).deliver(1, true, 1L, START, "board", List.of("winner"));
+        assertEquals(1, sweeper.sweep());
+    }
+
+    @Test
+    void unacknowledgedOutcomeIsNotCounted() {
+        electionUtils.when(ElectionUtils::getPendingOutcomes).thenReturn(PENDING);
+        when(outcomeService.deliver(1, true, 1L, START, "board", List.of("winner"))).thenReturn(false);
+        assertEquals(1, sweeper.sweep());
+    }
+
+    @Test
+    void votingUnavailable() {
+        electionUtils.when(ElectionUtils::getPendingOutcomes).thenThrow(new ServiceUnavailableException("voting"));
+        assertEquals(0, sweeper.sweep());
+        verify(outcomeService, never()).deliver(anyInt(), anyBoolean(), anyLong(), any(), any(), any());
+    }
+}
@@ -0,0 +1,82 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.UNIT;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import nl.tudelft.sem.template.hoa.exception.ServiceUnavailableException;
+import nl.tudelft.sem.template.hoa.utils.ElectionUtils;
+import nl.tudelft.sem.template.hoa.utils.MembershipUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+@TestSuite(testType = UNIT)
+class ElectionOutcomeServiceTest {
+
+    private static final String START = "2030-01-01T10:00:00";
+
+    private transient HoaService hoaService;
+    private transient MockedStatic<ElectionUtils> electionUtils;
+    private transient MockedStatic<MembershipUtils> membershipUtils;
+    private transient AppliedElectionOutcomeRepo appliedOutcomeRepo;
+    private transient ElectionOutcomeService outcomeService;
+
+    @BeforeEach
+    void setup() {
+        hoaService = mock(HoaService.class);
+        electionUtils = mockStatic(ElectionUtils.class);
+        membershipUtils = mockStatic(MembershipUtils.class);
+        appliedOutcomeRepo = mock(AppliedElectionOutcomeRepo.class);
+        outcomeService = new ElectionOutcomeService(hoaService, appliedOutcomeRepo);
+    }
+
+    @AfterEach
+    void close() {
+        electionUtils.close();
+        membershipUtils.close();
+    }
+
+    @Test
+    void appliesThenAcknowledges() {
+        assertTrue(outcomeService.deliver(1, false, 2L, START, "new rule", true));
+        verify(hoaService).publishNotification(2L, "new rule");
+        verify(appliedOutcomeRepo).save(any());
+        electionUtils.verify(() -> ElectionUtils.acknowledgeOutcome(1));
+    }
+
+    @Test
+    void appliedOutcomeIsOnlyAcknowledged() {
+        when(appliedOutcomeRepo.existsById(1)).thenReturn(true);
+        assertTrue(outcomeService.deliver(1, false, 2L, START, "new rule", true));
+        verify(hoaService, never()).publishNotification(anyLong(), any());
+        electionUtils.verify(() -> ElectionUtils.acknowledgeOutcome(1));
+    }
+
+    @Test
+    void lostAcknowledgementKeepsTheRecord() {
+        electionUtils.when(() -> ElectionUtils.acknowledgeOutcome(1)).thenThrow(new ServiceUnavailableException("voting"));
+        assertFalse(outcomeService.deliver(1, false, 2L, START, "new rule", true));
+        verify(appliedOutcomeRepo).save(any());
+    }
+
+    @Test
+    void failedOutcomeIsNotAcknowledged() {
+        doThrow(new ServiceUnavailableException("hoa")).when(hoaService).publishNotification(2L, "new rule");
+        assertThrows(ServiceUnavailableException.class,
+                () -> outcomeService.deliver(1, false, 2L, START, "new rule", true));
+        verify(appliedOutcomeRepo, never()).save(any());
+        electionUtils.verify(() -> ElectionUtils.acknowledgeOutcome(1), never());
+    }
+}
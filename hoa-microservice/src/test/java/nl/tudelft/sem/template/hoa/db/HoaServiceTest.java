@@ -3,10 +3,16 @@ package nl.tudelft.sem.template.hoa.db;
 import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.INTEGRATION;
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +22,12 @@ import nl.tudelft.sem.template.hoa.db.HoaRepo;
 import nl.tudelft.sem.template.hoa.db.HoaService;
 import nl.tudelft.sem.template.hoa.db.RequirementRepo;
 import nl.tudelft.sem.template.hoa.domain.Hoa;
+import nl.tudelft.sem.template.hoa.domain.MemberReportCount;
+import nl.tudelft.sem.template.hoa.domain.Notification;
+import nl.tudelft.sem.template.hoa.domain.NotificationCursor;
+import nl.tudelft.sem.template.hoa.domain.Report;
+import nl.tudelft.sem.template.hoa.domain.Requirement;
+import nl.tudelft.sem.template.hoa.domain.RequirementReportCount;
 import nl.tudelft.sem.template.hoa.exception.BadFormatHoaException;
 import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
 import nl.tudelft.sem.template.hoa.exception.HoaNameAlreadyTakenException;
@@ -23,8 +35,13 @@ import nl.tudelft.sem.template.hoa.models.HoaRequestModel;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.server.ResponseStatusException;
 
 @TestSuite(testType = INTEGRATION)
 public class HoaServiceTest {
@@ -41,13 +58,29 @@ public class HoaServiceTest {
     @Mock
     private transient RequirementRepo reqRepo;
 
+    @Mock
+    private transient NotificationRepo notificationRepo;
+
+    @Mock
+    private transient NotificationCursorRepo notificationCursorRepo;
+
+    @Mock
+    private transient ReportRepo reportRepo;
+
+    @Mock
+    private transient MemberReportCountRepo memberReportCountRepo;
+
+    @Mock
+    private transient RequirementReportCountRepo requirementReportCountRepo;
+
     private transient HoaService hoaService;
     private final transient Hoa hoa = Hoa.createHoa(testCountry, testCity, test);
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        hoaService = new HoaService(hoaRepo, reqRepo);
+        hoaService = new HoaService(hoaRepo, reqRepo, notificationRepo, notificationCursorRepo, reportRepo,
+                memberReportCountRepo, requirementReportCountRepo, TransactionOperations.withoutTransaction());
     }
 
     @Test
@@ -221,5 +254,172 @@ public class HoaServiceTest {
         Assertions.assertFalse(hoaService.nameCheck("Aa" + "a".repeat(60)));
     }
 
+    @Test
+    void publishNotificationTest() {
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        hoaService.publishNotification(1L, "rule");
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepo).save(captor.capture());
+        Assertions.assertEquals(1L, captor.getValue().getHoaId());
+        Assertions.assertEquals("rule", captor.getValue().getRulesChange());
+    }
+
+    @Test
+    void publishNotificationNoHoaTest() {
+        when(hoaRepo.existsById(1L)).thenReturn(false);
+        assertThrows(ResponseStatusException.class, () -> hoaService.publishNotification(1L, "rule"));
+        verify(notificationRepo, never()).save(any());
+    }
 
+    @Test
+    void clearNotificationsMovesCursorTest() throws HoaDoesntExistException {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        NotificationCursor cursor = new NotificationCursor(1L, "member");
+        cursor.setLastReadId(3L);
+        Notification first = mock(Notification.class);
+        when(first.getId()).thenReturn(4L);
+        when(first.getRulesChange()).thenReturn("rule4");
+        Notification second = mock(Notification.class);
+        when(second.getId()).thenReturn(7L);
+        when(second.getRulesChange()).thenReturn("rule7");
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        when(notificationCursorRepo.findByHoaIdAndMemberId(1L, "member")).thenReturn(Optional.of(cursor));
+        when(notificationRepo.findByHoaIdAndIdGreaterThanOrderByIdAsc(1L, 3L))
+                .thenReturn(List.of(first, second));
+
+        Assertions.assertEquals(List.of("rule4", "rule7"), hoaService.clearNotifications(1L, "member", since));
+        Assertions.assertEquals(7L, cursor.getLastReadId());
+        verify(notificationCursorRepo).save(cursor);
+    }
+
+    @Test
+    void clearNotificationsNothingNewTest() throws HoaDoesntExistException {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        when(notificationCursorRepo.findByHoaIdAndMemberId(1L, "member")).thenReturn(Optional.empty());
+        when(notificationRepo.findFirstByHoaIdAndPublishedAtLessThanOrderByIdDesc(1L, since))
+                .thenReturn(Optional.empty());
+        when(notificationRepo.findByHoaIdAndIdGreaterThanOrderByIdAsc(1L, 0L))
+                .thenReturn(List.of());
+
+        Assertions.assertTrue(hoaService.clearNotifications(1L, "member", since).isEmpty());
+        verify(notificationCursorRepo, never()).save(any());
+    }
+
+    @Test
+    void clearNotificationsFirstReadStartsAtMembershipTest() throws HoaDoesntExistException {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        Notification before = mock(Notification.class);
+        when(before.getId()).thenReturn(5L);
+        Notification after = mock(Notification.class);
+        when(after.getId()).thenReturn(8L);
+        when(after.getRulesChange()).thenReturn("rule8");
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        when(notificationCursorRepo.findByHoaIdAndMemberId(1L, "member")).thenReturn(Optional.empty());
+        when(notificationRepo.findFirstByHoaIdAndPublishedAtLessThanOrderByIdDesc(1L, since))
+                .thenReturn(Optional.of(before));
+        when(notificationRepo.findByHoaIdAndIdGreaterThanOrderByIdAsc(1L, 5L))
+                .thenReturn(List.of(after));
+
+        Assertions.assertEquals(List.of("rule8"), hoaService.clearNotifications(1L, "member", since));
+        ArgumentCaptor<NotificationCursor> captor = ArgumentCaptor.forClass(NotificationCursor.class);
+        verify(notificationCursorRepo).save(captor.capture());
+        Assertions.assertEquals(8L, captor.getValue().getLastReadId());
+    }
+
+    @Test
+    void clearNotificationsNoHoaTest() {
+        when(hoaRepo.existsById(1L)).thenReturn(false);
+        assertThrows(HoaDoesntExistException.class,
+                () -> hoaService.clearNotifications(1L, "member", LocalDateTime.now()));
+    }
+
+    @Test
+    void reportFirstTimeTest() {
+        when(reqRepo.findById(2L)).thenReturn(Optional.of(new Requirement("rule", 1L)));
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        when(memberReportCountRepo.increment(1L, "member")).thenReturn(0);
+        when(requirementReportCountRepo.increment(1L, 2L)).thenReturn(0);
+        hoaService.report("member", 2L);
+
+        ArgumentCaptor<Report> report = ArgumentCaptor.forClass(Report.class);
+        verify(reportRepo).save(report.capture());
+        Assertions.assertEquals(1L, report.getValue().getHoaId());
+        Assertions.assertEquals("member", report.getValue().getMemberId());
+        Assertions.assertEquals(2L, report.getValue().getRequirementId());
+        ArgumentCaptor<MemberReportCount> member = ArgumentCaptor.forClass(MemberReportCount.class);
+        verify(memberReportCountRepo).saveAndFlush(member.capture());
+        Assertions.assertEquals(1L, member.getValue().getReportCount());
+        ArgumentCaptor<RequirementReportCount> req = ArgumentCaptor.forClass(RequirementReportCount.class);
+        verify(requirementReportCountRepo).saveAndFlush(req.capture());
+        Assertions.assertEquals(1L, req.getValue().getReportCount());
+        verify(hoaRepo, never()).save(any());
+    }
+
+    @Test
+    void reportAgainTest() {
+        when(reqRepo.findById(2L)).thenReturn(Optional.of(new Requirement("rule", 1L)));
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        when(memberReportCountRepo.increment(1L, "member")).thenReturn(1);
+        when(requirementReportCountRepo.increment(1L, 2L)).thenReturn(1);
+        hoaService.report("member", 2L);
+
+        verify(reportRepo).save(any());
+        verify(memberReportCountRepo, never()).saveAndFlush(any());
+        verify(requirementReportCountRepo, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void reportRacingFirstReportTest() {
+        when(reqRepo.findById(2L)).thenReturn(Optional.of(new Requirement("rule", 1L)));
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        // another report created the counter between the increment and the insert
+        when(memberReportCountRepo.increment(1L, "member")).thenReturn(0, 1);
+        when(memberReportCountRepo.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(requirementReportCountRepo.increment(1L, 2L)).thenReturn(1);
+        hoaService.report("member", 2L);
+
+        verify(memberReportCountRepo, times(2)).increment(1L, "member");
+        verify(memberReportCountRepo).saveAndFlush(any());
+    }
+
+    @Test
+    void reportNoRequirementTest() {
+        when(reqRepo.findById(2L)).thenReturn(Optional.empty());
+        assertThrows(ResponseStatusException.class, () -> hoaService.report("member", 2L));
+        verify(reportRepo, never()).save(any());
+    }
+
+    @Test
+    void reportNoHoaTest() {
+        when(reqRepo.findById(2L)).thenReturn(Optional.of(new Requirement("rule", 1L)));
+        when(hoaRepo.existsById(1L)).thenReturn(false);
+        assertThrows(ResponseStatusException.class, () -> hoaService.report("member", 2L));
+        verify(reportRepo, never()).save(any());
+        verify(memberReportCountRepo, never()).increment(anyLong(), anyString());
+    }
+
+    @Test
+    void getTopOffendersTest() throws HoaDoesntExistException {
+        List<MemberReportCount> counts = List.of(new MemberReportCount(1L, "member", 3L));
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        when(memberReportCountRepo.findByHoaIdOrderByReportCountDesc(1L, PageRequest.of(0, 5))).thenReturn(counts);
+        Assertions.assertEquals(counts, hoaService.getTopOffenders(1L, 5));
+    }
+
+    @Test
+    void getMostBrokenRequirementsTest() throws HoaDoesntExistException {
+        List<RequirementReportCount> counts = List.of(new RequirementReportCount(1L, 2L, 3L));
+        when(hoaRepo.existsById(1L)).thenReturn(true);
+        when(requirementReportCountRepo.findByHoaIdOrderByReportCountDesc(1L, PageRequest.of(0, 5)))
+                .thenReturn(counts);
+        Assertions.assertEquals(counts, hoaService.getMostBrokenRequirements(1L, 5));
+    }
+
+    @Test
+    void getTopOffendersNoHoaTest() {
+        when(hoaRepo.existsById(1L)).thenReturn(false);
+        assertThrows(HoaDoesntExistException.class, () -> hoaService.getTopOffenders(1L, 5));
+        assertThrows(HoaDoesntExistException.class, () -> hoaService.getMostBrokenRequirements(1L, 5));
+    }
 }
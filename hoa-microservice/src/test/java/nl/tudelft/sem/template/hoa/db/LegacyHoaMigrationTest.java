@@ -0,0 +1,201 @@
+package nl.tudelft.sem.template.hoa.db;
+
+import static java.util.stream.Collectors.toList;
+import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.INTEGRATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import nl.tudelft.sem.template.hoa.domain.Activity;
+import nl.tudelft.sem.template.hoa.domain.ActivityParticipant;
+import nl.tudelft.sem.template.hoa.domain.Hoa;
+import nl.tudelft.sem.template.hoa.domain.MemberReportCount;
+import nl.tudelft.sem.template.hoa.domain.NotificationCursor;
+import nl.tudelft.sem.template.hoa.domain.RequirementReportCount;
+import nl.tudelft.sem.template.hoa.exception.HoaDoesntExistException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * HOAs and activities written before their data got its own tables, with that data still in the serialized columns.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@TestSuite(testType = INTEGRATION)
+class LegacyHoaMigrationTest {
+
+    private static final LocalDateTime memberSince = LocalDateTime.now().minusYears(1);
+
+    @Autowired
+    private transient LegacyHoaMigration migration;
+    @Autowired
+    private transient JdbcTemplate jdbc;
+    @Autowired
+    private transient HoaRepo hoaRepo;
+    @Autowired
+    private transient HoaService hoaService;
+    @Autowired
+    private transient NotificationRepo notificationRepo;
+    @Autowired
+    private transient NotificationCursorRepo notificationCursorRepo;
+    @Autowired
+    private transient ReportRepo reportRepo;
+    @Autowired
+    private transient MemberReportCountRepo memberReportCountRepo;
+    @Autowired
+    private transient RequirementReportCountRepo requirementReportCountRepo;
+    @Autowired
+    private transient ActivityRepo activityRepo;
+    @Autowired
+    private transient ActivityParticipantRepo activityParticipantRepo;
+
+    @BeforeEach
+    void addLegacyColumns() {
+        jdbc.execute("ALTER TABLE HOA ADD COLUMN NOTIFICATIONS VARCHAR(255)");
+        jdbc.execute("ALTER TABLE HOA ADD COLUMN REPORTS VARCHAR(255)");
+        jdbc.execute("ALTER TABLE ACTIVITIES ADD COLUMN PARTICIPANTS VARCHAR(255) DEFAULT '' NOT NULL");
+    }
+
+    @AfterEach
+    void dropLegacyColumns() {
+        jdbc.execute("ALTER TABLE HOA DROP COLUMN NOTIFICATIONS");
+        jdbc.execute("ALTER TABLE HOA DROP COLUMN REPORTS");
+        jdbc.execute("ALTER TABLE ACTIVITIES DROP COLUMN PARTICIPANTS");
+        activityParticipantRepo.deleteAll();
+        activityRepo.deleteAll();
+        requirementReportCountRepo.deleteAll();
+        memberReportCountRepo.deleteAll();
+        reportRepo.deleteAll();
+        notificationCursorRepo.deleteAll();
+        notificationRepo.deleteAll();
+        hoaRepo.deleteAll();
+    }
+
+    private long legacyActivity(String participants) {
+        long id = activityRepo.save(new Activity(1L, "Name", "Description",
+                LocalDateTime.now().plusDays(1), LocalTime.of(1, 0))).getId();
+        jdbc.update("UPDATE ACTIVITIES SET PARTICIPANTS = ? WHERE ID = ?", participants, id);
+        return id;
+    }
+
+    private long legacyHoa(String notifications) {
+        long id = hoaRepo.save(Hoa.createHoa("Country", "City", "Name")).getId();
+        jdbc.update("UPDATE HOA SET NOTIFICATIONS = ? WHERE ID = ?", notifications, id);
+        return id;
+    }
+
+    @Test
+    void parsesLegacyMemberLists() {
+        assertEquals(Map.of("a", List.of("r1", "r2"), "b", List.of()),
+                LegacyHoaMigration.parseMemberLists("a=[r1,r2],b=]"));
+        assertTrue(LegacyHoaMigration.parseMemberLists("").isEmpty());
+    }
+
+    @Test
+    void membersReadWhatTheyHadNotRead() throws HoaDoesntExistException {
+        long hoaId = legacyHoa("a=[r1,r2,r3],b=[r3],c=]");
+
+        assertEquals(1, migration.migrateNotifications());
+
+        assertEquals(List.of("r1", "r2", "r3"), hoaService.clearNotifications(hoaId, "a", memberSince));
+        assertEquals(List.of("r3"), hoaService.clearNotifications(hoaId, "b", memberSince));
+        assertTrue(hoaService.clearNotifications(hoaId, "c", memberSince).isEmpty());
+        assertTrue(hoaService.clearNotifications(hoaId, "a", memberSince).isEmpty());
+        assertNull(jdbc.queryForObject("SELECT NOTIFICATIONS FROM HOA WHERE ID = ?", String.class, hoaId));
+        assertEquals(0, migration.migrateNotifications());
+    }
+
+    @Test
+    void otherMembersDoNotReadMigratedNotifications() throws HoaDoesntExistException {
+        long hoaId = legacyHoa("a=[r1]");
+
+        migration.migrateNotifications();
+
+        // joined after the last rule change of the legacy column, so never had it
+        assertTrue(hoaService.clearNotifications(hoaId, "d", memberSince).isEmpty());
+        hoaService.publishNotification(hoaId, "r2");
+        assertEquals(List.of("r2"), hoaService.clearNotifications(hoaId, "d", memberSince));
+        assertEquals(List.of("r1", "r2"), hoaService.clearNotifications(hoaId, "a", memberSince));
+    }
+
+    @Test
+    void keepsCursorsOfTheNewFeed() throws HoaDoesntExistException {
+        long hoaId = legacyHoa("a=[r1]");
+        NotificationCursor cursor = new NotificationCursor(hoaId, "a");
+        notificationCursorRepo.save(cursor);
+
+        migration.migrateNotifications();
+
+        assertEquals(0L, notificationCursorRepo.findByHoaIdAndMemberId(hoaId, "a").orElseThrow().getLastReadId());
+        assertEquals(List.of("r1"), hoaService.clearNotifications(hoaId, "a", memberSince));
+    }
+
+    @Test
+    void reportsAreCounted() throws HoaDoesntExistException {
+        long hoaId = legacyHoa(null);
+        jdbc.update("UPDATE HOA SET REPORTS = ? WHERE ID = ?", "a=[1,2,1],b=[2],c=]", hoaId);
+
+        // the counters are updated in place, which needs the transaction of the startup migration
+        migration.migrate();
+
+        assertEquals(4, reportRepo.count());
+        List<MemberReportCount> offenders = hoaService.getTopOffenders(hoaId, 5);
+        assertEquals(List.of("a", "b"), offenders.stream().map(MemberReportCount::getMemberId).collect(toList()));
+        assertEquals(List.of(3L, 1L), offenders.stream().map(MemberReportCount::getReportCount).collect(toList()));
+        List<RequirementReportCount> broken = hoaService.getMostBrokenRequirements(hoaId, 5);
+        assertEquals(List.of(2L, 2L), broken.stream().map(RequirementReportCount::getReportCount).collect(toList()));
+        assertNull(jdbc.queryForObject("SELECT REPORTS FROM HOA WHERE ID = ?", String.class, hoaId));
+        assertEquals(0, migration.migrateReports());
+    }
+
+    @Test
+    void reportsAddToNewCounters() throws HoaDoesntExistException {
+        long hoaId = legacyHoa(null);
+        jdbc.update("UPDATE HOA SET REPORTS = ? WHERE ID = ?", "a=[7]", hoaId);
+        memberReportCountRepo.save(new MemberReportCount(hoaId, "a", 2));
+
+        migration.migrate();
+
+        assertEquals(3L, hoaService.getTopOffenders(hoaId, 5).get(0).getReportCount());
+        assertEquals(1L, hoaService.getMostBrokenRequirements(hoaId, 5).get(0).getReportCount());
+    }
+
+    @Test
+    void participantsAreCounted() {
+        long activityId = legacyActivity("1,2,2");
+
+        migration.migrate();
+
+        assertEquals(2L, activityRepo.findById(activityId).orElseThrow().getParticipantCount());
+        assertEquals(List.of(1L, 2L), activityParticipantRepo.findMembershipIds(activityId, PageRequest.of(0, 10)));
+        assertNull(jdbc.queryForObject("SELECT PARTICIPANTS FROM ACTIVITIES WHERE ID = ?", String.class, activityId));
+        assertEquals(0, migration.migrateParticipants());
+        // the legacy column does not keep new activities from being created
+        activityRepo.save(new Activity(1L, "Other", "Description",
+                LocalDateTime.now().plusDays(1), LocalTime.of(1, 0)));
+    }
+
+    @Test
+    void participantsThatJoinedAgainAreCountedOnce() {
+        long activityId = legacyActivity("1,2");
+        activityParticipantRepo.save(new ActivityParticipant(activityId, 2L, LocalDateTime.now()));
+        jdbc.update("UPDATE ACTIVITIES SET PARTICIPANT_COUNT = 1 WHERE ID = ?", activityId);
+
+        migration.migrate();
+
+        assertEquals(2L, activityRepo.findById(activityId).orElseThrow().getParticipantCount());
+        assertEquals(2L, activityParticipantRepo.count());
+    }
+}
@@ -14,6 +14,7 @@ import nl.tudelft.sem.template.hoa.annotations.TestSuite;
 import nl.tudelft.sem.template.hoa.domain.Activity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @TestSuite(testType = UNIT)
 public class ActivityTest {
@@ -43,40 +44,7 @@ public class ActivityTest {
         assertEquals(activityDescription, activity.getActivityDescription());
         assertEquals(activityTime, activity.getActivityTime());
         assertEquals(activityDuration, activity.getActivityDuration());
-        assertTrue(activity.getParticipants().isEmpty());
-    }
-
-    @Test
-    public void joinActivityTest() {
-        long memberId = 12345L;
-        activity.joinActivity(memberId);
-
-        assertEquals(1, activity.getParticipants().size());
-        assertTrue(activity.getParticipants().contains(memberId));
-
-        long memberId1 = 678L;
-        activity.joinActivity(memberId1);
-
-        assertEquals(2, activity.getParticipants().size());
-        assertTrue(activity.getParticipants().contains(memberId1));
-    }
-
-    @Test
-    public void leaveActivityTest() {
-        long memberId = 12345L;
-        activity.joinActivity(memberId);
-        assertEquals(1, activity.getParticipants().size());
-        assertTrue(activity.getParticipants().contains(memberId));
-
-        activity.leaveActivity(memberId);
-        assertEquals(0, activity.getParticipants().size());
-        assertFalse(activity.getParticipants().contains(memberId));
-
-        //Member id which is not participating in the activity
-        long memberId1 = 678L;
-        activity.leaveActivity(memberId1);
-        assertEquals(0, activity.getParticipants().size());
-        assertFalse(activity.getParticipants().contains(memberId1));
+        assertEquals(0, activity.getParticipantCount());
     }
 
     @Test
@@ -94,4 +62,14 @@ public class ActivityTest {
         assertNotEquals(activity, null);
         assertEquals(activity, activity);
     }
+
+    @Test
+    public void hashCodeIgnoresParticipantsTest() {
+        Activity joined = new Activity(hoaId, activityName, activityDescription, activityTime, activityDuration);
+        ReflectionTestUtils.setField(joined, "participantCount", 3L);
+        ReflectionTestUtils.setField(joined, "id", 7L);
+
+        assertEquals(activity, joined);
+        assertEquals(activity.hashCode(), joined.hashCode());
+    }
 }
@@ -0,0 +1,111 @@
+package nl.tudelft.sem.template.hoa.utils;
+
+import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.UNIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestSuite(testType = UNIT)
+class CircuitBreakerTest {
+
+    private static final Instant start = Instant.parse("2022-12-01T12:00:00Z");
+
+    transient Instant now;
+    transient CircuitBreaker breaker;
+
+    @BeforeEach
+    void setup() {
+        now = start;
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        breaker = new CircuitBreaker(3, Duration.ofSeconds(10), clock);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    @Test
+    void staysClosedBelowThresholdTest() {
+        fail(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void successResetsFailuresTest() {
+        fail(2);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        fail(2);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void opensAtThresholdTest() {
+        fail(3);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        now = start.plusSeconds(9);
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void halfOpenLetsOneTrialThroughTest() {
+        fail(3);
+        now = start.plusSeconds(10);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void successfulTrialClosesTest() {
+        fail(3);
+        now = start.plusSeconds(10);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedTrialOpensAgainTest() {
+        fail(3);
+        now = start.plusSeconds(10);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now = start.plusSeconds(19);
+        assertFalse(breaker.tryAcquire());
+        now = start.plusSeconds(20);
+        assertTrue(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,159 @@
+package nl.tudelft.sem.template.hoa.utils;
+
+import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.UNIT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestSuite(testType = UNIT)
+class LookupCacheTest {
+
+    private static final Instant start = Instant.parse("2022-12-01T12:00:00Z");
+
+    transient Instant now;
+    transient AtomicInteger loads;
+    transient LookupCache<Long, String> cache;
+
+    @BeforeEach
+    void setup() {
+        now = start;
+        loads = new AtomicInteger();
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        cache = new LookupCache<>(2, Duration.ofSeconds(30), Duration.ofSeconds(5),
+                e -> e instanceof IllegalArgumentException, clock);
+    }
+
+    private String load(long key) {
+        loads.incrementAndGet();
+        return "value" + key;
+    }
+
+    private String reject() {
+        loads.incrementAndGet();
+        throw new IllegalArgumentException("Unknown");
+    }
+
+    private String fail() {
+        loads.incrementAndGet();
+        throw new IllegalStateException("Unavailable");
+    }
+
+    @Test
+    void cachesUntilExpiredTest() {
+        assertEquals("value1", cache.get(1L, () -> load(1)));
+        now = start.plusSeconds(29);
+        assertEquals("value1", cache.get(1L, () -> load(1)));
+        assertEquals(1, loads.get());
+
+        now = start.plusSeconds(30);
+        assertEquals("value1", cache.get(1L, () -> load(1)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void cachesRejectionsShorterTest() {
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1L, this::reject));
+        now = start.plusSeconds(4);
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1L, this::reject));
+        assertEquals(1, loads.get());
+
+        now = start.plusSeconds(5);
+        assertEquals("value1", cache.get(1L, () -> load(1)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotCacheFailuresTest() {
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, this::fail));
+        assertEquals(0, cache.size());
+        assertEquals("value1", cache.get(1L, () -> load(1)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTest() {
+        cache.get(1L, () -> load(1));
+        cache.get(2L, () -> load(2));
+        cache.get(1L, () -> load(1));
+        cache.get(3L, () -> load(3));
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+
+        cache.get(1L, () -> load(1));
+        assertEquals(3, loads.get());
+        cache.get(2L, () -> load(2));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void invalidateTest() {
+        cache.get(1L, () -> load(1));
+        cache.get(2L, () -> load(2));
+        cache.invalidate(1L);
+        cache.invalidateIf((key, value) -> "value2".equals(value));
+        assertEquals(0, cache.size());
+
+        cache.get(1L, () -> load(1));
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void loadsOnceForConcurrentLookupsTest() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get(1L, () -> {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return load(1);
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<String> second = executor.submit(() -> cache.get(1L, () -> load(1)));
+            Future<String> third = executor.submit(() -> cache.get(1L, () -> load(1)));
+            release.countDown();
+
+            assertEquals("value1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("value1", second.get(5, TimeUnit.SECONDS));
+            assertEquals("value1", third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package nl.tudelft.sem.template.hoa.utils;
+
+import static nl.tudelft.sem.template.hoa.annotations.TestSuite.TestType.INTEGRATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.ServerErrorException;
+import javax.ws.rs.client.WebTarget;
+
+import nl.tudelft.sem.template.hoa.annotations.TestSuite;
+import nl.tudelft.sem.template.hoa.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@TestSuite(testType = INTEGRATION)
+class ServiceClientTest {
+
+    private static final Duration readTimeout = Duration.ofMillis(300);
+
+    private transient HttpServer server;
+    private transient AtomicInteger hits;
+    private transient ServiceClient client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        hits = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        context("/ok", exchange -> respond(exchange, 200, "fine"));
+        context("/bad", exchange -> respond(exchange, 400, "bad"));
+        context("/error", exchange -> respond(exchange, 500, "error"));
+        context("/slow", exchange -> {
+            try {
+                Thread.sleep(readTimeout.toMillis() * 3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        server.start();
+        client = client("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterEach
+    void teardown() {
+        client.close();
+        server.stop(0);
+    }
+
+    private ServiceClient client(String url) {
+        return new ServiceClient("test", url, 4, Duration.ofSeconds(30), Duration.ofMillis(300), readTimeout,
+                Duration.ofSeconds(2), 2, 2, Duration.ofSeconds(30));
+    }
+
+    private void context(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            hits.incrementAndGet();
+            handler.handle(exchange);
+        });
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Function<WebTarget, String> get(String path) {
+        return target -> target.path(path).request().get(String.class);
+    }
+
+    @Test
+    void callTest() {
+        assertEquals("fine", client.call(get("ok")));
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void readTimeoutTest() {
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(ProcessingException.class, () -> client.call(get("slow"))));
+    }
+
+    @Test
+    void connectFailureTest() {
+        // nothing listens on the port anymore, the connection is refused or times out
+        int port = server.getAddress().getPort();
+        server.stop(0);
+        try (ServiceClient unreachable = client("http://localhost:" + port + "/")) {
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> assertThrows(ProcessingException.class, () -> unreachable.call(get("ok"))));
+        }
+    }
+
+    @Test
+    void serverErrorsOpenCircuitTest() {
+        assertThrows(ServerErrorException.class, () -> client.call(get("error")));
+        assertThrows(ServerErrorException.class, () -> client.call(get("error")));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        assertThrows(ServiceUnavailableException.class, () -> client.call(get("ok")));
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void clientErrorsKeepCircuitClosedTest() {
+        assertThrows(BadRequestException.class, () -> client.call(get("bad")));
+        assertThrows(BadRequestException.class, () -> client.call(get("bad")));
+        assertThrows(BadRequestException.class, () -> client.call(get("bad")));
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void successResetsFailuresTest() {
+        assertThrows(ServerErrorException.class, () -> client.call(get("error")));
+        assertEquals("fine", client.call(get("ok")));
+        assertThrows(ServerErrorException.class, () -> client.call(get("error")));
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void fallbackTest() {
+        assertEquals("fallback", client.call(get("error"), () -> "fallback"));
+        assertEquals("fallback", client.call(get("slow"), () -> "fallback"));
+        // the circuit is open now, the fallback is used without calling the service
+        assertEquals("fallback", client.call(get("ok"), () -> "fallback"));
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void fallbackKeepsClientErrorsTest() {
+        assertThrows(BadRequestException.class, () -> client.call(get("bad"), () -> "fallback"));
+    }
+
+    @Test
+    void callAsyncTest() throws Exception {
+        assertEquals("fine", client.callAsync(get("ok")).get());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void callAsyncTimeoutTest() {
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.callAsync(get("slow"), Duration.ofMillis(50)).get());
+        assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    @Test
+    void callAsyncOpenCircuitTest() {
+        assertThrows(ExecutionException.class, () -> client.callAsync(get("error")).get());
+        assertThrows(ExecutionException.class, () -> client.callAsync(get("error")).get());
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> client.callAsync(get("ok")).get());
+        assertTrue(e.getCause() instanceof ServiceUnavailableException);
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void callAsyncFallbackTest() throws Exception {
+        assertEquals("fallback", client.callAsync(get("error"), () -> "fallback").get());
+        assertEquals("fine", client.callAsync(get("ok"), () -> "fallback").get());
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.callAsync(get("bad"), () -> "fallback").get());
+        assertTrue(e.getCause() instanceof BadRequestException);
+    }
+}
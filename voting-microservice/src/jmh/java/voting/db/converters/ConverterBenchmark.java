@@ -0,0 +1,217 @@
+package voting.db.converters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import voting.domain.Address;
+import voting.domain.CandidateTally;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the compact binary converters with the "key=value,..." text format they replaced,
+ * and round-trips the remaining converters
+ * Run with ./gradlew :voting-microservice:jmh
+ */
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int ballots;
+
+	private final BoardElectionVotesConverter boardConverter = new BoardElectionVotesConverter();
+	private final ProposalVotesConverter proposalConverter = new ProposalVotesConverter();
+	private final CandidatesConverter candidatesConverter = new CandidatesConverter();
+	private final CandidateTallyConverter tallyConverter = new CandidateTallyConverter();
+	private final CountsConverter countsConverter = new CountsConverter();
+	private final LocalDateTimeConverter dateConverter = new LocalDateTimeConverter();
+	private final AddressConverter addressConverter = new AddressConverter();
+
+	private Map<String, String> boardVotes;
+	private Map<String, Boolean> proposalVotes;
+	private List<String> candidates;
+	private CandidateTally tally;
+	private Map<String, Integer> counts;
+	private LocalDateTime date;
+	private Address address;
+
+	private String boardBinary;
+	private String boardText;
+	private String proposalBinary;
+	private String proposalText;
+	private String candidatesBinary;
+	private String candidatesText;
+
+	/**
+	 * Builds ballots of members with 8 digit ids, spread over 20 candidates
+	 */
+	@Setup
+	public void setUp() {
+		boardVotes = new HashMap<>();
+		proposalVotes = new HashMap<>();
+		candidates = new ArrayList<>();
+		for (int i = 0; i < 20; i++) candidates.add(String.valueOf(40_000_000 + i));
+		for (int i = 0; i < ballots; i++) {
+			String memberId = String.valueOf(10_000_000 + i);
+			boardVotes.put(memberId, candidates.get(i % candidates.size()));
+			proposalVotes.put(memberId, i % 3 != 0);
+		}
+		boardBinary = boardConverter.convertToDatabaseColumn(boardVotes);
+		boardText = Legacy.writeBoard(boardVotes);
+		proposalBinary = proposalConverter.convertToDatabaseColumn(proposalVotes);
+		proposalText = Legacy.writeProposal(proposalVotes);
+		candidatesBinary = candidatesConverter.convertToDatabaseColumn(candidates);
+		candidatesText = Legacy.writeCandidates(candidates);
+		tally = new CandidateTally();
+		boardVotes.values().forEach(tally::add);
+		counts = tally.asMap();
+		date = LocalDateTime.of(2022, 1, 1, 10, 30);
+		address = new Address("Netherlands", "Delft", "Mekelweg", "4", "2628CD");
+	}
+
+	@Benchmark
+	public String boardWriteBinary() {
+		return boardConverter.convertToDatabaseColumn(boardVotes);
+	}
+
+	@Benchmark
+	public String boardWriteText() {
+		return Legacy.writeBoard(boardVotes);
+	}
+
+	@Benchmark
+	public Map<String, String> boardReadBinary() {
+		return boardConverter.convertToEntityAttribute(boardBinary);
+	}
+
+	@Benchmark
+	public Map<String, String> boardReadText() {
+		return Legacy.readBoard(boardText);
+	}
+
+	@Benchmark
+	public Map<String, String> boardReadTextMigrated() {
+		return boardConverter.convertToEntityAttribute(boardText);
+	}
+
+	@Benchmark
+	public String proposalWriteBinary() {
+		return proposalConverter.convertToDatabaseColumn(proposalVotes);
+	}
+
+	@Benchmark
+	public String proposalWriteText() {
+		return Legacy.writeProposal(proposalVotes);
+	}
+
+	@Benchmark
+	public Map<String, Boolean> proposalReadBinary() {
+		return proposalConverter.convertToEntityAttribute(proposalBinary);
+	}
+
+	@Benchmark
+	public Map<String, Boolean> proposalReadText() {
+		return Legacy.readProposal(proposalText);
+	}
+
+	@Benchmark
+	public String candidatesWriteBinary() {
+		return candidatesConverter.convertToDatabaseColumn(candidates);
+	}
+
+	@Benchmark
+	public String candidatesWriteText() {
+		return Legacy.writeCandidates(candidates);
+	}
+
+	@Benchmark
+	public List<String> candidatesReadBinary() {
+		return candidatesConverter.convertToEntityAttribute(candidatesBinary);
+	}
+
+	@Benchmark
+	public List<String> candidatesReadText() {
+		return Legacy.readCandidates(candidatesText);
+	}
+
+	@Benchmark
+	public CandidateTally tallyRoundTrip() {
+		return tallyConverter.convertToEntityAttribute(tallyConverter.convertToDatabaseColumn(tally));
+	}
+
+	@Benchmark
+	public Map<String, Integer> countsRoundTrip() {
+		return countsConverter.convertToEntityAttribute(countsConverter.convertToDatabaseColumn(counts));
+	}
+
+	@Benchmark
+	public LocalDateTime dateRoundTrip() {
+		return dateConverter.convertToEntityAttribute(dateConverter.convertToDatabaseColumn(date));
+	}
+
+	@Benchmark
+	public Address addressRoundTrip() {
+		return addressConverter.convertToEntityAttribute(addressConverter.convertToDatabaseColumn(address));
+	}
+
+	/**
+	 * The text converters as they were before the binary format, kept as the baseline
+	 */
+	private static final class Legacy {
+
+		private Legacy() {
+		}
+
+		static String writeBoard(Map<String, String> attribute) {
+			StringBuilder mapAsString = new StringBuilder();
+			for (String key : attribute.keySet()) {
+				mapAsString.append(key).append("=").append(attribute.get(key)).append(",");
+			}
+			if (mapAsString.length() != 0) mapAsString.deleteCharAt(mapAsString.length() - 1);
+			return mapAsString.toString();
+		}
+
+		static Map<String, String> readBoard(String dbData) {
+			if (dbData.equals("")) return new HashMap<>();
+			return Arrays.stream(dbData.split(","))
+				.map(e -> e.split("="))
+				.collect(Collectors.toMap(e -> e[0], e -> e[1]));
+		}
+
+		static String writeProposal(Map<String, Boolean> attribute) {
+			StringBuilder mapAsString = new StringBuilder();
+			for (String key : attribute.keySet()) {
+				mapAsString.append(key).append("=").append(attribute.get(key) ? "T" : "F").append(",");
+			}
+			if (mapAsString.length() != 0) mapAsString.deleteCharAt(mapAsString.length() - 1);
+			return mapAsString.toString();
+		}
+
+		static Map<String, Boolean> readProposal(String dbData) {
+			if (dbData.equals("")) return new HashMap<>();
+			return Arrays.stream(dbData.split(","))
+				.map(e -> e.split("="))
+				.collect(Collectors.toMap(e -> e[0], e -> e[1].equals("T")));
+		}
+
+		static String writeCandidates(List<String> candidates) {
+			StringBuilder sb = new StringBuilder();
+			sb.append(candidates.stream().map(i -> i + ",").collect(Collectors.joining()));
+			if (sb.length() != 0) sb.deleteCharAt(sb.length() - 1);
+			return sb.toString();
+		}
+
+		static List<String> readCandidates(String dbData) {
+			if (dbData.isEmpty()) return new ArrayList<>();
+			return Arrays.stream(dbData.split(",")).collect(Collectors.toList());
+		}
+	}
+}
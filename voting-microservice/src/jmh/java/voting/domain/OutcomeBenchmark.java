@@ -0,0 +1,61 @@
+package voting.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Measures computing the outcome of an election from its live tally, for growing amounts of voters and candidates
+ * Run with ./gradlew :voting-microservice:jmh
+ */
+@State(Scope.Benchmark)
+public class OutcomeBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int voters;
+
+	@Param({"10", "1000", "100000"})
+	private int candidates;
+
+	private BoardElection boardElection;
+	private Proposal proposal;
+
+	/**
+	 * Lets every voter vote for a random candidate and a random proposal choice, with a fixed seed
+	 */
+	@Setup
+	public void setUp() {
+		List<String> nominees = new ArrayList<>();
+		for (int i = 0; i < candidates; i++) nominees.add(String.valueOf(40_000_000 + i));
+		boardElection = new BoardElection("Board", "Benchmark", 1, LocalDateTime.now(),
+			Math.min(5, candidates), nominees);
+		boardElection.setState(ElectionState.ONGOING);
+		proposal = new Proposal("Proposal", "Benchmark", 1, LocalDateTime.now());
+		proposal.setState(ElectionState.ONGOING);
+
+		Random random = new Random(42);
+		for (int i = 0; i < voters; i++) {
+			String memberId = String.valueOf(10_000_000 + i);
+			boardElection.vote(memberId, nominees.get(random.nextInt(candidates)));
+			proposal.vote(memberId, random.nextBoolean());
+		}
+	}
+
+	@Benchmark
+	public Set<String> boardElectionOutcome() {
+		return boardElection.findOutcome();
+	}
+
+	@Benchmark
+	public boolean proposalOutcome() {
+		return proposal.findOutcome();
+	}
+}
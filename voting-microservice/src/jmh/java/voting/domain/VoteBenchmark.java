@@ -0,0 +1,77 @@
+package voting.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import voting.exceptions.CannotProceedVote;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the vote path of the domain as the vote sequencer runs it: parsing the submitted choice and applying it.
+ * Every member has voted before, so a vote only changes an existing ballot, which should not allocate.
+ * Run with ./gradlew :voting-microservice:jmh, the gc profiler reports the bytes allocated per vote (gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+public class VoteBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	private int voters;
+
+	@Param({"10", "1000", "100000"})
+	private int candidates;
+
+	private String[] memberIds;
+	private String[] proposalChoices;
+	private String[] boardChoices;
+	private Proposal proposal;
+	private BoardElection boardElection;
+	private int next;
+
+	/**
+	 * Opens a proposal and a board election, and lets every member vote once in both
+	 */
+	@Setup
+	public void setUp() throws CannotProceedVote {
+		List<String> nominees = new ArrayList<>();
+		for (int i = 0; i < candidates; i++) nominees.add(String.valueOf(40_000_000 + i));
+		proposal = new Proposal("Proposal", "Benchmark", 1, LocalDateTime.now());
+		proposal.setState(ElectionState.ONGOING);
+		boardElection = new BoardElection("Board", "Benchmark", 1, LocalDateTime.now(), 3, nominees);
+		boardElection.setState(ElectionState.ONGOING);
+
+		memberIds = new String[voters];
+		proposalChoices = new String[voters];
+		boardChoices = new String[voters];
+		for (int i = 0; i < voters; i++) {
+			memberIds[i] = String.valueOf(10_000_000 + i);
+			proposalChoices[i] = i % 2 == 0 ? "true" : "F";
+			boardChoices[i] = nominees.get(i % candidates);
+			proposal.vote(memberIds[i], "T");
+			boardElection.vote(memberIds[i], nominees.get((i + 1) % candidates));
+		}
+	}
+
+	@Benchmark
+	public int proposalVote() throws CannotProceedVote {
+		int i = nextMember();
+		proposal.vote(memberIds[i], proposal.parseChoice(proposalChoices[i]));
+		return proposal.getVoteCount();
+	}
+
+	@Benchmark
+	public int boardElectionVote() throws CannotProceedVote {
+		int i = nextMember();
+		boardElection.vote(memberIds[i], boardElection.parseChoice(boardChoices[i]));
+		return boardElection.getVoteCount();
+	}
+
+	private int nextMember() {
+		next = next + 1 == voters ? 0 : next + 1;
+		return next;
+	}
+}
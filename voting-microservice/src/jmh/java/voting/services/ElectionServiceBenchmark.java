@@ -0,0 +1,125 @@
+package voting.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.support.TransactionOperations;
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionArchiveRepository;
+import voting.db.repos.ElectionRepository;
+import voting.db.repos.ElectionResultRepository;
+import voting.domain.Ballot;
+import voting.domain.BoardElection;
+import voting.domain.ElectionState;
+import voting.domain.Proposal;
+import voting.exceptions.CannotProceedVote;
+import voting.exceptions.ElectionDoesNotExist;
+import voting.models.VotingModel;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Measures ElectionService.vote end to end: the hand-off to the vote sequencer, validation, the vote itself
+ * and the group commit, against in-memory repositories so the numbers do not depend on a database.
+ * Run with ./gradlew :voting-microservice:jmh
+ */
+@State(Scope.Benchmark)
+public class ElectionServiceBenchmark {
+
+	private static final int PROPOSAL_ID = 1;
+	private static final int BOARD_ID = 2;
+
+	@Param({"10", "1000", "100000"})
+	private int voters;
+
+	@Param({"10", "1000", "100000"})
+	private int candidates;
+
+	private LiveResultsPublisher resultsPublisher;
+	private VoteSequencer sequencer;
+	private ElectionService electionService;
+	private VotingModel[] proposalVotes;
+	private VotingModel[] boardVotes;
+	private LocalDateTime now;
+	private int next;
+
+	/**
+	 * Stores an ongoing proposal and board election in which every voter already has a ballot,
+	 * and votes once in both so they are loaded into the sequencer
+	 */
+	@Setup
+	public void setUp() throws ElectionDoesNotExist, CannotProceedVote {
+		now = LocalDateTime.now();
+		List<String> nominees = new ArrayList<>();
+		for (int i = 0; i < candidates; i++) nominees.add(String.valueOf(40_000_000 + i));
+
+		InMemoryRepositories repositories = new InMemoryRepositories();
+		ElectionRepository electionRepository = repositories.electionRepository();
+		BallotRepository ballotRepository = repositories.ballotRepository();
+		Proposal proposal = new Proposal("Proposal", "Benchmark", 1, now.minusDays(1));
+		proposal.setElectionId(PROPOSAL_ID);
+		proposal.setState(ElectionState.ONGOING);
+		electionRepository.save(proposal);
+		BoardElection boardElection = new BoardElection("Board", "Benchmark", 1, now.minusDays(1),
+			Math.min(5, candidates), nominees);
+		boardElection.setElectionId(BOARD_ID);
+		boardElection.setState(ElectionState.ONGOING);
+		electionRepository.save(boardElection);
+
+		List<Ballot> ballots = new ArrayList<>();
+		proposalVotes = new VotingModel[voters];
+		boardVotes = new VotingModel[voters];
+		for (int i = 0; i < voters; i++) {
+			String memberId = String.valueOf(10_000_000 + i);
+			ballots.add(new Ballot(PROPOSAL_ID, memberId, "T", now));
+			ballots.add(new Ballot(BOARD_ID, memberId, nominees.get((i + 1) % candidates), now));
+			proposalVotes[i] = new VotingModel(PROPOSAL_ID, memberId, i % 2 == 0 ? "true" : "F");
+			boardVotes[i] = new VotingModel(BOARD_ID, memberId, nominees.get(i % candidates));
+		}
+		ballotRepository.saveAll(ballots);
+
+		resultsPublisher = new LiveResultsPublisher(4, Executors.newSingleThreadScheduledExecutor());
+		ElectionCache cache = new ElectionCache(10, 60_000, System::currentTimeMillis);
+		MemberIndexes memberIndexes = new MemberIndexes();
+		sequencer = new VoteSequencer(electionRepository, ballotRepository, resultsPublisher, cache, memberIndexes,
+			TransactionOperations.withoutTransaction(), 1, 0, 60_000);
+		ElectionLifecycleScheduler lifecycle = new ElectionLifecycleScheduler(electionRepository, null, null,
+			Duration.ofDays(7), false, Clock.systemDefaultZone());
+		electionService = new ElectionService(electionRepository, ballotRepository, resultsPublisher,
+			sequencer, lifecycle, InMemoryRepositories.unused(ElectionResultRepository.class), cache,
+			new IdempotencyStore(10, 60_000, System::currentTimeMillis),
+			InMemoryRepositories.unused(ElectionArchiveRepository.class), memberIndexes);
+
+		electionService.vote(proposalVotes[0], now);
+		electionService.vote(boardVotes[0], now);
+	}
+
+	@TearDown
+	public void tearDown() {
+		sequencer.shutdown();
+		resultsPublisher.shutdown();
+	}
+
+	@Benchmark
+	public int proposalVote() throws ElectionDoesNotExist, CannotProceedVote {
+		return electionService.vote(proposalVotes[nextVoter()], now);
+	}
+
+	@Benchmark
+	public int boardElectionVote() throws ElectionDoesNotExist, CannotProceedVote {
+		return electionService.vote(boardVotes[nextVoter()], now);
+	}
+
+	private int nextVoter() {
+		next = next + 1 == voters ? 0 : next + 1;
+		return next;
+	}
+}
@@ -0,0 +1,111 @@
+package voting.services;
+
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionRepository;
+import voting.domain.Ballot;
+import voting.domain.Election;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repositories backed by plain collections, so the services can be benchmarked without a database
+ * Only the methods on the vote path are implemented, every other repository method throws
+ */
+final class InMemoryRepositories {
+
+	private final Map<Integer, Election> elections = new HashMap<>();
+	private final Set<Ballot> ballots = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * Gives the repository of the elections
+	 *
+	 * @return Repository supporting findByElectionId and save
+	 */
+	ElectionRepository electionRepository() {
+		return proxy(ElectionRepository.class, (name, args) -> {
+			switch (name) {
+				case "findByElectionId":
+					return Optional.ofNullable(elections.get((Integer) args[0]));
+				case "save":
+					Election election = (Election) args[0];
+					elections.put(election.getElectionId(), election);
+					return election;
+				default:
+					throw new UnsupportedOperationException(name);
+			}
+		});
+	}
+
+	/**
+	 * Gives the ballot ledger
+	 *
+	 * @return Repository supporting findAllByElectionId, save, saveAll and deleteAll
+	 */
+	BallotRepository ballotRepository() {
+		return proxy(BallotRepository.class, (name, args) -> {
+			switch (name) {
+				case "findAllByElectionId":
+					List<Ballot> found = new ArrayList<>();
+					for (Ballot b : ballots) {
+						if (b.getElectionId() == (Integer) args[0]) found.add(b);
+					}
+					return found;
+				case "save":
+					ballots.add((Ballot) args[0]);
+					return args[0];
+				case "saveAll":
+					for (Object b : (Iterable<?>) args[0]) ballots.add((Ballot) b);
+					return args[0];
+				case "deleteAll":
+					for (Object b : (Iterable<?>) args[0]) ballots.remove(b);
+					return null;
+				default:
+					throw new UnsupportedOperationException(name);
+			}
+		});
+	}
+
+	/**
+	 * Gives a repository that is not used by the benchmarked path
+	 *
+	 * @param type Interface of the repository
+	 * @param <T>  Type of the repository
+	 * @return Repository of which every method throws
+	 */
+	static <T> T unused(Class<T> type) {
+		return proxy(type, (name, args) -> {
+			throw new UnsupportedOperationException(name);
+		});
+	}
+
+	/**
+	 * Implementation of the repository methods, by method name
+	 */
+	private interface Handler {
+		Object handle(String name, Object[] args);
+	}
+
+	private static <T> T proxy(Class<T> type, Handler handler) {
+		Object repository = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+			(proxy, method, args) -> {
+				if (method.getDeclaringClass() != Object.class) return handler.handle(method.getName(), args);
+				switch (method.getName()) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					default:
+						return "InMemory" + type.getSimpleName();
+				}
+			});
+		return type.cast(repository);
+	}
+}
@@ -0,0 +1,164 @@
+package voting.loadtest;
+
+import voting.loadtest.LatencyReport.Operation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulated election night: every HOA runs a board election and a proposal at a time, its members vote and revoke
+ * votes, and now and then a proposal is concluded and replaced by a new one. At the end all board elections are
+ * concluded. Requests are sent open-loop at a fixed rate and a latency is measured from the moment a request was due,
+ * so a slow service cannot hide its queueing delay by slowing the clients down
+ */
+public class ElectionNight {
+
+    private final transient LoadTestConfig config;
+    private final transient VotingClient client;
+    private final transient LatencyReport report;
+    private final transient int[] boardElections;
+    private final transient AtomicIntegerArray proposals;
+    private final transient AtomicInteger proposalNames = new AtomicInteger();
+
+    /**
+     * Creates the scenario
+     *
+     * @param config Settings of the run
+     * @param client Client of the service under test
+     * @param report Report the latencies are recorded in
+     */
+    public ElectionNight(LoadTestConfig config, VotingClient client, LatencyReport report) {
+        this.config = config;
+        this.client = client;
+        this.report = report;
+        this.boardElections = new int[config.hoas];
+        this.proposals = new AtomicIntegerArray(config.hoas);
+    }
+
+    /**
+     * Creates a board election and a first proposal for every HOA, and waits until the board elections are open
+     *
+     * @throws InterruptedException If interrupted while waiting for the board elections to open
+     */
+    public void setUp() throws InterruptedException {
+        LocalDateTime lastOpening = LocalDateTime.now();
+        for (int hoa = 0; hoa < config.hoas; hoa++) {
+            List<String> candidates = new ArrayList<>(config.candidates);
+            for (int m = 0; m < config.candidates; m++) candidates.add(memberId(hoa, m));
+            // Scheduled in whole seconds, so at least one second ahead
+            lastOpening = LocalDateTime.now().plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+            boardElections[hoa] = client.createBoardElection(hoaId(hoa), candidates, lastOpening);
+            proposals.set(hoa, client.createProposal(hoaId(hoa), nextProposalName()));
+        }
+        // The lifecycle scheduler opens them on time, a moment later the votes are accepted
+        long untilOpen = Duration.between(LocalDateTime.now(), lastOpening).toMillis() + 500;
+        if (untilOpen > 0) Thread.sleep(untilOpen);
+    }
+
+    /**
+     * Sends the load for the warmup and the measured window
+     *
+     * @return Start of the measured window, in System.nanoTime
+     * @throws InterruptedException If interrupted while waiting for the clients
+     */
+    public long run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(config.threads) / Math.max(1, config.rate);
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(config.threads);
+        for (int t = 0; t < config.threads; t++) {
+            // Spread the first requests of the clients over one interval
+            long offset = intervalNanos * t / config.threads;
+            clients.execute(() -> sendUntil(start + offset, intervalNanos, measureFrom, end));
+        }
+        clients.shutdown();
+        clients.awaitTermination(config.warmup.plus(config.duration).toSeconds() + 60, TimeUnit.SECONDS);
+        return measureFrom;
+    }
+
+    /**
+     * Concludes the board elections of all HOAs, the closing of the night
+     */
+    public void concludeBoardElections() {
+        for (int electionId : boardElections) {
+            long due = System.nanoTime();
+            timed(Operation.CONCLUDE, due, true, () -> client.conclude(electionId));
+        }
+    }
+
+    private void sendUntil(long first, long intervalNanos, long measureFrom, long end) {
+        for (long due = first; due < end; due += intervalNanos) {
+            long now = System.nanoTime();
+            if (now >= end) {
+                // Behind schedule at the end of the window, the requests that were due never got a response
+                long from = Math.max(due, measureFrom);
+                report.fail((end - from + intervalNanos - 1) / intervalNanos);
+                return;
+            }
+            if (due > now) LockSupport.parkNanos(due - now);
+            sendOne(due, due >= measureFrom);
+        }
+    }
+
+    private void sendOne(long due, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hoa = random.nextInt(config.hoas);
+        String memberId = memberId(hoa, random.nextInt(config.members));
+        boolean onBoard = random.nextBoolean();
+        int electionId = onBoard ? boardElections[hoa] : proposals.get(hoa);
+        int dice = random.nextInt(100);
+        if (dice < config.newProposalPercent) {
+            timed(Operation.CONCLUDE, due, measured, () -> client.conclude(proposals.get(hoa)));
+            timed(Operation.CREATE_PROPOSAL, System.nanoTime(), measured, () -> {
+                proposals.set(hoa, client.createProposal(hoaId(hoa), nextProposalName()));
+                return 200;
+            });
+        } else if (dice < config.newProposalPercent + config.removeVotePercent) {
+            timed(Operation.REMOVE_VOTE, due, measured, () -> client.removeVote(electionId, memberId));
+        } else {
+            String choice = onBoard
+                    ? memberId(hoa, random.nextInt(config.candidates))
+                    : String.valueOf(random.nextBoolean());
+            timed(Operation.VOTE, due, measured, () -> client.vote(electionId, memberId, choice));
+        }
+    }
+
+    private void timed(Operation operation, long due, boolean measured, Request request) {
+        try {
+            int status = request.send();
+            if (measured) report.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due), status);
+        } catch (RuntimeException e) {
+            if (measured) report.fail();
+        }
+    }
+
+    private String nextProposalName() {
+        return "Proposal " + proposalNames.incrementAndGet();
+    }
+
+    private static long hoaId(int hoa) {
+        return hoa + 1L;
+    }
+
+    private static String memberId(int hoa, int member) {
+        return "hoa" + hoa + "-member" + member;
+    }
+
+    /**
+     * A request to the service
+     */
+    private interface Request {
+        int send();
+    }
+}
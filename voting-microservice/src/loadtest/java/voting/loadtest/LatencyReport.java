@@ -0,0 +1,107 @@
+package voting.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes per operation of a load test, recorded in microseconds
+ */
+public class LatencyReport {
+
+    /**
+     * Requests the simulated members and boards send
+     */
+    public enum Operation {
+        VOTE, REMOVE_VOTE, CREATE_PROPOSAL, CONCLUDE
+    }
+
+    private final transient Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final transient Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+    private final transient LongAdder failed = new LongAdder();
+
+    /**
+     * Creates an empty report
+     */
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            rejected.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a completed request
+     *
+     * @param operation     Operation of the request
+     * @param latencyMicros Time from the moment the request was due until its response
+     * @param status        HTTP status of the response, 400 counts as rejected by the service
+     */
+    public void record(Operation operation, long latencyMicros, int status) {
+        histograms.get(operation).recordValue(latencyMicros);
+        if (status != 200) rejected.get(operation).increment();
+    }
+
+    /**
+     * Records a request that did not get a response
+     */
+    public void fail() {
+        failed.increment();
+    }
+
+    /**
+     * Records requests that were due but were not sent before the end of the run
+     *
+     * @param requests Amount of requests
+     */
+    public void fail(long requests) {
+        failed.add(requests);
+    }
+
+    /**
+     * Prints the summary and the full distributions, and writes them to the report directory
+     * The .hgrm files can be loaded in the HdrHistogram plotter to compare runs
+     *
+     * @param out           Stream the summary is printed to
+     * @param reportDir     Directory the files are written to
+     * @param measuredNanos Length of the measured window
+     * @throws IOException If the files cannot be written
+     */
+    public void write(PrintStream out, Path reportDir, long measuredNanos) throws IOException {
+        Files.createDirectories(reportDir);
+        StringBuilder summary = new StringBuilder(256);
+        long total = 0;
+        summary.append(String.format("%-16s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "rejected", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long count = histogram.getTotalCount();
+            total += count;
+            summary.append(String.format("%-16s %10d %10d %10.1f %10.3f %10.3f %10.3f%n",
+                    operation.name().toLowerCase(), count, rejected.get(operation).sum(),
+                    count * 1e9 / measuredNanos, millis(histogram, 50.0), millis(histogram, 99.0),
+                    millis(histogram, 99.9)));
+            try (PrintStream file = new PrintStream(
+                    Files.newOutputStream(reportDir.resolve(operation.name().toLowerCase() + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        summary.append(String.format("total %d requests, %.1f req/s, %d without response%n",
+                total, total * 1e9 / measuredNanos, failed.sum()));
+        Files.writeString(reportDir.resolve("summary.txt"), summary);
+        out.print(summary);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,51 @@
+package voting.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import voting.Application;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Reproduces election-night load against a voting service started in this JVM on a random port,
+ * with a throwaway in-memory H2 database. Run with ./gradlew :voting-microservice:loadTest
+ */
+public class LoadTest {
+
+    /**
+     * Runs the load test with the settings from the loadtest.* system properties
+     *
+     * @param args Ignored
+     * @throws IOException          If the report cannot be written
+     * @throws InterruptedException If interrupted while the load runs
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (ConfigurableApplicationContext service = start()) {
+            int port = Integer.parseInt(service.getEnvironment().getRequiredProperty("local.server.port"));
+            LatencyReport report = new LatencyReport();
+            ElectionNight night = new ElectionNight(config, new VotingClient(port), report);
+
+            System.out.println("Election night: " + config);
+            night.setUp();
+            long measureFrom = night.run();
+            long measuredNanos = System.nanoTime() - measureFrom;
+            night.concludeBoardElections();
+            report.write(System.out, config.reportDir, measuredNanos);
+            System.out.println("Histograms written to " + config.reportDir.toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Passed as command line arguments, so they take precedence over application.properties
+        return new SpringApplicationBuilder(Application.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.h2.console.enabled=false",
+                // Elections are concluded by the simulated boards, not by timers
+                "--voting.lifecycle.enabled=false",
+                "--logging.level.root=WARN");
+    }
+}
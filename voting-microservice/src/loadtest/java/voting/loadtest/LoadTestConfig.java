@@ -0,0 +1,76 @@
+package voting.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from loadtest.* system properties
+ * The loadTest Gradle task passes -Ploadtest.*=... project properties through, e.g. -Ploadtest.rate=2000
+ */
+public class LoadTestConfig {
+    public final int hoas;
+    public final int members;
+    public final int candidates;
+    public final int rate;
+    public final int threads;
+    public final int removeVotePercent;
+    public final int newProposalPercent;
+    public final Duration warmup;
+    public final Duration duration;
+    public final Path reportDir;
+
+    /**
+     * Creates a config
+     *
+     * @param hoas               Amount of simulated HOAs
+     * @param members            Amount of members per HOA
+     * @param candidates         Amount of members of every HOA that run for the board
+     * @param rate               Target amount of requests per second over all threads
+     * @param threads            Amount of concurrent clients
+     * @param removeVotePercent  Share of the requests that revoke a vote, in percent
+     * @param newProposalPercent Share of the requests that conclude a proposal and create the next one, in percent
+     * @param warmup             Time the load runs before latencies are recorded
+     * @param duration           Time latencies are recorded
+     * @param reportDir          Directory the histograms and the summary are written to
+     */
+    public LoadTestConfig(int hoas, int members, int candidates, int rate, int threads, int removeVotePercent,
+                          int newProposalPercent, Duration warmup, Duration duration, Path reportDir) {
+        this.hoas = hoas;
+        this.members = members;
+        this.candidates = Math.min(candidates, members);
+        this.rate = rate;
+        this.threads = threads;
+        this.removeVotePercent = removeVotePercent;
+        this.newProposalPercent = newProposalPercent;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.reportDir = reportDir;
+    }
+
+    /**
+     * Reads the config from the system properties, falling back to a small election night
+     *
+     * @return Config of this run
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.hoas", 50),
+                Integer.getInteger("loadtest.members", 200),
+                Integer.getInteger("loadtest.candidates", 5),
+                Integer.getInteger("loadtest.rate", 500),
+                Integer.getInteger("loadtest.threads", 16),
+                Integer.getInteger("loadtest.remove-vote-percent", 10),
+                Integer.getInteger("loadtest.new-proposal-percent", 2),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Paths.get(System.getProperty("loadtest.report-dir", "build/loadtest")));
+    }
+
+    @Override
+    public String toString() {
+        return hoas + " HOAs x " + members + " members, " + candidates + " candidates, " + rate + " req/s on "
+                + threads + " threads, " + removeVotePercent + "% revokes, " + newProposalPercent
+                + "% new proposals, " + warmup.getSeconds() + "s warmup, " + duration.getSeconds() + "s measured";
+    }
+}
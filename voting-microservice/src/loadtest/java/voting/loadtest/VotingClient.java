@@ -0,0 +1,146 @@
+package voting.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Minimal HTTP client of the voting endpoints the load test drives
+ */
+public class VotingClient {
+
+    private final transient HttpClient http;
+    private final transient ObjectMapper mapper;
+    private final transient String baseUrl;
+
+    /**
+     * Creates a client
+     *
+     * @param port Port the voting service listens on, on localhost
+     */
+    public VotingClient(int port) {
+        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.mapper = new ObjectMapper();
+        this.baseUrl = "http://localhost:" + port + "/voting";
+    }
+
+    /**
+     * Creates a proposal that can be voted on right away
+     *
+     * @param hoaId Id of the HOA
+     * @param name  Name of the proposal, unique within the HOA
+     * @return Id of the new election
+     */
+    public int createProposal(long hoaId, String name) {
+        // Starts a minute ago, the service rejects votes before the start of an election
+        ObjectNode body = election(hoaId, name, LocalDateTime.now().minusMinutes(1));
+        return electionIdOf(post("/specifiedProposal/0", body));
+    }
+
+    /**
+     * Creates a board election, the service only schedules board elections in the future
+     *
+     * @param hoaId      Id of the HOA
+     * @param candidates Member ids of the candidates
+     * @param opensAt    Time the election opens for votes
+     * @return Id of the new election
+     */
+    public int createBoardElection(long hoaId, List<String> candidates, LocalDateTime opensAt) {
+        ObjectNode body = election(hoaId, "Board " + hoaId, opensAt);
+        body.put("amountOfWinners", Math.max(1, candidates.size() / 2));
+        ArrayNode nominees = body.putArray("candidates");
+        candidates.forEach(nominees::add);
+        return electionIdOf(post("/boardElection", body));
+    }
+
+    /**
+     * Casts or changes a vote
+     *
+     * @param electionId Id of the election
+     * @param memberId   Id of the voting member
+     * @param choice     Candidate id or yes/no choice
+     * @return HTTP status of the response
+     */
+    public int vote(int electionId, String memberId, String choice) {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("electionId", electionId);
+        body.put("memberId", memberId);
+        body.put("choice", choice);
+        return post("/vote", body).statusCode();
+    }
+
+    /**
+     * Revokes a vote, a member without a vote gets a bad request
+     *
+     * @param electionId Id of the election
+     * @param memberId   Id of the member
+     * @return HTTP status of the response
+     */
+    public int removeVote(int electionId, String memberId) {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("electionId", electionId);
+        body.put("memberId", memberId);
+        return post("/removeVote", body).statusCode();
+    }
+
+    /**
+     * Concludes an election
+     *
+     * @param electionId Id of the election
+     * @return HTTP status of the response
+     */
+    public int conclude(int electionId) {
+        return post("/conclude/" + electionId, mapper.createObjectNode()).statusCode();
+    }
+
+    private ObjectNode election(long hoaId, String name, LocalDateTime start) {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("hoaId", hoaId);
+        body.put("name", name);
+        body.put("description", "Load test");
+        ObjectNode time = body.putObject("scheduledFor");
+        time.put("seconds", start.getSecond());
+        time.put("minutes", start.getMinute());
+        time.put("hours", start.getHour());
+        time.put("day", start.getDayOfMonth());
+        time.put("month", start.getMonthValue());
+        time.put("year", start.getYear());
+        return body;
+    }
+
+    private int electionIdOf(HttpResponse<String> response) {
+        if (response.statusCode() != 200)
+            throw new IllegalStateException("Creating an election failed with " + response.statusCode()
+                    + ": " + response.body());
+        try {
+            return mapper.readTree(response.body()).get("electionId").asInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpResponse<String> post(String path, ObjectNode body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + path, e);
+        }
+    }
+}
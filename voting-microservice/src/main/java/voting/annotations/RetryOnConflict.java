@@ -0,0 +1,31 @@
+package voting.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a transactional method that is re-run in a new transaction when it lost a race against
+ * a concurrent writer of the same rows (stale version, duplicate ballot, lock timeout)
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({METHOD})
+public @interface RetryOnConflict {
+    /**
+     * Maximum amount of attempts, including the first one
+     *
+     * @return Amount of attempts
+     */
+    int maxAttempts() default 10;
+
+    /**
+     * Base delay before a new attempt, it grows exponentially and is randomized to spread competing writers
+     *
+     * @return Delay in milliseconds
+     */
+    long backoffMillis() default 2;
+}
@@ -0,0 +1,51 @@
+package voting.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import voting.annotations.RetryOnConflict;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies the bounded retry policy of methods annotated with RetryOnConflict.
+ * Runs before the transaction interceptor, so every attempt gets a fresh transaction and re-reads the entities.
+ * It must not take the highest precedence, the interceptor exposing the invocation has to run first to bind the policy
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ConflictRetryAspect {
+
+    private static final long MAX_BACKOFF_MILLIS = 200;
+
+    /**
+     * Runs the annotated method, retrying it on optimistic locking and uniqueness conflicts
+     *
+     * @param joinPoint Invocation of the annotated method
+     * @param policy    Retry policy of the method
+     * @return Result of the first successful attempt
+     * @throws Throwable Exception of the method, or the last conflict once all attempts are used
+     */
+    @Around("@annotation(policy)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict policy) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= policy.maxAttempts()) throw e;
+                backoff(policy.backoffMillis(), attempt);
+            }
+        }
+    }
+
+    private void backoff(long baseMillis, int attempt) throws InterruptedException {
+        long bound = Math.min(MAX_BACKOFF_MILLIS, baseMillis << Math.min(attempt, 16));
+        Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+    }
+}
@@ -1,42 +1,78 @@
 package voting.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import voting.domain.BoardElection;
 import voting.domain.Election;
+import voting.domain.ElectionResult;
 import voting.domain.Proposal;
 import voting.exceptions.BoardElectionAlreadyCreated;
 import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ElectionCannotBeCreated;
 import voting.exceptions.ElectionDoesNotExist;
+import voting.exceptions.IdempotencyKeyReused;
 import voting.exceptions.ProposalAlreadyCreated;
 import voting.exceptions.ThereIsNoVote;
+import voting.models.ArchiveSummaryModel;
+import voting.models.BatchVotingResultModel;
+import voting.models.CacheStatsModel;
+import voting.models.ConcludedElectionModel;
+import voting.models.ConclusionSummaryModel;
+import voting.models.ElectionPageModel;
 import voting.models.RemoveVoteModel;
+import voting.models.TallyModel;
 import voting.models.VotingModel;
+import voting.services.ElectionArchiveJob;
+import voting.services.ElectionConclusionJob;
 import voting.services.ElectionService;
+import voting.services.LiveResultsPublisher;
 import voting.models.BoardElectionModel;
 import voting.models.ProposalModel;
 
 import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.List;
 
 @RestController
 @RequestMapping("/voting")
 public class ElectionController {
 
+    private static final long LIVE_RESULTS_TIMEOUT = 30 * 60 * 1000L;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final transient ElectionService electionService;
+    private final transient LiveResultsPublisher resultsPublisher;
+    private final transient ElectionConclusionJob conclusionJob;
+    private final transient ElectionArchiveJob archiveJob;
 
+    /**
+     * Creates the election controller
+     *
+     * @param electionService  Service handling the elections
+     * @param resultsPublisher Publisher of live election results
+     * @param conclusionJob    Job concluding all due elections
+     * @param archiveJob       Job archiving old finished elections
+     */
     @Autowired
-    public ElectionController(ElectionService electionService) {
+    public ElectionController(ElectionService electionService, LiveResultsPublisher resultsPublisher,
+                              ElectionConclusionJob conclusionJob, ElectionArchiveJob archiveJob) {
         this.electionService = electionService;
+        this.resultsPublisher = resultsPublisher;
+        this.conclusionJob = conclusionJob;
+        this.archiveJob = archiveJob;
     }
 
     /**
@@ -93,32 +129,59 @@ public class ElectionController {
 
     /**
      * Handles voting requests by members of an HOA
+     * Requests with an Idempotency-Key header are applied once, retries get the response of the first one
      *
      * @param model VotingModel containing the required fields
+     * @param key   Optional idempotency key of the request
      * @return Response entity to note whether the voting was successful
      */
     @PostMapping("/vote")
-    public ResponseEntity<Integer> vote(@RequestBody VotingModel model) {
+    public ResponseEntity<Integer> vote(@RequestBody VotingModel model,
+                                        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String key) {
         try {
-            return ResponseEntity.ok(electionService.vote(model, LocalDateTime.now()));
+            return ResponseEntity.ok(electionService.vote(model, LocalDateTime.now(), key));
         } catch (ElectionDoesNotExist e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Election does not exist", e);
         } catch (CannotProceedVote e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot proceed with vote", e);
+        } catch (IdempotencyKeyReused e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Handles a batch of votes for one election, e.g. paper ballots of an in-person meeting
+     *
+     * @param electionId id of the election all votes belong to
+     * @param models     VotingModels of the ballots
+     * @return Response entity with the vote count and the result of every ballot
+     */
+    @PostMapping("/batchVote/{id}")
+    public ResponseEntity<BatchVotingResultModel> batchVote(@PathVariable("id") int electionId,
+                                                            @RequestBody List<VotingModel> models) {
+        try {
+            return ResponseEntity.ok(electionService.vote(electionId, models, LocalDateTime.now()));
+        } catch (ElectionDoesNotExist e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Election does not exist", e);
+        } catch (CannotProceedVote e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
 
     /**
      * Handles removing vote requests by members of an HOA
+     * Requests with an Idempotency-Key header are applied once, retries get the response of the first one
      *
      * @param model RemoveVoteModel containing the required fields
+     * @param key   Optional idempotency key of the request
      * @return Response entity to note whether the removing of the vote was successful
      */
     @PostMapping("/removeVote")
-    public ResponseEntity<Integer> removeVote(@RequestBody RemoveVoteModel model) {
+    public ResponseEntity<Integer> removeVote(@RequestBody RemoveVoteModel model,
+                                              @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String key) {
         try {
-            return ResponseEntity.ok(electionService.removeVote(model, LocalDateTime.now()));
-        } catch (ElectionDoesNotExist | ThereIsNoVote | CannotProceedVote e) {
+            return ResponseEntity.ok(electionService.removeVote(model, LocalDateTime.now(), key));
+        } catch (ElectionDoesNotExist | ThereIsNoVote | CannotProceedVote | IdempotencyKeyReused e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
@@ -139,6 +202,53 @@ public class ElectionController {
         }
     }
 
+    /**
+     * Lists the elections of an HOA, one page at a time
+     * Pages are keyed by election id, pass the nextAfter of a page as after to fetch the following one
+     *
+     * @param hoaId Id of the HOA
+     * @param type  Optional type filter, "board" or "proposal"
+     * @param state Optional status filter, "scheduled", "ongoing" or "finished"
+     * @param from  Optional earliest start time, inclusive
+     * @param to    Optional latest start time, exclusive
+     * @param after Id of the last election of the previous page, 0 for the first page
+     * @param limit Maximum amount of elections on the page
+     * @return Page of election summaries, without ballots
+     */
+    @GetMapping("/elections/{hoaId}")
+    public ResponseEntity<ElectionPageModel> listElections(
+            @PathVariable long hoaId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(electionService.listElections(hoaId, type, state, from, to, after, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the live results of an election as server-sent events
+     * The first event ("tally") holds the current results, every later event ("delta") only the counts that changed.
+     * Deltas are coalesced to a configured maximum per second, the stream completes when the election is concluded
+     *
+     * @param electionId id of the election to follow
+     * @return Emitter of the event stream
+     */
+    @GetMapping(path = "/live/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveResults(@PathVariable("id") int electionId) {
+        try {
+            TallyModel tally = electionService.getTally(electionId);
+            return resultsPublisher.subscribe(new SseEmitter(LIVE_RESULTS_TIMEOUT), tally);
+        } catch (ElectionDoesNotExist e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     /**
      * Concludes an election based on id
      *
@@ -157,6 +267,83 @@ public class ElectionController {
         }
     }
 
+    /**
+     * Getter for the result of a concluded election
+     *
+     * @param electionId Id of the concluded election
+     * @return Counts per option, turnout and winners of the election
+     */
+    @GetMapping("/result/{id}")
+    public ResponseEntity<ElectionResult> getResult(@PathVariable("id") int electionId) {
+        try {
+            return ResponseEntity.ok(electionService.getResult(electionId));
+        } catch (ElectionDoesNotExist e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Getter for the hit and miss counters of the election cache
+     *
+     * @return Statistics of the cache
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsModel> getCacheStats() {
+        return ResponseEntity.ok(electionService.getCacheStats());
+    }
+
+    /**
+     * Concludes all elections whose voting period is over, in parallel
+     *
+     * @return Summary with the amount of concluded elections and their results
+     */
+    @PostMapping("/concludeDue")
+    public ResponseEntity<ConclusionSummaryModel> concludeDueElections() {
+        return ResponseEntity.ok(conclusionJob.concludeDue(LocalDateTime.now()));
+    }
+
+    /**
+     * Lists the concluded elections whose outcome the HOA service did not acknowledge yet
+     *
+     * @param limit Maximum amount of elections, at most 100
+     * @return Every listed election with its result, oldest first
+     */
+    @GetMapping("/pendingOutcomes")
+    public ResponseEntity<List<ConcludedElectionModel>> getPendingOutcomes(
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(electionService.getPendingOutcomes(limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Confirms that the HOA service applied the outcome of a concluded election
+     *
+     * @param electionId Id of the election
+     * @return Whether the outcome was still pending
+     */
+    @PostMapping("/acknowledgeOutcome/{id}")
+    public ResponseEntity<Boolean> acknowledgeOutcome(@PathVariable("id") int electionId) {
+        try {
+            return ResponseEntity.ok(electionService.acknowledgeOutcome(electionId));
+        } catch (ElectionDoesNotExist e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Election does not exist", e);
+        }
+    }
+
+    /**
+     * Moves finished elections past their retention into the archive, only their results stay in the hot tables
+     * Archived elections can still be fetched by id
+     *
+     * @return Summary with the amount of archived elections
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<ArchiveSummaryModel> archiveElections() {
+        return ResponseEntity.ok(archiveJob.archiveDue(LocalDateTime.now()));
+    }
+
     /**
      * Adds a participant to board election
      * Doesn't conduct background checks, relies on an eligible member being provided
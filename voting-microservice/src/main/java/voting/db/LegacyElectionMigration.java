@@ -0,0 +1,206 @@
+package voting.db;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import voting.db.converters.BoardElectionVotesConverter;
+import voting.db.converters.CandidateTallyConverter;
+import voting.db.converters.ProposalVotesConverter;
+import voting.db.repos.BallotRepository;
+import voting.domain.Ballot;
+import voting.domain.CandidateTally;
+import voting.domain.ElectionState;
+
+import javax.annotation.PostConstruct;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-time migration of elections that were written before the state column and the ballot ledger.
+ * The schema update of Hibernate adds the new columns empty and keeps the old ones, so on startup
+ * the state is filled from the old status text, active board elections get the key that allows one per HOA,
+ * the live yes/no counters get their initial value, and every value left in the old votes column is decoded
+ * with the legacy converters into the ledger.
+ * The vote count and live counters of those elections are recomputed from the ledger afterwards
+ */
+@Component
+public class LegacyElectionMigration {
+
+    private static final int BOARD_ELECTION = 0;
+    private static final int PROPOSAL = 1;
+
+    private final transient JdbcTemplate jdbc;
+    private final transient BallotRepository ballotRepository;
+    private final transient TransactionOperations transactions;
+    private final transient BoardElectionVotesConverter boardVotes = new BoardElectionVotesConverter();
+    private final transient ProposalVotesConverter proposalVotes = new ProposalVotesConverter();
+    private final transient CandidateTallyConverter tallies = new CandidateTallyConverter();
+
+    /**
+     * Creates the migration, the transaction manager is built on the entity manager factory,
+     * so the schema is up to date before the migration runs
+     *
+     * @param jdbc               Template for the columns that are not mapped anymore
+     * @param ballotRepository   Ballot ledger
+     * @param transactionManager Transaction manager the migration runs in
+     */
+    @Autowired
+    public LegacyElectionMigration(JdbcTemplate jdbc, BallotRepository ballotRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this(jdbc, ballotRepository, new TransactionTemplate(transactionManager));
+    }
+
+    /**
+     * Creates a migration
+     *
+     * @param jdbc             Template for the columns that are not mapped anymore
+     * @param ballotRepository Ballot ledger
+     * @param transactions     Transactions the migration runs in
+     */
+    public LegacyElectionMigration(JdbcTemplate jdbc, BallotRepository ballotRepository,
+                                   TransactionOperations transactions) {
+        this.jdbc = jdbc;
+        this.ballotRepository = ballotRepository;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Migrates the legacy columns in one transaction, before any election is read
+     */
+    @PostConstruct
+    public void migrate() {
+        transactions.executeWithoutResult(status -> {
+            migrateState(LocalDateTime.now());
+            migrateActiveBoards();
+            migrateVotes();
+            migrateCounters();
+        });
+    }
+
+    /**
+     * Fills the state of elections written before that column existed, their version is 0 by the column default
+     * The state comes from the legacy status text, without one an election is scheduled or ongoing by its start
+     *
+     * @param now Moment that decides whether an election without status has started
+     * @return Amount of elections that got a state
+     */
+    public int migrateState(LocalDateTime now) {
+        int migrated = 0;
+        if (hasColumn("ELECTIONS", "STATUS")) {
+            // The status text is the lower case name of the state
+            migrated += jdbc.update("UPDATE elections SET state = UPPER(status) WHERE state IS NULL "
+                    + "AND UPPER(status) IN ('SCHEDULED', 'ONGOING', 'FINISHED')");
+        }
+        migrated += jdbc.update("UPDATE elections SET state = CASE WHEN scheduled_for > ? THEN ? ELSE ? END "
+                + "WHERE state IS NULL", Timestamp.valueOf(now), ElectionState.SCHEDULED.name(),
+                ElectionState.ONGOING.name());
+        return migrated;
+    }
+
+    /**
+     * Sets the active board key of scheduled and ongoing board elections written before that column existed.
+     * The previous version did not prevent a second board election of an HOA, of those only the newest stays
+     * active, the others are finished without an outcome for the HOA service, since applying one would replace
+     * the board the newest election is about to choose
+     *
+     * @return Amount of board elections that got the key or were finished
+     */
+    public int migrateActiveBoards() {
+        List<Object[]> rows = jdbc.query("SELECT election_id, hoa_id, active_board_hoa_id FROM elections "
+                        + "WHERE election_type = " + BOARD_ELECTION + " AND state IN (?, ?) "
+                        + "ORDER BY hoa_id, scheduled_for DESC NULLS LAST, election_id DESC",
+                (rs, i) -> new Object[] {rs.getInt(1), rs.getLong(2), rs.getObject(3)},
+                ElectionState.SCHEDULED.name(), ElectionState.ONGOING.name());
+        List<Object[]> newest = new ArrayList<>();
+        int migrated = 0;
+        Long hoaId = null;
+        for (Object[] row : rows) {
+            if (!row[1].equals(hoaId)) {
+                hoaId = (Long) row[1];
+                if (row[2] == null) newest.add(row);
+            } else {
+                migrated += jdbc.update("UPDATE elections SET state = ?, active_board_hoa_id = NULL "
+                        + "WHERE election_id = ?", ElectionState.FINISHED.name(), row[0]);
+            }
+        }
+        // The key of a finished duplicate is released above, before the newest election takes it
+        for (Object[] row : newest) {
+            migrated += jdbc.update("UPDATE elections SET active_board_hoa_id = ? WHERE election_id = ?",
+                    row[1], row[0]);
+        }
+        return migrated;
+    }
+
+    /**
+     * Counts the yes and no ballots in the ledger for proposals written before the live counters existed
+     *
+     * @return Amount of proposals whose counters were filled
+     */
+    public int migrateCounters() {
+        return jdbc.update("UPDATE elections e SET "
+                + "yes_votes = (SELECT COUNT(*) FROM ballots b WHERE b.election_id = e.election_id AND b.choice = 'T'), "
+                + "no_votes = (SELECT COUNT(*) FROM ballots b WHERE b.election_id = e.election_id AND b.choice = 'F') "
+                + "WHERE e.election_type = " + PROPOSAL + " AND (e.yes_votes IS NULL OR e.no_votes IS NULL)");
+    }
+
+    /**
+     * Moves the ballots of the legacy votes column into the ledger
+     *
+     * @return Amount of migrated elections
+     */
+    public int migrateVotes() {
+        if (!hasColumn("ELECTIONS", "VOTES")) return 0;
+        List<Object[]> rows = jdbc.query("SELECT election_id, election_type, votes FROM elections "
+                        + "WHERE votes IS NOT NULL AND votes <> ''",
+                (rs, i) -> new Object[] {rs.getInt(1), rs.getInt(2), rs.getString(3)});
+        for (Object[] row : rows) {
+            migrateVotes((Integer) row[0], (Integer) row[1] == BOARD_ELECTION, (String) row[2]);
+        }
+        jdbc.update("UPDATE elections SET votes = NULL WHERE votes IS NOT NULL");
+        return rows.size();
+    }
+
+    private void migrateVotes(int electionId, boolean board, String votes) {
+        Map<String, String> choices = new HashMap<>();
+        if (board) choices.putAll(boardVotes.convertToEntityAttribute(votes));
+        else proposalVotes.convertToEntityAttribute(votes).forEach((m, c) -> choices.put(m, c ? "T" : "F"));
+
+        // A ballot already in the ledger was cast after the column stopped being written, it wins
+        List<Ballot> ledger = new ArrayList<>(ballotRepository.findAllByElectionId(electionId));
+        Set<String> recorded = new HashSet<>();
+        for (Ballot b : ledger) recorded.add(b.getMemberId());
+        List<Ballot> missing = new ArrayList<>();
+        choices.forEach((memberId, choice) -> {
+            // The legacy column did not keep the moment a ballot was cast
+            if (!recorded.contains(memberId)) missing.add(new Ballot(electionId, memberId, choice, null));
+        });
+        ballotRepository.saveAll(missing);
+        ledger.addAll(missing);
+
+        if (board) {
+            CandidateTally tally = new CandidateTally();
+            for (Ballot b : ledger) tally.add(b.getChoice());
+            jdbc.update("UPDATE elections SET vote_count = ?, tally = ? WHERE election_id = ?",
+                    ledger.size(), tallies.convertToDatabaseColumn(tally), electionId);
+        } else {
+            int yes = (int) ledger.stream().filter(b -> "T".equals(b.getChoice())).count();
+            jdbc.update("UPDATE elections SET vote_count = ?, yes_votes = ?, no_votes = ? WHERE election_id = ?",
+                    ledger.size(), yes, ledger.size() - yes, electionId);
+        }
+    }
+
+    private boolean hasColumn(String table, String column) {
+        Integer found = jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = ? AND UPPER(COLUMN_NAME) = ?", Integer.class, table, column);
+        return found != null && found > 0;
+    }
+}
@@ -2,29 +2,63 @@ package voting.db.converters;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Stores board election ballots in the compact binary format:
+ * a dictionary of the chosen candidates, followed by every member id with the varint index of their candidate.
+ * Legacy "member=candidate,..." values are still read.
+ * Ballots live in the ballot ledger now, this converter only reads the old votes column for LegacyElectionMigration.
+ */
 @Converter
 public class BoardElectionVotesConverter implements AttributeConverter<Map<String, String>, String> {
 
 	@Override
 	public String convertToDatabaseColumn(Map<String, String> attribute) {
-		StringBuilder mapAsString = new StringBuilder();
-		for (String key : attribute.keySet()) {
-			mapAsString.append(key).append("=").append(attribute.get(key)).append(",");
+		if (attribute == null || attribute.isEmpty()) return "";
+		Map<String, Integer> candidates = new LinkedHashMap<>();
+		for (String candidate : attribute.values()) {
+			candidates.putIfAbsent(candidate, candidates.size());
 		}
-		if (mapAsString.length() != 0) mapAsString.deleteCharAt(mapAsString.length() - 1);
-		return mapAsString.toString();
+		CompactEncoding.Writer out = new CompactEncoding.Writer(attribute.size() * 12);
+		out.writeVarint(candidates.size());
+		for (String candidate : candidates.keySet()) {
+			out.writeString(candidate);
+		}
+		out.writeVarint(attribute.size());
+		for (Map.Entry<String, String> ballot : attribute.entrySet()) {
+			out.writeString(ballot.getKey());
+			out.writeVarint(candidates.get(ballot.getValue()));
+		}
+		return out.toColumn();
 	}
 
 	@Override
 	public Map<String, String> convertToEntityAttribute(String dbData) {
-		if (dbData.equals("")) return new HashMap<>();
-		return Arrays.stream(dbData.split(","))
-			.map(e -> e.split("="))
-			.collect(Collectors.toMap(e -> e[0], e -> e[1]));
+		if (dbData == null || dbData.isEmpty()) return new HashMap<>();
+		if (!CompactEncoding.isBinary(dbData)) return readLegacy(dbData);
+		CompactEncoding.Reader in = CompactEncoding.reader(dbData);
+		String[] candidates = new String[in.readVarint()];
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] = in.readString();
+		}
+		int size = in.readVarint();
+		Map<String, String> votes = new HashMap<>(size * 4 / 3 + 1);
+		for (int i = 0; i < size; i++) {
+			String memberId = in.readString();
+			votes.put(memberId, candidates[in.readVarint()]);
+		}
+		return votes;
+	}
+
+	private static Map<String, String> readLegacy(String dbData) {
+		Map<String, String> votes = new HashMap<>();
+		for (String entry : CompactEncoding.splitLegacy(dbData, ',')) {
+			int separator = entry.indexOf('=');
+			votes.put(entry.substring(0, separator), entry.substring(separator + 1));
+		}
+		return votes;
 	}
 }
@@ -0,0 +1,26 @@
+package voting.db.converters;
+
+import voting.domain.CandidateTally;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores the live tally of a board election in the same format as the counts of a result, see CountsConverter
+ */
+@Converter
+public class CandidateTallyConverter implements AttributeConverter<CandidateTally, String> {
+
+	private final CountsConverter counts = new CountsConverter();
+
+	@Override
+	public String convertToDatabaseColumn(CandidateTally tally) {
+		if (tally == null) return "";
+		return counts.convertToDatabaseColumn(tally.asMap());
+	}
+
+	@Override
+	public CandidateTally convertToEntityAttribute(String dbData) {
+		return new CandidateTally(counts.convertToEntityAttribute(dbData));
+	}
+}
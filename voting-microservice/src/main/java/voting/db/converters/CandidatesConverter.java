@@ -3,25 +3,41 @@ package voting.db.converters;
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Stores candidate ids in the compact binary format as a length-prefixed list, keeping their order.
+ * Legacy "candidate,..." values are still read.
+ */
 @Converter
 public class CandidatesConverter implements AttributeConverter<List<String>, String> {
 
 	@Override
 	public String convertToDatabaseColumn(List<String> candidates) {
-		StringBuilder sb = new StringBuilder();
-		sb.append(candidates.stream().map(i -> i + ",").collect(Collectors.joining()));
-		if (sb.length() != 0) sb.deleteCharAt(sb.length() - 1);
-		return sb.toString();
+		if (candidates == null || candidates.isEmpty()) return "";
+		CompactEncoding.Writer out = new CompactEncoding.Writer(candidates.size() * 10);
+		out.writeVarint(candidates.size());
+		for (String candidate : candidates) {
+			out.writeString(candidate);
+		}
+		return out.toColumn();
 	}
 
 	@Override
 	public List<String> convertToEntityAttribute(String dbData) {
-		if (dbData.equals("")) return new ArrayList<>();
-		if (dbData.isEmpty()) return new ArrayList<>();
-		return Arrays.stream(dbData.split(",")).collect(Collectors.toList());
+		if (dbData == null || dbData.isEmpty()) return new ArrayList<>();
+		if (!CompactEncoding.isBinary(dbData)) {
+			List<String> candidates = new ArrayList<>();
+			Collections.addAll(candidates, CompactEncoding.splitLegacy(dbData, ','));
+			return candidates;
+		}
+		CompactEncoding.Reader in = CompactEncoding.reader(dbData);
+		int size = in.readVarint();
+		List<String> candidates = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			candidates.add(in.readString());
+		}
+		return candidates;
 	}
 }
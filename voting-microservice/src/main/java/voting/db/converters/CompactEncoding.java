@@ -0,0 +1,150 @@
+package voting.db.converters;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Versioned binary encoding shared by the ballot and candidate converters
+ * Values are stored as the marker "#1" followed by the Base64 of the payload, so they still fit the existing text
+ * columns and can be told apart from the legacy "key=value,..." text that is read for migration.
+ * Strings are written as a varint byte length followed by their UTF-8 bytes, counts and indices as unsigned varints.
+ */
+final class CompactEncoding {
+
+    static final char MARKER = '#';
+    static final char VERSION = '1';
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private CompactEncoding() {
+    }
+
+    /**
+     * Checks whether a column value is in the binary format
+     *
+     * @param dbData Value read from the column
+     * @return True if the value starts with the marker and a supported version
+     */
+    static boolean isBinary(String dbData) {
+        return dbData.length() >= 2 && dbData.charAt(0) == MARKER && dbData.charAt(1) == VERSION;
+    }
+
+    /**
+     * Opens a binary column value for reading
+     *
+     * @param dbData Value that passed {@link #isBinary(String)}
+     * @return Reader positioned at the start of the payload
+     */
+    static Reader reader(String dbData) {
+        return new Reader(DECODER.decode(dbData.substring(2)));
+    }
+
+    /**
+     * Buffer the payload is written into, growing as needed
+     */
+    static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int expectedSize) {
+            buffer = new byte[Math.max(16, expectedSize)];
+        }
+
+        void writeVarint(int value) {
+            ensure(5);
+            int rest = value;
+            while ((rest & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((rest & 0x7F) | 0x80);
+                rest >>>= 7;
+            }
+            buffer[position++] = (byte) rest;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        /**
+         * Finishes the value
+         *
+         * @return Marker, version and Base64 payload as stored in the column
+         */
+        String toColumn() {
+            return MARKER + String.valueOf(VERSION) + ENCODER.encodeToString(Arrays.copyOf(buffer, position));
+        }
+
+        private void ensure(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over a decoded payload
+     */
+    static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = buffer[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint at byte " + position);
+        }
+
+        String readString() {
+            int length = readVarint();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        byte[] readBytes(int length) {
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+    }
+
+    /**
+     * Splits a legacy text value on a separator without regular expressions
+     *
+     * @param dbData    Legacy value, not empty
+     * @param separator Separator between the entries
+     * @return Entries in order
+     */
+    static String[] splitLegacy(String dbData, char separator) {
+        int count = 1;
+        for (int i = 0; i < dbData.length(); i++) {
+            if (dbData.charAt(i) == separator) count++;
+        }
+        String[] parts = new String[count];
+        int start = 0;
+        for (int i = 0; i < count - 1; i++) {
+            int end = dbData.indexOf(separator, start);
+            parts[i] = dbData.substring(start, end);
+            start = end + 1;
+        }
+        parts[count - 1] = dbData.substring(start);
+        return parts;
+    }
+}
@@ -0,0 +1,62 @@
+package voting.db.converters;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores vote counts per option in the compact binary format, keeping the order of the options:
+ * the amount of options, followed by every option with its varint count.
+ * Legacy "option=count,..." values are still read, also when an option contains a comma.
+ */
+@Converter
+public class CountsConverter implements AttributeConverter<Map<String, Integer>, String> {
+
+	@Override
+	public String convertToDatabaseColumn(Map<String, Integer> counts) {
+		if (counts == null || counts.isEmpty()) return "";
+		CompactEncoding.Writer out = new CompactEncoding.Writer(counts.size() * 12);
+		out.writeVarint(counts.size());
+		for (Map.Entry<String, Integer> e : counts.entrySet()) {
+			out.writeString(e.getKey());
+			out.writeVarint(e.getValue());
+		}
+		return out.toColumn();
+	}
+
+	@Override
+	public Map<String, Integer> convertToEntityAttribute(String dbData) {
+		if (dbData == null || dbData.isEmpty()) return new LinkedHashMap<>();
+		if (!CompactEncoding.isBinary(dbData)) return readLegacy(dbData);
+		CompactEncoding.Reader in = CompactEncoding.reader(dbData);
+		int size = in.readVarint();
+		Map<String, Integer> counts = new LinkedHashMap<>(size * 4 / 3 + 1);
+		for (int i = 0; i < size; i++) {
+			String option = in.readString();
+			counts.put(option, in.readVarint());
+		}
+		return counts;
+	}
+
+	/**
+	 * Reads the legacy text, an entry only ends at a comma that follows "=count",
+	 * so a comma inside an option stays part of it
+	 */
+	private static Map<String, Integer> readLegacy(String dbData) {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		int start = 0;
+		int separator = dbData.indexOf('=');
+		while (separator >= 0) {
+			int end = separator + 1;
+			while (end < dbData.length() && Character.isDigit(dbData.charAt(end))) end++;
+			if (end > separator + 1 && (end == dbData.length() || dbData.charAt(end) == ',')) {
+				int count = Integer.parseInt(dbData.substring(separator + 1, end));
+				counts.put(dbData.substring(start, separator), count);
+				start = end + 1;
+				separator = dbData.indexOf('=', start);
+			} else separator = dbData.indexOf('=', separator + 1);
+		}
+		return counts;
+	}
+}
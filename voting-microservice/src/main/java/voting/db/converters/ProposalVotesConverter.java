@@ -2,29 +2,57 @@ package voting.db.converters;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Stores proposal ballots in the compact binary format:
+ * the member ids in order, followed by their choices packed into a bitset, one bit per member.
+ * Legacy "member=T|F,..." values are still read.
+ * Ballots live in the ballot ledger now, this converter only reads the old votes column for LegacyElectionMigration.
+ */
 @Converter
 public class ProposalVotesConverter implements AttributeConverter<Map<String, Boolean>, String> {
 
 	@Override
 	public String convertToDatabaseColumn(Map<String, Boolean> attribute) {
-		StringBuilder mapAsString = new StringBuilder();
-		for (String key : attribute.keySet()) {
-			mapAsString.append(key).append("=").append(attribute.get(key) ? "T" : "F").append(",");
+		if (attribute == null || attribute.isEmpty()) return "";
+		byte[] choices = new byte[(attribute.size() + 7) / 8];
+		CompactEncoding.Writer out = new CompactEncoding.Writer(attribute.size() * 10 + choices.length);
+		out.writeVarint(attribute.size());
+		int index = 0;
+		for (Map.Entry<String, Boolean> ballot : attribute.entrySet()) {
+			out.writeString(ballot.getKey());
+			if (ballot.getValue()) choices[index >>> 3] |= (byte) (1 << (index & 7));
+			index++;
 		}
-		if (mapAsString.length() != 0) mapAsString.deleteCharAt(mapAsString.length() - 1);
-		return mapAsString.toString();
+		out.writeBytes(choices);
+		return out.toColumn();
 	}
 
 	@Override
 	public Map<String, Boolean> convertToEntityAttribute(String dbData) {
-		if (dbData.equals("")) return new HashMap<>();
-		return Arrays.stream(dbData.split(","))
-			.map(e -> e.split("="))
-			.collect(Collectors.toMap(e -> e[0], e -> e[1].equals("T")));
+		if (dbData == null || dbData.isEmpty()) return new HashMap<>();
+		if (!CompactEncoding.isBinary(dbData)) return readLegacy(dbData);
+		CompactEncoding.Reader in = CompactEncoding.reader(dbData);
+		String[] members = new String[in.readVarint()];
+		for (int i = 0; i < members.length; i++) {
+			members[i] = in.readString();
+		}
+		byte[] choices = in.readBytes((members.length + 7) / 8);
+		Map<String, Boolean> votes = new HashMap<>(members.length * 4 / 3 + 1);
+		for (int i = 0; i < members.length; i++) {
+			votes.put(members[i], (choices[i >>> 3] & (1 << (i & 7))) != 0);
+		}
+		return votes;
+	}
+
+	private static Map<String, Boolean> readLegacy(String dbData) {
+		Map<String, Boolean> votes = new HashMap<>();
+		for (String entry : CompactEncoding.splitLegacy(dbData, ',')) {
+			int separator = entry.indexOf('=');
+			votes.put(entry.substring(0, separator), entry.substring(separator + 1).equals("T"));
+		}
+		return votes;
 	}
 }
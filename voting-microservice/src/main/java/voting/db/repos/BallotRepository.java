@@ -0,0 +1,28 @@
+package voting.db.repos;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import voting.domain.Ballot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BallotRepository extends JpaRepository<Ballot, Long> {
+
+    Optional<Ballot> findByElectionIdAndMemberId(int electionId, String memberId);
+
+    List<Ballot> findAllByElectionId(int electionId);
+
+    List<Ballot> findAllByElectionIdAndMemberIdIn(int electionId, Collection<String> memberIds);
+
+    List<Ballot> findAllByElectionIdIn(Collection<Integer> electionIds);
+
+    @Modifying
+    @Query("DELETE FROM Ballot b WHERE b.electionId IN ?1")
+    int deleteAllOfElections(Collection<Integer> electionIds);
+
+}
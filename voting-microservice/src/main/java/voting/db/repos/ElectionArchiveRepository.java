@@ -0,0 +1,9 @@
+package voting.db.repos;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import voting.domain.ArchivedElection;
+
+@Repository
+public interface ElectionArchiveRepository extends JpaRepository<ArchivedElection, Integer> {
+}
@@ -1,10 +1,16 @@
 package voting.db.repos;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import voting.domain.Election;
+import voting.domain.ElectionState;
+import voting.models.ElectionSummaryModel;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,9 +18,99 @@ public interface ElectionRepository extends JpaRepository<Election, Integer> {
 
     Optional<Election> findByElectionId(Integer electionId);
 
+    /**
+     * Reads the optimistic lock version of an election without loading it
+     *
+     * @param electionId Id of the election
+     * @return Version of the election, empty if it does not exist (anymore)
+     */
+    @Query("SELECT e.version FROM Election e WHERE e.electionId = ?1")
+    Optional<Long> findVersionByElectionId(int electionId);
+
     boolean existsByHoaIdAndName(long hoaId, String name);
 
-    @Query("SELECT u FROM BoardElection u WHERE u.hoaId = ?1 AND (u.status LIKE 'ongoing' OR u.status LIKE 'scheduled')")
+    /**
+     * Finds the elections in some states, served by the (state, scheduledFor) index
+     *
+     * @param states States to include
+     * @return Elections in one of the states
+     */
+    List<Election> findAllByStateIn(Collection<ElectionState> states);
+
+    /**
+     * Finds the elections that are not finished and started at or before a moment, a range of the
+     * (state, scheduledFor) index per state
+     *
+     * @param startedBefore Latest start, inclusive
+     * @return Ids of the elections, in id order
+     */
+    @Query("SELECT e.electionId FROM Election e WHERE e.state IN "
+            + "(voting.domain.ElectionState.SCHEDULED, voting.domain.ElectionState.ONGOING) "
+            + "AND e.scheduledFor <= ?1 ORDER BY e.electionId")
+    List<Integer> findDueElectionIds(LocalDateTime startedBefore);
+
+    /**
+     * Finds the finished elections that started before a moment and whose outcome was acknowledged,
+     * a range of the (state, scheduledFor) index
+     *
+     * @param startedBefore Latest start, exclusive
+     * @return Ids of the elections, in id order
+     */
+    @Query("SELECT e.electionId FROM Election e WHERE e.state = voting.domain.ElectionState.FINISHED "
+            + "AND e.outcomePending = false AND e.scheduledFor < ?1 ORDER BY e.electionId")
+    List<Integer> findArchivableElectionIds(LocalDateTime startedBefore);
+
+    /**
+     * Finds finished elections whose outcome the HOA service did not acknowledge, served by the outcome_pending index
+     *
+     * @param page Page of size limit, always the first one
+     * @return Elections with a pending outcome, in id order
+     */
+    @Query("SELECT e FROM Election e WHERE e.outcomePending = true ORDER BY e.electionId")
+    List<Election> findPendingOutcomes(Pageable page);
+
+    /**
+     * Finds the scheduled or ongoing board election of an HOA, served by the (hoa_id, election_type, state) index
+     *
+     * @param hoaId Id of the HOA
+     * @return The active board election, there is at most one
+     */
+    @Query("SELECT u FROM BoardElection u WHERE u.hoaId = ?1 "
+            + "AND u.state IN (voting.domain.ElectionState.SCHEDULED, voting.domain.ElectionState.ONGOING)")
     Optional<Election> getBoardElectionByHoaId(long hoaId);
 
+    /**
+     * Lists board elections of an HOA after a given id, in id order
+     *
+     * @param hoaId  Id of the HOA
+     * @param states States to include
+     * @param from   Earliest start time, inclusive
+     * @param to     Latest start time, exclusive
+     * @param after  Id of the last election of the previous page, 0 for the first page
+     * @param page   Page of size limit, always the first one
+     * @return Summaries of the board elections
+     */
+    @Query("SELECT new voting.models.ElectionSummaryModel(e.electionId, e.hoaId, 'board', e.name, e.state, "
+            + "e.voteCount, e.scheduledFor) FROM BoardElection e WHERE e.hoaId = ?1 AND e.state IN ?2 "
+            + "AND e.scheduledFor >= ?3 AND e.scheduledFor < ?4 AND e.electionId > ?5 ORDER BY e.electionId")
+    List<ElectionSummaryModel> findBoardElectionPage(long hoaId, Collection<ElectionState> states, LocalDateTime from,
+                                                     LocalDateTime to, int after, Pageable page);
+
+    /**
+     * Lists proposals of an HOA after a given id, in id order
+     *
+     * @param hoaId  Id of the HOA
+     * @param states States to include
+     * @param from   Earliest start time, inclusive
+     * @param to     Latest start time, exclusive
+     * @param after  Id of the last election of the previous page, 0 for the first page
+     * @param page   Page of size limit, always the first one
+     * @return Summaries of the proposals
+     */
+    @Query("SELECT new voting.models.ElectionSummaryModel(e.electionId, e.hoaId, 'proposal', e.name, e.state, "
+            + "e.voteCount, e.scheduledFor) FROM Proposal e WHERE e.hoaId = ?1 AND e.state IN ?2 "
+            + "AND e.scheduledFor >= ?3 AND e.scheduledFor < ?4 AND e.electionId > ?5 ORDER BY e.electionId")
+    List<ElectionSummaryModel> findProposalPage(long hoaId, Collection<ElectionState> states, LocalDateTime from,
+                                                LocalDateTime to, int after, Pageable page);
+
 }
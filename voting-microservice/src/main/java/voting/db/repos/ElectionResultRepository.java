@@ -0,0 +1,9 @@
+package voting.db.repos;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import voting.domain.ElectionResult;
+
+@Repository
+public interface ElectionResultRepository extends JpaRepository<ElectionResult, Integer> {
+}
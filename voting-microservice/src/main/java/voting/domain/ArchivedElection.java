@@ -0,0 +1,197 @@
+package voting.domain;
+
+import lombok.NoArgsConstructor;
+import voting.db.converters.LocalDateTimeConverter;
+import voting.exceptions.CannotProceedVote;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A finished election moved out of the elections table, together with all of its ballots.
+ * The election is stored as one deflate-compressed blob, its result stays in the election results table.
+ * Restoring replays the ballots, so it is only meant for the occasional read of an old election
+ */
+@Entity
+@Table(name = "election_archive")
+@NoArgsConstructor
+public class ArchivedElection {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BOARD = 0;
+    private static final int PROPOSAL = 1;
+
+    @Id
+    private int electionId;
+
+    @Column(name = "hoa_id")
+    private long hoaId;
+
+    private int ballots;
+
+    @Convert(converter = LocalDateTimeConverter.class)
+    private LocalDateTime archivedAt;
+
+    @Lob
+    @Column(name = "payload")
+    private byte[] payload;
+
+    /**
+     * Creates the archive record of a finished election
+     *
+     * @param election   Finished election
+     * @param ballots    All ballots of the election from the ledger
+     * @param archivedAt Moment of archiving
+     * @return Archive record with the compressed election
+     */
+    public static ArchivedElection of(Election election, Collection<Ballot> ballots, LocalDateTime archivedAt) {
+        ArchivedElection archived = new ArchivedElection();
+        archived.electionId = election.getElectionId();
+        archived.hoaId = election.getHoaId();
+        archived.ballots = ballots.size();
+        archived.archivedAt = archivedAt;
+        archived.payload = encode(election, ballots);
+        return archived;
+    }
+
+    /**
+     * Rebuilds the election with its votes from the archive
+     *
+     * @return The finished election, equal to the one that was archived
+     */
+    public Election restore() {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(payload)))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION)
+                throw new IllegalStateException("Unknown archive format " + version + " of election " + electionId);
+            final int type = in.readUnsignedByte();
+            final int id = in.readInt();
+            final long rowVersion = in.readLong();
+            final long hoa = in.readLong();
+            final String name = readString(in);
+            final String description = readString(in);
+            final String scheduledFor = readString(in);
+            LocalDateTime start = scheduledFor == null ? null : LocalDateTime.parse(scheduledFor);
+
+            Election election;
+            boolean winningChoice = false;
+            if (type == BOARD) {
+                int amountOfWinners = in.readInt();
+                List<String> candidates = new ArrayList<>();
+                for (int i = in.readInt(); i > 0; i--) candidates.add(readString(in));
+                election = new BoardElection(name, description, hoa, start, amountOfWinners, candidates);
+            } else {
+                winningChoice = in.readBoolean();
+                election = new Proposal(name, description, hoa, start);
+            }
+            election.setElectionId(id);
+            election.setVersion(rowVersion);
+            election.setState(ElectionState.ONGOING);
+            for (int i = in.readInt(); i > 0; i--) {
+                String memberId = readString(in);
+                String choice = readString(in);
+                readString(in);
+                election.vote(memberId, choice);
+            }
+            election.setState(ElectionState.FINISHED);
+            if (type == PROPOSAL) ((Proposal) election).setWinningChoice(winningChoice);
+            return election;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archive of election " + electionId + " is corrupt", e);
+        } catch (CannotProceedVote e) {
+            throw new IllegalStateException("Archive of election " + electionId + " has an invalid ballot", e);
+        }
+    }
+
+    private static byte[] encode(Election election, Collection<Ballot> ballots) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeByte(FORMAT_VERSION);
+            boolean board = election.getClass() == BoardElection.class;
+            out.writeByte(board ? BOARD : PROPOSAL);
+            out.writeInt(election.getElectionId());
+            out.writeLong(election.getVersion());
+            out.writeLong(election.getHoaId());
+            writeString(out, election.getName());
+            writeString(out, election.getDescription());
+            LocalDateTime start = election.getScheduledFor();
+            writeString(out, start == null ? null : start.toString());
+            if (board) {
+                BoardElection boardElection = (BoardElection) election;
+                out.writeInt(boardElection.getAmountOfWinners());
+                out.writeInt(boardElection.getCandidates().size());
+                for (String candidate : boardElection.getCandidates()) writeString(out, candidate);
+            } else {
+                out.writeBoolean(((Proposal) election).isWinningChoice());
+            }
+            out.writeInt(ballots.size());
+            for (Ballot ballot : ballots) {
+                writeString(out, ballot.getMemberId());
+                writeString(out, ballot.getChoice());
+                writeString(out, ballot.getCastAt() == null ? null : ballot.getCastAt().toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] encoded = new byte[length];
+        in.readFully(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    public int getElectionId() {
+        return electionId;
+    }
+
+    public long getHoaId() {
+        return hoaId;
+    }
+
+    public int getBallots() {
+        return ballots;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public int getCompressedSize() {
+        return payload.length;
+    }
+}
@@ -0,0 +1,100 @@
+package voting.domain;
+
+import lombok.NoArgsConstructor;
+import voting.db.converters.LocalDateTimeConverter;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+/**
+ * A single member's ballot in an election.
+ * Every ballot is its own row of the ballot ledger, so casting a vote never rewrites the other ballots
+ */
+@Entity
+@Table(name = "ballots", uniqueConstraints = @UniqueConstraint(name = "uk_ballots_election_member",
+        columnNames = {"election_id", "member_id"}))
+@NoArgsConstructor
+public class Ballot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ballot_sequence")
+    @SequenceGenerator(name = "ballot_sequence", sequenceName = "ballot_sequence", allocationSize = 50)
+    private long ballotId;
+
+    @Column(name = "election_id", nullable = false)
+    private int electionId;
+
+    @Column(name = "member_id", nullable = false)
+    private String memberId;
+
+    @Column(name = "choice", nullable = false)
+    private String choice;
+
+    @Column(name = "cast_at")
+    @Convert(converter = LocalDateTimeConverter.class)
+    private LocalDateTime castAt;
+
+    /**
+     * Creates an empty ballot of a member, to be filled in through cast
+     *
+     * @param electionId Id of the election the ballot belongs to
+     * @param memberId   Id of the member that casts the ballot
+     */
+    public Ballot(int electionId, String memberId) {
+        this.electionId = electionId;
+        this.memberId = memberId;
+    }
+
+    /**
+     * Creates a ballot of a member
+     *
+     * @param electionId Id of the election the ballot belongs to
+     * @param memberId   Id of the member that casts the ballot
+     * @param choice     Choice of the member, as returned by Election::ballotOf
+     * @param castAt     Moment the ballot was cast
+     */
+    public Ballot(int electionId, String memberId, String choice, LocalDateTime castAt) {
+        this(electionId, memberId);
+        this.choice = choice;
+        this.castAt = castAt;
+    }
+
+    /**
+     * Records a (new) choice on this ballot
+     *
+     * @param choice Choice of the member, as returned by Election::ballotOf
+     * @param castAt Moment the choice was made
+     */
+    public void cast(String choice, LocalDateTime castAt) {
+        this.choice = choice;
+        this.castAt = castAt;
+    }
+
+    public long getBallotId() {
+        return ballotId;
+    }
+
+    public int getElectionId() {
+        return electionId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public String getChoice() {
+        return choice;
+    }
+
+    public LocalDateTime getCastAt() {
+        return castAt;
+    }
+}
@@ -1,20 +1,22 @@
 package voting.domain;
 
 import lombok.NoArgsConstructor;
-import voting.db.converters.BoardElectionVotesConverter;
+import voting.db.converters.CandidateTallyConverter;
 import voting.db.converters.CandidatesConverter;
+import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ThereIsNoVote;
 
 import javax.persistence.Convert;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Transient;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Entity
 @NoArgsConstructor
@@ -26,8 +28,20 @@ public class BoardElection extends Election {
     @Convert(converter = CandidatesConverter.class)
     private List<String> candidates;
 
-    @Convert(converter = BoardElectionVotesConverter.class)
-    private Map<String, String> votes;
+    /**
+     * Ballots are persisted in the ballot ledger, this map only holds the ones loaded by the service
+     */
+    @Transient
+    private Map<String, String> votes = new HashMap<>();
+
+    @Convert(converter = CandidateTallyConverter.class)
+    private CandidateTally tally = new CandidateTally();
+
+    /**
+     * Hashed copy of the candidates, built on the first vote so validating a choice does not scan the list
+     */
+    @Transient
+    private Set<String> candidateIndex;
 
     /**
      * Create a board election
@@ -61,6 +75,7 @@ public class BoardElection extends Election {
 
     public void setCandidates(List<String> candidates) {
         this.candidates = candidates;
+        this.candidateIndex = null;
     }
 
     public Map<String, String> getVotes() {
@@ -71,17 +86,63 @@ public class BoardElection extends Election {
         this.votes = votes;
     }
 
+    /**
+     * Gives the live vote counts of this election
+     *
+     * @return Vote counts per candidate that received at least one vote
+     */
+    @Override
+    public Map<String, Integer> getTally() {
+        return tally.asMap();
+    }
+
+    public void setTally(Map<String, Integer> tally) {
+        this.tally = new CandidateTally(tally);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void vote(String memberId, Object voteChoice) {
-        if (getStatus().equals("ongoing") && candidates.contains((String) voteChoice)) {
-            if (!votes.containsKey(memberId)) this.incrementVoteCount();
-            votes.put(memberId, (String) voteChoice);
+        if (getState() == ElectionState.ONGOING && candidateIndex().contains((String) voteChoice)) {
+            String previous = votes.put(memberId, (String) voteChoice);
+            // A repeated vote leaves the tally alone, removing a candidate's last vote would drop and re-add its count
+            if (voteChoice.equals(previous)) return;
+            if (previous == null) this.incrementVoteCount();
+            else tally.remove(previous);
+            tally.add((String) voteChoice);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String parseChoice(String choice) throws CannotProceedVote {
+        if (!candidateIndex().contains(choice))
+            throw new CannotProceedVote("Candidate with given id is not nominated for the election");
+        return choice;
+    }
+
+    private Set<String> candidateIndex() {
+        if (candidateIndex == null) candidateIndex = new HashSet<>(candidates);
+        return candidateIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardElection snapshot() {
+        BoardElection copy = copyInto(new BoardElection());
+        copy.amountOfWinners = amountOfWinners;
+        copy.candidates = new ArrayList<>(candidates);
+        copy.votes = new HashMap<>(votes);
+        copy.tally = new CandidateTally(tally.asMap());
+        return copy;
+    }
+
     /**
      * Removes member's vote
      * @param memberId Id of member that wants to remove his vote
@@ -89,31 +150,36 @@ public class BoardElection extends Election {
      */
     @Override
     public void removeVote(String memberId) throws ThereIsNoVote {
-        if (getStatus().equals("ongoing") && this.votes.containsKey(memberId)) {
-            this.votes.remove(memberId);
+        if (getState() == ElectionState.ONGOING && this.votes.containsKey(memberId)) {
+            tally.remove(this.votes.remove(memberId));
             this.decrementVoteCount();
         } else throw new ThereIsNoVote("This person has not voted yet");
     }
 
     /**
-     * Calculates the outcome of a board election
+     * {@inheritDoc}
+     */
+    @Override
+    public void restoreBallot(String memberId, String choice) {
+        votes.put(memberId, choice);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String ballotOf(String memberId) {
+        return votes.get(memberId);
+    }
+
+    /**
+     * Calculates the outcome of a board election from the live tally
+     * Ties are broken by candidate application order
      *
      * @return Set of winners, capped if less than amountOfWinners
      */
     public Set<String> findOutcome() {
-        var votesByCandidate = votes.entrySet().stream()
-                // Map candidateIds (values) to keys, and vote counts to values
-                .collect(Collectors.toMap(Map.Entry::getValue,
-                        e -> votes.values().stream().filter(ee -> ee.equals(e.getValue())).count(),
-                        Long::sum));
-        return votesByCandidate.entrySet()
-                .stream()
-                // Master sort by number of votes, candidate application order as a tie-breaker
-                .sorted(Comparator.comparing(i -> candidates.indexOf(i.getKey())))
-                .sorted(Comparator.comparing(i -> -i.getValue()))
-                .limit(Math.min(amountOfWinners, candidates.size()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
+        return tally.top(Math.min(amountOfWinners, candidates.size()), candidates);
     }
 
     /**
@@ -128,9 +194,11 @@ public class BoardElection extends Election {
 
     public void addParticipant(String memberId) {
         this.candidates.add(memberId);
+        this.candidateIndex = null;
     }
 
     public boolean removeParticipant(String memberId) {
+        this.candidateIndex = null;
         return this.candidates.remove(memberId);
     }
 }
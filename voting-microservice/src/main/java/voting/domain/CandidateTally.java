@@ -0,0 +1,149 @@
+package voting.domain;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Running vote counts per candidate of a board election.
+ * It is updated on every (removed) vote, so results never have to be recounted from the ballots
+ */
+public class CandidateTally {
+
+    private final Map<String, Count> counts;
+
+    /**
+     * Creates an empty tally
+     */
+    public CandidateTally() {
+        this.counts = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a tally from existing counts
+     *
+     * @param counts Vote counts per candidate id
+     */
+    public CandidateTally(Map<String, Integer> counts) {
+        this.counts = new LinkedHashMap<>();
+        counts.forEach((candidate, count) -> {
+            if (count > 0) this.counts.put(candidate, new Count(count));
+        });
+    }
+
+    /**
+     * Counts one vote for a candidate
+     *
+     * @param candidate Id of the candidate
+     */
+    public void add(String candidate) {
+        Count count = counts.get(candidate);
+        if (count == null) counts.put(candidate, new Count(1));
+        else count.value++;
+    }
+
+    /**
+     * Discounts one vote for a candidate, candidates without votes are dropped from the tally
+     *
+     * @param candidate Id of the candidate
+     */
+    public void remove(String candidate) {
+        Count count = counts.get(candidate);
+        if (count == null) return;
+        if (count.value > 1) count.value--;
+        else counts.remove(candidate);
+    }
+
+    /**
+     * Gives the amount of votes of a candidate
+     *
+     * @param candidate Id of the candidate
+     * @return Vote count, 0 if the candidate has no votes
+     */
+    public int countOf(String candidate) {
+        Count count = counts.get(candidate);
+        return count == null ? 0 : count.value;
+    }
+
+    /**
+     * Gives a copy of the counts of all candidates that have at least one vote
+     *
+     * @return Vote counts per candidate id
+     */
+    public Map<String, Integer> asMap() {
+        Map<String, Integer> copy = new LinkedHashMap<>();
+        counts.forEach((candidate, count) -> copy.put(candidate, count.value));
+        return copy;
+    }
+
+    /**
+     * Selects the candidates with the most votes, candidates that applied earlier win ties
+     * Runs in O(candidates * log(amount)), independent of the amount of voters
+     *
+     * @param amount           Maximum amount of candidates to select
+     * @param applicationOrder Candidates in the order they applied for the election
+     * @return Set of (at most amount) winners, candidates without votes never win
+     */
+    public Set<String> top(int amount, List<String> applicationOrder) {
+        Set<String> winners = new HashSet<>();
+        if (amount <= 0) return winners;
+        Map<String, Integer> applicationIndex = new HashMap<>();
+        for (int i = 0; i < applicationOrder.size(); i++) applicationIndex.putIfAbsent(applicationOrder.get(i), i);
+
+        // Heap holding the current best candidates, with the weakest of them on top
+        Comparator<Map.Entry<String, Count>> weakestFirst =
+                Comparator.comparingInt((Map.Entry<String, Count> e) -> e.getValue().value)
+                        .thenComparingInt(e -> -applicationIndex.getOrDefault(e.getKey(), -1));
+        PriorityQueue<Map.Entry<String, Count>> best = new PriorityQueue<>(amount + 1, weakestFirst);
+        for (Map.Entry<String, Count> entry : counts.entrySet()) {
+            best.add(entry);
+            if (best.size() > amount) best.poll();
+        }
+        for (Map.Entry<String, Count> entry : best) winners.add(entry.getKey());
+        return winners;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || o.getClass() != this.getClass()) return false;
+        return counts.equals(((CandidateTally) o).counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(counts);
+    }
+
+    @Override
+    public String toString() {
+        return "CandidateTally" + asMap();
+    }
+
+    /**
+     * Vote count of one candidate, updated in place so counting a vote does not box a new Integer
+     */
+    private static final class Count {
+        private int value;
+
+        Count(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Count && ((Count) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+}
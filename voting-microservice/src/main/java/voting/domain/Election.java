@@ -1,24 +1,41 @@
 package voting.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import voting.db.converters.LocalDateTimeConverter;
 import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ThereIsNoVote;
 
+import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorType;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
+import javax.persistence.PostLoad;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
-@Table(name = "elections")
+@Table(name = "elections",
+        indexes = {
+            @Index(name = "idx_elections_hoa_type_state", columnList = "hoa_id, election_type, state"),
+            @Index(name = "idx_elections_hoa_id", columnList = "hoa_id, electionId"),
+            @Index(name = "idx_elections_state_scheduled", columnList = "state, scheduledFor"),
+            @Index(name = "idx_elections_outcome_pending", columnList = "outcome_pending")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_elections_active_board", columnNames = "active_board_hoa_id"))
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "election_type",
         discriminatorType = DiscriminatorType.INTEGER)
@@ -29,11 +46,38 @@ public abstract class Election {
     @GeneratedValue(strategy = GenerationType.SEQUENCE)
     int electionId;
 
+    /**
+     * Optimistic lock, concurrent changes of the same election make all but the first writer retry
+     * The default lets the schema update add the column to a table that already has elections
+     */
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    @Column(name = "hoa_id")
     private long hoaId;
     private String name;
     private String description;
     private int voteCount;
-    private String status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", length = 16)
+    private ElectionState state;
+
+    /**
+     * Id of the HOA while this is its scheduled or ongoing board election, null otherwise.
+     * The unique constraint on it allows only one active board election per HOA, even for concurrent creations
+     */
+    @Column(name = "active_board_hoa_id")
+    private Long activeBoardHoaId;
+
+    /**
+     * Whether the election finished but the HOA service did not confirm yet that it applied the outcome.
+     * Elections finished before this column count as applied
+     */
+    @Column(name = "outcome_pending")
+    @ColumnDefault("false")
+    private boolean outcomePending;
 
     @Convert(converter = LocalDateTimeConverter.class)
     private LocalDateTime scheduledFor;
@@ -53,7 +97,38 @@ public abstract class Election {
         this.hoaId = hoaId;
         this.scheduledFor = scheduledFor;
         this.voteCount = 0;
-        this.status = "scheduled";
+        this.state = ElectionState.SCHEDULED;
+        syncActiveBoardKey();
+    }
+
+    /**
+     * Creates an independent copy of this election together with its loaded ballots,
+     * so it can be handed to readers while the original keeps changing
+     *
+     * @return Copy of the election
+     */
+    public abstract Election snapshot();
+
+    /**
+     * Copies the fields shared by all elections into a snapshot
+     *
+     * @param copy Empty election of the same type
+     * @param <T>  Type of the election
+     * @return The same copy
+     */
+    protected <T extends Election> T copyInto(T copy) {
+        Election target = copy;
+        target.electionId = electionId;
+        target.version = version;
+        target.hoaId = hoaId;
+        target.name = name;
+        target.description = description;
+        target.voteCount = voteCount;
+        target.state = state;
+        target.activeBoardHoaId = activeBoardHoaId;
+        target.outcomePending = outcomePending;
+        target.scheduledFor = scheduledFor;
+        return copy;
     }
 
     /**
@@ -64,6 +139,16 @@ public abstract class Election {
      */
     public abstract void vote(String memberId, Object choice) throws CannotProceedVote;
 
+    /**
+     * Validates a submitted voting choice once, before it is applied with {@link #vote(String, Object)}
+     * Does not allocate, so it can run on every vote
+     *
+     * @param choice Choice as submitted by the member
+     * @return Choice in the form vote applies it without further checks
+     * @throws CannotProceedVote If the choice is not valid for this election
+     */
+    public abstract Object parseChoice(String choice) throws CannotProceedVote;
+
     /**
      * Removes member's vote
      * @param memberId Id of member that wants to remove his vote
@@ -71,6 +156,29 @@ public abstract class Election {
      */
     public abstract void removeVote(String memberId) throws ThereIsNoVote;
 
+    /**
+     * Replays a ballot from the ballot ledger into the votes of this election, without counting it again
+     *
+     * @param memberId Id of member that cast the ballot
+     * @param choice   Choice as stored in the ledger
+     */
+    public abstract void restoreBallot(String memberId, String choice);
+
+    /**
+     * Gives the current vote of a member in the form it is stored in the ballot ledger
+     *
+     * @param memberId Id of member whose vote is requested
+     * @return Ledger representation of the vote, null if the member has not voted
+     */
+    public abstract String ballotOf(String memberId);
+
+    /**
+     * Gives the live vote counts of this election, without looking at its ballots
+     *
+     * @return Vote counts per option of the election
+     */
+    public abstract Map<String, Integer> getTally();
+
     /**
      * Concludes the current election
      *
@@ -94,6 +202,20 @@ public abstract class Election {
         return description;
     }
 
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Carries the version of a saved copy over to a detached election that is kept in memory
+     *
+     * @param version Version of the election in the database
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public int getVoteCount() {
         return voteCount;
     }
@@ -109,6 +231,7 @@ public abstract class Election {
 
     public void setHoaId(long hoaId) {
         this.hoaId = hoaId;
+        syncActiveBoardKey();
     }
 
     public void setName(String name) {
@@ -124,11 +247,65 @@ public abstract class Election {
     }
 
     public String getStatus() {
-        return status;
+        return state == null ? null : state.label();
     }
 
+    /**
+     * Sets the lifecycle state from its status text
+     *
+     * @param status "scheduled", "ongoing" or "finished"
+     */
     public void setStatus(String status) {
-        this.status = status;
+        setState(ElectionState.of(status));
+    }
+
+    @JsonIgnore
+    public ElectionState getState() {
+        return state;
+    }
+
+    /**
+     * Sets the lifecycle state, a finished board election releases the active board election slot of its HOA.
+     * Finishing an election makes its outcome pending until the HOA service acknowledges it
+     *
+     * @param state New lifecycle state
+     */
+    public void setState(ElectionState state) {
+        if (state == ElectionState.FINISHED && this.state != ElectionState.FINISHED) outcomePending = true;
+        this.state = state;
+        syncActiveBoardKey();
+    }
+
+    @JsonIgnore
+    public boolean isOutcomePending() {
+        return outcomePending;
+    }
+
+    /**
+     * Marks the outcome as applied by the HOA service
+     *
+     * @return Whether it was still pending
+     */
+    public boolean acknowledgeOutcome() {
+        boolean pending = outcomePending;
+        outcomePending = false;
+        return pending;
+    }
+
+    /**
+     * Elections written before the state column have none until the migration ran, they count as scheduled
+     * or ongoing by their start
+     */
+    @PostLoad
+    void defaultState() {
+        if (state != null) return;
+        boolean started = scheduledFor == null || !scheduledFor.isAfter(LocalDateTime.now());
+        state = started ? ElectionState.ONGOING : ElectionState.SCHEDULED;
+    }
+
+    private void syncActiveBoardKey() {
+        boolean active = getClass() == BoardElection.class && state != ElectionState.FINISHED;
+        this.activeBoardHoaId = active ? hoaId : null;
     }
 
     @Override
@@ -141,9 +318,8 @@ public abstract class Election {
 
     @Override
     public int hashCode() {
-        if (this.getClass() != BoardElection.class)
-            return ("prop:" + this.electionId + ":" + this.hoaId + ":" + this.name.hashCode()).hashCode();
-        return ("be:" + this.electionId + ":" + this.hoaId + ":" + this.name.hashCode()).hashCode();
+        // Same fields as equals, board elections and proposals with the same id still hash apart
+        return 31 * this.electionId + (this.getClass() == BoardElection.class ? 1 : 0);
     }
 
     public void incrementVoteCount() {
@@ -0,0 +1,110 @@
+package voting.domain;
+
+import lombok.NoArgsConstructor;
+import voting.db.converters.CandidatesConverter;
+import voting.db.converters.CountsConverter;
+import voting.db.converters.LocalDateTimeConverter;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Final result of a concluded election, written once when it concludes.
+ * Holds everything a results page or an audit needs, so the election and its ballots are never recounted
+ */
+@Entity
+@Table(name = "election_results")
+@NoArgsConstructor
+public class ElectionResult {
+
+    @Id
+    private int electionId;
+
+    private long hoaId;
+    private String name;
+    private String type;
+    private int turnout;
+
+    @Column(length = 4096)
+    @Convert(converter = CountsConverter.class)
+    private Map<String, Integer> counts;
+
+    @Column(length = 4096)
+    @Convert(converter = CandidatesConverter.class)
+    private List<String> winners;
+
+    @Convert(converter = LocalDateTimeConverter.class)
+    private LocalDateTime concludedAt;
+
+    /**
+     * Creates the result of a concluded election
+     *
+     * @param election    Concluded election
+     * @param outcome     Outcome returned by conclude, a Boolean for proposals, a collection of winners otherwise
+     * @param concludedAt Moment of conclusion, null if unknown
+     * @return Result of the election
+     */
+    public static ElectionResult of(Election election, Object outcome, LocalDateTime concludedAt) {
+        ElectionResult result = new ElectionResult();
+        result.electionId = election.getElectionId();
+        result.hoaId = election.getHoaId();
+        result.name = election.getName();
+        result.turnout = election.getVoteCount();
+        result.concludedAt = concludedAt;
+        result.counts = new LinkedHashMap<>();
+        if (election.getClass() == BoardElection.class) {
+            BoardElection board = (BoardElection) election;
+            Collection<?> elected = (Collection<?>) outcome;
+            result.type = "board";
+            for (String candidate : board.getCandidates()) result.counts.put(candidate, 0);
+            result.counts.putAll(board.getTally());
+            result.winners = board.getCandidates().stream().filter(elected::contains).collect(Collectors.toList());
+        } else {
+            result.type = "proposal";
+            result.counts.putAll(election.getTally());
+            result.winners = List.of(Boolean.TRUE.equals(outcome) ? "yes" : "no");
+        }
+        return result;
+    }
+
+    public int getElectionId() {
+        return electionId;
+    }
+
+    public long getHoaId() {
+        return hoaId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getTurnout() {
+        return turnout;
+    }
+
+    public Map<String, Integer> getCounts() {
+        return counts;
+    }
+
+    public List<String> getWinners() {
+        return winners;
+    }
+
+    public LocalDateTime getConcludedAt() {
+        return concludedAt;
+    }
+}
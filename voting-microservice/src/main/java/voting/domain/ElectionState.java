@@ -0,0 +1,40 @@
+package voting.domain;
+
+import java.util.Locale;
+
+/**
+ * Lifecycle state of an election, stored in the indexed state column.
+ * The API keeps exposing it as the lower case status text
+ */
+public enum ElectionState {
+    SCHEDULED,
+    ONGOING,
+    FINISHED;
+
+    private static final ElectionState[] STATES = values();
+
+    private final String label = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Gives the status text of this state
+     *
+     * @return "scheduled", "ongoing" or "finished"
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Parses a status text
+     *
+     * @param status "scheduled", "ongoing" or "finished", case insensitive
+     * @return Matching state
+     * @throws IllegalArgumentException If the text is no known status
+     */
+    public static ElectionState of(String status) {
+        for (ElectionState state : STATES) {
+            if (state.name().equalsIgnoreCase(status)) return state;
+        }
+        throw new IllegalArgumentException("No election status " + status);
+    }
+}
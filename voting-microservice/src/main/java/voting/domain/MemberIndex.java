@@ -0,0 +1,69 @@
+package voting.domain;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense index of the member ids that voted on the proposals sharing it, usually all proposals of one HOA.
+ * A member id is stored once however many of those proposals it voted on, the ballots only keep its int index.
+ * Indices are never reassigned, the index only grows with the amount of members that ever voted.
+ * Proposals of the same HOA are voted on from different threads, so assigning an index is synchronized
+ */
+public final class MemberIndex {
+
+    private final Map<String, Integer> indices = new ConcurrentHashMap<>();
+    private volatile String[] members = new String[64];
+    private int next;
+
+    /**
+     * Gets the index of a member, assigning the next free one if the member has none yet
+     *
+     * @param memberId Id of the member
+     * @return Index of the member
+     */
+    public int of(String memberId) {
+        Integer index = indices.get(memberId);
+        if (index != null) return index;
+        synchronized (this) {
+            index = indices.get(memberId);
+            if (index != null) return index;
+            if (next == members.length) members = Arrays.copyOf(members, next * 2);
+            members[next] = memberId;
+            // Published after the member id, so a reader that finds the index also finds the id
+            indices.put(memberId, next);
+            return next++;
+        }
+    }
+
+    /**
+     * Gets the index of a member without assigning one
+     *
+     * @param memberId Id of the member, may be of any type
+     * @return Index of the member, -1 if it never got one
+     */
+    public int find(Object memberId) {
+        if (!(memberId instanceof String)) return -1;
+        Integer index = indices.get(memberId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the member id of an index
+     *
+     * @param index Index that was assigned before
+     * @return Id of the member
+     */
+    public String member(int index) {
+        return members[index];
+    }
+
+    /**
+     * Amount of members that got an index
+     *
+     * @return Amount of indexed members
+     */
+    public int size() {
+        return indices.size();
+    }
+}
@@ -1,16 +1,14 @@
 package voting.domain;
 
 import lombok.NoArgsConstructor;
-import voting.annotations.Generated;
-import voting.db.converters.ProposalVotesConverter;
+import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ThereIsNoVote;
 
-import javax.persistence.Convert;
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.Transient;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Entity
@@ -19,8 +17,14 @@ import java.util.Map;
 public class Proposal extends Election {
     private boolean winningChoice;
 
-    @Convert(converter = ProposalVotesConverter.class)
-    private Map<String, Boolean> votes;
+    /**
+     * Ballots are persisted in the ballot ledger, this map only holds the ones loaded by the service
+     */
+    @Transient
+    private ProposalBallots votes = new ProposalBallots();
+
+    private int yesVotes;
+    private int noVotes;
 
     /**
      * Creates a proposal
@@ -33,7 +37,7 @@ public class Proposal extends Election {
     public Proposal(String name, String description, long hoaId, LocalDateTime scheduledFor) {
         super(name, description, hoaId, scheduledFor);
         winningChoice = false;
-        votes = new HashMap<>();
+        votes = new ProposalBallots();
     }
 
     public boolean isWinningChoice() {
@@ -49,7 +53,38 @@ public class Proposal extends Election {
     }
 
     public void setVotes(Map<String, Boolean> votes) {
-        this.votes = votes;
+        this.votes = new ProposalBallots(votes);
+    }
+
+    /**
+     * Keys the ballots by a member index shared with the other proposals of the HOA
+     *
+     * @param members Index of the members of the HOA
+     */
+    public void useMemberIndex(MemberIndex members) {
+        this.votes = votes.withIndex(members);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Integer> getTally() {
+        Map<String, Integer> tally = new LinkedHashMap<>();
+        tally.put("yes", yesVotes);
+        tally.put("no", noVotes);
+        return tally;
+    }
+
+    /**
+     * Updates the live yes/no counters
+     *
+     * @param choice Choice whose counter is updated
+     * @param delta  Amount to add to the counter
+     */
+    private void count(boolean choice, int delta) {
+        if (choice) yesVotes += delta;
+        else noVotes += delta;
     }
 
     /**
@@ -57,13 +92,62 @@ public class Proposal extends Election {
      */
     @Override
     public void vote(String memberId, Object vote) {
-        if (getStatus().equals("ongoing") && (vote.getClass() == Boolean.class || vote.getClass() == String.class)) {
-            if (vote.getClass() == Boolean.class) votes.put(memberId, (Boolean) vote);
-            else votes.put(memberId, List.of("True", "true", "T").contains((String) vote));
-            this.incrementVoteCount();
+        if (getState() == ElectionState.ONGOING && (vote.getClass() == Boolean.class || vote.getClass() == String.class)) {
+            boolean choice = vote.getClass() == Boolean.class
+                    ? (Boolean) vote : Boolean.TRUE.equals(toChoice((String) vote));
+            Boolean previous = votes.put(memberId, choice);
+            if (previous == null) this.incrementVoteCount();
+            else count(previous, -1);
+            count(choice, 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean parseChoice(String choice) throws CannotProceedVote {
+        Boolean parsed = toChoice(choice);
+        if (parsed == null)
+            throw new CannotProceedVote("Invalid voting choice for proposal (must be a boolean or similar)");
+        return parsed;
+    }
+
+    /**
+     * Reads a yes/no choice, the switch on the string avoids building a list of accepted spellings per vote
+     *
+     * @param choice Submitted choice
+     * @return True for yes, false for no, null if the choice is not a boolean or similar
+     */
+    private static Boolean toChoice(String choice) {
+        if (choice == null) return null;
+        switch (choice) {
+            case "True":
+            case "true":
+            case "T":
+                return Boolean.TRUE;
+            case "False":
+            case "false":
+            case "F":
+                return Boolean.FALSE;
+            default:
+                return null;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Proposal snapshot() {
+        Proposal copy = copyInto(new Proposal());
+        copy.winningChoice = winningChoice;
+        copy.votes = new ProposalBallots(votes);
+        copy.yesVotes = yesVotes;
+        copy.noVotes = noVotes;
+        return copy;
+    }
+
     /**
      * Removes member's vote
      * @param memberId Id of the member that wants to remove his vote
@@ -71,39 +155,40 @@ public class Proposal extends Election {
      */
     @Override
     public void removeVote(String memberId) throws ThereIsNoVote {
-        if (this.votes.containsKey(memberId) && getStatus().equals("ongoing")) {
-            this.votes.remove(memberId);
+        if (this.votes.containsKey(memberId) && getState() == ElectionState.ONGOING) {
+            count(this.votes.remove(memberId), -1);
             this.decrementVoteCount();
         } else throw new ThereIsNoVote("This person has not voted yet");
     }
 
     /**
-     * Calculates the outcome of a proposal
-     *
-     * @return Binary decision, based on majority voting
+     * {@inheritDoc}
      */
-    public boolean findOutcome() {
-        Integer[] counts = votes.values().stream().collect(() -> new Integer[]{0, 0},
-                (acc, b) -> {
-                    // PMD thinks it's smelly if boolean is not stored in a variable
-                    // ?????
-                    if (b) acc[1]++;
-                    else acc[0]++;
-                }, this::findOutcomeAccHelper);
-        return counts[0] < counts[1];
+    @Override
+    public void restoreBallot(String memberId, String choice) {
+        votes.put(memberId, "T".equals(choice));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String ballotOf(String memberId) {
+        Boolean vote = votes.get(memberId);
+        if (vote == null) return null;
+        return vote ? "T" : "F";
     }
 
     /**
-     * Accumulator helper function made for testability
-     * Combines all sub-acc values to master acc
+     * Calculates the outcome of a proposal by a popcount of the yes and no bitsets of its ballots.
+     * A proposal that is concluded without loading its ballots holds fewer of them than it counted,
+     * it is decided by its live yes and no counters instead
      *
-     * @param a Master accumulator
-     * @param b Sub-accumulator
+     * @return Binary decision, based on majority voting
      */
-    @Generated // Helper method that accumulates one group of elements into another, no need to test due to triviality
-    public void findOutcomeAccHelper(Integer[] a, Integer[] b) {
-        a[0] += b[0];
-        a[1] += b[1];
+    public boolean findOutcome() {
+        if (votes.size() != getVoteCount()) return noVotes < yesVotes;
+        return votes.noCount() < votes.yesCount();
     }
 
     /**
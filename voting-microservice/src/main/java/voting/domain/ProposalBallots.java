@@ -0,0 +1,218 @@
+package voting.domain;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Yes/no ballots of a proposal, keyed by member id.
+ * Member ids are mapped to a dense int by a {@link MemberIndex}, the choice of a member is one bit at that index
+ * in either the yes or the no bitset, so counting the votes is a popcount of each bitset.
+ * The index is shared by the proposals of an HOA once the service hands it over, until then the ballots keep
+ * one of their own. A removed ballot only clears its bit, the index stays with the member for a later vote.
+ */
+public class ProposalBallots extends AbstractMap<String, Boolean> {
+
+    private final MemberIndex members;
+    private final BitSet yes;
+    private final BitSet no;
+
+    /**
+     * Creates an empty set of ballots with an index of its own
+     */
+    public ProposalBallots() {
+        this(new MemberIndex());
+    }
+
+    /**
+     * Creates an empty set of ballots
+     *
+     * @param members Index of the members that may vote, shared with other proposals
+     */
+    public ProposalBallots(MemberIndex members) {
+        this.members = members;
+        this.yes = new BitSet();
+        this.no = new BitSet();
+    }
+
+    /**
+     * Creates ballots from existing choices per member, a copy of other ballots shares their index
+     *
+     * @param votes Choice per member id, true for yes
+     */
+    public ProposalBallots(Map<String, Boolean> votes) {
+        if (votes instanceof ProposalBallots) {
+            ProposalBallots other = (ProposalBallots) votes;
+            this.members = other.members;
+            this.yes = (BitSet) other.yes.clone();
+            this.no = (BitSet) other.no.clone();
+        } else {
+            this.members = new MemberIndex();
+            this.yes = new BitSet();
+            this.no = new BitSet();
+            votes.forEach(this::put);
+        }
+    }
+
+    /**
+     * Copies the ballots onto another member index
+     *
+     * @param index Index the copy keys its ballots by
+     * @return These ballots if they already use the index, otherwise a copy that does
+     */
+    public ProposalBallots withIndex(MemberIndex index) {
+        if (index == members) return this;
+        ProposalBallots copy = new ProposalBallots(index);
+        forEach(copy::put);
+        return copy;
+    }
+
+    /**
+     * Amount of yes votes
+     *
+     * @return Amount of members that voted yes
+     */
+    public int yesCount() {
+        return yes.cardinality();
+    }
+
+    /**
+     * Amount of no votes
+     *
+     * @return Amount of members that voted no
+     */
+    public int noCount() {
+        return no.cardinality();
+    }
+
+    @Override
+    public int size() {
+        return yes.cardinality() + no.cardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return yes.isEmpty() && no.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object memberId) {
+        return get(memberId) != null;
+    }
+
+    @Override
+    public Boolean get(Object memberId) {
+        return choiceAt(members.find(memberId));
+    }
+
+    /**
+     * Stores the choice of a member, replacing an earlier one
+     *
+     * @param memberId Id of the member
+     * @param choice   True for yes, false for no
+     * @return Previous choice of the member, null if they had not voted
+     * @throws IllegalArgumentException If the member id or the choice is null
+     */
+    @Override
+    public Boolean put(String memberId, Boolean choice) {
+        if (memberId == null || choice == null) throw new IllegalArgumentException("A ballot needs a member and a choice");
+        int index = members.of(memberId);
+        Boolean previous = choiceAt(index);
+        yes.set(index, choice);
+        no.set(index, !choice);
+        return previous;
+    }
+
+    @Override
+    public Boolean remove(Object memberId) {
+        int index = members.find(memberId);
+        Boolean previous = choiceAt(index);
+        if (previous != null) clearAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        yes.clear();
+        no.clear();
+    }
+
+    @Override
+    public Set<Entry<String, Boolean>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Boolean>> iterator() {
+                return new BallotIterator();
+            }
+
+            @Override
+            public int size() {
+                return ProposalBallots.this.size();
+            }
+        };
+    }
+
+    /**
+     * Reads the choice at a member index
+     *
+     * @param index Index of the member, -1 if it has none
+     * @return True for yes, false for no, null if the member has no ballot
+     */
+    private Boolean choiceAt(int index) {
+        if (index < 0) return null;
+        if (yes.get(index)) return Boolean.TRUE;
+        if (no.get(index)) return Boolean.FALSE;
+        return null;
+    }
+
+    private void clearAt(int index) {
+        yes.clear(index);
+        no.clear(index);
+    }
+
+    /**
+     * Finds the next member index holding a ballot
+     *
+     * @param from Index to start at
+     * @return Next index with a yes or no bit, -1 if there is none
+     */
+    private int nextBallot(int from) {
+        int nextYes = yes.nextSetBit(from);
+        int nextNo = no.nextSetBit(from);
+        if (nextYes < 0) return nextNo;
+        if (nextNo < 0) return nextYes;
+        return Math.min(nextYes, nextNo);
+    }
+
+    /**
+     * Walks the ballots in order of the member index
+     */
+    private class BallotIterator implements Iterator<Entry<String, Boolean>> {
+        private int next = nextBallot(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Entry<String, Boolean> next() {
+            if (next < 0) throw new NoSuchElementException();
+            last = next;
+            next = nextBallot(last + 1);
+            return new SimpleImmutableEntry<>(members.member(last), choiceAt(last));
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) throw new IllegalStateException();
+            clearAt(last);
+            last = -1;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package voting.exceptions;
+
+public class IdempotencyKeyReused extends Exception {
+
+	static final long serialVersionUID = 4620187531447201953L;
+
+	/**
+	 * Constructor for the exception.
+	 *
+	 * @param message the error message
+	 */
+	public IdempotencyKeyReused(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,17 @@
+package voting.models;
+
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of moving the finished elections past their retention into the archive
+ */
+@AllArgsConstructor
+public class ArchiveSummaryModel {
+    public final LocalDateTime startedBefore;
+    public final int due;
+    public final int archived;
+    public final int failed;
+    public final long durationMillis;
+}
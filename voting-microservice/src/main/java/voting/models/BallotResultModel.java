@@ -0,0 +1,37 @@
+package voting.models;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Outcome of a single ballot of a batch
+ */
+@AllArgsConstructor
+public class BallotResultModel {
+    public final int index;
+    public final String memberId;
+    public final boolean success;
+    public final String message;
+
+    /**
+     * Creates the result of an accepted ballot
+     *
+     * @param index    Position of the ballot in the batch
+     * @param memberId Id of the member that voted
+     * @return Successful ballot result
+     */
+    public static BallotResultModel accepted(int index, String memberId) {
+        return new BallotResultModel(index, memberId, true, "Vote registered");
+    }
+
+    /**
+     * Creates the result of a rejected ballot
+     *
+     * @param index    Position of the ballot in the batch
+     * @param memberId Id of the member that tried to vote
+     * @param reason   Reason the ballot was rejected
+     * @return Failed ballot result
+     */
+    public static BallotResultModel rejected(int index, String memberId, String reason) {
+        return new BallotResultModel(index, memberId, false, reason);
+    }
+}
@@ -0,0 +1,16 @@
+package voting.models;
+
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch of ballots for one election
+ */
+@AllArgsConstructor
+public class BatchVotingResultModel {
+    public final int electionId;
+    public final int voteCount;
+    public final int accepted;
+    public final List<BallotResultModel> results;
+}
@@ -0,0 +1,25 @@
+package voting.models;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * Hit and miss counters of the election cache
+ */
+@AllArgsConstructor
+public class CacheStatsModel {
+    public final long hits;
+    public final long misses;
+    public final long evictions;
+    public final int size;
+    public final int maxSize;
+
+    /**
+     * Share of lookups that were served from the cache
+     *
+     * @return Hit ratio between 0 and 1, 0 if there were no lookups yet
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,41 @@
+package voting.models;
+
+import voting.domain.BoardElection;
+import voting.domain.Election;
+
+import java.time.LocalDateTime;
+
+/**
+ * Concluded election, with what the HOA service needs to apply its outcome
+ */
+public class ConcludedElectionModel {
+    public final int electionId;
+    public final long hoaId;
+    /**
+     * "board" or "proposal"
+     */
+    public final String type;
+    public final String name;
+    public final String description;
+    public final LocalDateTime scheduledFor;
+    /**
+     * Winning candidates of a board election, or whether a proposal passed
+     */
+    public final Object result;
+
+    /**
+     * Creates the model of a concluded election
+     *
+     * @param election Election that was concluded
+     * @param result   Result of the election
+     */
+    public ConcludedElectionModel(Election election, Object result) {
+        this.electionId = election.getElectionId();
+        this.hoaId = election.getHoaId();
+        this.type = election instanceof BoardElection ? "board" : "proposal";
+        this.name = election.getName();
+        this.description = election.getDescription();
+        this.scheduledFor = election.getScheduledFor();
+        this.result = result;
+    }
+}
@@ -0,0 +1,24 @@
+package voting.models;
+
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of concluding all elections whose voting period is over
+ */
+@AllArgsConstructor
+public class ConclusionSummaryModel {
+    public final LocalDateTime deadline;
+    public final int due;
+    public final int concluded;
+    public final int failed;
+    public final long durationMillis;
+    public final Map<Integer, Object> results;
+    /**
+     * Every concluded election, for the HOA service to apply its outcome
+     */
+    public final List<ConcludedElectionModel> elections;
+}
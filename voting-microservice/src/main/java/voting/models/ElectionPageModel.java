@@ -0,0 +1,17 @@
+package voting.models;
+
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of an election listing
+ */
+@AllArgsConstructor
+public class ElectionPageModel {
+    public final List<ElectionSummaryModel> elections;
+    /**
+     * Id to pass as "after" to fetch the next page, null on the last page
+     */
+    public final Integer nextAfter;
+}
@@ -0,0 +1,43 @@
+package voting.models;
+
+import voting.domain.ElectionState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slim view of an election for listings, without candidates, ballots or tally
+ */
+public class ElectionSummaryModel {
+    public final int electionId;
+    public final long hoaId;
+    /**
+     * "board" or "proposal"
+     */
+    public final String type;
+    public final String name;
+    public final String status;
+    public final int voteCount;
+    public final LocalDateTime scheduledFor;
+
+    /**
+     * Creates a summary, called from the listing queries
+     *
+     * @param electionId   Id of the election
+     * @param hoaId        Id of the HOA of the election
+     * @param type         "board" or "proposal"
+     * @param name         Name of the election
+     * @param state        Lifecycle state of the election
+     * @param voteCount    Amount of members that voted
+     * @param scheduledFor Time the election starts
+     */
+    public ElectionSummaryModel(int electionId, long hoaId, String type, String name, ElectionState state,
+                                int voteCount, LocalDateTime scheduledFor) {
+        this.electionId = electionId;
+        this.hoaId = hoaId;
+        this.type = type;
+        this.name = name;
+        this.status = state == null ? null : state.label();
+        this.voteCount = voteCount;
+        this.scheduledFor = scheduledFor;
+    }
+}
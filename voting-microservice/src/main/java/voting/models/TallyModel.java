@@ -0,0 +1,72 @@
+package voting.models;
+
+import voting.domain.Election;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact view of the live results of an election, without any ballots
+ */
+public class TallyModel {
+    public final int electionId;
+    public final String status;
+    public final int voteCount;
+    /**
+     * For board elections the vote counts per candidate
+     * For proposals the amount of yes and no votes
+     */
+    public final Map<String, Integer> counts;
+
+    /**
+     * Default constructors for [de-]serializer
+     */
+    public TallyModel() {
+        this(0, "", 0, Map.of());
+    }
+
+    /**
+     * Creates a tally model from base fields
+     *
+     * @param electionId Id of the election
+     * @param status     Status of the election
+     * @param voteCount  Amount of members that voted
+     * @param counts     Vote counts per option
+     */
+    public TallyModel(int electionId, String status, int voteCount, Map<String, Integer> counts) {
+        this.electionId = electionId;
+        this.status = status;
+        this.voteCount = voteCount;
+        this.counts = counts;
+    }
+
+    /**
+     * Creates a tally model with the live results of an election
+     *
+     * @param election Election to take the results of
+     * @return Tally model of the election
+     */
+    public static TallyModel of(Election election) {
+        return new TallyModel(election.getElectionId(), election.getStatus(), election.getVoteCount(),
+                election.getTally());
+    }
+
+    /**
+     * Gives the difference between this tally and an earlier one of the same election
+     * Counts are absolute, options that lost all their votes are included with a count of 0
+     *
+     * @param previous Earlier tally, may be null
+     * @return Tally model containing only the counts that changed
+     */
+    public TallyModel deltaFrom(TallyModel previous) {
+        if (previous == null) return this;
+        Map<String, Integer> changed = new HashMap<>();
+        counts.forEach((option, count) -> {
+            if (!count.equals(previous.counts.get(option))) changed.put(option, count);
+        });
+        previous.counts.keySet().forEach(option -> {
+            if (!counts.containsKey(option)) changed.put(option, 0);
+        });
+        return new TallyModel(electionId, status, voteCount, changed);
+    }
+}
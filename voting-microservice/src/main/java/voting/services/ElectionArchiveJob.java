@@ -0,0 +1,66 @@
+package voting.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import voting.db.repos.ElectionRepository;
+import voting.models.ArchiveSummaryModel;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves finished elections that started longer ago than the retention into the archive.
+ * Batches are archived one after another, each in its own transaction, so the hot tables shrink gradually
+ * and a failing batch does not stop the others
+ */
+@Component
+public class ElectionArchiveJob {
+
+    private final transient ElectionRepository electionRepository;
+    private final transient ElectionService electionService;
+    private final transient Duration retention;
+    private final transient int batchSize;
+
+    /**
+     * Creates the job
+     *
+     * @param electionRepository Repository of the elections
+     * @param electionService    Service that archives a batch of elections
+     * @param retentionDays      Days after their start that finished elections stay in the hot tables
+     * @param batchSize          Amount of elections archived in one transaction
+     */
+    @Autowired
+    public ElectionArchiveJob(ElectionRepository electionRepository, ElectionService electionService,
+                              @Value("${voting.archive.retention-days:365}") long retentionDays,
+                              @Value("${voting.archive.batch-size:100}") int batchSize) {
+        this.electionRepository = electionRepository;
+        this.electionService = electionService;
+        this.retention = Duration.ofDays(retentionDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Archives all finished elections that started before the retention
+     *
+     * @param now Current moment
+     * @return Summary with the amount of archived elections
+     */
+    public ArchiveSummaryModel archiveDue(LocalDateTime now) {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedBefore = now.minus(retention);
+        List<Integer> due = electionRepository.findArchivableElectionIds(startedBefore);
+        int archived = 0;
+        int failed = 0;
+        for (int i = 0; i < due.size(); i += batchSize) {
+            List<Integer> batch = due.subList(i, Math.min(due.size(), i + batchSize));
+            try {
+                archived += electionService.archiveAll(batch, now);
+            } catch (RuntimeException e) {
+                failed += batch.size();
+            }
+        }
+        return new ArchiveSummaryModel(startedBefore, due.size(), archived, failed, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,220 @@
+package voting.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import voting.domain.Election;
+import voting.exceptions.ElectionDoesNotExist;
+import voting.models.CacheStatsModel;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of elections together with all of their ballots, for readers only.
+ * Entries are evicted least recently used first once the cache is full, and expire after a fixed time.
+ * Cached elections are snapshots that are never changed, writers replace or invalidate them instead.
+ * Every write bumps the generation of the election, a load that was overtaken by a write is not cached
+ */
+@Component
+public class ElectionCache {
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private final transient int maxSize;
+    private final transient long ttlMillis;
+    private final transient LongSupplier clock;
+    private final transient Map<Integer, Entry> entries;
+    private final transient AtomicLong hits = new AtomicLong();
+    private final transient AtomicLong misses = new AtomicLong();
+    private final transient AtomicLong evictions = new AtomicLong();
+    // Elections sharing a stripe share a generation, a write then only costs the other ones a cache fill
+    private final transient long[] generations = new long[GENERATION_STRIPES];
+
+    /**
+     * Loads an election with its ballots from the database
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Election load() throws ElectionDoesNotExist;
+    }
+
+    /**
+     * Creates the cache of the application
+     *
+     * @param maxSize    Maximum amount of cached elections
+     * @param ttlSeconds Time after which a cached election is reloaded
+     */
+    @Autowired
+    public ElectionCache(@Value("${voting.cache.max-size:1000}") int maxSize,
+                         @Value("${voting.cache.ttl-seconds:30}") long ttlSeconds) {
+        this(maxSize, ttlSeconds * 1000, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache
+     *
+     * @param maxSize   Maximum amount of cached elections
+     * @param ttlMillis Time after which a cached election is reloaded
+     * @param clock     Source of the current time in milliseconds
+     */
+    public ElectionCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() <= ElectionCache.this.maxSize) return false;
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets a cached election
+     *
+     * @param electionId Id of the election
+     * @return The cached snapshot, if it is present and not expired
+     */
+    public Optional<Election> get(int electionId) {
+        synchronized (entries) {
+            Entry entry = entries.get(electionId);
+            if (entry != null && clock.getAsLong() - entry.cachedAt >= ttlMillis) {
+                entries.remove(electionId);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            hits.incrementAndGet();
+            return Optional.of(entry.election);
+        }
+    }
+
+    /**
+     * Gets a cached election, loading and caching it if it is not present
+     *
+     * @param electionId Id of the election
+     * @param loader     Loads the election with its ballots, called without holding the cache
+     * @return The cached snapshot, or the loaded one if it was written while loading
+     * @throws ElectionDoesNotExist If the election does not exist
+     */
+    public Election getOrLoad(int electionId, Loader loader) throws ElectionDoesNotExist {
+        Optional<Election> cached = get(electionId);
+        if (cached.isPresent()) return cached.get();
+        long generation;
+        synchronized (entries) {
+            generation = generations[stripe(electionId)];
+        }
+        Election loaded = loader.load().snapshot();
+        synchronized (entries) {
+            // A write committed while loading, the loaded election may be older than the one in the database
+            if (generations[stripe(electionId)] == generation) put(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches an election that was just written, unless a newer version is cached already
+     *
+     * @param election Snapshot of the election with all of its ballots
+     */
+    public void put(Election election) {
+        synchronized (entries) {
+            Entry current = entries.get(election.getElectionId());
+            if (current != null && current.election.getVersion() > election.getVersion()) return;
+            entries.put(election.getElectionId(), new Entry(election, clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Replaces a cached election after it was written, does nothing if nobody reads it
+     *
+     * @param electionId Id of the election
+     * @param snapshot   Creates a snapshot of the written election, only called if the election is cached
+     */
+    public void refreshIfPresent(int electionId, Supplier<Election> snapshot) {
+        synchronized (entries) {
+            generations[stripe(electionId)]++;
+            if (!entries.containsKey(electionId)) return;
+        }
+        put(snapshot.get());
+    }
+
+    /**
+     * Drops a cached election
+     *
+     * @param electionId Id of the election
+     */
+    public void invalidate(int electionId) {
+        synchronized (entries) {
+            generations[stripe(electionId)]++;
+            entries.remove(electionId);
+        }
+    }
+
+    /**
+     * Drops a cached election once the running transaction (if any) commits
+     *
+     * @param electionId Id of the election
+     */
+    public void invalidateAfterCommit(int electionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(electionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                invalidate(electionId);
+            }
+        });
+    }
+
+    /**
+     * Drops all cached elections
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) generations[i]++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Current counters of the cache
+     *
+     * @return Hits, misses, evictions and size of the cache
+     */
+    public CacheStatsModel stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStatsModel(hits.get(), misses.get(), evictions.get(), size, maxSize);
+    }
+
+    private static int stripe(int electionId) {
+        return Math.floorMod(electionId, GENERATION_STRIPES);
+    }
+
+    private static final class Entry {
+        private final Election election;
+        private final long cachedAt;
+
+        Entry(Election election, long cachedAt) {
+            this.election = election;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package voting.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import voting.db.repos.ElectionRepository;
+import voting.models.ConcludedElectionModel;
+import voting.models.ConclusionSummaryModel;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Concludes all elections whose voting period is over at once, e.g. the annual board elections at year end.
+ * Due elections are split in batches that are concluded in parallel on a bounded fork-join pool,
+ * each batch is loaded, concluded and saved in a single transaction
+ */
+@Component
+public class ElectionConclusionJob {
+
+    private final transient ElectionRepository electionRepository;
+    private final transient ElectionService electionService;
+    private final transient ElectionLifecycleScheduler lifecycle;
+    private final transient ForkJoinPool pool;
+    private final transient int batchSize;
+
+    /**
+     * Creates the job
+     *
+     * @param electionRepository Repository of the elections
+     * @param electionService    Service that concludes a batch of elections
+     * @param lifecycle          Scheduler that defines the end of the voting period of elections
+     * @param parallelism        Maximum amount of batches concluded at the same time
+     * @param batchSize          Amount of elections concluded in one transaction
+     */
+    @Autowired
+    public ElectionConclusionJob(ElectionRepository electionRepository, ElectionService electionService,
+                                 ElectionLifecycleScheduler lifecycle,
+                                 @Value("${voting.conclusion.parallelism:4}") int parallelism,
+                                 @Value("${voting.conclusion.batch-size:50}") int batchSize) {
+        this.electionRepository = electionRepository;
+        this.electionService = electionService;
+        this.lifecycle = lifecycle;
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Concludes all elections that are not finished and whose voting period ended before the given moment
+     *
+     * @param now Current moment
+     * @return Summary with every concluded election and its result, for the HOA service to apply
+     */
+    public ConclusionSummaryModel concludeDue(LocalDateTime now) {
+        long start = System.currentTimeMillis();
+        // Same end of the voting period as the one after which votes are rejected
+        LocalDateTime deadline = lifecycle.latestStartOverAt(now);
+        List<Integer> due = electionRepository.findDueElectionIds(deadline);
+
+        Queue<ConcludedElectionModel> concluded = new ConcurrentLinkedQueue<>();
+        List<Integer> failed = conclude(due, concluded);
+
+        List<ConcludedElectionModel> elections = new ArrayList<>(concluded);
+        elections.sort(Comparator.comparingInt(e -> e.electionId));
+        Map<Integer, Object> results = new TreeMap<>();
+        for (ConcludedElectionModel e : elections) results.put(e.electionId, e.result);
+        return new ConclusionSummaryModel(deadline, due.size(), elections.size(), failed.size(),
+                System.currentTimeMillis() - start, results, elections);
+    }
+
+    /**
+     * Concludes the given elections in batches in parallel, those that are finished already are skipped
+     *
+     * @param electionIds Ids of the elections to conclude
+     * @param concluded   Collects every election concluded now, with its result
+     * @return Ids of the elections whose batch failed, they are left as they were
+     */
+    public List<Integer> conclude(List<Integer> electionIds, Queue<ConcludedElectionModel> concluded) {
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int i = 0; i < electionIds.size(); i += batchSize) {
+            batches.add(electionIds.subList(i, Math.min(electionIds.size(), i + batchSize)));
+        }
+        Queue<Integer> failed = new ConcurrentLinkedQueue<>();
+        // A parallel stream started from inside the pool only uses the threads of that pool
+        pool.submit(() -> batches.parallelStream().forEach(batch -> {
+            try {
+                concluded.addAll(electionService.concludeAll(batch));
+            } catch (RuntimeException e) {
+                failed.addAll(batch);
+            }
+        })).join();
+        return new ArrayList<>(failed);
+    }
+
+    /**
+     * Stops the threads of the pool
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
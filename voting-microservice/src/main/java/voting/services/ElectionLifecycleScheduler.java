@@ -0,0 +1,258 @@
+package voting.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import voting.db.repos.ElectionRepository;
+import voting.domain.Election;
+import voting.domain.ElectionState;
+import voting.exceptions.ElectionDoesNotExist;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens elections when they are scheduled for, and concludes them when their voting period is over.
+ * Every election has a timer for each step in a delay queue, so nothing scans the table while waiting.
+ * Conclusions that are due together, like the annual board elections at year end, go through the conclusion job
+ * in batches. Their outcome stays pending until the HOA service, which applies it to the board and notifies
+ * the members, acknowledges it.
+ * Timers only live in memory, they are recovered from the scheduled and ongoing elections on startup
+ */
+@Component
+public class ElectionLifecycleScheduler {
+
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    private final transient ElectionRepository electionRepository;
+    private final transient ElectionService electionService;
+    private final transient ElectionConclusionJob conclusionJob;
+    private final transient Duration votingPeriod;
+    private final transient boolean enabled;
+    private final transient Clock clock;
+    private final transient DelayQueue<Timer> timers = new DelayQueue<>();
+    private transient Thread worker;
+
+    /**
+     * Creates the scheduler of the application
+     *
+     * @param electionRepository Repository of the elections
+     * @param electionService    Service that opens elections
+     * @param conclusionJob      Job that concludes elections in batches
+     * @param votingPeriodHours  Time between the start and the end of the voting period of an election
+     * @param enabled            Whether timers are recovered and fired
+     */
+    @Autowired
+    public ElectionLifecycleScheduler(ElectionRepository electionRepository, @Lazy ElectionService electionService,
+                                      @Lazy ElectionConclusionJob conclusionJob,
+                                      @Value("${voting.lifecycle.voting-period-hours:168}") long votingPeriodHours,
+                                      @Value("${voting.lifecycle.enabled:true}") boolean enabled) {
+        this(electionRepository, electionService, conclusionJob, Duration.ofHours(votingPeriodHours), enabled,
+                Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a scheduler
+     *
+     * @param electionRepository Repository of the elections
+     * @param electionService    Service that opens elections
+     * @param conclusionJob      Job that concludes elections in batches
+     * @param votingPeriod       Time between the start and the end of the voting period of an election
+     * @param enabled            Whether timers are recovered and fired
+     * @param clock              Clock the timers run on
+     */
+    public ElectionLifecycleScheduler(ElectionRepository electionRepository, ElectionService electionService,
+                                      ElectionConclusionJob conclusionJob, Duration votingPeriod, boolean enabled,
+                                      Clock clock) {
+        this.electionRepository = electionRepository;
+        this.electionService = electionService;
+        this.conclusionJob = conclusionJob;
+        this.votingPeriod = votingPeriod;
+        this.enabled = enabled;
+        this.clock = clock;
+    }
+
+    public Duration getVotingPeriod() {
+        return votingPeriod;
+    }
+
+    /**
+     * Moment at which the voting period of an election is over and it is due to be concluded
+     *
+     * @param election Election to get the end of
+     * @return End of the voting period
+     */
+    public LocalDateTime endOf(Election election) {
+        return election.getScheduledFor().plus(votingPeriod);
+    }
+
+    /**
+     * Whether the voting period of an election is over at a given moment, from then on no vote is accepted
+     *
+     * @param election Election to check
+     * @param moment   Moment to check at
+     * @return True if the end of the voting period is not after the moment
+     */
+    public boolean isOver(Election election, LocalDateTime moment) {
+        return !moment.isBefore(endOf(election));
+    }
+
+    /**
+     * Latest start of an election whose voting period is over at a given moment, the same rule as isOver
+     *
+     * @param moment Moment to check at
+     * @return Start of the elections that end exactly at the moment
+     */
+    public LocalDateTime latestStartOverAt(LocalDateTime moment) {
+        return moment.minus(votingPeriod);
+    }
+
+    /**
+     * Sets the timers opening an election that is still scheduled, and concluding it while it is not finished
+     *
+     * @param election Election that was created or recovered
+     */
+    public void schedule(Election election) {
+        if (election.getState() == ElectionState.FINISHED) return;
+        if (election.getState() == ElectionState.SCHEDULED)
+            timers.add(new Timer(election.getElectionId(), false, millisOf(election.getScheduledFor())));
+        timers.add(new Timer(election.getElectionId(), true, millisOf(endOf(election))));
+    }
+
+    /**
+     * Recovers the timers of all scheduled elections, and starts firing them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+        recover();
+        worker = new Thread(this::run, "election-lifecycle");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Sets the timers of all elections that are not finished yet
+     *
+     * @return Amount of recovered elections
+     */
+    public int recover() {
+        int recovered = 0;
+        for (Election e : electionRepository.findAllByStateIn(EnumSet.of(ElectionState.SCHEDULED,
+                ElectionState.ONGOING))) {
+            schedule(e);
+            recovered++;
+        }
+        return recovered;
+    }
+
+    /**
+     * Fires all timers that are due, without waiting for the others
+     *
+     * @return Amount of fired timers
+     */
+    public int fireDue() {
+        Timer first = timers.poll();
+        return first == null ? 0 : fire(first);
+    }
+
+    public int pendingTimers() {
+        return timers.size();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                fire(timers.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Fires a due timer together with all others that are due by now, elections are opened one by one
+     * and concluded in batches
+     */
+    private int fire(Timer first) {
+        int fired = 0;
+        List<Integer> toConclude = new ArrayList<>();
+        for (Timer t = first; t != null; t = timers.poll()) {
+            fired++;
+            if (t.conclusion) toConclude.add(t.electionId);
+            else open(t);
+        }
+        if (toConclude.isEmpty()) return fired;
+        List<Integer> failed;
+        try {
+            failed = conclusionJob.conclude(toConclude, new ConcurrentLinkedQueue<>());
+        } catch (RuntimeException e) {
+            failed = toConclude;
+        }
+        for (int electionId : failed) retry(electionId, true);
+        return fired;
+    }
+
+    private void open(Timer timer) {
+        try {
+            electionService.open(timer.electionId);
+        } catch (ElectionDoesNotExist e) {
+            // Nothing left to open
+        } catch (RuntimeException e) {
+            retry(timer.electionId, false);
+        }
+    }
+
+    private void retry(int electionId, boolean conclusion) {
+        timers.add(new Timer(electionId, conclusion, clock.millis() + RETRY_DELAY_MILLIS));
+    }
+
+    private long millisOf(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Stops firing timers
+     */
+    @PreDestroy
+    public void stop() {
+        if (worker != null) worker.interrupt();
+    }
+
+    /**
+     * Opening or conclusion of an election that becomes due at a given moment
+     */
+    private final class Timer implements Delayed {
+        private final int electionId;
+        private final boolean conclusion;
+        private final long dueMillis;
+
+        Timer(int electionId, boolean conclusion, long dueMillis) {
+            this.electionId = electionId;
+            this.conclusion = conclusion;
+            this.dueMillis = dueMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(dueMillis, ((Timer) o).dueMillis);
+        }
+    }
+}
@@ -1,34 +1,106 @@
 package voting.services;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import voting.annotations.RetryOnConflict;
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionArchiveRepository;
+import voting.domain.ArchivedElection;
+import voting.domain.Ballot;
 import voting.domain.BoardElection;
 import voting.domain.factories.BoardElectionFactory;
 import voting.domain.Election;
+import voting.domain.ElectionResult;
+import voting.domain.ElectionState;
 import voting.domain.Proposal;
 import voting.db.repos.ElectionRepository;
+import voting.db.repos.ElectionResultRepository;
 import voting.domain.factories.ProposalElectionFactory;
 import voting.exceptions.BoardElectionAlreadyCreated;
 import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ElectionCannotBeCreated;
 import voting.exceptions.ElectionDoesNotExist;
+import voting.exceptions.IdempotencyKeyReused;
 import voting.exceptions.ProposalAlreadyCreated;
 import voting.exceptions.ThereIsNoVote;
+import voting.models.BallotResultModel;
+import voting.models.BatchVotingResultModel;
 import voting.models.BoardElectionModel;
+import voting.models.CacheStatsModel;
+import voting.models.ConcludedElectionModel;
+import voting.models.ElectionPageModel;
+import voting.models.ElectionSummaryModel;
 import voting.models.ProposalModel;
 import voting.models.RemoveVoteModel;
+import voting.models.TallyModel;
 import voting.models.VotingModel;
 
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 @Service
 public class ElectionService {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+
     private final transient ElectionRepository electionRepository;
+    private final transient BallotRepository ballotRepository;
+    private final transient LiveResultsPublisher resultsPublisher;
+    private final transient VoteSequencer sequencer;
+    private final transient ElectionLifecycleScheduler lifecycle;
+    private final transient ElectionResultRepository resultRepository;
+    private final transient ElectionCache cache;
+    private final transient IdempotencyStore idempotency;
+    private final transient ElectionArchiveRepository archiveRepository;
+    private final transient MemberIndexes memberIndexes;
 
-    public ElectionService(ElectionRepository electionRepository) {
+    /**
+     * Creates the election service
+     *
+     * @param electionRepository Repository of the elections
+     * @param ballotRepository   Ballot ledger
+     * @param resultsPublisher   Publisher of live results
+     * @param sequencer          Single writer of single votes
+     * @param lifecycle          Scheduler that opens elections on time and ends their voting period
+     * @param resultRepository   Repository of the results of concluded elections
+     * @param cache              Cache of elections with their ballots, for readers
+     * @param idempotency        Store of the idempotency keys of vote requests
+     * @param archiveRepository  Archive of finished elections past their retention
+     * @param memberIndexes      Member indices the ballots of proposals are keyed by
+     */
+    public ElectionService(ElectionRepository electionRepository, BallotRepository ballotRepository,
+                           LiveResultsPublisher resultsPublisher, VoteSequencer sequencer,
+                           ElectionLifecycleScheduler lifecycle, ElectionResultRepository resultRepository,
+                           ElectionCache cache, IdempotencyStore idempotency,
+                           ElectionArchiveRepository archiveRepository, MemberIndexes memberIndexes) {
         this.electionRepository = electionRepository;
+        this.ballotRepository = ballotRepository;
+        this.resultsPublisher = resultsPublisher;
+        this.sequencer = sequencer;
+        this.lifecycle = lifecycle;
+        this.resultRepository = resultRepository;
+        this.cache = cache;
+        this.idempotency = idempotency;
+        this.archiveRepository = archiveRepository;
+        this.memberIndexes = memberIndexes;
     }
 
     /**
@@ -45,10 +117,21 @@ public class ElectionService {
             throw new ElectionCannotBeCreated("Election cannot be scheduled in the past");
         if (electionRepository.getBoardElectionByHoaId(model.hoaId).isEmpty()) {
             BoardElection boardElection = (BoardElection) new BoardElectionFactory().createElection(model);
-            electionRepository.save(boardElection);
+            try {
+                electionRepository.save(boardElection);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent request created the board election of this HOA after the check above
+                throw boardElectionExists(model.hoaId);
+            }
+            lifecycle.schedule(boardElection);
+            cache.put(boardElection.snapshot());
             return boardElection;
-        } else throw new BoardElectionAlreadyCreated("Board election with hoaId: "
-                + model.hoaId
+        } else throw boardElectionExists(model.hoaId);
+    }
+
+    private static BoardElectionAlreadyCreated boardElectionExists(long hoaId) {
+        return new BoardElectionAlreadyCreated("Board election with hoaId: "
+                + hoaId
                 + "already exists.");
     }
 
@@ -70,6 +153,8 @@ public class ElectionService {
         else {
             Proposal proposal = (Proposal) new ProposalElectionFactory().createElection(model);
             electionRepository.save(proposal);
+            lifecycle.schedule(proposal);
+            cache.put(proposal.snapshot());
             return proposal;
         }
     }
@@ -94,6 +179,8 @@ public class ElectionService {
         else {
             Proposal proposal = (Proposal) new ProposalElectionFactory().createElection(model, startAfter);
             electionRepository.save(proposal);
+            lifecycle.schedule(proposal);
+            cache.put(proposal.snapshot());
             return proposal;
         }
     }
@@ -102,32 +189,20 @@ public class ElectionService {
      * Checks whether an election is ongoing in the current moment
      * @param election - the election for which the check is
      * @param currTime - the current moment
-     * @throws CannotProceedVote - if the election is finished or not started
+     * @throws CannotProceedVote - if the election is finished, its voting period is over or it is not started
      */
     private void checkElectionTime(Election election, LocalDateTime currTime) throws CannotProceedVote {
         if (election.getScheduledFor().isAfter(currTime))
             throw new CannotProceedVote("Election has not started");
-        if (election.getStatus().equals("finished"))
+        if (election.getState() == ElectionState.FINISHED)
             throw new CannotProceedVote("Election has been concluded");
-    }
-
-    /**
-     * Checks whether the choice is a legal choice for the given election
-     * @param election - the election that we check
-     * @param choice - the choice that we check
-     * @throws CannotProceedVote - if the vote is illegal
-     */
-    private void checkElectionVote(Election election, String choice) throws CannotProceedVote {
-
-        if (election.getClass() == BoardElection.class) {
-            if (!((BoardElection) election).getCandidates().contains(choice))
-                throw new CannotProceedVote("Candidate with given id is not nominated for the election");
-        } else if (!List.of("True", "true", "T", "False", "false", "F").contains(choice))
-            throw new CannotProceedVote("Invalid voting choice for proposal (must be a boolean or similar)");
+        if (lifecycle.isOver(election, currTime))
+            throw new CannotProceedVote("Voting period is over");
     }
 
     /**
      * Method called when a member wants to vote
+     * The vote is applied by the shard of the VoteSequencer owning the election, and returns once it is committed
      *
      * @param model VotingModel that contains electionId, memberID, and voting choice
      * @throws ElectionDoesNotExist If election does not exist with provided id
@@ -135,19 +210,135 @@ public class ElectionService {
     public int vote(VotingModel model, LocalDateTime currTime) throws ElectionDoesNotExist, CannotProceedVote {
         if (!model.isValid())
             throw new ElectionDoesNotExist("Ids not valid");
-        Optional<Election> election = this.electionRepository.findByElectionId(model.electionId);
-        if (election.isEmpty())
+        try {
+            return await(sequencer.submit(model.electionId, state -> castVote(state, model, currTime)));
+        } catch (ExecutionException e) {
+            rethrowIf(e.getCause(), ElectionDoesNotExist.class);
+            rethrowIf(e.getCause(), CannotProceedVote.class);
+            throw unchecked(e.getCause());
+        }
+    }
+
+    /**
+     * Method called when a member wants to vote, at most once per idempotency key
+     * A retry with a key the member used before on this election gets the outcome of the first request,
+     * its vote count or its rejection, without voting again
+     *
+     * @param model          VotingModel that contains electionId, memberID, and voting choice
+     * @param currTime       Moment of voting
+     * @param idempotencyKey Key chosen by the client for this request, null to always vote
+     * @return Vote count after the vote
+     * @throws ElectionDoesNotExist  If election does not exist with provided id
+     * @throws CannotProceedVote     If the vote is illegal
+     * @throws IdempotencyKeyReused  If the key was used before for a different request
+     */
+    public int vote(VotingModel model, LocalDateTime currTime, String idempotencyKey)
+            throws ElectionDoesNotExist, CannotProceedVote, IdempotencyKeyReused {
+        if (idempotencyKey == null) return vote(model, currTime);
+        String fingerprint = "vote:" + model.electionId + ":" + model.memberId + ":" + model.choice;
+        try {
+            return await(idempotency.submit(model.memberId, model.electionId, idempotencyKey, fingerprint,
+                    () -> vote(model, currTime)));
+        } catch (ExecutionException e) {
+            rethrowIf(e.getCause(), ElectionDoesNotExist.class);
+            rethrowIf(e.getCause(), CannotProceedVote.class);
+            throw unchecked(e.getCause());
+        }
+    }
+
+    /**
+     * Applies a vote to the hot state of an election, runs on the thread of its shard
+     *
+     * @param state - the election with its ballots
+     * @param model - the vote
+     * @param currTime - the moment of voting
+     * @return Vote count after the vote
+     * @throws CannotProceedVote - if the vote is illegal
+     */
+    private int castVote(HotElection state, VotingModel model, LocalDateTime currTime) throws CannotProceedVote {
+        Election election = state.getElection();
+        checkElectionTime(election, currTime);
+        Object choice = election.parseChoice(model.choice);
+        election.setState(ElectionState.ONGOING);
+        election.vote(model.memberId, choice);
+        state.record(model.memberId, currTime);
+        return election.getVoteCount();
+    }
+
+    /**
+     * Registers a batch of votes for one election, e.g. paper ballots handed in at a meeting
+     * The election and the ledger entries of the voting members are loaded once, and all accepted ballots
+     * are written in the same transaction. Invalid ballots are rejected one by one, without failing the batch.
+     * The batch bypasses the VoteSequencer: it saves the election itself, which bumps its version, so a shard holding
+     * the election fails its next group commit on the stale version, reloads it with these ballots and replays
+     *
+     * @param electionId Id of the election all ballots belong to
+     * @param models     VotingModels of the ballots, in order of submission
+     * @param currTime   Moment of voting
+     * @return Vote count of the election and the result of every ballot
+     * @throws ElectionDoesNotExist If election does not exist with provided id
+     * @throws CannotProceedVote If the election is not open for voting
+     */
+    @Transactional
+    @RetryOnConflict
+    public BatchVotingResultModel vote(int electionId, List<VotingModel> models, LocalDateTime currTime)
+            throws ElectionDoesNotExist, CannotProceedVote {
+        Optional<Election> found = this.electionRepository.findByElectionId(electionId);
+        if (found.isEmpty())
             throw new ElectionDoesNotExist("Election not found");
-        checkElectionTime(election.get(), currTime);
-        checkElectionVote(election.get(), model.choice);
-        election.get().setStatus("ongoing");
-        election.get().vote(model.memberId, model.choice);
-        Election e = this.electionRepository.save(election.get());
-        return e.getVoteCount();
+        Election election = memberIndexes.attach(found.get());
+        checkElectionTime(election, currTime);
+
+        Set<String> memberIds = new HashSet<>();
+        for (VotingModel model : models) {
+            if (model.memberId != null) memberIds.add(model.memberId);
+        }
+        Map<String, Ballot> ballots = new HashMap<>();
+        for (Ballot b : ballotRepository.findAllByElectionIdAndMemberIdIn(electionId, memberIds)) {
+            election.restoreBallot(b.getMemberId(), b.getChoice());
+            ballots.put(b.getMemberId(), b);
+        }
+
+        election.setState(ElectionState.ONGOING);
+        Map<String, Ballot> cast = new LinkedHashMap<>();
+        List<BallotResultModel> results = new ArrayList<>(models.size());
+        for (int i = 0; i < models.size(); i++) {
+            VotingModel model = models.get(i);
+            try {
+                checkBatchBallot(model, electionId);
+                election.vote(model.memberId, election.parseChoice(model.choice));
+                Ballot ballot = ballots.computeIfAbsent(model.memberId, m -> new Ballot(electionId, m));
+                ballot.cast(election.ballotOf(model.memberId), currTime);
+                cast.put(model.memberId, ballot);
+                results.add(BallotResultModel.accepted(i, model.memberId));
+            } catch (CannotProceedVote e) {
+                results.add(BallotResultModel.rejected(i, model.memberId, e.getMessage()));
+            }
+        }
+        ballotRepository.saveAll(cast.values());
+        Election e = this.electionRepository.save(election);
+        changedOutsideSequencer(electionId);
+        resultsPublisher.publish(e);
+        int accepted = (int) results.stream().filter(r -> r.success).count();
+        return new BatchVotingResultModel(electionId, e.getVoteCount(), accepted, results);
+    }
+
+    /**
+     * Checks whether a ballot of a batch is complete and belongs to the election of the batch
+     * @param model - the ballot that we check
+     * @param electionId - the election of the batch
+     * @throws CannotProceedVote - if the ballot is malformed
+     */
+    private void checkBatchBallot(VotingModel model, int electionId) throws CannotProceedVote {
+        if (model.memberId == null || model.choice == null || !model.isValid())
+            throw new CannotProceedVote("Ballot is incomplete or invalid");
+        if (model.electionId != electionId)
+            throw new CannotProceedVote("Ballot belongs to another election");
     }
 
     /**
      * Method called when a member wants to remove his vote
+     * Like voting, this goes through the VoteSequencer
      *
      * @param model RemoveVoteModel that contains electionId and memberID
      * @throws ElectionDoesNotExist If election does not exist with provided id
@@ -158,26 +349,206 @@ public class ElectionService {
                             throws ElectionDoesNotExist, ThereIsNoVote, CannotProceedVote {
         if (!model.isValid())
             throw new ElectionDoesNotExist("Ids not valid");
-        Optional<Election> election = this.electionRepository.findByElectionId(model.electionId);
-        if (election.isEmpty())
-            throw new ElectionDoesNotExist("Election not found");
-        checkElectionTime(election.get(), currTime);
-        election.get().removeVote(model.memberId);
-        Election e = this.electionRepository.save(election.get());
-        return e.getVoteCount();
+        try {
+            return await(sequencer.submit(model.electionId, state -> {
+                checkElectionTime(state.getElection(), currTime);
+                state.getElection().removeVote(model.memberId);
+                state.record(model.memberId, currTime);
+                return state.getElection().getVoteCount();
+            }));
+        } catch (ExecutionException e) {
+            rethrowIf(e.getCause(), ElectionDoesNotExist.class);
+            rethrowIf(e.getCause(), ThereIsNoVote.class);
+            rethrowIf(e.getCause(), CannotProceedVote.class);
+            throw unchecked(e.getCause());
+        }
+    }
+
+    /**
+     * Removes the vote of a member, at most once per idempotency key
+     * A retry with a key the member used before on this election gets the outcome of the first request,
+     * its vote count or its rejection
+     *
+     * @param model          RemoveVoteModel that contains electionId and memberID
+     * @param currTime       Moment of the request
+     * @param idempotencyKey Key chosen by the client for this request, null to always remove
+     * @return Vote count after removing the vote
+     * @throws ElectionDoesNotExist  If election does not exist with provided id
+     * @throws ThereIsNoVote         If the member has not voted yet
+     * @throws CannotProceedVote     If the voting process is not running
+     * @throws IdempotencyKeyReused  If the key was used before for a different request
+     */
+    public int removeVote(RemoveVoteModel model, LocalDateTime currTime, String idempotencyKey)
+            throws ElectionDoesNotExist, ThereIsNoVote, CannotProceedVote, IdempotencyKeyReused {
+        if (idempotencyKey == null) return removeVote(model, currTime);
+        String fingerprint = "removeVote:" + model.electionId + ":" + model.memberId;
+        try {
+            return await(idempotency.submit(model.memberId, model.electionId, idempotencyKey, fingerprint,
+                    () -> removeVote(model, currTime)));
+        } catch (ExecutionException e) {
+            rethrowIf(e.getCause(), ElectionDoesNotExist.class);
+            rethrowIf(e.getCause(), ThereIsNoVote.class);
+            rethrowIf(e.getCause(), CannotProceedVote.class);
+            throw unchecked(e.getCause());
+        }
+    }
+
+    /**
+     * Waits until the sequencer committed a command, or until the first request with the same idempotency key did
+     *
+     * @param result - the pending result of the command
+     * @return Vote count after the command
+     * @throws ExecutionException - if the command was rejected or could not be committed
+     */
+    private static int await(Future<Integer> result) throws ExecutionException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the vote to be committed", e);
+        }
+    }
+
+    private static <E extends Exception> void rethrowIf(Throwable cause, Class<E> type) throws E {
+        if (type.isInstance(cause)) throw type.cast(cause);
+    }
+
+    private static RuntimeException unchecked(Throwable cause) {
+        if (cause instanceof RuntimeException) return (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * Loads all ballots of an election from the ledger
+     *
+     * @param election - the election to hydrate
+     * @return The same election, with all of its votes
+     */
+    private Election restoreBallots(Election election) {
+        memberIndexes.attach(election);
+        for (Ballot b : ballotRepository.findAllByElectionId(election.getElectionId())) {
+            election.restoreBallot(b.getMemberId(), b.getChoice());
+        }
+        return election;
     }
 
     /**
-     * Gets an election with the given id
+     * Gets an election with the given id, served from the cache if it was read recently
      *
      * @param electionId Id of election to fetch
      * @return Fetched election, if it exists
      * @throws ElectionDoesNotExist If an election with given id does not exist
      */
     public Election getElection(int electionId) throws ElectionDoesNotExist {
+        return cache.getOrLoad(electionId, () -> {
+            Optional<Election> e = this.electionRepository.findByElectionId(electionId);
+            if (e.isEmpty()) return restoreArchived(electionId);
+            return restoreBallots(e.get());
+        });
+    }
+
+    /**
+     * Rebuilds an election that was moved to the archive, the slow path of reading an election
+     *
+     * @param electionId Id of the archived election
+     * @return The finished election with its ballots
+     * @throws ElectionDoesNotExist If the election is not in the archive either
+     */
+    private Election restoreArchived(int electionId) throws ElectionDoesNotExist {
+        Optional<ArchivedElection> archived = archiveRepository.findById(electionId);
+        if (archived.isEmpty()) throw new ElectionDoesNotExist("Election with provided id does not exist");
+        return archived.get().restore();
+    }
+
+    /**
+     * Gets the live results of an election with the given id, without loading its ballots
+     *
+     * @param electionId Id of election to fetch the results of
+     * @return Current tally of the election
+     * @throws ElectionDoesNotExist If an election with given id does not exist
+     */
+    public TallyModel getTally(int electionId) throws ElectionDoesNotExist {
+        Optional<Election> cached = cache.get(electionId);
+        if (cached.isPresent()) return TallyModel.of(cached.get());
         Optional<Election> e = this.electionRepository.findByElectionId(electionId);
-        if (e.isEmpty()) throw new ElectionDoesNotExist("Election with provided id does not exist");
-        return e.get();
+        if (e.isEmpty()) return TallyModel.of(getElection(electionId));
+        return TallyModel.of(e.get());
+    }
+
+    /**
+     * Gets the stored result of a concluded election
+     * Elections concluded before results were stored get their record written on first read
+     *
+     * @param electionId Id of the concluded election
+     * @return Result of the election
+     * @throws ElectionDoesNotExist If the election does not exist or is not concluded yet
+     */
+    @Transactional
+    public ElectionResult getResult(int electionId) throws ElectionDoesNotExist {
+        Optional<ElectionResult> stored = resultRepository.findById(electionId);
+        if (stored.isPresent()) return stored.get();
+        Optional<Election> e = this.electionRepository.findByElectionId(electionId);
+        if (e.isEmpty() || e.get().getState() != ElectionState.FINISHED)
+            throw new ElectionDoesNotExist("Election with provided id has no result yet");
+        return resultRepository.save(ElectionResult.of(e.get(), outcomeOf(e.get()), null));
+    }
+
+    /**
+     * Gives the outcome of a finished election as conclude returned it
+     *
+     * @param election - the finished election
+     * @return Winning choice of a proposal, winners of a board election
+     */
+    private static Object outcomeOf(Election election) {
+        return election.getClass() == BoardElection.class
+                ? ((BoardElection) election).findOutcome()
+                : ((Proposal) election).isWinningChoice();
+    }
+
+    /**
+     * Lists the elections of an HOA with keyset pagination over their ids
+     *
+     * @param hoaId Id of the HOA
+     * @param type  "board" or "proposal", null for both
+     * @param state "scheduled", "ongoing" or "finished", null for all
+     * @param from  Earliest start time, inclusive, null for no lower bound
+     * @param to    Latest start time, exclusive, null for no upper bound
+     * @param after Id of the last election of the previous page, 0 for the first page
+     * @param limit Maximum amount of elections on the page, between 1 and MAX_PAGE_SIZE
+     * @return Page of election summaries in id order
+     * @throws IllegalArgumentException If the type, state or limit is invalid
+     */
+    public ElectionPageModel listElections(long hoaId, String type, String state, LocalDateTime from,
+                                           LocalDateTime to, int after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        if (type != null && !type.equals("board") && !type.equals("proposal"))
+            throw new IllegalArgumentException("Type must be board or proposal");
+        Collection<ElectionState> states = state == null
+                ? EnumSet.allOf(ElectionState.class) : EnumSet.of(ElectionState.of(state));
+        LocalDateTime start = from == null ? EARLIEST : from;
+        LocalDateTime end = to == null ? LATEST : to;
+        // Fetch one more than the limit to know whether there is a next page
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<ElectionSummaryModel> elections = new ArrayList<>();
+        if (!"proposal".equals(type))
+            elections.addAll(electionRepository.findBoardElectionPage(hoaId, states, start, end, after, page));
+        if (!"board".equals(type))
+            elections.addAll(electionRepository.findProposalPage(hoaId, states, start, end, after, page));
+        if (type == null) elections.sort(Comparator.comparingInt(e -> e.electionId));
+        if (elections.size() <= limit) return new ElectionPageModel(elections, null);
+        List<ElectionSummaryModel> shown = new ArrayList<>(elections.subList(0, limit));
+        return new ElectionPageModel(shown, shown.get(limit - 1).electionId);
+    }
+
+    /**
+     * Gets the hit and miss counters of the election cache
+     *
+     * @return Statistics of the cache
+     */
+    public CacheStatsModel getCacheStats() {
+        return cache.stats();
     }
 
     /**
@@ -192,27 +563,52 @@ public class ElectionService {
     /**
      * Adds a participant to board election if there is an election
      */
+    @Transactional
+    @RetryOnConflict
     public boolean addParticipantToBoardElection(String memberId, long hoaId) throws ElectionDoesNotExist {
         BoardElection e = getBoardElectionByHoaId(hoaId);
         if (e.getCandidates().contains(memberId)) return false;
         e.addParticipant(memberId);
         electionRepository.save(e);
+        changedOutsideSequencer(e.getElectionId());
         return true;
     }
 
     /**
      * Removes participant from board election if there is a board election and the member is participating
      */
+    @Transactional
+    @RetryOnConflict
     public boolean removeParticipantFromBoardElection(String memberId, long hoaId) throws ElectionDoesNotExist {
         BoardElection e = getBoardElectionByHoaId(hoaId);
         if (e.removeParticipant(memberId)) {
-            electionRepository.deleteById(e.getElectionId());
             electionRepository.save(e);
+            changedOutsideSequencer(e.getElectionId());
             return true;
         }
         return false;
     }
 
+    /**
+     * Opens a scheduled election for voting, called when its start time has come
+     *
+     * @param electionId Id of election to open
+     * @return Whether the election was still scheduled
+     * @throws ElectionDoesNotExist If an election with provided id does not exist
+     */
+    @Transactional
+    @RetryOnConflict
+    public boolean open(int electionId) throws ElectionDoesNotExist {
+        Optional<Election> e = this.electionRepository.findByElectionId(electionId);
+        if (e.isEmpty()) throw new ElectionDoesNotExist("Election with provided id does not exist");
+        if (e.get().getState() != ElectionState.SCHEDULED) return false;
+        e.get().setStatus("ongoing");
+        this.electionRepository.save(e.get());
+        changedOutsideSequencer(electionId);
+        resultsPublisher.publish(e.get());
+        return true;
+    }
+
     /**
      * Concludes an election with the given id
      *
@@ -220,11 +616,141 @@ public class ElectionService {
      * @return Result of the election
      * @throws ElectionDoesNotExist If an election with provided id does not exist
      */
+    @Transactional
+    @RetryOnConflict
     public Object conclude(int electionId) throws ElectionDoesNotExist {
         Optional<Election> e = this.electionRepository.findByElectionId(electionId);
         if (e.isEmpty()) throw new ElectionDoesNotExist("Election with provided id does not exist");
-        Object res = e.get().conclude();
+        return conclude(e.get());
+    }
+
+    /**
+     * Concludes a batch of elections in one transaction, skipping those that are finished already
+     * Every election is concluded from its live counters without loading ballots, and all are saved together
+     *
+     * @param electionIds Ids of elections to conclude
+     * @return Every election concluded now, with its result
+     */
+    @Transactional
+    @RetryOnConflict
+    public List<ConcludedElectionModel> concludeAll(Collection<Integer> electionIds) {
+        Map<Integer, Election> open = new HashMap<>();
+        for (Election e : electionRepository.findAllById(electionIds)) {
+            if (e.getState() != ElectionState.FINISHED) open.put(e.getElectionId(), e);
+        }
+        List<ConcludedElectionModel> concluded = new ArrayList<>(open.size());
+        List<ElectionResult> records = new ArrayList<>(open.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Election e : open.values()) {
+            Object res = e.conclude();
+            concluded.add(new ConcludedElectionModel(e, res));
+            records.add(ElectionResult.of(e, res, now));
+        }
+        electionRepository.saveAll(open.values());
+        resultRepository.saveAll(records);
+        open.keySet().forEach(this::changedOutsideSequencer);
+        open.values().forEach(resultsPublisher::publish);
+        return concluded;
+    }
+
+    /**
+     * Lists finished elections whose outcome the HOA service did not acknowledge yet, oldest first
+     * An outcome stays listed until it is acknowledged, so one that was lost on its way is delivered again
+     *
+     * @param limit Maximum amount of elections, between 1 and MAX_PAGE_SIZE
+     * @return Every listed election with its result
+     * @throws IllegalArgumentException If the limit is invalid
+     */
+    @Transactional
+    public List<ConcludedElectionModel> getPendingOutcomes(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        List<ConcludedElectionModel> pending = new ArrayList<>();
+        for (Election e : electionRepository.findPendingOutcomes(PageRequest.of(0, limit))) {
+            pending.add(new ConcludedElectionModel(e, outcomeOf(e)));
+        }
+        return pending;
+    }
+
+    /**
+     * Records that the HOA service applied the outcome of a finished election, it is not listed as pending anymore
+     *
+     * @param electionId Id of the election
+     * @return Whether the outcome was still pending
+     * @throws ElectionDoesNotExist If an election with provided id does not exist
+     */
+    @Transactional
+    @RetryOnConflict
+    public boolean acknowledgeOutcome(int electionId) throws ElectionDoesNotExist {
+        Optional<Election> e = this.electionRepository.findByElectionId(electionId);
+        if (e.isEmpty()) throw new ElectionDoesNotExist("Election with provided id does not exist");
+        if (!e.get().acknowledgeOutcome()) return false;
         this.electionRepository.save(e.get());
+        changedOutsideSequencer(electionId);
+        return true;
+    }
+
+    /**
+     * Moves a batch of finished elections into the archive in one transaction
+     * Every election is compressed together with its ballots, then it and its ballots are deleted from the hot tables.
+     * Its result record stays, elections concluded before results were stored get one written first
+     *
+     * @param electionIds Ids of finished elections to archive, others and those with a pending outcome are skipped
+     * @param now         Moment of archiving
+     * @return Amount of archived elections
+     */
+    @Transactional
+    @RetryOnConflict
+    public int archiveAll(Collection<Integer> electionIds, LocalDateTime now) {
+        Map<Integer, Election> finished = new HashMap<>();
+        for (Election e : electionRepository.findAllById(electionIds)) {
+            if (e.getState() == ElectionState.FINISHED && !e.isOutcomePending()) finished.put(e.getElectionId(), e);
+        }
+        if (finished.isEmpty()) return 0;
+        Map<Integer, List<Ballot>> ballots = new HashMap<>();
+        for (Ballot b : ballotRepository.findAllByElectionIdIn(finished.keySet())) {
+            ballots.computeIfAbsent(b.getElectionId(), id -> new ArrayList<>()).add(b);
+        }
+        Set<Integer> withResult = new HashSet<>();
+        resultRepository.findAllById(finished.keySet()).forEach(r -> withResult.add(r.getElectionId()));
+
+        List<ArchivedElection> archive = new ArrayList<>(finished.size());
+        List<ElectionResult> missingResults = new ArrayList<>();
+        for (Election e : finished.values()) {
+            if (!withResult.contains(e.getElectionId())) missingResults.add(ElectionResult.of(e, outcomeOf(e), null));
+            archive.add(ArchivedElection.of(e, ballots.getOrDefault(e.getElectionId(), List.of()), now));
+        }
+        resultRepository.saveAll(missingResults);
+        archiveRepository.saveAll(archive);
+        ballotRepository.deleteAllOfElections(finished.keySet());
+        electionRepository.deleteAll(new ArrayList<>(finished.values()));
+        finished.keySet().forEach(this::changedOutsideSequencer);
+        return finished.size();
+    }
+
+    /**
+     * Concludes a loaded election and stores its result record
+     *
+     * @param election - the election to conclude
+     * @return Result of the election
+     */
+    private Object conclude(Election election) {
+        // Both types keep live counters, so no ballot is loaded to conclude
+        Object res = election.conclude();
+        this.electionRepository.save(election);
+        this.resultRepository.save(ElectionResult.of(election, res, LocalDateTime.now()));
+        changedOutsideSequencer(election.getElectionId());
+        resultsPublisher.publish(election);
         return res;
     }
+
+    /**
+     * Drops the cached election and the copy the sequencer holds once a change made outside of it is committed
+     *
+     * @param electionId - the changed election
+     */
+    private void changedOutsideSequencer(int electionId) {
+        cache.invalidateAfterCommit(electionId);
+        sequencer.evictAfterCommit(electionId);
+    }
 }
@@ -0,0 +1,102 @@
+package voting.services;
+
+import voting.domain.Ballot;
+import voting.domain.Election;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory state of an election owned by a single shard of the VoteSequencer.
+ * Holds the election with all of its ballots, and the ballot changes that have not been committed yet.
+ * Only ever accessed from the thread of its shard
+ */
+public class HotElection {
+
+    private final Election election;
+    private final Map<String, Ballot> ballots = new HashMap<>();
+    private final Map<String, Ballot> dirty = new LinkedHashMap<>();
+    private final Map<String, Ballot> deleted = new LinkedHashMap<>();
+    private final Set<String> unsaved = new HashSet<>();
+    final List<VoteSequencer.Pending> pending = new ArrayList<>();
+    int replays;
+    long lastUsed;
+
+    /**
+     * Creates the hot state of an election and replays its ballots into it
+     *
+     * @param election Election loaded from the database
+     * @param ballots  All ballots of the election
+     */
+    HotElection(Election election, List<Ballot> ballots) {
+        this.election = election;
+        for (Ballot b : ballots) {
+            election.restoreBallot(b.getMemberId(), b.getChoice());
+            this.ballots.put(b.getMemberId(), b);
+        }
+    }
+
+    public Election getElection() {
+        return election;
+    }
+
+    /**
+     * Brings the ballot of a member in line with the vote the election holds for him
+     *
+     * @param memberId - the member that voted or removed his vote
+     * @param castAt   - the moment of the change
+     */
+    public void record(String memberId, LocalDateTime castAt) {
+        String choice = election.ballotOf(memberId);
+        if (choice == null) {
+            Ballot removed = ballots.remove(memberId);
+            dirty.remove(memberId);
+            if (removed != null && !unsaved.remove(memberId)) deleted.put(memberId, removed);
+            return;
+        }
+        // Reuse a ballot deleted in the same group, a delete and insert of the same member would clash on flush
+        Ballot ballot = ballots.get(memberId);
+        if (ballot == null) {
+            ballot = deleted.remove(memberId);
+            if (ballot == null) {
+                unsaved.add(memberId);
+                ballot = new Ballot(election.getElectionId(), memberId);
+            }
+            ballots.put(memberId, ballot);
+        }
+        ballot.cast(choice, castAt);
+        dirty.put(memberId, ballot);
+    }
+
+    boolean hasChanges() {
+        return !dirty.isEmpty() || !deleted.isEmpty() || pending.stream().anyMatch(p -> p.error == null);
+    }
+
+    List<Ballot> dirtyBallots() {
+        return new ArrayList<>(dirty.values());
+    }
+
+    List<Ballot> deletedBallots() {
+        return new ArrayList<>(deleted.values());
+    }
+
+    /**
+     * Marks the current changes as written, after the group commit succeeded
+     *
+     * @param version New version of the election in the database
+     */
+    void committed(long version) {
+        election.setVersion(version);
+        dirty.clear();
+        deleted.clear();
+        unsaved.clear();
+        pending.clear();
+        replays = 0;
+    }
+}
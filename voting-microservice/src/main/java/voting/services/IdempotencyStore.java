@@ -0,0 +1,169 @@
+package voting.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import voting.exceptions.IdempotencyKeyReused;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, expiring record of the idempotency keys of vote requests and their responses.
+ * Keys are scoped by member and election, so two members choosing the same key never share a response.
+ * A request whose key was seen before gets the response of the first execution instead of running again,
+ * a duplicate that arrives while the first one is still running waits for its response.
+ * A rejection by the domain, one of the checked exceptions like CannotProceedVote, is a response as well
+ * and is returned again to a retry. Only infrastructure failures (unchecked exceptions) are forgotten,
+ * so a retry after those runs again
+ */
+@Component
+public class IdempotencyStore {
+
+    private final transient int maxKeys;
+    private final transient long ttlMillis;
+    private final transient LongSupplier clock;
+    private final transient Map<Scope, Entry> entries;
+
+    /**
+     * Creates the store of the application
+     *
+     * @param maxKeys    Maximum amount of remembered keys, the oldest ones are dropped first
+     * @param ttlSeconds Time a key is remembered
+     */
+    @Autowired
+    public IdempotencyStore(@Value("${voting.idempotency.max-keys:100000}") int maxKeys,
+                            @Value("${voting.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this(maxKeys, ttlSeconds * 1000, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a store
+     *
+     * @param maxKeys   Maximum amount of remembered keys, the oldest ones are dropped first
+     * @param ttlMillis Time a key is remembered
+     * @param clock     Source of the current time in milliseconds
+     */
+    public IdempotencyStore(int maxKeys, long ttlMillis, LongSupplier clock) {
+        this.maxKeys = Math.max(1, maxKeys);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Scope, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Runs a request once per idempotency key of a member in an election
+     *
+     * @param memberId    Member the request is made for
+     * @param electionId  Election the request is made on
+     * @param key         Idempotency key sent by the client
+     * @param fingerprint Operation and content of the request, a key may only be reused for the same request
+     * @param action      Request to run if the key is new
+     * @param <T>         Type of the response
+     * @return Response of the first execution, completed exceptionally if it was rejected or failed
+     * @throws IdempotencyKeyReused If the key was used before for a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> submit(String memberId, int electionId, String key, String fingerprint, Callable<T> action)
+            throws IdempotencyKeyReused {
+        Scope scope = new Scope(memberId, electionId, key);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Entry entry = new Entry(fingerprint, result, clock.getAsLong() + ttlMillis);
+        synchronized (entries) {
+            Entry existing = entries.get(scope);
+            if (existing != null && existing.expiresAt > clock.getAsLong()) {
+                if (!existing.fingerprint.equals(fingerprint))
+                    throw new IdempotencyKeyReused("Idempotency key " + key + " was used for a different request");
+                return (Future<T>) existing.result;
+            }
+            entries.put(scope, entry);
+        }
+        try {
+            result.complete(action.call());
+        } catch (RuntimeException e) {
+            // Infrastructure failure, the request may succeed when it is retried
+            synchronized (entries) {
+                entries.remove(scope, entry);
+            }
+            result.completeExceptionally(e);
+        } catch (Exception e) {
+            // Rejected by the domain, a retry gets the same rejection
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Amount of remembered keys, including expired ones that were not dropped yet
+     *
+     * @return Size of the store
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Forgets all keys, e.g. after the database was reset
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Idempotency key of a member in an election
+     */
+    private static final class Scope {
+        private final String memberId;
+        private final int electionId;
+        private final String key;
+
+        private Scope(String memberId, int electionId, String key) {
+            this.memberId = memberId;
+            this.electionId = electionId;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Scope)) return false;
+            Scope other = (Scope) o;
+            return electionId == other.electionId && Objects.equals(memberId, other.memberId)
+                    && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(memberId, electionId, key);
+        }
+    }
+
+    /**
+     * A remembered key
+     */
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<?> result;
+        private final long expiresAt;
+
+        private Entry(String fingerprint, CompletableFuture<?> result, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package voting.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import voting.domain.Election;
+import voting.models.TallyModel;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes live results of elections to server-sent-event subscribers.
+ * Updates of one election are coalesced, so subscribers receive at most a fixed amount of deltas per second
+ * no matter how many ballots arrive
+ */
+@Component
+public class LiveResultsPublisher {
+
+    private final transient long minIntervalMillis;
+    private final transient ScheduledExecutorService scheduler;
+    private final transient Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a publisher with its own flushing thread
+     *
+     * @param maxUpdatesPerSecond Maximum amount of updates pushed per second for a single election
+     */
+    @Autowired
+    public LiveResultsPublisher(@Value("${voting.live.max-updates-per-second:4}") int maxUpdatesPerSecond) {
+        this(maxUpdatesPerSecond, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    /**
+     * Creates a publisher
+     *
+     * @param maxUpdatesPerSecond Maximum amount of updates pushed per second for a single election
+     * @param scheduler           Executor used to flush coalesced updates
+     */
+    public LiveResultsPublisher(int maxUpdatesPerSecond, ScheduledExecutorService scheduler) {
+        this.minIntervalMillis = 1000L / Math.max(1, maxUpdatesPerSecond);
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Registers a subscriber for the live results of an election and sends it the current tally
+     *
+     * @param emitter Emitter of the subscriber
+     * @param current Current tally of the election
+     * @return The same emitter
+     */
+    public SseEmitter subscribe(SseEmitter emitter, TallyModel current) {
+        int electionId = current.electionId;
+        channels.compute(electionId, (id, channel) -> {
+            Channel c = channel == null ? new Channel(current) : channel;
+            c.emitters.add(emitter);
+            return c;
+        });
+        emitter.onCompletion(() -> unsubscribe(electionId, emitter));
+        emitter.onTimeout(() -> unsubscribe(electionId, emitter));
+        emitter.onError(e -> unsubscribe(electionId, emitter));
+        send(electionId, emitter, "tally", current);
+        return emitter;
+    }
+
+    /**
+     * Publishes the current results of an election, once the running transaction (if any) commits
+     * Does nothing if nobody follows the election
+     *
+     * @param election Election whose results changed
+     */
+    public void publish(Election election) {
+        if (!channels.containsKey(election.getElectionId())) return;
+        TallyModel snapshot = TallyModel.of(election);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                offer(snapshot);
+            }
+        });
+    }
+
+    /**
+     * Queues a snapshot for the subscribers of its election, scheduling a flush if none is pending
+     *
+     * @param snapshot Latest tally of the election
+     */
+    private void offer(TallyModel snapshot) {
+        Channel channel = channels.get(snapshot.electionId);
+        if (channel == null) return;
+        synchronized (channel) {
+            channel.pending = snapshot;
+            if (channel.flushScheduled) return;
+            channel.flushScheduled = true;
+            long delay = Math.max(0, channel.lastFlush + minIntervalMillis - System.currentTimeMillis());
+            scheduler.schedule(() -> flush(snapshot.electionId, channel), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends the changes since the last flush to all subscribers of an election
+     *
+     * @param electionId Id of the election
+     * @param channel    Channel of the election
+     */
+    private void flush(int electionId, Channel channel) {
+        TallyModel delta;
+        List<SseEmitter> targets;
+        synchronized (channel) {
+            channel.flushScheduled = false;
+            channel.lastFlush = System.currentTimeMillis();
+            delta = channel.pending.deltaFrom(channel.published);
+            channel.published = channel.pending;
+            targets = new ArrayList<>(channel.emitters);
+        }
+        boolean finished = "finished".equals(delta.status);
+        for (SseEmitter emitter : targets) {
+            send(electionId, emitter, "delta", delta);
+            if (finished) emitter.complete();
+        }
+    }
+
+    private void send(int electionId, SseEmitter emitter, String event, TallyModel tally) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(tally));
+        } catch (IOException | IllegalStateException e) {
+            // Subscriber went away, the servlet container takes care of the connection itself
+            unsubscribe(electionId, emitter);
+        }
+    }
+
+    private void unsubscribe(int electionId, SseEmitter emitter) {
+        channels.computeIfPresent(electionId, (id, channel) -> {
+            channel.emitters.remove(emitter);
+            return channel.emitters.isEmpty() ? null : channel;
+        });
+    }
+
+    /**
+     * Gives the amount of subscribers of an election
+     *
+     * @param electionId Id of the election
+     * @return Amount of subscribers
+     */
+    public int subscriberCount(int electionId) {
+        Channel channel = channels.get(electionId);
+        return channel == null ? 0 : channel.emitters.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Subscribers and flush state of a single election
+     */
+    private static class Channel {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private TallyModel published;
+        private TallyModel pending;
+        private boolean flushScheduled;
+        private long lastFlush;
+
+        Channel(TallyModel published) {
+            this.published = published;
+        }
+    }
+}
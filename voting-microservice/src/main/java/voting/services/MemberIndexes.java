@@ -0,0 +1,41 @@
+package voting.services;
+
+import org.springframework.stereotype.Component;
+import voting.domain.Election;
+import voting.domain.MemberIndex;
+import voting.domain.Proposal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member indices of the application, one per HOA.
+ * The proposals of an HOA are voted on by the same members, so they share one index and every member id is kept
+ * once per HOA instead of once per proposal. An index only grows with the members of its HOA that ever voted
+ */
+@Component
+public class MemberIndexes {
+
+    private final transient Map<Long, MemberIndex> byHoa = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the member index of an HOA, creating it on first use
+     *
+     * @param hoaId Id of the HOA
+     * @return Index of the members of the HOA
+     */
+    public MemberIndex of(long hoaId) {
+        return byHoa.computeIfAbsent(hoaId, id -> new MemberIndex());
+    }
+
+    /**
+     * Hands the member index of its HOA to a proposal, before its ballots are restored
+     *
+     * @param election Election that was loaded, other elections are returned as they are
+     * @return The same election
+     */
+    public Election attach(Election election) {
+        if (election instanceof Proposal) ((Proposal) election).useMemberIndex(of(election.getHoaId()));
+        return election;
+    }
+}
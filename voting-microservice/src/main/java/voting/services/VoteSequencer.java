@@ -0,0 +1,346 @@
+package voting.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionRepository;
+import voting.domain.Ballot;
+import voting.domain.Election;
+import voting.exceptions.CannotProceedVote;
+import voting.exceptions.ElectionDoesNotExist;
+import voting.exceptions.ThereIsNoVote;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single writer for the votes of an election.
+ * Elections are sharded by id over a fixed set of single-threaded executors, each shard keeps its elections
+ * in memory and applies commands to them one at a time, without any locking.
+ * Changes are group-committed every few milliseconds, a command completes once the group holding it is written.
+ * If the election was changed outside of the sequencer in the meantime, it is reloaded and the group is replayed.
+ * A group of rejected commands writes nothing, so its version is compared with the database before it completes
+ */
+@Component
+public class VoteSequencer {
+
+    private static final int MAX_REPLAYS = 5;
+
+    private final transient ElectionRepository electionRepository;
+    private final transient BallotRepository ballotRepository;
+    private final transient LiveResultsPublisher resultsPublisher;
+    private final transient ElectionCache cache;
+    private final transient MemberIndexes memberIndexes;
+    private final transient TransactionOperations transactions;
+    private final transient Shard[] shards;
+    private final transient long flushMillis;
+    private final transient long idleMillis;
+
+    /**
+     * Change of an election that is applied by the shard owning it
+     */
+    @FunctionalInterface
+    public interface Command {
+        /**
+         * Applies the change, it must validate before changing anything so a rejected command leaves no trace
+         *
+         * @param state Hot state of the election
+         * @return Vote count of the election after the change
+         */
+        int apply(HotElection state) throws ElectionDoesNotExist, CannotProceedVote, ThereIsNoVote;
+    }
+
+    /**
+     * Creates a sequencer that commits through the transaction manager of the application
+     *
+     * @param electionRepository Repository of the elections
+     * @param ballotRepository   Ballot ledger
+     * @param resultsPublisher   Publisher of live results
+     * @param cache              Cache of elections that is refreshed after every group commit
+     * @param memberIndexes      Member indices the ballots of proposals are keyed by
+     * @param transactionManager Transaction manager used for loading and group commits
+     * @param shards             Amount of single-threaded shards
+     * @param flushMillis        Time a change waits for others to be committed together with it
+     * @param idleMillis         Time after which an election without votes is dropped from memory
+     */
+    @Autowired
+    public VoteSequencer(ElectionRepository electionRepository, BallotRepository ballotRepository,
+                         LiveResultsPublisher resultsPublisher, ElectionCache cache, MemberIndexes memberIndexes,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${voting.sequencer.shards:4}") int shards,
+                         @Value("${voting.sequencer.flush-millis:5}") long flushMillis,
+                         @Value("${voting.sequencer.idle-millis:60000}") long idleMillis) {
+        this(electionRepository, ballotRepository, resultsPublisher, cache, memberIndexes,
+                new TransactionTemplate(transactionManager), shards, flushMillis, idleMillis);
+    }
+
+    /**
+     * Creates a sequencer
+     *
+     * @param electionRepository Repository of the elections
+     * @param ballotRepository   Ballot ledger
+     * @param resultsPublisher   Publisher of live results
+     * @param cache              Cache of elections that is refreshed after every group commit
+     * @param memberIndexes      Member indices the ballots of proposals are keyed by
+     * @param transactions       Transactions used for loading and group commits
+     * @param shards             Amount of single-threaded shards
+     * @param flushMillis        Time a change waits for others to be committed together with it
+     * @param idleMillis         Time after which an election without votes is dropped from memory
+     */
+    public VoteSequencer(ElectionRepository electionRepository, BallotRepository ballotRepository,
+                         LiveResultsPublisher resultsPublisher, ElectionCache cache, MemberIndexes memberIndexes,
+                         TransactionOperations transactions, int shards, long flushMillis, long idleMillis) {
+        this.electionRepository = electionRepository;
+        this.ballotRepository = ballotRepository;
+        this.resultsPublisher = resultsPublisher;
+        this.cache = cache;
+        this.memberIndexes = memberIndexes;
+        this.transactions = transactions;
+        this.flushMillis = flushMillis;
+        this.idleMillis = idleMillis;
+        this.shards = new Shard[Math.max(1, shards)];
+        for (int i = 0; i < this.shards.length; i++) {
+            Shard shard = new Shard("vote-sequencer-" + i);
+            shard.executor.scheduleWithFixedDelay(() -> sweep(shard), idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+            this.shards[i] = shard;
+        }
+    }
+
+    /**
+     * Hands a command to the shard owning the election
+     *
+     * @param electionId Id of the election to change
+     * @param command    Change to apply
+     * @return Vote count after the change, available once the change is committed
+     */
+    public Future<Integer> submit(int electionId, Command command) {
+        Shard shard = shards[Math.floorMod(electionId, shards.length)];
+        Pending pending = new Pending(command);
+        shard.executor.execute(() -> accept(shard, electionId, pending));
+        return pending.result;
+    }
+
+    /**
+     * Drops an election changed outside of the sequencer once the running transaction (if any) commits,
+     * so its next command is decided on the committed state
+     *
+     * @param electionId Id of the election
+     */
+    public void evictAfterCommit(int electionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(electionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                evict(electionId);
+            }
+        });
+    }
+
+    private void evict(int electionId) {
+        Shard shard = shards[Math.floorMod(electionId, shards.length)];
+        // Changes still pending fail their commit on the new version and are replayed on the reloaded election
+        shard.executor.execute(() -> shard.states.computeIfPresent(electionId,
+                (id, state) -> state.pending.isEmpty() ? null : state));
+    }
+
+    private void accept(Shard shard, int electionId, Pending pending) {
+        HotElection state = shard.states.get(electionId);
+        if (state == null) {
+            try {
+                state = load(electionId);
+            } catch (ElectionDoesNotExist | RuntimeException e) {
+                pending.result.completeExceptionally(e);
+                return;
+            }
+            shard.states.put(electionId, state);
+        }
+        state.lastUsed = System.currentTimeMillis();
+        try {
+            apply(state, pending);
+        } catch (RuntimeException e) {
+            // The state may be half-changed, rebuild it from the database without this command
+            pending.result.completeExceptionally(e);
+            rebuild(shard, electionId, state, e);
+            return;
+        }
+        state.pending.add(pending);
+        scheduleFlush(shard);
+    }
+
+    private void apply(HotElection state, Pending pending) {
+        try {
+            pending.value = pending.command.apply(state);
+            pending.error = null;
+        } catch (ElectionDoesNotExist | CannotProceedVote | ThereIsNoVote e) {
+            pending.error = e;
+        }
+    }
+
+    private HotElection load(int electionId) throws ElectionDoesNotExist {
+        HotElection state = transactions.execute(status -> electionRepository.findByElectionId(electionId)
+                .map(e -> new HotElection(memberIndexes.attach(e),
+                        ballotRepository.findAllByElectionId(electionId)))
+                .orElse(null));
+        if (state == null) throw new ElectionDoesNotExist("Election not found");
+        return state;
+    }
+
+    private void scheduleFlush(Shard shard) {
+        if (shard.flushScheduled) return;
+        shard.flushScheduled = true;
+        shard.executor.schedule(() -> flush(shard), flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush(Shard shard) {
+        shard.flushScheduled = false;
+        for (Map.Entry<Integer, HotElection> entry : new ArrayList<>(shard.states.entrySet())) {
+            if (!entry.getValue().pending.isEmpty()) commit(shard, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Writes all changes of an election in one transaction and completes the commands of the group
+     */
+    private void commit(Shard shard, int electionId, HotElection state) {
+        List<Pending> group = new ArrayList<>(state.pending);
+        if (state.hasChanges()) {
+            try {
+                Long version = transactions.execute(status -> write(state));
+                state.committed(version == null ? 0 : version);
+                cache.refreshIfPresent(electionId, () -> state.getElection().snapshot());
+            } catch (RuntimeException e) {
+                rebuild(shard, electionId, state, e);
+                return;
+            }
+        } else if (isCurrent(electionId, state)) {
+            state.pending.clear();
+        } else {
+            // Every command of the group was rejected on a version that is no longer the one in the database
+            rebuild(shard, electionId, state,
+                    new OptimisticLockingFailureException("Election " + electionId + " was changed meanwhile"));
+            return;
+        }
+        for (Pending p : group) {
+            if (p.error == null) p.result.complete(p.value);
+            else p.result.completeExceptionally(p.error);
+        }
+    }
+
+    /**
+     * Checks whether the database still holds the version of the election the commands were decided on,
+     * rejections write nothing so no optimistic lock would tell
+     */
+    private boolean isCurrent(int electionId, HotElection state) {
+        return electionRepository.findVersionByElectionId(electionId)
+                .filter(v -> v == state.getElection().getVersion())
+                .isPresent();
+    }
+
+    private long write(HotElection state) {
+        List<Ballot> deleted = state.deletedBallots();
+        if (!deleted.isEmpty()) ballotRepository.deleteAll(deleted);
+        List<Ballot> dirty = state.dirtyBallots();
+        if (!dirty.isEmpty()) ballotRepository.saveAll(dirty);
+        Election saved = electionRepository.save(state.getElection());
+        resultsPublisher.publish(saved);
+        return saved.getVersion();
+    }
+
+    /**
+     * Reloads an election whose commit failed and replays the commands that were not committed yet
+     */
+    private void rebuild(Shard shard, int electionId, HotElection stale, RuntimeException cause) {
+        shard.states.remove(electionId);
+        if (stale.pending.isEmpty()) return;
+        if (stale.replays >= MAX_REPLAYS) {
+            fail(stale.pending, cause);
+            return;
+        }
+        HotElection fresh;
+        try {
+            fresh = load(electionId);
+            fresh.replays = stale.replays + 1;
+            fresh.lastUsed = System.currentTimeMillis();
+            for (Pending p : stale.pending) {
+                apply(fresh, p);
+                fresh.pending.add(p);
+            }
+        } catch (ElectionDoesNotExist | RuntimeException e) {
+            fail(stale.pending, e);
+            return;
+        }
+        shard.states.put(electionId, fresh);
+        scheduleFlush(shard);
+    }
+
+    private void fail(List<Pending> pending, Exception cause) {
+        for (Pending p : pending) p.result.completeExceptionally(cause);
+    }
+
+    private void sweep(Shard shard) {
+        long idleSince = System.currentTimeMillis() - idleMillis;
+        shard.states.values().removeIf(s -> s.pending.isEmpty() && s.lastUsed < idleSince);
+    }
+
+    /**
+     * Stops all shards after committing the changes they still hold
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Shard shard : shards) shard.executor.shutdown();
+        try {
+            for (Shard shard : shards) shard.executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A command waiting for its group to be committed
+     */
+    static final class Pending {
+        final Command command;
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        int value;
+        Exception error;
+
+        Pending(Command command) {
+            this.command = command;
+        }
+    }
+
+    /**
+     * A single-threaded executor with the elections it owns, the map is only touched from that thread
+     */
+    private static final class Shard {
+        final ScheduledExecutorService executor;
+        final Map<Integer, HotElection> states = new HashMap<>();
+        boolean flushScheduled;
+
+        Shard(String name) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package voting.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import voting.annotations.RetryOnConflict;
+import voting.annotations.TestSuite;
+import voting.exceptions.ElectionDoesNotExist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class ConflictRetryAspectTest {
+
+	private ConflictRetryAspect aspect;
+	private ProceedingJoinPoint joinPoint;
+	private RetryOnConflict policy;
+
+	@BeforeEach
+	void setUp() {
+		aspect = new ConflictRetryAspect();
+		joinPoint = mock(ProceedingJoinPoint.class);
+		policy = mock(RetryOnConflict.class);
+		when(policy.maxAttempts()).thenReturn(3);
+		when(policy.backoffMillis()).thenReturn(0L);
+	}
+
+	@Test
+	void retriesStaleVersion() throws Throwable {
+		when(joinPoint.proceed())
+				.thenThrow(new ObjectOptimisticLockingFailureException("Election", 1))
+				.thenReturn(5);
+
+		assertEquals(5, aspect.retry(joinPoint, policy));
+		verify(joinPoint, times(2)).proceed();
+	}
+
+	@Test
+	void retriesDuplicateBallot() throws Throwable {
+		when(joinPoint.proceed())
+				.thenThrow(new DataIntegrityViolationException("uk_ballots_election_member"))
+				.thenReturn(1);
+
+		assertEquals(1, aspect.retry(joinPoint, policy));
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() throws Throwable {
+		when(joinPoint.proceed()).thenThrow(new ObjectOptimisticLockingFailureException("Election", 1));
+
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> aspect.retry(joinPoint, policy));
+		verify(joinPoint, times(3)).proceed();
+	}
+
+	@Test
+	void doesNotRetryDomainExceptions() throws Throwable {
+		when(joinPoint.proceed()).thenThrow(new ElectionDoesNotExist("missing"));
+
+		assertThrows(ElectionDoesNotExist.class, () -> aspect.retry(joinPoint, policy));
+		verify(joinPoint, times(1)).proceed();
+	}
+}
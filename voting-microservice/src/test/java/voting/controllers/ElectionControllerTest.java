@@ -1,5 +1,6 @@
 package voting.controllers;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -11,7 +12,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import voting.annotations.TestSuite;
+import voting.db.repos.BallotRepository;
 import voting.db.repos.ElectionRepository;
+import voting.domain.Ballot;
 import voting.domain.BoardElection;
 import voting.domain.Election;
 import voting.domain.Proposal;
@@ -21,6 +24,9 @@ import voting.models.ProposalModel;
 import voting.models.RemoveVoteModel;
 import voting.models.TimeModel;
 import voting.models.VotingModel;
+import voting.services.ElectionCache;
+import voting.services.IdempotencyStore;
+import voting.services.VoteSequencer;
 import voting.util.JsonUtil;
 
 import java.sql.Connection;
@@ -36,6 +42,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static voting.annotations.TestSuite.TestType.INTEGRATION;
 
@@ -49,6 +57,14 @@ class ElectionControllerTest {
     private MockMvc mockMvc;
     @Autowired
     private ElectionRepository electionRepo;
+    @Autowired
+    private BallotRepository ballotRepo;
+    @Autowired
+    private VoteSequencer sequencer;
+    @Autowired
+    private ElectionCache cache;
+    @Autowired
+    private IdempotencyStore idempotency;
 
     private static TimeModel validTimeModel;
 
@@ -58,15 +74,23 @@ class ElectionControllerTest {
 
     @BeforeAll
     static void setup() {
-        validTimeModel = new TimeModel(1, 1, 1, 1, 1,
-                LocalDateTime.now().getYear());
+        // Started two days ago, so elections created from it are still in their voting period
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        validTimeModel = new TimeModel(start.getSecond(), start.getMinute(), start.getHour(),
+                start.getDayOfMonth(), start.getMonthValue(), start.getYear());
     }
 
     @AfterEach
     void flushDatabase() {
+        electionRepo.findAll().forEach(e -> sequencer.evictAfterCommit(e.getElectionId()));
+        cache.invalidateAll();
+        idempotency.clear();
         try (Connection CONN = DriverManager.getConnection("jdbc:h2:mem:testdb", "sa", "s")) {
             Statement stmt = CONN.createStatement();
+            stmt.executeUpdate("DELETE FROM BALLOTS");
+            stmt.executeUpdate("DELETE FROM ELECTION_RESULTS");
             stmt.executeUpdate("DELETE FROM ELECTIONS");
+            stmt.executeUpdate("DELETE FROM ELECTION_ARCHIVE");
             stmt.executeUpdate("ALTER SEQUENCE HIBERNATE_SEQUENCE RESTART WITH 1");
             stmt.close();
         }  catch (SQLException e) {
@@ -217,8 +241,37 @@ class ElectionControllerTest {
 
         Proposal fetchedP = (Proposal) electionRepo.findByElectionId(1).orElse(null);
         assertNotNull(fetchedP, "Make sure entry is persisted");
-        assertTrue(fetchedP.getVotes().entrySet()
-                .stream().anyMatch(e -> e.getKey().equals("2") && !e.getValue()), "Make sure vote is persisted");
+        assertEquals(1, fetchedP.getVoteCount(), "Make sure vote count is persisted");
+        Ballot ballot = ballotRepo.findByElectionIdAndMemberId(1, "2").orElse(null);
+        assertNotNull(ballot, "Make sure vote is persisted");
+        assertEquals("F", ballot.getChoice(), "Make sure vote is persisted");
+    }
+
+    @Test
+    void voteIdempotentTest() throws Exception {
+        Election p = new Proposal(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate().minusDays(1));
+        electionRepo.save(p);
+
+        // The gateway retries the same request, then the member changes their vote
+        for (String choice : List.of("false", "false", "true")) {
+            String key = "vote-" + choice;
+            mockMvc.perform(post("/voting/vote")
+                    .header("Idempotency-Key", key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonUtil.serialize(new VotingModel(1, "2", choice))))
+                    .andExpect(status().isOk());
+        }
+
+        Proposal fetchedP = (Proposal) electionRepo.findByElectionId(1).orElseThrow();
+        assertEquals(1, fetchedP.getVoteCount(), "Make sure the retry is not counted");
+        assertEquals(1, fetchedP.getTally().get("yes"));
+
+        // The same key for another request of the member is rejected
+        mockMvc.perform(post("/voting/vote")
+                .header("Idempotency-Key", "vote-true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(new VotingModel(1, "2", "false"))))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -247,14 +300,44 @@ class ElectionControllerTest {
         assertEquals(0, fetchedP.getVotes().entrySet().size(), "Make sure votes are not changed");
     }
 
+    @Test
+    void batchVoteSuccessTest() throws Exception {
+        Election p = new Proposal(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate().minusDays(1));
+        electionRepo.save(p);
+        List<VotingModel> reqModel = List.of(new VotingModel(1, "2", "false"),
+                new VotingModel(1, "3", "true"), new VotingModel(1, "4", "maybe"));
+
+        // Perform a POST request
+        ResultActions response = mockMvc.perform(post("/voting/batchVote/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(reqModel)));
+
+        // Assert that the response has a 200 OK status
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.voteCount").value(2))
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.results[2].success").value(false));
+        assertEquals(2, ballotRepo.findAllByElectionId(1).size(), "Make sure ballots are persisted");
+    }
+
+    @Test
+    void batchVoteFailTest() throws Exception {
+        List<VotingModel> reqModel = List.of(new VotingModel(1, "2", "false"));
+        // Perform a POST request for a non-existent election
+        mockMvc.perform(post("/voting/batchVote/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.serialize(reqModel)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void removeVoteSuccessTest() throws Exception {
-        TimeModel newTimeModel = new TimeModel(1, 1, 1, 1, 1, 1);
-        Election p = new BoardElection(VALID_NAME, VALID_DESC, 1, newTimeModel.createDate(),
+        Election p = new BoardElection(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate(),
             1, List.of("1"));
         p.setStatus("ongoing");
         p.vote("2", "1");
         electionRepo.save(p);
+        ballotRepo.save(new Ballot(1, "2", "1", LocalDateTime.now()));
         RemoveVoteModel reqModel = new RemoveVoteModel(1, "2");
 
         // Perform a POST request
@@ -269,6 +352,7 @@ class ElectionControllerTest {
         BoardElection fetchedP = (BoardElection) electionRepo.findByElectionId(1).orElse(null);
         assertNotNull(fetchedP, "Make sure entry is persisted");
         assertTrue(fetchedP.getVotes().isEmpty(), "Make sure vote is persisted");
+        assertTrue(ballotRepo.findAllByElectionId(1).isEmpty(), "Make sure ballot is removed");
     }
 
     @Test
@@ -335,6 +419,22 @@ class ElectionControllerTest {
         response.andExpect(status().isBadRequest());
     }
 
+    @Test
+    void liveResultsSuccessTest() throws Exception {
+        Election p = new Proposal(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate());
+        electionRepo.save(p);
+        // Perform a GET request, the stream stays open
+        mockMvc.perform(get("/voting/live/" + 1))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void liveResultsFailTest() throws Exception {
+        // Cannot follow a non-existent election
+        mockMvc.perform(get("/voting/live/" + 1))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void concludeElectionSuccessTest() throws Exception {
         Election p = new Proposal(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate());
@@ -342,6 +442,8 @@ class ElectionControllerTest {
         p.vote("chad", true);
         p.vote("chad2", true);
         electionRepo.save(p);
+        ballotRepo.save(new Ballot(1, "chad", "T", LocalDateTime.now()));
+        ballotRepo.save(new Ballot(1, "chad2", "T", LocalDateTime.now()));
 
         // Perform a POST request
         ResultActions response = mockMvc.perform(post("/voting/conclude/" + 1)
@@ -369,6 +471,188 @@ class ElectionControllerTest {
         response.andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getResultSuccessTest() throws Exception {
+        Election p = new Proposal(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate());
+        p.setStatus("ongoing");
+        p.vote("chad", true);
+        electionRepo.save(p);
+        ballotRepo.save(new Ballot(1, "chad", "T", LocalDateTime.now()));
+        mockMvc.perform(post("/voting/conclude/1").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // Perform a GET request
+        ResultActions response = mockMvc.perform(get("/voting/result/1")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // The stored result is served without the ballots
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("proposal"))
+                .andExpect(jsonPath("$.turnout").value(1))
+                .andExpect(jsonPath("$.counts.yes").value(1))
+                .andExpect(jsonPath("$.counts.no").value(0))
+                .andExpect(jsonPath("$.winners[0]").value("yes"));
+    }
+
+    @Test
+    void getResultFailTest() throws Exception {
+        electionRepo.save(new Proposal(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate()));
+        // An election that is not concluded has no result
+        mockMvc.perform(get("/voting/result/1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cacheStatsTest() throws Exception {
+        electionRepo.save(new Proposal(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate()));
+        long hits = cache.stats().hits;
+        long misses = cache.stats().misses;
+        mockMvc.perform(get("/voting/getElection/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/voting/getElection/1")).andExpect(status().isOk());
+
+        // Perform a GET request
+        mockMvc.perform(get("/voting/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(hits + 1))
+                .andExpect(jsonPath("$.misses").value(misses + 1));
+    }
+
+    @Test
+    void listElectionsTest() throws Exception {
+        Election board = new BoardElection(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate(), 1, List.of("a"));
+        board.setStatus("ongoing");
+        electionRepo.save(board);
+        electionRepo.save(new Proposal("first", VALID_DESC, 1, validTimeModel.createDate()));
+        electionRepo.save(new Proposal("other hoa", VALID_DESC, 2, validTimeModel.createDate()));
+        electionRepo.save(new Proposal("second", VALID_DESC, 1, validTimeModel.createDate()));
+
+        // Perform a GET request for the first page
+        ResultActions first = mockMvc.perform(get("/voting/elections/1").param("limit", "2"));
+        first.andExpect(status().isOk())
+                .andExpect(jsonPath("$.elections.length()").value(2))
+                .andExpect(jsonPath("$.elections[0].type").value("board"))
+                .andExpect(jsonPath("$.elections[0].status").value("ongoing"))
+                .andExpect(jsonPath("$.elections[1].name").value("first"))
+                .andExpect(jsonPath("$.elections[0].votes").doesNotExist())
+                .andExpect(jsonPath("$.nextAfter").isNumber());
+        Integer after = JsonPath.read(first.andReturn().getResponse().getContentAsString(), "$.nextAfter");
+
+        // The next page continues after the last id of the first one
+        mockMvc.perform(get("/voting/elections/1").param("limit", "2").param("after", after.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elections.length()").value(1))
+                .andExpect(jsonPath("$.elections[0].name").value("second"))
+                .andExpect(jsonPath("$.nextAfter").doesNotExist());
+
+        // Filters
+        mockMvc.perform(get("/voting/elections/1").param("type", "proposal").param("state", "scheduled"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elections.length()").value(2));
+        mockMvc.perform(get("/voting/elections/1")
+                        .param("from", validTimeModel.createDate().plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elections.length()").value(0));
+    }
+
+    @Test
+    void listElectionsFailTest() throws Exception {
+        mockMvc.perform(get("/voting/elections/1").param("state", "closed"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/voting/elections/1").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void concludeDueSuccessTest() throws Exception {
+        Election due = new Proposal(VALID_NAME, VALID_DESC, 1, LocalDateTime.now().minusYears(1));
+        due.setStatus("ongoing");
+        due.vote("chad", true);
+        electionRepo.save(due);
+        ballotRepo.save(new Ballot(1, "chad", "T", LocalDateTime.now()));
+        electionRepo.save(new Proposal("other", VALID_DESC, 1, LocalDateTime.now().minusHours(1)));
+
+        // Perform a POST request
+        ResultActions response = mockMvc.perform(post("/voting/concludeDue")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // Only the proposal whose voting period is over is concluded
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.due").value(1))
+                .andExpect(jsonPath("$.concluded").value(1))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.results['1']").value(true))
+                .andExpect(jsonPath("$.elections[0].electionId").value(1))
+                .andExpect(jsonPath("$.elections[0].type").value("proposal"))
+                .andExpect(jsonPath("$.elections[0].description").value(VALID_DESC));
+        assertEquals("finished", electionRepo.findByElectionId(1).orElseThrow().getStatus());
+        assertEquals("scheduled", electionRepo.findByElectionId(2).orElseThrow().getStatus());
+    }
+
+    @Test
+    void pendingOutcomeUntilAcknowledgedTest() throws Exception {
+        Election due = new Proposal(VALID_NAME, VALID_DESC, 1, LocalDateTime.now().minusYears(1));
+        due.setStatus("ongoing");
+        due.vote("chad", true);
+        electionRepo.save(due);
+        mockMvc.perform(post("/voting/concludeDue")).andExpect(status().isOk());
+
+        // Listed again on every request, the first answer may have been lost
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/voting/pendingOutcomes"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].electionId").value(1))
+                    .andExpect(jsonPath("$[0].result").value(true));
+        }
+        mockMvc.perform(post("/voting/acknowledgeOutcome/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(true));
+        mockMvc.perform(get("/voting/pendingOutcomes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        mockMvc.perform(post("/voting/acknowledgeOutcome/1"))
+                .andExpect(jsonPath("$").value(false));
+        mockMvc.perform(post("/voting/acknowledgeOutcome/5")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/voting/pendingOutcomes").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void archiveSuccessTest() throws Exception {
+        Election old = new Proposal(VALID_NAME, VALID_DESC, 1, LocalDateTime.now().minusYears(2));
+        old.setStatus("ongoing");
+        old.vote("chad", true);
+        old.conclude();
+        // The HOA service applied its outcome
+        old.acknowledgeOutcome();
+        electionRepo.save(old);
+        ballotRepo.save(new Ballot(1, "chad", "T", LocalDateTime.now().minusYears(2)));
+        Election recent = new Proposal("other", VALID_DESC, 1, LocalDateTime.now().minusDays(1));
+        recent.setStatus("finished");
+        electionRepo.save(recent);
+
+        // Perform a POST request
+        ResultActions response = mockMvc.perform(post("/voting/archive")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        // Only the election past the retention leaves the hot tables
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.due").value(1))
+                .andExpect(jsonPath("$.archived").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+        assertTrue(electionRepo.findByElectionId(1).isEmpty());
+        assertTrue(ballotRepo.findAllByElectionId(1).isEmpty());
+        assertTrue(electionRepo.findByElectionId(2).isPresent());
+
+        // The archived election and its result can still be read
+        mockMvc.perform(get("/voting/getElection/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("finished"))
+                .andExpect(jsonPath("$.voteCount").value(1));
+        mockMvc.perform(get("/voting/result/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.winners[0]").value("yes"));
+    }
+
     @Test
     void joinElectionSuccessTest() throws Exception {
         BoardElection be = new BoardElection(VALID_NAME, VALID_DESC, 1, validTimeModel.createDate(),
@@ -0,0 +1,167 @@
+package voting.db;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import voting.Application;
+import voting.annotations.TestSuite;
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionRepository;
+import voting.domain.Ballot;
+import voting.domain.Election;
+import voting.domain.ElectionState;
+import voting.domain.Proposal;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.INTEGRATION;
+
+/**
+ * Boots the service against a database written by the version before the ballot ledger and the state column,
+ * so the schema update and the migration run on the columns and values that version left behind
+ */
+@TestSuite(testType = {INTEGRATION})
+class LegacyElectionMigrationTest {
+
+	private static ConfigurableApplicationContext context;
+	private static JdbcTemplate jdbc;
+	private static ElectionRepository electionRepo;
+	private static BallotRepository ballotRepo;
+
+	@BeforeAll
+	static void bootOnLegacyDatabase() {
+		String url = "jdbc:h2:mem:legacy-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+		new ResourceDatabasePopulator(new ClassPathResource("legacy/baseline-elections.sql"))
+			.execute(new DriverManagerDataSource(url, "sa", "s"));
+		context = new SpringApplicationBuilder(Application.class)
+			.web(WebApplicationType.NONE)
+			.profiles("test")
+			.run("--spring.datasource.url=" + url, "--spring.jpa.hibernate.ddl-auto=update");
+		jdbc = context.getBean(JdbcTemplate.class);
+		electionRepo = context.getBean(ElectionRepository.class);
+		ballotRepo = context.getBean(BallotRepository.class);
+	}
+
+	@AfterAll
+	static void close() {
+		context.close();
+	}
+
+	@Test
+	void fillsStateAndVersion() {
+		assertEquals(ElectionState.FINISHED, election(1).getState());
+		assertEquals(ElectionState.ONGOING, election(2).getState());
+		assertEquals(ElectionState.ONGOING, election(3).getState());
+		// No status, it starts in the future
+		assertEquals(ElectionState.SCHEDULED, election(4).getState());
+		assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM ELECTIONS WHERE VERSION <> 0", Integer.class));
+	}
+
+	@Test
+	void keysActiveBoardElections() {
+		assertEquals(2L, jdbc.queryForObject("SELECT ACTIVE_BOARD_HOA_ID FROM ELECTIONS WHERE ELECTION_ID = 2",
+			Long.class));
+		assertEquals(3L, jdbc.queryForObject("SELECT ACTIVE_BOARD_HOA_ID FROM ELECTIONS WHERE ELECTION_ID = 6",
+			Long.class));
+		assertNull(jdbc.queryForObject("SELECT ACTIVE_BOARD_HOA_ID FROM ELECTIONS WHERE ELECTION_ID = 1", Long.class));
+		assertEquals(2, electionRepo.getBoardElectionByHoaId(2).orElseThrow().getElectionId());
+	}
+
+	@Test
+	void finishesOlderDuplicateBoardElection() {
+		Election duplicate = election(5);
+		assertEquals(ElectionState.FINISHED, duplicate.getState());
+		assertNull(jdbc.queryForObject("SELECT ACTIVE_BOARD_HOA_ID FROM ELECTIONS WHERE ELECTION_ID = 5", Long.class));
+		// Its outcome would replace the board the newest election chooses
+		assertFalse(duplicate.isOutcomePending());
+		assertEquals(0, context.getBean(LegacyElectionMigration.class).migrateActiveBoards());
+	}
+
+	@Test
+	void legacyOutcomesAreNotPending() {
+		// The previous version applied the outcome when it concluded the election
+		assertFalse(election(1).isOutcomePending());
+		assertTrue(electionRepo.findPendingOutcomes(PageRequest.of(0, 10)).isEmpty());
+	}
+
+	@Test
+	void movesLegacyBallotsIntoLedger() {
+		assertEquals(Map.of("a", "x", "b", "y", "c", "x"), choices(2));
+		assertEquals(Map.of("a", "T", "b", "F", "c", "T"), choices(3));
+		assertEquals(3, election(2).getVoteCount());
+		assertEquals(Map.of("x", 2, "y", 1), election(2).getTally());
+		assertEquals(3, election(3).getVoteCount());
+		assertEquals(Map.of("yes", 2, "no", 1), election(3).getTally());
+		assertEquals(Map.of("yes", 0, "no", 0), election(4).getTally());
+		assertNull(jdbc.queryForObject("SELECT VOTES FROM ELECTIONS WHERE ELECTION_ID = 2", String.class));
+	}
+
+	@Test
+	void migratesOnlyOnce() {
+		int ballots = ballotRepo.findAll().size();
+
+		context.getBean(LegacyElectionMigration.class).migrate();
+
+		assertEquals(ballots, ballotRepo.findAll().size());
+		assertEquals(Map.of("x", 2, "y", 1), election(2).getTally());
+	}
+
+	@Test
+	void keepsBallotsAlreadyInLedger() {
+		LegacyElectionMigration migration = context.getBean(LegacyElectionMigration.class);
+		int proposalId = electionRepo.save(new Proposal("ledger", "desc", 1, LocalDateTime.now())).getElectionId();
+		ballotRepo.save(new Ballot(proposalId, "a", "F", LocalDateTime.now()));
+		// Written by an instance of the previous version that still ran next to this one
+		jdbc.update("UPDATE ELECTIONS SET VOTES = ? WHERE ELECTION_ID = ?", "a=T,b=T", proposalId);
+
+		assertEquals(1, migration.migrateVotes());
+
+		assertEquals(Map.of("a", "F", "b", "T"), choices(proposalId));
+		assertEquals(2, election(proposalId).getVoteCount());
+		assertEquals(0, migration.migrateVotes());
+	}
+
+	@Test
+	void countsProposalBallotsFromLedger() {
+		int proposalId = electionRepo.save(new Proposal("counted", "desc", 1, LocalDateTime.now())).getElectionId();
+		ballotRepo.save(new Ballot(proposalId, "a", "T", LocalDateTime.now()));
+		ballotRepo.save(new Ballot(proposalId, "b", "F", LocalDateTime.now()));
+		// Columns of a subclass are nullable in the single table
+		jdbc.update("UPDATE ELECTIONS SET YES_VOTES = NULL, NO_VOTES = NULL WHERE ELECTION_ID = ?", proposalId);
+
+		assertEquals(1, context.getBean(LegacyElectionMigration.class).migrateCounters());
+
+		assertEquals(Map.of("yes", 1, "no", 1), election(proposalId).getTally());
+	}
+
+	@Test
+	void storesNewElections() {
+		Proposal proposal = electionRepo.save(new Proposal("new", "desc", 1, LocalDateTime.now()));
+
+		assertEquals(ElectionState.SCHEDULED, election(proposal.getElectionId()).getState());
+	}
+
+	private static Election election(int electionId) {
+		return electionRepo.findByElectionId(electionId).orElseThrow();
+	}
+
+	private static Map<String, String> choices(int electionId) {
+		return ballotRepo.findAllByElectionId(electionId).stream()
+			.collect(Collectors.toMap(Ballot::getMemberId, Ballot::getChoice));
+	}
+}
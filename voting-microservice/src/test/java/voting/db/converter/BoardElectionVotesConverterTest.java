@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import voting.annotations.TestSuite;
 import voting.db.converters.BoardElectionVotesConverter;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,12 +25,12 @@ class BoardElectionVotesConverterTest {
 
         map = Map.of(CHAD, "testChad");
         res = sut.convertToDatabaseColumn(map);
-        assertEquals("chad=testChad", res);
+        assertTrue(res.startsWith("#1"));
+        assertEquals(map, sut.convertToEntityAttribute(res));
 
-        map = Map.of(CHAD, "testChad", "chad2", "testChad2");
-        String finalRes = sut.convertToDatabaseColumn(map);
-        assertTrue(() -> finalRes.equals("chad=testChad,chad2=testChad2")
-                || finalRes.equals("chad2=testChad2,chad=testChad"));
+        map = Map.of(CHAD, "testChad", "chad2", "testChad2", "chad3", "testChad");
+        res = sut.convertToDatabaseColumn(map);
+        assertEquals(map, sut.convertToEntityAttribute(res));
     }
 
     @Test
@@ -52,4 +53,19 @@ class BoardElectionVotesConverterTest {
         assertTrue(map.containsKey("chad2"));
         assertEquals("testChad2", map.get("chad2"));
     }
+
+    @Test
+    void separatorsInIdsTest() {
+        Map<String, String> map = Map.of("a,b=c", "d=e,f", "\u00fc", "");
+        assertEquals(map, sut.convertToEntityAttribute(sut.convertToDatabaseColumn(map)));
+    }
+
+    @Test
+    void largeElectionTest() {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < 1000; i++) map.put("member" + i, "candidate" + i % 150);
+        String res = sut.convertToDatabaseColumn(map);
+        assertEquals(map, sut.convertToEntityAttribute(res));
+        assertTrue(res.length() < new StringBuilder().append(map).length());
+    }
 }
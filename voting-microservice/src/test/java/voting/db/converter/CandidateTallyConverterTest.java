@@ -0,0 +1,38 @@
+package voting.db.converter;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+import voting.db.converters.CandidateTallyConverter;
+import voting.domain.CandidateTally;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class CandidateTallyConverterTest {
+    CandidateTallyConverter sut = new CandidateTallyConverter();
+
+    @Test
+    void convertToDatabaseColumnTest() {
+        assertEquals("", sut.convertToDatabaseColumn(new CandidateTally()));
+        assertEquals("", sut.convertToDatabaseColumn(null));
+
+        CandidateTally tally = new CandidateTally();
+        tally.add("chad");
+        tally.add("chad");
+        tally.add("chad2");
+        String column = sut.convertToDatabaseColumn(tally);
+        assertTrue(column.startsWith("#1"));
+        assertEquals(tally.asMap(), sut.convertToEntityAttribute(column).asMap());
+    }
+
+    @Test
+    void convertToEntityAttributeTest() {
+        assertTrue(sut.convertToEntityAttribute("").asMap().isEmpty());
+        assertTrue(sut.convertToEntityAttribute(null).asMap().isEmpty());
+        assertEquals(Map.of("chad", 2, "chad2", 1), sut.convertToEntityAttribute("chad=2,chad2=1").asMap());
+    }
+}
@@ -25,7 +25,8 @@ class CandidatesConverterTest {
         candidates.add("test1");
         candidates.add("test2");
         result = sut.convertToDatabaseColumn(candidates);
-        assertEquals("test1,test2", result);
+        assertTrue(result.startsWith("#1"));
+        assertEquals(candidates, sut.convertToEntityAttribute(result));
     }
 
     @Test
@@ -39,4 +40,13 @@ class CandidatesConverterTest {
         assertEquals(2, candidates.size());
         assertTrue(candidates.containsAll(List.of("test1", "test2")));
     }
+
+    @Test
+    void keepsOrderAndSeparatorsTest() {
+        List<String> candidates = List.of("b,1", "a=2", "c");
+        List<String> result = sut.convertToEntityAttribute(sut.convertToDatabaseColumn(candidates));
+        assertEquals(candidates, result);
+        result.add("d");
+        assertEquals(4, result.size());
+    }
 }
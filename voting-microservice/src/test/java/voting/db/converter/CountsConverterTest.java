@@ -0,0 +1,57 @@
+package voting.db.converter;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+import voting.db.converters.CountsConverter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class CountsConverterTest {
+    CountsConverter sut = new CountsConverter();
+
+    @Test
+    void convertToDatabaseColumnTest() {
+        assertEquals("", sut.convertToDatabaseColumn(Map.of()));
+        assertEquals("", sut.convertToDatabaseColumn(null));
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("yes", 3);
+        counts.put("no", 0);
+        String column = sut.convertToDatabaseColumn(counts);
+        assertTrue(column.startsWith("#1"));
+        Map<String, Integer> read = sut.convertToEntityAttribute(column);
+        assertEquals(counts, read);
+        assertEquals(List.of("yes", "no"), List.copyOf(read.keySet()));
+    }
+
+    @Test
+    void optionWithSeparatorsTest() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("a,b=1", 300);
+        counts.put("#1", 2);
+        assertEquals(counts, sut.convertToEntityAttribute(sut.convertToDatabaseColumn(counts)));
+    }
+
+    @Test
+    void convertToEntityAttributeTest() {
+        assertTrue(sut.convertToEntityAttribute("").isEmpty());
+        assertTrue(sut.convertToEntityAttribute(null).isEmpty());
+        Map<String, Integer> counts = sut.convertToEntityAttribute("b=0,a=2");
+        assertEquals(Map.of("a", 2, "b", 0), counts);
+        assertEquals(List.of("b", "a"), List.copyOf(counts.keySet()));
+    }
+
+    @Test
+    void legacyOptionWithCommaTest() {
+        Map<String, Integer> counts = sut.convertToEntityAttribute("smith, john=2,doe=1");
+        assertEquals(Map.of("smith, john", 2, "doe", 1), counts);
+        assertEquals(List.of("smith, john", "doe"), List.copyOf(counts.keySet()));
+    }
+}
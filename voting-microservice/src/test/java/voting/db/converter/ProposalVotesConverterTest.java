@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import voting.annotations.TestSuite;
 import voting.db.converters.ProposalVotesConverter;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,11 +25,12 @@ class ProposalVotesConverterTest {
 
         map = Map.of(CHAD, false);
         res = sut.convertToDatabaseColumn(map);
-        assertEquals(CHAD + "=F", res);
+        assertTrue(res.startsWith("#1"));
+        assertEquals(map, sut.convertToEntityAttribute(res));
 
         map = Map.of(CHAD, true, "chad2", false);
-        String finalRes = sut.convertToDatabaseColumn(map);
-        assertTrue(() -> finalRes.equals("chad2=F,chad=T") || finalRes.equals("chad=T,chad2=F"));
+        res = sut.convertToDatabaseColumn(map);
+        assertEquals(map, sut.convertToEntityAttribute(res));
     }
 
     @Test
@@ -51,4 +53,11 @@ class ProposalVotesConverterTest {
         assertTrue(map.containsKey("chad2"));
         assertEquals(true, map.get("chad2"));
     }
+
+    @Test
+    void choicesAcrossBitsetBytesTest() {
+        Map<String, Boolean> map = new HashMap<>();
+        for (int i = 0; i < 17; i++) map.put("m=" + i + ",", i % 3 == 0);
+        assertEquals(map, sut.convertToEntityAttribute(sut.convertToDatabaseColumn(map)));
+    }
 }
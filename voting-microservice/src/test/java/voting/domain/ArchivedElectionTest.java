@@ -0,0 +1,80 @@
+package voting.domain;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+import voting.exceptions.CannotProceedVote;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class ArchivedElectionTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 10, 0);
+	private static final LocalDateTime NOW = LocalDateTime.of(2022, 1, 1, 10, 0);
+
+	@Test
+	void restoresBoardElection() throws CannotProceedVote {
+		BoardElection election = new BoardElection("Board", "Yearly", 4, START, 1, List.of("a", "b"));
+		election.setElectionId(7);
+		election.setStatus("ongoing");
+		election.vote("m1", "a");
+		election.vote("m2", "b");
+		election.vote("m3", "b");
+		election.conclude();
+		List<Ballot> ballots = List.of(new Ballot(7, "m1", "a", START), new Ballot(7, "m2", "b", START),
+			new Ballot(7, "m3", "b", START));
+
+		ArchivedElection archived = ArchivedElection.of(election, ballots, NOW);
+		assertEquals(7, archived.getElectionId());
+		assertEquals(4, archived.getHoaId());
+		assertEquals(3, archived.getBallots());
+		assertEquals(NOW, archived.getArchivedAt());
+
+		BoardElection restored = (BoardElection) archived.restore();
+		assertEquals(7, restored.getElectionId());
+		assertEquals("Board", restored.getName());
+		assertEquals("Yearly", restored.getDescription());
+		assertEquals(START, restored.getScheduledFor());
+		assertEquals("finished", restored.getStatus());
+		assertEquals(List.of("a", "b"), restored.getCandidates());
+		assertEquals(3, restored.getVoteCount());
+		assertEquals(Map.of("a", 1, "b", 2), restored.getTally());
+		assertEquals(election.getVotes(), restored.getVotes());
+	}
+
+	@Test
+	void restoresProposal() {
+		Proposal proposal = new Proposal("Fence", "Paint it", 4, START);
+		proposal.setElectionId(8);
+		proposal.setStatus("ongoing");
+		proposal.vote("m1", "true");
+		proposal.vote("m2", "false");
+		proposal.conclude();
+
+		Proposal restored = (Proposal) ArchivedElection.of(proposal, List.of(new Ballot(8, "m1", "true", START),
+			new Ballot(8, "m2", "false", START)), NOW).restore();
+		assertEquals("finished", restored.getStatus());
+		assertEquals(proposal.isWinningChoice(), restored.isWinningChoice());
+		assertEquals(Map.of("m1", true, "m2", false), restored.getVotes());
+		assertEquals(2, restored.getVoteCount());
+	}
+
+	@Test
+	void compressesBallots() {
+		Proposal proposal = new Proposal("Fence", "Paint it", 4, START);
+		proposal.setStatus("finished");
+		List<Ballot> ballots = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) ballots.add(new Ballot(0, "member" + i, "true", START));
+
+		ArchivedElection archived = ArchivedElection.of(proposal, ballots, NOW);
+		assertTrue(archived.getCompressedSize() < 1000 * "member000".length());
+		assertEquals(1000, archived.restore().getVoteCount());
+	}
+}
@@ -0,0 +1,36 @@
+package voting.domain;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class BallotTest {
+
+	@Test
+	void emptyBallot() {
+		Ballot ballot = new Ballot(1, "chad");
+		assertEquals(1, ballot.getElectionId());
+		assertEquals("chad", ballot.getMemberId());
+		assertNull(ballot.getChoice());
+		assertNull(ballot.getCastAt());
+	}
+
+	@Test
+	void cast() {
+		LocalDateTime first = LocalDateTime.of(2022, 12, 1, 10, 0);
+		LocalDateTime second = first.plusMinutes(5);
+		Ballot ballot = new Ballot(1, "chad", "T", first);
+		assertEquals("T", ballot.getChoice());
+		assertEquals(first, ballot.getCastAt());
+
+		ballot.cast("F", second);
+		assertEquals("F", ballot.getChoice());
+		assertEquals(second, ballot.getCastAt());
+	}
+}
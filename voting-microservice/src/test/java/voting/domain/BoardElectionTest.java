@@ -3,15 +3,21 @@ package voting.domain;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import voting.annotations.TestSuite;
+import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ThereIsNoVote;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static voting.annotations.TestSuite.TestType.UNIT;
@@ -40,6 +46,19 @@ class BoardElectionTest {
 		assertEquals(new ArrayList<>(List.of("4", "5")), boardElection.getCandidates());
 	}
 
+	@Test
+	void parseChoiceFollowsCandidates() throws CannotProceedVote {
+		assertEquals("1", boardElection.parseChoice("1"));
+		assertThrows(CannotProceedVote.class, () -> boardElection.parseChoice("4"));
+		boardElection.addParticipant("4");
+		assertEquals("4", boardElection.parseChoice("4"));
+		boardElection.removeParticipant("1");
+		assertThrows(CannotProceedVote.class, () -> boardElection.parseChoice("1"));
+		boardElection.setCandidates(new ArrayList<>(List.of("5")));
+		assertEquals("5", boardElection.parseChoice("5"));
+		assertThrows(CannotProceedVote.class, () -> boardElection.parseChoice(null));
+	}
+
 	@Test
 	void getVotesTest() {
 		assertTrue(boardElection.getVotes().isEmpty());
@@ -118,6 +137,21 @@ class BoardElectionTest {
 		assertTrue(boardElection.getVotes().isEmpty());
 	}
 
+	@Test
+	void restoreBallot() {
+		boardElection.restoreBallot("1", "2");
+		assertEquals("2", boardElection.getVotes().get("1"));
+		assertEquals(0, boardElection.getVoteCount());
+	}
+
+	@Test
+	void ballotOf() {
+		boardElection.setStatus("ongoing");
+		boardElection.vote("1", "2");
+		assertEquals("2", boardElection.ballotOf("1"));
+		assertNull(boardElection.ballotOf("0"));
+	}
+
 	@Test
 	void findOutcome() {
 		boardElection.setStatus("ongoing");
@@ -149,6 +183,71 @@ class BoardElectionTest {
 		}
 	}
 
+	@Test
+	void tallyFollowsVotes() throws ThereIsNoVote {
+		boardElection.setStatus("ongoing");
+		boardElection.vote("a", "1");
+		boardElection.vote("b", "1");
+		boardElection.vote("c", "2");
+		assertEquals(Map.of("1", 2, "2", 1), boardElection.getTally());
+
+		// Changing a vote moves it to the new candidate
+		boardElection.vote("a", "2");
+		assertEquals(Map.of("1", 1, "2", 2), boardElection.getTally());
+
+		boardElection.removeVote("b");
+		assertEquals(Map.of("2", 2), boardElection.getTally());
+		assertEquals(2, boardElection.getVoteCount());
+	}
+
+	@Test
+	void repeatedVoteKeepsTally() {
+		boardElection.setStatus("ongoing");
+		boardElection.vote("a", "1");
+		boardElection.vote("a", "1");
+		assertEquals(Map.of("1", 1), boardElection.getTally());
+		assertEquals(1, boardElection.getVoteCount());
+	}
+
+	@Test
+	void findOutcomeMatchesRecount() throws ThereIsNoVote {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			List<String> candidates = new ArrayList<>();
+			int amountOfCandidates = 1 + random.nextInt(8);
+			for (int i = 0; i < amountOfCandidates; i++) candidates.add("c" + random.nextInt(100));
+			BoardElection election = new BoardElection("BoardElection", "TestExample", 1,
+					LocalDateTime.now(), 1 + random.nextInt(4), candidates);
+			election.setStatus("ongoing");
+			// Few candidates and voters, so ties are frequent
+			for (int i = 0; i < 40; i++) {
+				String member = "m" + random.nextInt(15);
+				if (random.nextInt(5) == 0 && election.getVotes().containsKey(member)) election.removeVote(member);
+				else election.vote(member, candidates.get(random.nextInt(candidates.size())));
+				assertEquals(recount(election), election.findOutcome(), "Round " + round + ", vote " + i);
+			}
+		}
+	}
+
+	/**
+	 * Reference implementation that counts all ballots, as findOutcome did before the live tally
+	 */
+	private static Set<String> recount(BoardElection election) {
+		Map<String, String> votes = election.getVotes();
+		List<String> candidates = election.getCandidates();
+		var votesByCandidate = votes.entrySet().stream()
+				.collect(Collectors.toMap(Map.Entry::getValue,
+						e -> votes.values().stream().filter(ee -> ee.equals(e.getValue())).count(),
+						Long::sum));
+		return votesByCandidate.entrySet()
+				.stream()
+				.sorted(Comparator.comparing(i -> candidates.indexOf(i.getKey())))
+				.sorted(Comparator.comparing(i -> -i.getValue()))
+				.limit(Math.min(election.getAmountOfWinners(), candidates.size()))
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toSet());
+	}
+
 	@Test
 	void conclude() {
 		Set<String> ans = boardElection.conclude();
@@ -156,4 +255,18 @@ class BoardElectionTest {
 		assertTrue(ans.isEmpty());
 	}
 
-}
\ No newline at end of file
+	@Test
+	void snapshotIsIndependent() {
+		boardElection.setStatus("ongoing");
+		boardElection.vote("a", "1");
+		BoardElection copy = boardElection.snapshot();
+		boardElection.vote("b", "2");
+		boardElection.addParticipant("3");
+
+		assertEquals(2, copy.getAmountOfWinners());
+		assertEquals(List.of("0", "1", "2"), copy.getCandidates());
+		assertEquals(1, copy.getVoteCount());
+		assertEquals(Map.of("a", "1"), copy.getVotes());
+		assertEquals(Map.of("1", 1), copy.getTally());
+	}
+}
@@ -0,0 +1,64 @@
+package voting.domain;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class CandidateTallyTest {
+
+	@Test
+	void addAndRemove() {
+		CandidateTally tally = new CandidateTally();
+		tally.add("1");
+		tally.add("1");
+		tally.add("2");
+		assertEquals(2, tally.countOf("1"));
+		assertEquals(1, tally.countOf("2"));
+
+		tally.remove("2");
+		tally.remove("3");
+		assertEquals(0, tally.countOf("2"));
+		assertEquals(Map.of("1", 2), tally.asMap());
+	}
+
+	@Test
+	void fromCountsDropsEmptyCandidates() {
+		CandidateTally tally = new CandidateTally(Map.of("1", 3, "2", 0));
+		assertEquals(Map.of("1", 3), tally.asMap());
+	}
+
+	@Test
+	void topByCount() {
+		CandidateTally tally = new CandidateTally(Map.of("a", 1, "b", 3, "c", 2));
+		assertEquals(Set.of("b", "c"), tally.top(2, List.of("a", "b", "c")));
+		assertEquals(Set.of("a", "b", "c"), tally.top(5, List.of("a", "b", "c")));
+		assertTrue(tally.top(0, List.of("a", "b", "c")).isEmpty());
+	}
+
+	@Test
+	void topTieBrokenByApplicationOrder() {
+		CandidateTally tally = new CandidateTally(Map.of("a", 2, "b", 2, "c", 2));
+		assertEquals(Set.of("c", "b"), tally.top(2, List.of("c", "b", "a")));
+		assertEquals(Set.of("b"), tally.top(1, List.of("b", "a", "c")));
+	}
+
+	@Test
+	void equalsAndHashCode() {
+		CandidateTally tally = new CandidateTally(Map.of("a", 2));
+		CandidateTally other = new CandidateTally();
+		other.add("a");
+		assertNotEquals(tally, other);
+		other.add("a");
+		assertEquals(tally, other);
+		assertEquals(tally.hashCode(), other.hashCode());
+	}
+}
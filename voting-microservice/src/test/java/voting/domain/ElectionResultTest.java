@@ -0,0 +1,61 @@
+package voting.domain;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class ElectionResultTest {
+
+	private static final LocalDateTime TIME = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+	@Test
+	void ofProposal() {
+		Proposal proposal = new Proposal("name", "desc", 3, TIME);
+		proposal.setStatus("ongoing");
+		proposal.vote("a", true);
+		proposal.vote("b", true);
+		proposal.vote("c", false);
+
+		ElectionResult result = ElectionResult.of(proposal, proposal.conclude(), TIME);
+		assertEquals(3, result.getHoaId());
+		assertEquals("name", result.getName());
+		assertEquals("proposal", result.getType());
+		assertEquals(3, result.getTurnout());
+		assertEquals(Map.of("yes", 2, "no", 1), result.getCounts());
+		assertEquals(List.of("yes"), result.getWinners());
+		assertEquals(TIME, result.getConcludedAt());
+	}
+
+	@Test
+	void ofBoardElection() {
+		BoardElection board = new BoardElection("name", "desc", 3, TIME, 2,
+			new ArrayList<>(List.of("x", "y", "z")));
+		board.setStatus("ongoing");
+		board.vote("a", "z");
+		board.vote("b", "z");
+		board.vote("c", "x");
+
+		ElectionResult result = ElectionResult.of(board, board.conclude(), null);
+		assertEquals("board", result.getType());
+		assertEquals(3, result.getTurnout());
+		assertEquals(Map.of("x", 1, "y", 0, "z", 2), result.getCounts());
+		assertEquals(List.of("x", "z"), result.getWinners());
+		assertNull(result.getConcludedAt());
+	}
+
+	@Test
+	void ofBoardElectionKeepsApplicationOrder() {
+		BoardElection board = new BoardElection("name", "desc", 3, TIME, 1, new ArrayList<>(List.of("x", "y")));
+		assertEquals(List.of("y"), ElectionResult.of(board, Set.of("y"), TIME).getWinners());
+	}
+}
@@ -8,7 +8,10 @@ import org.junit.jupiter.api.Test;
 import voting.annotations.TestSuite;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static voting.annotations.TestSuite.TestType.UNIT;
 
 
@@ -39,6 +42,21 @@ class ElectionTest {
 		assertEquals(0, boardElection.getElectionId());
 	}
 
+	@Test
+	void loadedWithoutStateCountsAsStartedOrScheduled() {
+		Proposal started = new Proposal("p", "d", 1, LocalDateTime.now().minusDays(1));
+		started.setState(null);
+		started.defaultState();
+		assertEquals(ElectionState.ONGOING, started.getState());
+		Proposal upcoming = new Proposal("p", "d", 1, LocalDateTime.now().plusDays(1));
+		upcoming.setState(null);
+		upcoming.defaultState();
+		assertEquals(ElectionState.SCHEDULED, upcoming.getState());
+		upcoming.setStatus("finished");
+		upcoming.defaultState();
+		assertEquals(ElectionState.FINISHED, upcoming.getState());
+	}
+
 	@Test
 	void getHoaId() {
 		assertEquals(1, boardElection.getHoaId());
@@ -97,6 +115,27 @@ class ElectionTest {
 	void setStatus() {
 		boardElection.setStatus("finished");
 		assertEquals("finished", boardElection.getStatus());
+		assertEquals(ElectionState.FINISHED, boardElection.getState());
+	}
+
+	@Test
+	void finishingMakesOutcomePending() {
+		assertFalse(proposal.isOutcomePending());
+		proposal.setStatus("finished");
+		assertTrue(proposal.isOutcomePending());
+		assertTrue(proposal.acknowledgeOutcome());
+		assertFalse(proposal.isOutcomePending());
+		// Already finished, nothing new to apply
+		proposal.setStatus("finished");
+		assertFalse(proposal.isOutcomePending());
+		assertFalse(proposal.acknowledgeOutcome());
+	}
+
+	@Test
+	void setState() {
+		proposal.setState(ElectionState.ONGOING);
+		assertEquals("ongoing", proposal.getStatus());
+		assertThrows(IllegalArgumentException.class, () -> proposal.setStatus("closed"));
 	}
 
 	@Test
@@ -121,8 +160,10 @@ class ElectionTest {
 
 	@Test
 	void testHashCode() {
-		// Brute-check
-		assertEquals(boardElection.hashCode(), ("be:0:1:" + STR_BE.hashCode()).hashCode());
+		// Only the id and the type count, like in equals
+		Proposal renamed = new Proposal("renamed", this.description, 2, this.scheduledFor);
+		renamed.electionId = proposal.getElectionId();
+		assertEquals(proposal.hashCode(), renamed.hashCode());
 		// Different subclass
 		assertNotEquals(boardElection.hashCode(), proposal.hashCode());
 		// Same type, different id
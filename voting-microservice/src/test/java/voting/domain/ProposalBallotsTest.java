@@ -0,0 +1,148 @@
+package voting.domain;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class ProposalBallotsTest {
+
+	@Test
+	void putReplacesChoice() {
+		ProposalBallots ballots = new ProposalBallots();
+		assertNull(ballots.put("a", true));
+		assertNull(ballots.put("b", false));
+		assertTrue(ballots.put("a", false));
+		assertEquals(2, ballots.size());
+		assertEquals(0, ballots.yesCount());
+		assertEquals(2, ballots.noCount());
+		assertEquals(Map.of("a", false, "b", false), ballots);
+	}
+
+	@Test
+	void removeKeepsOtherBallots() {
+		ProposalBallots ballots = new ProposalBallots(Map.of("a", true, "b", false, "c", true));
+		assertTrue(ballots.remove("a"));
+		assertNull(ballots.remove("a"));
+		assertNull(ballots.remove("d"));
+		assertFalse(ballots.containsKey("a"));
+		assertNull(ballots.get("a"));
+		assertEquals(Map.of("b", false, "c", true), ballots);
+		assertEquals(1, ballots.yesCount());
+
+		assertNull(ballots.put("a", false));
+		assertEquals(Map.of("a", false, "b", false, "c", true), ballots);
+	}
+
+	@Test
+	void iteratorRemove() {
+		ProposalBallots ballots = new ProposalBallots(Map.of("a", true, "b", false));
+		Iterator<Map.Entry<String, Boolean>> it = ballots.entrySet().iterator();
+		assertThrows(IllegalStateException.class, it::remove);
+		it.next();
+		it.remove();
+		it.next();
+		it.remove();
+		assertFalse(it.hasNext());
+		assertTrue(ballots.isEmpty());
+		assertEquals(0, ballots.yesCount() + ballots.noCount());
+	}
+
+	@Test
+	void clear() {
+		ProposalBallots ballots = new ProposalBallots(Map.of("a", true));
+		ballots.clear();
+		assertTrue(ballots.isEmpty());
+		assertEquals(0, ballots.yesCount());
+	}
+
+	@Test
+	void countsMatchMap() {
+		ProposalBallots ballots = new ProposalBallots();
+		Map<String, Boolean> expected = new HashMap<>();
+		for (int i = 0; i < 500; i++) {
+			String member = String.valueOf(i % 170);
+			boolean choice = i % 7 < 3;
+			ballots.put(member, choice);
+			expected.put(member, choice);
+			if (i % 11 == 0) {
+				ballots.remove(String.valueOf(i % 50));
+				expected.remove(String.valueOf(i % 50));
+			}
+		}
+		assertEquals(expected, ballots);
+		assertEquals(expected.hashCode(), ballots.hashCode());
+		assertEquals(expected.values().stream().filter(b -> b).count(), ballots.yesCount());
+		assertEquals(expected.values().stream().filter(b -> !b).count(), ballots.noCount());
+	}
+
+	@Test
+	void nullBallotIsRejected() {
+		ProposalBallots ballots = new ProposalBallots();
+		assertThrows(IllegalArgumentException.class, () -> ballots.put(null, true));
+		assertThrows(IllegalArgumentException.class, () -> ballots.put("a", null));
+		assertNull(ballots.get(null));
+		assertFalse(ballots.containsKey(1));
+		assertTrue(ballots.isEmpty());
+	}
+
+	@Test
+	void removedSlotIsReused() {
+		ProposalBallots ballots = new ProposalBallots();
+		for (int round = 0; round < 1000; round++) {
+			ballots.put("member" + round, true);
+			ballots.remove("member" + round);
+		}
+		assertTrue(ballots.isEmpty());
+		ballots.put("member0", false);
+		assertEquals(Map.of("member0", false), ballots);
+	}
+
+	@Test
+	void sharedIndexKeysMemberOnce() {
+		MemberIndex members = new MemberIndex();
+		ProposalBallots first = new ProposalBallots(members);
+		ProposalBallots second = new ProposalBallots(members);
+		first.put("a", true);
+		second.put("b", true);
+		second.put("a", false);
+		assertEquals(2, members.size());
+		assertEquals(Map.of("a", true), first);
+		assertEquals(Map.of("a", false, "b", true), second);
+		assertEquals(1, second.yesCount());
+		assertEquals(1, second.noCount());
+	}
+
+	@Test
+	void withIndexKeepsBallots() {
+		ProposalBallots ballots = new ProposalBallots(Map.of("a", true, "b", false));
+		MemberIndex members = new MemberIndex();
+		ProposalBallots moved = ballots.withIndex(members);
+		assertEquals(Map.of("a", true, "b", false), moved);
+		assertEquals(2, members.size());
+		assertSame(moved, moved.withIndex(members));
+	}
+
+	@Test
+	void copySharesNoState() {
+		ProposalBallots ballots = new ProposalBallots(Map.of("a", true, "b", false));
+		ProposalBallots copy = new ProposalBallots(ballots);
+		copy.put("a", false);
+		copy.put("c", true);
+		assertEquals(Map.of("a", true, "b", false), ballots);
+		assertEquals(Map.of("a", false, "b", false, "c", true), copy);
+		assertEquals(1, ballots.yesCount());
+		assertEquals(1, copy.yesCount());
+	}
+}
@@ -3,13 +3,16 @@ package voting.domain;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import voting.annotations.TestSuite;
+import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ThereIsNoVote;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static voting.annotations.TestSuite.TestType.UNIT;
@@ -37,6 +40,15 @@ class ProposalTest {
 		assertTrue(proposal.isWinningChoice());
 	}
 
+	@Test
+	void parseChoiceTest() throws CannotProceedVote {
+		assertTrue(proposal.parseChoice("T"));
+		assertTrue(proposal.parseChoice("true"));
+		assertFalse(proposal.parseChoice("False"));
+		assertThrows(CannotProceedVote.class, () -> proposal.parseChoice("maybe"));
+		assertThrows(CannotProceedVote.class, () -> proposal.parseChoice(null));
+	}
+
 	@Test
 	void getVotesTest() {
 		assertTrue(proposal.getVotes().isEmpty());
@@ -69,6 +81,16 @@ class ProposalTest {
 		assertEquals(1, proposal.getVoteCount());
 	}
 
+	@Test
+	void changedVoteCountsOnce() {
+		proposal.setStatus("ongoing");
+		proposal.vote("1", true);
+		proposal.vote("1", true);
+		proposal.vote("1", "false");
+		assertEquals(1, proposal.getVoteCount());
+		assertEquals(Map.of("yes", 0, "no", 1), proposal.getTally());
+	}
+
 	@Test
 	void removeVoteFail() {
 		proposal.setStatus("ongoing");
@@ -84,6 +106,25 @@ class ProposalTest {
 		assertTrue(proposal.getVotes().isEmpty());
 	}
 
+	@Test
+	void restoreBallot() {
+		proposal.restoreBallot("1", "T");
+		proposal.restoreBallot("2", "F");
+		assertTrue(proposal.getVotes().get("1"));
+		assertFalse(proposal.getVotes().get("2"));
+		assertEquals(0, proposal.getVoteCount());
+	}
+
+	@Test
+	void ballotOf() {
+		proposal.setStatus("ongoing");
+		proposal.vote("1", true);
+		proposal.vote("2", "false");
+		assertEquals("T", proposal.ballotOf("1"));
+		assertEquals("F", proposal.ballotOf("2"));
+		assertNull(proposal.ballotOf("3"));
+	}
+
 	@Test
 	void findOutcome() {
 		proposal.setStatus("ongoing");
@@ -104,10 +145,65 @@ class ProposalTest {
 		assertTrue(proposal.findOutcome());
 	}
 
+	@Test
+	void findOutcomeWithoutBallots() {
+		proposal.setStatus("ongoing");
+		proposal.vote("1", true);
+		proposal.vote("2", true);
+		proposal.vote("3", false);
+		// Concluded from the database, the ballots stay in the ledger
+		proposal.setVotes(Map.of());
+		assertTrue(proposal.findOutcome());
+	}
+
+	@Test
+	void sharedMemberIndexKeepsBallots() {
+		proposal.setStatus("ongoing");
+		proposal.vote("1", true);
+		MemberIndex members = new MemberIndex();
+		proposal.useMemberIndex(members);
+		proposal.vote("2", false);
+		assertEquals(Map.of("1", true, "2", false), proposal.getVotes());
+		assertEquals(2, members.size());
+	}
+
+	@Test
+	void tallyFollowsVotes() throws ThereIsNoVote {
+		proposal.setStatus("ongoing");
+		proposal.vote("1", true);
+		proposal.vote("2", "false");
+		proposal.vote("3", "T");
+		assertEquals(Map.of("yes", 2, "no", 1), proposal.getTally());
+
+		// Changing a vote moves it to the other side
+		proposal.vote("2", true);
+		assertEquals(Map.of("yes", 3, "no", 0), proposal.getTally());
+
+		proposal.removeVote("1");
+		assertEquals(Map.of("yes", 2, "no", 0), proposal.getTally());
+	}
+
 	@Test
 	void conclude() {
 		boolean ans = proposal.conclude();
 		assertEquals("finished", proposal.getStatus());
 		assertFalse(ans);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void snapshotIsIndependent() {
+		proposal.setStatus("ongoing");
+		proposal.setElectionId(4);
+		proposal.setVersion(3);
+		proposal.vote("a", true);
+		Proposal copy = proposal.snapshot();
+		proposal.vote("b", false);
+
+		assertEquals(proposal, copy);
+		assertEquals(3, copy.getVersion());
+		assertEquals("ongoing", copy.getStatus());
+		assertEquals(1, copy.getVoteCount());
+		assertEquals(Map.of("a", true), copy.getVotes());
+		assertEquals(Map.of("yes", 1, "no", 0), copy.getTally());
+	}
+}
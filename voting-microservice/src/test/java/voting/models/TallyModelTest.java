@@ -0,0 +1,47 @@
+package voting.models;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+import voting.domain.BoardElection;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class TallyModelTest {
+
+    @Test
+    void ofElection() {
+        BoardElection election = new BoardElection("BoardElection", "TestExample", 1,
+                LocalDateTime.now(), 1, new ArrayList<>(List.of("1", "2")));
+        election.setElectionId(3);
+        election.setStatus("ongoing");
+        election.vote("a", "1");
+        TallyModel tally = TallyModel.of(election);
+        assertEquals(3, tally.electionId);
+        assertEquals("ongoing", tally.status);
+        assertEquals(1, tally.voteCount);
+        assertEquals(Map.of("1", 1), tally.counts);
+    }
+
+    @Test
+    void deltaFromNothing() {
+        TallyModel tally = new TallyModel(1, "ongoing", 2, Map.of("1", 2));
+        assertSame(tally, tally.deltaFrom(null));
+    }
+
+    @Test
+    void deltaOnlyHoldsChanges() {
+        TallyModel before = new TallyModel(1, "ongoing", 4, Map.of("1", 2, "2", 1, "3", 1));
+        TallyModel after = new TallyModel(1, "ongoing", 4, Map.of("1", 2, "2", 2, "4", 1));
+        TallyModel delta = after.deltaFrom(before);
+        assertEquals(Map.of("2", 2, "3", 0, "4", 1), delta.counts);
+        assertEquals(4, delta.voteCount);
+    }
+}
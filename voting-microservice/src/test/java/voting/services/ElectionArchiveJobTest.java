@@ -0,0 +1,72 @@
+package voting.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import voting.annotations.TestSuite;
+import voting.db.repos.ElectionRepository;
+import voting.models.ArchiveSummaryModel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class ElectionArchiveJobTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2030, 12, 31, 23, 0);
+
+	private ElectionRepository repository;
+	private ElectionService electionService;
+	private ElectionArchiveJob job;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ElectionRepository.class);
+		electionService = mock(ElectionService.class);
+		job = new ElectionArchiveJob(repository, electionService, 365, 2);
+	}
+
+	@Test
+	void archivesInBatches() {
+		when(repository.findArchivableElectionIds(NOW.minusDays(365))).thenReturn(List.of(1, 2, 3, 4, 5));
+		when(electionService.archiveAll(List.of(1, 2), NOW)).thenReturn(2);
+		when(electionService.archiveAll(List.of(3, 4), NOW)).thenReturn(1);
+		when(electionService.archiveAll(List.of(5), NOW)).thenReturn(1);
+
+		ArchiveSummaryModel summary = job.archiveDue(NOW);
+		assertEquals(NOW.minusDays(365), summary.startedBefore);
+		assertEquals(5, summary.due);
+		assertEquals(4, summary.archived);
+		assertEquals(0, summary.failed);
+		verify(electionService, times(3)).archiveAll(any(), any());
+	}
+
+	@Test
+	void failedBatchIsCounted() {
+		when(repository.findArchivableElectionIds(any())).thenReturn(List.of(1, 2, 3));
+		when(electionService.archiveAll(List.of(1, 2), NOW)).thenThrow(new CannotAcquireLockException("busy"));
+		when(electionService.archiveAll(List.of(3), NOW)).thenReturn(1);
+
+		ArchiveSummaryModel summary = job.archiveDue(NOW);
+		assertEquals(3, summary.due);
+		assertEquals(1, summary.archived);
+		assertEquals(2, summary.failed);
+	}
+
+	@Test
+	void nothingDue() {
+		when(repository.findArchivableElectionIds(any())).thenReturn(List.of());
+		ArchiveSummaryModel summary = job.archiveDue(NOW);
+		assertEquals(0, summary.due);
+		assertEquals(0, summary.archived);
+		verify(electionService, times(0)).archiveAll(any(), any());
+	}
+}
@@ -0,0 +1,156 @@
+package voting.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+import voting.domain.Election;
+import voting.domain.Proposal;
+import voting.exceptions.ElectionDoesNotExist;
+import voting.models.CacheStatsModel;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class ElectionCacheTest {
+
+	private AtomicLong now;
+	private ElectionCache cache;
+
+	@BeforeEach
+	void setUp() {
+		now = new AtomicLong(1_000);
+		cache = new ElectionCache(2, 100, now::get);
+	}
+
+	private static Proposal proposal(int id) {
+		Proposal p = new Proposal("p" + id, "desc", 1, LocalDateTime.now());
+		p.setElectionId(id);
+		return p;
+	}
+
+	@Test
+	void readThrough() throws ElectionDoesNotExist {
+		AtomicInteger loads = new AtomicInteger();
+		Proposal stored = proposal(1);
+		Election first = cache.getOrLoad(1, () -> {
+			loads.incrementAndGet();
+			return stored;
+		});
+		Election second = cache.getOrLoad(1, () -> {
+			loads.incrementAndGet();
+			return stored;
+		});
+		assertEquals(1, loads.get());
+		assertEquals(stored, first);
+		assertNotSame(stored, first);
+		assertEquals(first, second);
+	}
+
+	@Test
+	void loaderFailureIsNotCached() {
+		assertThrows(ElectionDoesNotExist.class, () -> cache.getOrLoad(1, () -> {
+			throw new ElectionDoesNotExist("missing");
+		}));
+		assertEquals(0, cache.stats().size);
+	}
+
+	@Test
+	void loadOvertakenByInvalidationIsNotCached() throws ElectionDoesNotExist {
+		Election loaded = cache.getOrLoad(1, () -> {
+			// The writer commits and invalidates while the reader is still loading the old state
+			cache.invalidateAfterCommit(1);
+			return proposal(1);
+		});
+		assertEquals(proposal(1), loaded);
+		assertTrue(cache.get(1).isEmpty());
+		cache.getOrLoad(1, () -> proposal(1));
+		assertTrue(cache.get(1).isPresent());
+	}
+
+	@Test
+	void loadOvertakenByUncachedWriteIsNotCached() throws ElectionDoesNotExist {
+		cache.getOrLoad(1, () -> {
+			cache.refreshIfPresent(1, () -> proposal(1));
+			return proposal(1);
+		});
+		assertTrue(cache.get(1).isEmpty());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() {
+		cache.put(proposal(1));
+		cache.put(proposal(2));
+		cache.get(1);
+		cache.put(proposal(3));
+		assertTrue(cache.get(1).isPresent());
+		assertTrue(cache.get(2).isEmpty());
+		assertTrue(cache.get(3).isPresent());
+		assertEquals(1, cache.stats().evictions);
+	}
+
+	@Test
+	void expiresAfterTtl() {
+		cache.put(proposal(1));
+		now.addAndGet(99);
+		assertTrue(cache.get(1).isPresent());
+		now.addAndGet(1);
+		assertTrue(cache.get(1).isEmpty());
+	}
+
+	@Test
+	void keepsNewerVersion() {
+		Proposal newer = proposal(1);
+		newer.setVersion(2);
+		Proposal older = proposal(1);
+		older.setVersion(1);
+		cache.put(newer);
+		cache.put(older);
+		assertEquals(2, cache.get(1).orElseThrow().getVersion());
+	}
+
+	@Test
+	void refreshOnlyCachedElections() {
+		cache.refreshIfPresent(1, () -> proposal(1));
+		assertTrue(cache.get(1).isEmpty());
+		cache.put(proposal(2));
+		Proposal updated = proposal(2);
+		updated.setStatus("finished");
+		cache.refreshIfPresent(2, () -> updated);
+		assertEquals("finished", cache.get(2).orElseThrow().getStatus());
+	}
+
+	@Test
+	void invalidate() {
+		cache.put(proposal(1));
+		cache.put(proposal(2));
+		cache.invalidate(1);
+		assertTrue(cache.get(1).isEmpty());
+		cache.invalidateAfterCommit(2);
+		assertTrue(cache.get(2).isEmpty());
+		cache.put(proposal(1));
+		cache.invalidateAll();
+		assertEquals(0, cache.stats().size);
+	}
+
+	@Test
+	void stats() {
+		cache.put(proposal(1));
+		cache.get(1);
+		cache.get(1);
+		cache.get(2);
+		CacheStatsModel stats = cache.stats();
+		assertEquals(2, stats.hits);
+		assertEquals(1, stats.misses);
+		assertEquals(1, stats.size);
+		assertEquals(2, stats.maxSize);
+		assertEquals(2.0 / 3, stats.getHitRatio(), 1e-9);
+	}
+}
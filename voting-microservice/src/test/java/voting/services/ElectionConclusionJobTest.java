@@ -0,0 +1,98 @@
+package voting.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import voting.annotations.TestSuite;
+import voting.db.repos.ElectionRepository;
+import voting.domain.BoardElection;
+import voting.domain.Election;
+import voting.domain.Proposal;
+import voting.models.ConcludedElectionModel;
+import voting.models.ConclusionSummaryModel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class ElectionConclusionJobTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2030, 12, 31, 23, 0);
+
+	private ElectionRepository repository;
+	private ElectionService electionService;
+	private ElectionConclusionJob job;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ElectionRepository.class);
+		electionService = mock(ElectionService.class);
+		ElectionLifecycleScheduler lifecycle = mock(ElectionLifecycleScheduler.class);
+		when(lifecycle.latestStartOverAt(NOW)).thenReturn(NOW.minusDays(7));
+		job = new ElectionConclusionJob(repository, electionService, lifecycle, 2, 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		job.shutdown();
+	}
+
+	@Test
+	void concludesInBatches() {
+		when(repository.findDueElectionIds(NOW.minusDays(7))).thenReturn(List.of(1, 2, 3, 4, 5));
+		when(electionService.concludeAll(List.of(1, 2))).thenReturn(List.of(concluded(1, true), concluded(2, false)));
+		when(electionService.concludeAll(List.of(3, 4)))
+			.thenReturn(List.of(concluded(3, true), concluded(4, List.of("a"))));
+		when(electionService.concludeAll(List.of(5))).thenReturn(List.of(concluded(5, true)));
+
+		ConclusionSummaryModel summary = job.concludeDue(NOW);
+		assertEquals(NOW.minusDays(7), summary.deadline);
+		assertEquals(5, summary.due);
+		assertEquals(5, summary.concluded);
+		assertEquals(0, summary.failed);
+		assertEquals(List.of("a"), summary.results.get(4));
+		assertEquals(List.of(1, 2, 3, 4, 5),
+			summary.elections.stream().map(e -> e.electionId).collect(Collectors.toList()));
+		assertEquals("board", summary.elections.get(3).type);
+		verify(electionService, times(3)).concludeAll(any());
+	}
+
+	@Test
+	void failedBatchIsCounted() {
+		when(repository.findDueElectionIds(any())).thenReturn(List.of(1, 2, 3));
+		when(electionService.concludeAll(List.of(1, 2))).thenThrow(new CannotAcquireLockException("busy"));
+		when(electionService.concludeAll(List.of(3))).thenReturn(List.of(concluded(3, true)));
+
+		ConclusionSummaryModel summary = job.concludeDue(NOW);
+		assertEquals(3, summary.due);
+		assertEquals(1, summary.concluded);
+		assertEquals(2, summary.failed);
+	}
+
+	@Test
+	void nothingDue() {
+		when(repository.findDueElectionIds(any())).thenReturn(List.of());
+		ConclusionSummaryModel summary = job.concludeDue(NOW);
+		assertEquals(0, summary.due);
+		assertEquals(0, summary.concluded);
+		verify(electionService, times(0)).concludeAll(any());
+	}
+
+	private static ConcludedElectionModel concluded(int electionId, Object result) {
+		Election election = result instanceof List
+			? new BoardElection("b", "d", 1, NOW, 1, List.of("a"))
+			: new Proposal("p", "d", 1, NOW);
+		election.setElectionId(electionId);
+		return new ConcludedElectionModel(election, result);
+	}
+}
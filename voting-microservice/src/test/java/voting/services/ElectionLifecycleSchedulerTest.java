@@ -0,0 +1,192 @@
+package voting.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import voting.annotations.TestSuite;
+import voting.db.repos.ElectionRepository;
+import voting.domain.BoardElection;
+import voting.domain.Election;
+import voting.domain.ElectionState;
+import voting.domain.Proposal;
+import voting.exceptions.ElectionDoesNotExist;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class ElectionLifecycleSchedulerTest {
+
+	private static final ZoneId ZONE = ZoneId.of("UTC");
+
+	private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+	private ElectionRepository repository;
+	private ElectionService electionService;
+	private ElectionConclusionJob conclusionJob;
+	private Clock clock;
+	private ElectionLifecycleScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ElectionRepository.class);
+		electionService = mock(ElectionService.class);
+		conclusionJob = mock(ElectionConclusionJob.class);
+		clock = mock(Clock.class);
+		when(clock.getZone()).thenReturn(ZONE);
+		at(START.minusHours(1));
+		scheduler = new ElectionLifecycleScheduler(repository, electionService, conclusionJob, Duration.ofHours(24), true,
+			clock);
+	}
+
+	private void at(LocalDateTime time) {
+		when(clock.millis()).thenReturn(time.atZone(ZONE).toInstant().toEpochMilli());
+	}
+
+	@Test
+	void endOf() {
+		assertEquals(START.plusHours(24), scheduler.endOf(new Proposal("p", "d", 1, START)));
+	}
+
+	@Test
+	void isOverAtEndOfVotingPeriod() {
+		Proposal proposal = new Proposal("p", "d", 1, START);
+		assertFalse(scheduler.isOver(proposal, START.plusHours(24).minusSeconds(1)));
+		assertTrue(scheduler.isOver(proposal, START.plusHours(24)));
+		assertEquals(START, scheduler.latestStartOverAt(START.plusHours(24)));
+	}
+
+	@Test
+	void nothingFiresEarly() throws ElectionDoesNotExist {
+		scheduler.schedule(new Proposal("p", "d", 1, START));
+		assertEquals(0, scheduler.fireDue());
+		assertEquals(2, scheduler.pendingTimers());
+		verify(electionService, never()).open(anyInt());
+	}
+
+	@Test
+	void opensAtStart() throws ElectionDoesNotExist {
+		scheduler.schedule(new Proposal("p", "d", 1, START));
+		at(START);
+		assertEquals(1, scheduler.fireDue());
+		verify(electionService, times(1)).open(0);
+		// Only the conclusion is left
+		assertEquals(1, scheduler.pendingTimers());
+		verify(conclusionJob, never()).conclude(any(), any());
+	}
+
+	@Test
+	void concludesAtEnd() throws ElectionDoesNotExist {
+		scheduler.schedule(new Proposal("p", "d", 1, START));
+		at(START.plusHours(24));
+		assertEquals(2, scheduler.fireDue());
+		verify(electionService, times(1)).open(0);
+		verify(conclusionJob, times(1)).conclude(eq(List.of(0)), any());
+		assertEquals(0, scheduler.pendingTimers());
+	}
+
+	@Test
+	void dueConclusionsAreBatched() {
+		for (int id = 1; id <= 3; id++) {
+			Election board = new BoardElection("b", "d", id, START, 1, new ArrayList<>());
+			board.setElectionId(id);
+			board.setStatus("ongoing");
+			scheduler.schedule(board);
+		}
+		at(START.plusHours(25));
+		assertEquals(3, scheduler.fireDue());
+		verify(conclusionJob, times(1)).conclude(argThat(ids -> ids.containsAll(List.of(1, 2, 3))), any());
+	}
+
+	@Test
+	void ongoingElectionOnlyConcludes() {
+		Election proposal = new Proposal("p", "d", 1, START);
+		proposal.setStatus("ongoing");
+		scheduler.schedule(proposal);
+		assertEquals(1, scheduler.pendingTimers());
+	}
+
+	@Test
+	void finishedElectionIsIgnored() {
+		Election proposal = new Proposal("p", "d", 1, START);
+		proposal.setStatus("finished");
+		scheduler.schedule(proposal);
+		assertEquals(0, scheduler.pendingTimers());
+	}
+
+	@Test
+	void recoversScheduledAndOngoingElections() {
+		Election ongoing = new BoardElection("b", "d", 1, START, 1, new ArrayList<>());
+		ongoing.setStatus("ongoing");
+		when(repository.findAllByStateIn(EnumSet.of(ElectionState.SCHEDULED, ElectionState.ONGOING)))
+			.thenReturn(List.of(new Proposal("p", "d", 1, START), ongoing));
+		assertEquals(2, scheduler.recover());
+		assertEquals(3, scheduler.pendingTimers());
+	}
+
+	@Test
+	void failedStepIsRetried() throws ElectionDoesNotExist {
+		when(electionService.open(0)).thenThrow(new ObjectOptimisticLockingFailureException(Election.class, 0));
+		scheduler.schedule(new Proposal("p", "d", 1, START));
+		at(START);
+		assertEquals(1, scheduler.fireDue());
+		assertEquals(2, scheduler.pendingTimers());
+		at(START.plusMinutes(1));
+		scheduler.fireDue();
+		verify(electionService, times(2)).open(0);
+	}
+
+	@Test
+	void missingElectionIsDropped() throws ElectionDoesNotExist {
+		when(electionService.open(0)).thenThrow(new ElectionDoesNotExist("gone"));
+		scheduler.schedule(new Proposal("p", "d", 1, START));
+		at(START);
+		scheduler.fireDue();
+		assertEquals(1, scheduler.pendingTimers());
+	}
+
+	@Test
+	void failedConclusionIsRetried() {
+		when(conclusionJob.conclude(any(), any())).thenReturn(List.of(0)).thenReturn(List.of());
+		Election proposal = new Proposal("p", "d", 1, START);
+		proposal.setStatus("ongoing");
+		scheduler.schedule(proposal);
+		at(START.plusHours(24));
+		scheduler.fireDue();
+		assertEquals(1, scheduler.pendingTimers());
+		at(START.plusHours(24).plusMinutes(1));
+		scheduler.fireDue();
+		verify(conclusionJob, times(2)).conclude(eq(List.of(0)), any());
+		assertEquals(0, scheduler.pendingTimers());
+	}
+
+	@Test
+	void unavailableConclusionIsRetried() {
+		when(conclusionJob.conclude(any(), any())).thenThrow(new IllegalStateException("pool shut down"));
+		Election proposal = new Proposal("p", "d", 1, START);
+		proposal.setStatus("ongoing");
+		scheduler.schedule(proposal);
+		at(START.plusHours(24));
+		scheduler.fireDue();
+		assertEquals(1, scheduler.pendingTimers());
+	}
+}
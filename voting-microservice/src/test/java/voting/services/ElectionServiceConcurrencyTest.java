@@ -0,0 +1,176 @@
+package voting.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import voting.annotations.TestSuite;
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionRepository;
+import voting.domain.BoardElection;
+import voting.domain.Election;
+import voting.domain.Proposal;
+import voting.exceptions.BoardElectionAlreadyCreated;
+import voting.models.BoardElectionModel;
+import voting.models.RemoveVoteModel;
+import voting.models.TimeModel;
+import voting.models.VotingModel;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.INTEGRATION;
+
+/**
+ * Many threads voting on the same election at once, all of them race for the version of the election row
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestSuite(testType = {INTEGRATION})
+class ElectionServiceConcurrencyTest {
+
+	private static final int THREADS = 8;
+
+	private static final int VOTES_PER_THREAD = 25;
+
+	@Autowired
+	private ElectionService electionService;
+	@Autowired
+	private ElectionRepository electionRepo;
+	@Autowired
+	private BallotRepository ballotRepo;
+	@Autowired
+	private VoteSequencer sequencer;
+	@Autowired
+	private ElectionCache cache;
+
+	private final LocalDateTime now = LocalDateTime.now();
+
+	@AfterEach
+	void flushDatabase() {
+		electionRepo.findAll().forEach(e -> sequencer.evictAfterCommit(e.getElectionId()));
+		cache.invalidateAll();
+		try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:testdb", "sa", "s")) {
+			Statement stmt = conn.createStatement();
+			stmt.executeUpdate("DELETE FROM BALLOTS");
+			stmt.executeUpdate("DELETE FROM ELECTIONS");
+			stmt.executeUpdate("ALTER SEQUENCE HIBERNATE_SEQUENCE RESTART WITH 1");
+			stmt.close();
+		} catch (SQLException e) {
+			System.out.println("SQT error");
+		}
+	}
+
+	@Test
+	void concurrentProposalVotesAreExact() throws Exception {
+		int id = electionRepo.save(new Proposal("name", "desc", 1, now.minusDays(1))).getElectionId();
+
+		runConcurrently(thread -> {
+			for (int i = 0; i < VOTES_PER_THREAD; i++)
+				electionService.vote(new VotingModel(id, member(thread, i), i % 2 == 0 ? "T" : "F"), now);
+		});
+
+		Election e = electionRepo.findByElectionId(id).orElseThrow();
+		int total = THREADS * VOTES_PER_THREAD;
+		assertEquals(total, e.getVoteCount());
+		assertEquals(total, ballotRepo.findAllByElectionId(id).size());
+		assertEquals(THREADS * ((VOTES_PER_THREAD + 1) / 2), e.getTally().get("yes"));
+		assertEquals(THREADS * (VOTES_PER_THREAD / 2), e.getTally().get("no"));
+	}
+
+	@Test
+	void concurrentBoardVotesAndRemovalsAreExact() throws Exception {
+		List<String> candidates = List.of("a", "b", "c");
+		int id = electionRepo.save(new BoardElection("name", "desc", 1, now.minusDays(1), 1,
+				new ArrayList<>(candidates))).getElectionId();
+
+		runConcurrently(thread -> {
+			for (int i = 0; i < VOTES_PER_THREAD; i++) {
+				String memberId = member(thread, i);
+				electionService.vote(new VotingModel(id, memberId, candidates.get(i % 3)), now);
+				if (i % 5 == 0) electionService.vote(new VotingModel(id, memberId, candidates.get((i + 1) % 3)), now);
+				if (i % 7 == 0) electionService.removeVote(new RemoveVoteModel(id, memberId), now);
+			}
+		});
+
+		Map<String, Integer> expected = new HashMap<>();
+		int voters = 0;
+		for (int i = 0; i < VOTES_PER_THREAD; i++) {
+			if (i % 7 == 0) continue;
+			voters++;
+			expected.merge(candidates.get(i % 5 == 0 ? (i + 1) % 3 : i % 3), THREADS, Integer::sum);
+		}
+		Election e = electionRepo.findByElectionId(id).orElseThrow();
+		assertEquals(THREADS * voters, e.getVoteCount());
+		assertEquals(THREADS * voters, ballotRepo.findAllByElectionId(id).size());
+		assertEquals(expected, e.getTally());
+	}
+
+	@Test
+	void concurrentBoardElectionCreationKeepsOne() throws Exception {
+		AtomicInteger created = new AtomicInteger();
+		BoardElectionModel model = new BoardElectionModel("board", "desc", 7,
+				new TimeModel(10, 10, 10, 10, 10, now.getYear() + 2), 1, new ArrayList<>(List.of("a")));
+
+		runConcurrently(thread -> {
+			try {
+				electionService.createBoardElection(model);
+				created.incrementAndGet();
+			} catch (BoardElectionAlreadyCreated e) {
+				// Another thread was first
+			}
+		});
+
+		assertEquals(1, created.get());
+		Election active = electionRepo.getBoardElectionByHoaId(7).orElseThrow();
+		active.setStatus("finished");
+		electionRepo.save(active);
+		electionService.createBoardElection(model);
+		assertEquals(2, electionRepo.count());
+	}
+
+	private static String member(int thread, int i) {
+		return "member" + thread + "-" + i;
+	}
+
+	private void runConcurrently(Worker worker) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Void>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			Callable<Void> task = () -> {
+				start.await();
+				worker.run(thread);
+				return null;
+			};
+			futures.add(pool.submit(task));
+		}
+		start.countDown();
+		for (Future<Void> f : futures) f.get(1, TimeUnit.MINUTES);
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+	}
+
+	@FunctionalInterface
+	private interface Worker {
+		void run(int thread) throws Exception;
+	}
+}
@@ -1,36 +1,63 @@
 package voting.services;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionOperations;
 import voting.annotations.TestSuite;
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionArchiveRepository;
 import voting.db.repos.ElectionRepository;
+import voting.db.repos.ElectionResultRepository;
+import voting.domain.ArchivedElection;
+import voting.domain.Ballot;
 import voting.domain.BoardElection;
 import voting.domain.Election;
+import voting.domain.ElectionResult;
+import voting.domain.ElectionState;
 import voting.domain.Proposal;
 import voting.domain.factories.BoardElectionFactory;
 import voting.exceptions.BoardElectionAlreadyCreated;
 import voting.exceptions.CannotProceedVote;
 import voting.exceptions.ElectionCannotBeCreated;
 import voting.exceptions.ElectionDoesNotExist;
+import voting.exceptions.IdempotencyKeyReused;
 import voting.exceptions.ProposalAlreadyCreated;
 import voting.exceptions.ThereIsNoVote;
+import voting.models.BatchVotingResultModel;
 import voting.models.BoardElectionModel;
+import voting.models.ConcludedElectionModel;
 import voting.models.ElectionModel;
+import voting.models.ElectionPageModel;
+import voting.models.ElectionSummaryModel;
 import voting.models.ProposalModel;
 import voting.models.RemoveVoteModel;
+import voting.models.TallyModel;
 import voting.models.TimeModel;
 import voting.models.VotingModel;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static junit.framework.TestCase.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -51,6 +78,18 @@ class ElectionServiceTest {
 	private VotingModel beVoteModel;
 	private ElectionService electionService;
 	private ElectionRepository repository;
+	private BallotRepository ballotRepository;
+	private LiveResultsPublisher resultsPublisher;
+	private VoteSequencer sequencer;
+	private ElectionLifecycleScheduler lifecycle;
+	private ElectionResultRepository resultRepository;
+	private ElectionCache cache;
+	private IdempotencyStore idempotency;
+	private ElectionArchiveRepository archiveRepository;
+	private AutoCloseable mocks;
+
+	@Captor
+	private ArgumentCaptor<List<ArchivedElection>> archived;
 
 	private static final String EL = "Election";
 
@@ -58,6 +97,7 @@ class ElectionServiceTest {
 
 	@BeforeEach
 	void setUp() {
+		mocks = MockitoAnnotations.openMocks(this);
 		validTM = new TimeModel(10, 10, 10, 10, 10, 10);
 		elModel = new ElectionModel("BoardElection", "TestBoardElection", 1, validTM);
 		beModel = new BoardElectionModel(elModel, 2, new ArrayList<>(List.of("1", "2", "3")));
@@ -69,7 +109,27 @@ class ElectionServiceTest {
 		removeVoteModel = new RemoveVoteModel(0, "chad");
 		repository = mock(ElectionRepository.class);
 		when(repository.save(any())).thenAnswer(i -> i.getArguments()[0]);
-		electionService = new ElectionService(repository);
+		// Elections of these tests are never saved for real, they stay at their first version
+		when(repository.findVersionByElectionId(anyInt())).thenReturn(Optional.of(0L));
+		ballotRepository = mock(BallotRepository.class);
+		resultsPublisher = mock(LiveResultsPublisher.class);
+		cache = new ElectionCache(10, 60_000, System::currentTimeMillis);
+		MemberIndexes memberIndexes = new MemberIndexes();
+		sequencer = new VoteSequencer(repository, ballotRepository, resultsPublisher, cache, memberIndexes,
+			TransactionOperations.withoutTransaction(), 1, 1, 60_000);
+		lifecycle = mock(ElectionLifecycleScheduler.class);
+		resultRepository = mock(ElectionResultRepository.class);
+		when(resultRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
+		idempotency = new IdempotencyStore(10, 60_000, System::currentTimeMillis);
+		archiveRepository = mock(ElectionArchiveRepository.class);
+		electionService = new ElectionService(repository, ballotRepository, resultsPublisher, sequencer, lifecycle,
+			resultRepository, cache, idempotency, archiveRepository, memberIndexes);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		sequencer.shutdown();
+		mocks.close();
 	}
 
 	@Test
@@ -104,6 +164,46 @@ class ElectionServiceTest {
 		verify(repository, times(1)).save(boardElection);
 	}
 
+	@Test
+	void createBoardElectionLosesRace() {
+		beModel = new BoardElectionModel(new ElectionModel(beModel.name, beModel.description, beModel.hoaId,
+				new TimeModel(10, 10, 10, 10, 10,
+						LocalDateTime.now().getYear() + 2)), beModel.amountOfWinners, beModel.candidates);
+		when(repository.getBoardElectionByHoaId(1)).thenReturn(Optional.empty());
+		when(repository.save(any())).thenThrow(new DataIntegrityViolationException("uk_elections_active_board"));
+		assertThrows(BoardElectionAlreadyCreated.class, () -> electionService.createBoardElection(beModel));
+		verify(lifecycle, times(0)).schedule(any());
+	}
+
+	@Test
+	void listElectionsMergesTypesInIdOrder() {
+		LocalDateTime time = LocalDateTime.now();
+		when(repository.findBoardElectionPage(anyLong(), any(), any(), any(), anyInt(), any())).thenReturn(List.of(
+			new ElectionSummaryModel(2, 1, "board", EL, ElectionState.ONGOING, 0, time)));
+		when(repository.findProposalPage(anyLong(), any(), any(), any(), anyInt(), any())).thenReturn(List.of(
+			new ElectionSummaryModel(1, 1, "proposal", EL, ElectionState.SCHEDULED, 0, time),
+			new ElectionSummaryModel(3, 1, "proposal", EL, ElectionState.FINISHED, 0, time)));
+
+		ElectionPageModel page = electionService.listElections(1, null, null, null, null, 0, 2);
+		assertEquals(List.of(1, 2), page.elections.stream().map(e -> e.electionId).collect(Collectors.toList()));
+		assertEquals(2, page.nextAfter);
+		assertEquals("ongoing", page.elections.get(1).status);
+
+		page = electionService.listElections(1, "proposal", "finished", time, time, 0, 5);
+		assertEquals(2, page.elections.size());
+		assertNull(page.nextAfter);
+		verify(repository, times(1)).findBoardElectionPage(anyLong(), any(), any(), any(), anyInt(), any());
+	}
+
+	@Test
+	void listElectionsInvalidFilters() {
+		assertThrows(IllegalArgumentException.class, () -> electionService.listElections(1, "poll", null, null,
+			null, 0, 5));
+		assertThrows(IllegalArgumentException.class, () -> electionService.listElections(1, null, null, null,
+			null, 0, ElectionService.MAX_PAGE_SIZE + 1));
+		verifyNoMoreInteractions(repository);
+	}
+
 	@Test
 	void createProposalInvalidModel() {
 		propModel = new ProposalModel(propModel.name, propModel.description, -1, propModel.scheduledFor);
@@ -165,6 +265,16 @@ class ElectionServiceTest {
 		verify(repository, times(1)).findByElectionId(propVoteModel.electionId);
 	}
 
+	@Test
+	void votePeriodOver() {
+		Election proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("ongoing");
+		when(repository.findByElectionId(propVoteModel.electionId)).thenReturn(Optional.of(proposal));
+		when(lifecycle.isOver(proposal, LocalDateTime.MAX)).thenReturn(true);
+		assertThrows(CannotProceedVote.class, () -> electionService.vote(propVoteModel, LocalDateTime.MAX));
+		assertEquals(0, proposal.getVoteCount());
+	}
+
 	@Test
 	void voteNotACandidate() {
 		BoardElection boardElection = new BoardElection(beModel.name, beModel.description, beModel.hoaId,
@@ -199,6 +309,99 @@ class ElectionServiceTest {
 		verify(repository, times(1)).save(boardElection);
 	}
 
+	@Test
+	void voteRecordsBallot() throws ElectionDoesNotExist, CannotProceedVote {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		when(repository.findByElectionId(propVoteModel.electionId)).thenReturn(Optional.of(proposal));
+		electionService.vote(propVoteModel, LocalDateTime.now());
+		verify(ballotRepository, times(1)).findAllByElectionId(proposal.getElectionId());
+		verify(ballotRepository, times(1)).saveAll(any());
+		verifyNoMoreInteractions(ballotRepository);
+	}
+
+	@Test
+	void votePublishesResults() throws ElectionDoesNotExist, CannotProceedVote {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		when(repository.findByElectionId(propVoteModel.electionId)).thenReturn(Optional.of(proposal));
+		electionService.vote(propVoteModel, LocalDateTime.now());
+		verify(resultsPublisher, times(1)).publish(proposal);
+	}
+
+	@Test
+	void voteUpdatesExistingBallot() throws ElectionDoesNotExist, CannotProceedVote {
+		BoardElection boardElection = new BoardElection(beModel.name, beModel.description, beModel.hoaId,
+				beModel.scheduledFor.createDate(), beModel.amountOfWinners, beModel.candidates);
+		boardElection.setStatus("ongoing");
+		boardElection.vote(beVoteModel.memberId, "2");
+		boardElection.getVotes().clear();
+		Ballot previous = new Ballot(0, beVoteModel.memberId, "2", LocalDateTime.now());
+		when(repository.findByElectionId(beVoteModel.electionId)).thenReturn(Optional.of(boardElection));
+		when(ballotRepository.findAllByElectionId(0)).thenReturn(List.of(previous));
+		assertEquals(1, electionService.vote(beVoteModel, LocalDateTime.now()));
+		assertEquals(beVoteModel.choice, previous.getChoice());
+		verify(ballotRepository, times(1)).saveAll(List.of(previous));
+	}
+
+	@Test
+	void batchVoteMixedBallots() throws ElectionDoesNotExist, CannotProceedVote {
+		BoardElection boardElection = new BoardElection(beModel.name, beModel.description, beModel.hoaId,
+				beModel.scheduledFor.createDate(), beModel.amountOfWinners, beModel.candidates);
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(boardElection));
+		List<VotingModel> batch = List.of(
+			new VotingModel(0, "a", "1"),
+			new VotingModel(0, "b", "42"),
+			new VotingModel(3, "c", "1"),
+			new VotingModel(0, "d", null),
+			new VotingModel(0, "e", "2"),
+			new VotingModel(0, "a", "3"));
+		BatchVotingResultModel result = electionService.vote(0, batch, LocalDateTime.now());
+
+		assertEquals(2, result.voteCount);
+		assertEquals(3, result.accepted);
+		assertEquals(6, result.results.size());
+		assertTrue(result.results.get(0).success);
+		assertFalse(result.results.get(1).success);
+		assertFalse(result.results.get(2).success);
+		assertFalse(result.results.get(3).success);
+		assertTrue(result.results.get(4).success);
+		assertTrue(result.results.get(5).success);
+		assertEquals(Map.of("2", 1, "3", 1), boardElection.getTally());
+		verify(ballotRepository, times(1)).findAllByElectionIdAndMemberIdIn(anyInt(), any());
+		verify(ballotRepository, times(1)).saveAll(any());
+		verify(repository, times(1)).findByElectionId(0);
+		verify(repository, times(1)).save(boardElection);
+	}
+
+	@Test
+	void batchVoteRestoresLedger() throws ElectionDoesNotExist, CannotProceedVote {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("ongoing");
+		proposal.vote("a", true);
+		proposal.getVotes().clear();
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		when(ballotRepository.findAllByElectionIdAndMemberIdIn(anyInt(), any()))
+			.thenReturn(List.of(new Ballot(0, "a", "T", LocalDateTime.now())));
+		electionService.vote(0, List.of(new VotingModel(0, "a", "false")), LocalDateTime.now());
+		assertEquals(Map.of("yes", 0, "no", 1), proposal.getTally());
+	}
+
+	@Test
+	void batchVoteNotExisting() {
+		when(repository.findByElectionId(0)).thenReturn(Optional.empty());
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.vote(0, List.of(beVoteModel),
+			LocalDateTime.now()));
+	}
+
+	@Test
+	void batchVoteEnded() {
+		Election proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("finished");
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		assertThrows(CannotProceedVote.class, () -> electionService.vote(0, List.of(propVoteModel),
+			LocalDateTime.now()));
+		verifyNoMoreInteractions(ballotRepository);
+	}
+
 	@Test
 	void removeVoteSuccessful() throws ElectionDoesNotExist, CannotProceedVote, ThereIsNoVote {
 		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
@@ -211,6 +414,19 @@ class ElectionServiceTest {
 		verify(repository, times(1)).save(proposal);
 	}
 
+	@Test
+	void removeVoteDeletesBallot() throws ElectionDoesNotExist, CannotProceedVote, ThereIsNoVote {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("ongoing");
+		proposal.vote("chad", true);
+		proposal.getVotes().clear();
+		Ballot ballot = new Ballot(0, "chad", "T", LocalDateTime.now());
+		when(repository.findByElectionId(removeVoteModel.electionId)).thenReturn(Optional.of(proposal));
+		when(ballotRepository.findAllByElectionId(0)).thenReturn(List.of(ballot));
+		assertEquals(0, electionService.removeVote(removeVoteModel, LocalDateTime.now()));
+		verify(ballotRepository, times(1)).deleteAll(List.of(ballot));
+	}
+
 	@Test
 	void removeVoteInvalidModel() {
 		removeVoteModel = new RemoveVoteModel(-1, removeVoteModel.memberId);
@@ -269,6 +485,117 @@ class ElectionServiceTest {
 		assertEquals(proposal, electionService.getElection(1));
 	}
 
+	@Test
+	void getElectionRestoresBallots() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(propModel.name, propModel.description, propModel.hoaId,
+				propModel.scheduledFor.createDate());
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		when(ballotRepository.findAllByElectionId(0)).thenReturn(List.of(
+			new Ballot(0, "chad", "T", LocalDateTime.now()), new Ballot(0, "chad2", "F", LocalDateTime.now())));
+		Proposal res = (Proposal) electionService.getElection(0);
+		assertEquals(2, res.getVotes().size());
+		assertTrue(res.getVotes().get("chad"));
+		assertFalse(res.getVotes().get("chad2"));
+	}
+
+	@Test
+	void getElectionCached() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(propModel.name, propModel.description, propModel.hoaId,
+				propModel.scheduledFor.createDate());
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		Election first = electionService.getElection(0);
+		assertEquals(first, electionService.getElection(0));
+		verify(repository, times(1)).findByElectionId(0);
+		verify(ballotRepository, times(1)).findAllByElectionId(0);
+		assertEquals(1, electionService.getCacheStats().hits);
+		assertEquals(1, electionService.getCacheStats().misses);
+	}
+
+	@Test
+	void getTallyFromCache() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(propModel.name, propModel.description, propModel.hoaId,
+				propModel.scheduledFor.createDate());
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		electionService.getElection(0);
+		electionService.getTally(0);
+		verify(repository, times(1)).findByElectionId(0);
+	}
+
+	@Test
+	void concludeInvalidatesCache() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(propModel.name, propModel.description, propModel.hoaId,
+				propModel.scheduledFor.createDate());
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		electionService.getElection(0);
+		electionService.conclude(0);
+		assertEquals("finished", electionService.getElection(0).getStatus());
+		verify(repository, times(3)).findByElectionId(0);
+	}
+
+	@Test
+	void voteWithIdempotencyKeyOnce() throws Exception {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		when(repository.findByElectionId(propVoteModel.electionId)).thenReturn(Optional.of(proposal));
+		assertEquals(1, electionService.vote(propVoteModel, LocalDateTime.now(), "key"));
+		assertEquals(1, electionService.vote(propVoteModel, LocalDateTime.now(), "key"));
+		verify(ballotRepository, times(1)).saveAll(any());
+		assertThrows(IdempotencyKeyReused.class, () -> electionService.vote(beVoteModel, LocalDateTime.now(), "key"));
+
+		assertEquals(0, electionService.removeVote(removeVoteModel, LocalDateTime.now(), "remove"));
+		assertEquals(0, electionService.removeVote(removeVoteModel, LocalDateTime.now(), "remove"));
+		assertEquals(0, proposal.getVoteCount());
+	}
+
+	@Test
+	void failedVoteWithIdempotencyKeyCanBeRetried() {
+		when(repository.findByElectionId(propVoteModel.electionId)).thenThrow(new QueryTimeoutException("down"));
+		assertThrows(QueryTimeoutException.class, () -> electionService.vote(propVoteModel, LocalDateTime.now(), "key"));
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		doReturn(Optional.of(proposal)).when(repository).findByElectionId(propVoteModel.electionId);
+		assertDoesNotThrow(() -> electionService.vote(propVoteModel, LocalDateTime.now(), "key"));
+		assertEquals(1, proposal.getVoteCount());
+	}
+
+	@Test
+	void rejectedVoteWithIdempotencyKeyIsReplayed() {
+		when(repository.findByElectionId(propVoteModel.electionId)).thenReturn(Optional.empty());
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.vote(propVoteModel, LocalDateTime.now(), "key"));
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		when(repository.findByElectionId(propVoteModel.electionId)).thenReturn(Optional.of(proposal));
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.vote(propVoteModel, LocalDateTime.now(), "key"));
+		assertEquals(0, proposal.getVoteCount());
+	}
+
+	@Test
+	void voteRefreshesCache() throws ElectionDoesNotExist, CannotProceedVote {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		when(repository.findByElectionId(propVoteModel.electionId)).thenReturn(Optional.of(proposal));
+		electionService.getElection(0);
+		electionService.vote(propVoteModel, LocalDateTime.now());
+		Proposal cached = (Proposal) electionService.getElection(0);
+		assertEquals(1, cached.getVoteCount());
+		assertFalse(cached.getVotes().get(propVoteModel.memberId));
+	}
+
+	@Test
+	void getTallySuccess() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(propModel.name, propModel.description, propModel.hoaId,
+				propModel.scheduledFor.createDate());
+		proposal.setStatus("ongoing");
+		proposal.vote("chad", true);
+		when(repository.findByElectionId(1)).thenReturn(Optional.of(proposal));
+		TallyModel tally = electionService.getTally(1);
+		assertEquals(1, tally.voteCount);
+		assertEquals(Map.of("yes", 1, "no", 0), tally.counts);
+		verifyNoMoreInteractions(ballotRepository);
+	}
+
+	@Test
+	void getTallyFail() {
+		when(repository.findByElectionId(2)).thenReturn(Optional.empty());
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.getTally(2));
+	}
+
 	@Test
 	void concludeFail() {
 		when(repository.findByElectionId(2)).thenReturn(Optional.empty());
@@ -282,5 +609,206 @@ class ElectionServiceTest {
 		when(repository.findByElectionId(1)).thenReturn(Optional.of(proposal));
 		assertEquals(proposal.conclude(), electionService.conclude(1));
 		verify(repository, times(1)).save(proposal);
+		verify(resultsPublisher, times(1)).publish(proposal);
+	}
+
+	@Test
+	void concludeStoresResult() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("ongoing");
+		proposal.vote("chad", true);
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		electionService.conclude(0);
+		verify(ballotRepository, times(0)).findAllByElectionId(anyInt());
+		ArgumentCaptor<ElectionResult> captor = ArgumentCaptor.forClass(ElectionResult.class);
+		verify(resultRepository, times(1)).save(captor.capture());
+		assertEquals(List.of("yes"), captor.getValue().getWinners());
+		assertEquals("proposal", captor.getValue().getType());
+	}
+
+	@Test
+	void getResultStored() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		ElectionResult stored = ElectionResult.of(proposal, true, LocalDateTime.now());
+		when(resultRepository.findById(0)).thenReturn(Optional.of(stored));
+		assertEquals(stored, electionService.getResult(0));
+		verify(repository, times(0)).findByElectionId(anyInt());
+		verifyNoMoreInteractions(ballotRepository);
+	}
+
+	@Test
+	void getResultBackfillsFinishedElection() throws ElectionDoesNotExist {
+		BoardElection boardElection = new BoardElection(beModel.name, beModel.description, beModel.hoaId,
+				beModel.scheduledFor.createDate(), 1, beModel.candidates);
+		boardElection.setStatus("ongoing");
+		boardElection.vote("chad", "2");
+		boardElection.conclude();
+		when(resultRepository.findById(0)).thenReturn(Optional.empty());
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(boardElection));
+		ElectionResult result = electionService.getResult(0);
+		assertEquals(List.of("2"), result.getWinners());
+		assertEquals(Map.of("1", 0, "2", 1, "3", 0), result.getCounts());
+		verify(resultRepository, times(1)).save(result);
+	}
+
+	@Test
+	void getResultNotConcluded() {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		when(resultRepository.findById(0)).thenReturn(Optional.empty());
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.getResult(0));
+	}
+
+	@Test
+	void getResultFail() {
+		when(resultRepository.findById(2)).thenReturn(Optional.empty());
+		when(repository.findByElectionId(2)).thenReturn(Optional.empty());
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.getResult(2));
+	}
+
+	@Test
+	void concludeAllBatch() {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("ongoing");
+		proposal.vote("chad", true);
+		BoardElection finished = new BoardElection(beModel.name, beModel.description, beModel.hoaId,
+			beModel.scheduledFor.createDate(), beModel.amountOfWinners, beModel.candidates);
+		finished.setStatus("finished");
+		when(repository.findAllById(any())).thenReturn(List.of(proposal, finished));
+		List<ConcludedElectionModel> concluded = electionService.concludeAll(List.of(0, 1));
+		assertEquals(1, concluded.size());
+		assertEquals(0, concluded.get(0).electionId);
+		assertEquals("proposal", concluded.get(0).type);
+		assertEquals(TESTEX, concluded.get(0).description);
+		assertEquals(true, concluded.get(0).result);
+		assertEquals("finished", proposal.getStatus());
+		verify(ballotRepository, times(0)).findAllByElectionIdIn(any());
+		verify(repository, times(1)).saveAll(any());
+		verify(resultRepository, times(1)).saveAll(any());
+		verify(resultsPublisher, times(1)).publish(proposal);
+	}
+
+	@Test
+	void createProposalSchedulesLifecycle() throws ElectionCannotBeCreated, ProposalAlreadyCreated {
+		Proposal proposal = electionService.createProposal(propModel);
+		verify(lifecycle, times(1)).schedule(proposal);
+	}
+
+	@Test
+	void createProposalCachesElection() throws ElectionCannotBeCreated, ProposalAlreadyCreated, ElectionDoesNotExist {
+		Proposal proposal = electionService.createProposal(propModel);
+		assertEquals(proposal, electionService.getElection(proposal.getElectionId()));
+		verify(repository, times(0)).findByElectionId(anyInt());
+	}
+
+	@Test
+	void openScheduledElection() throws ElectionDoesNotExist {
+		Election proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		when(repository.findByElectionId(1)).thenReturn(Optional.of(proposal));
+		assertTrue(electionService.open(1));
+		assertEquals("ongoing", proposal.getStatus());
+		verify(repository, times(1)).save(proposal);
+		verify(resultsPublisher, times(1)).publish(proposal);
+	}
+
+	@Test
+	void openOngoingElection() throws ElectionDoesNotExist {
+		Election proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("ongoing");
+		when(repository.findByElectionId(1)).thenReturn(Optional.of(proposal));
+		assertFalse(electionService.open(1));
+		verify(repository, times(0)).save(proposal);
+	}
+
+	@Test
+	void openFail() {
+		when(repository.findByElectionId(2)).thenReturn(Optional.empty());
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.open(2));
+	}
+
+	@Test
+	void archiveAllMovesFinishedElections() {
+		Proposal ongoing = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		ongoing.setStatus("ongoing");
+		Proposal finished = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		finished.setElectionId(1);
+		finished.setStatus("finished");
+		finished.acknowledgeOutcome();
+		when(repository.findAllById(any())).thenReturn(List.of(ongoing, finished));
+		when(ballotRepository.findAllByElectionIdIn(any()))
+			.thenReturn(List.of(new Ballot(1, "chad", "T", LocalDateTime.now())));
+		when(resultRepository.findAllById(any())).thenReturn(List.of());
+
+		assertEquals(1, electionService.archiveAll(List.of(0, 1), LocalDateTime.now()));
+		verify(archiveRepository, times(1)).saveAll(archived.capture());
+		assertEquals(1, archived.getValue().size());
+		assertEquals(1, archived.getValue().get(0).getBallots());
+		verify(resultRepository, times(1)).saveAll(any());
+		verify(ballotRepository, times(1)).deleteAllOfElections(any());
+		verify(repository, times(1)).deleteAll(List.of(finished));
+	}
+
+	@Test
+	void archiveAllNothingFinished() {
+		Proposal ongoing = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		ongoing.setStatus("ongoing");
+		when(repository.findAllById(any())).thenReturn(List.of(ongoing));
+		assertEquals(0, electionService.archiveAll(List.of(0), LocalDateTime.now()));
+		verifyNoMoreInteractions(archiveRepository);
+		verify(ballotRepository, times(0)).deleteAllOfElections(any());
+	}
+
+	@Test
+	void archiveAllKeepsPendingOutcome() {
+		Proposal finished = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		finished.setStatus("finished");
+		when(repository.findAllById(any())).thenReturn(List.of(finished));
+		assertEquals(0, electionService.archiveAll(List.of(0), LocalDateTime.now()));
+		verify(repository, times(0)).deleteAll(any());
+	}
+
+	@Test
+	void pendingOutcomes() {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setStatus("ongoing");
+		proposal.vote("chad", true);
+		proposal.conclude();
+		when(repository.findPendingOutcomes(any())).thenReturn(List.of(proposal));
+		List<ConcludedElectionModel> pending = electionService.getPendingOutcomes(10);
+		assertEquals(1, pending.size());
+		assertEquals(true, pending.get(0).result);
+		assertThrows(IllegalArgumentException.class, () -> electionService.getPendingOutcomes(0));
+	}
+
+	@Test
+	void acknowledgeOutcome() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.conclude();
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		assertTrue(electionService.acknowledgeOutcome(0));
+		assertFalse(proposal.isOutcomePending());
+		// Acknowledging again, e.g. after the first answer got lost, changes nothing
+		assertFalse(electionService.acknowledgeOutcome(0));
+		verify(repository, times(1)).save(proposal);
+		when(repository.findByElectionId(2)).thenReturn(Optional.empty());
+		assertThrows(ElectionDoesNotExist.class, () -> electionService.acknowledgeOutcome(2));
+	}
+
+	@Test
+	void getElectionFromArchive() throws ElectionDoesNotExist {
+		Proposal proposal = new Proposal(EL, TESTEX, 1, validTM.createDate());
+		proposal.setElectionId(3);
+		proposal.setStatus("ongoing");
+		proposal.vote("chad", "true");
+		proposal.conclude();
+		List<Ballot> ballots = List.of(new Ballot(3, "chad", "true", LocalDateTime.now()));
+		when(repository.findByElectionId(3)).thenReturn(Optional.empty());
+		when(archiveRepository.findById(3)).thenReturn(Optional.of(ArchivedElection.of(proposal, ballots,
+			LocalDateTime.now())));
+
+		Election restored = electionService.getElection(3);
+		assertEquals("finished", restored.getStatus());
+		assertEquals(1, restored.getVoteCount());
+		assertEquals(1, electionService.getTally(3).voteCount);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package voting.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+import voting.exceptions.CannotProceedVote;
+import voting.exceptions.IdempotencyKeyReused;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class IdempotencyStoreTest {
+
+	private static final String MEMBER = "chad";
+
+	private AtomicLong now;
+	private IdempotencyStore store;
+	private AtomicInteger runs;
+
+	@BeforeEach
+	void setUp() {
+		now = new AtomicLong(1_000);
+		store = new IdempotencyStore(2, 100, now::get);
+		runs = new AtomicInteger();
+	}
+
+	private Integer run() {
+		return runs.incrementAndGet();
+	}
+
+	@Test
+	void duplicateReturnsFirstResponse() throws Exception {
+		assertEquals(1, store.submit(MEMBER, 1, "k", "vote:1", this::run).get());
+		assertEquals(1, store.submit(MEMBER, 1, "k", "vote:1", this::run).get());
+		assertEquals(1, runs.get());
+		assertEquals(2, store.submit(MEMBER, 1, "k2", "vote:1", this::run).get());
+	}
+
+	@Test
+	void keyReusedForOtherRequest() throws Exception {
+		store.submit(MEMBER, 1, "k", "vote:1", this::run).get();
+		assertThrows(IdempotencyKeyReused.class, () -> store.submit(MEMBER, 1, "k", "vote:2", this::run));
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void failureIsForgotten() throws Exception {
+		Future<Integer> failed = store.submit(MEMBER, 1, "k", "vote:1", () -> {
+			throw new IllegalStateException("down");
+		});
+		ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+		assertTrue(e.getCause() instanceof IllegalStateException);
+		assertEquals(1, store.submit(MEMBER, 1, "k", "vote:1", this::run).get());
+	}
+
+	@Test
+	void domainRejectionIsRemembered() throws Exception {
+		Future<Integer> rejected = store.submit(MEMBER, 1, "k", "vote:1", () -> {
+			runs.incrementAndGet();
+			throw new CannotProceedVote("Election has been concluded");
+		});
+		ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+		assertTrue(e.getCause() instanceof CannotProceedVote);
+		ExecutionException retry = assertThrows(ExecutionException.class,
+			() -> store.submit(MEMBER, 1, "k", "vote:1", this::run).get());
+		assertSame(e.getCause(), retry.getCause());
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void keysAreScopedByMemberAndElection() throws Exception {
+		store = new IdempotencyStore(10, 100, now::get);
+		assertEquals(1, store.submit(MEMBER, 1, "k", "vote:1", this::run).get());
+		assertEquals(2, store.submit("other", 1, "k", "vote:1", this::run).get());
+		assertEquals(3, store.submit(MEMBER, 2, "k", "vote:2", this::run).get());
+		assertEquals(1, store.submit(MEMBER, 1, "k", "vote:1", this::run).get());
+		assertEquals(3, runs.get());
+	}
+
+	@Test
+	void keysExpire() throws Exception {
+		store.submit(MEMBER, 1, "k", "vote:1", this::run).get();
+		now.addAndGet(100);
+		assertEquals(2, store.submit(MEMBER, 1, "k", "vote:2", this::run).get());
+	}
+
+	@Test
+	void oldestKeysAreDropped() throws Exception {
+		store.submit(MEMBER, 1, "a", "vote:1", this::run).get();
+		store.submit(MEMBER, 1, "b", "vote:1", this::run).get();
+		store.submit(MEMBER, 1, "c", "vote:1", this::run).get();
+		assertEquals(2, store.size());
+		assertEquals(4, store.submit(MEMBER, 1, "a", "vote:1", this::run).get());
+
+		store.clear();
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void concurrentDuplicatesRunOnce() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<Future<Integer>> first = pool.submit(() -> store.submit(MEMBER, 1, "k", "vote:1", () -> {
+			running.countDown();
+			release.await();
+			return run();
+		}));
+		assertTrue(running.await(1, TimeUnit.MINUTES));
+		Future<Integer> duplicate = store.submit(MEMBER, 1, "k", "vote:1", this::run);
+		release.countDown();
+		assertEquals(1, duplicate.get(1, TimeUnit.MINUTES));
+		assertEquals(1, first.get().get());
+		assertEquals(1, runs.get());
+		pool.shutdown();
+	}
+}
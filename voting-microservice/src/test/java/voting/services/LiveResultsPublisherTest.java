@@ -0,0 +1,97 @@
+package voting.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import voting.annotations.TestSuite;
+import voting.domain.Proposal;
+import voting.models.TallyModel;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = UNIT)
+class LiveResultsPublisherTest {
+
+	private ScheduledExecutorService scheduler;
+	private LiveResultsPublisher publisher;
+	private Proposal proposal;
+
+	@BeforeEach
+	void setUp() {
+		scheduler = mock(ScheduledExecutorService.class);
+		publisher = new LiveResultsPublisher(4, scheduler);
+		proposal = new Proposal("Proposal", "TestExample", 1, LocalDateTime.now());
+		proposal.setElectionId(1);
+		proposal.setStatus("ongoing");
+	}
+
+	@Test
+	void subscribeSendsCurrentTally() throws IOException {
+		SseEmitter emitter = mock(SseEmitter.class);
+		publisher.subscribe(emitter, TallyModel.of(proposal));
+		verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+		assertEquals(1, publisher.subscriberCount(1));
+	}
+
+	@Test
+	void publishWithoutSubscribers() {
+		publisher.publish(proposal);
+		verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+	}
+
+	@Test
+	void publishIsCoalesced() throws IOException {
+		SseEmitter emitter = mock(SseEmitter.class);
+		publisher.subscribe(emitter, TallyModel.of(proposal));
+		for (int i = 0; i < 50; i++) {
+			proposal.vote("member" + i, true);
+			publisher.publish(proposal);
+		}
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler, times(1)).schedule(flush.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+		flush.getValue().run();
+		// Initial tally and one delta
+		verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+
+		// The next update is scheduled again
+		proposal.vote("other", false);
+		publisher.publish(proposal);
+		verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void concludedElectionCompletesStream() {
+		SseEmitter emitter = mock(SseEmitter.class);
+		publisher.subscribe(emitter, TallyModel.of(proposal));
+		proposal.conclude();
+		publisher.publish(proposal);
+		ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).schedule(flush.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+		flush.getValue().run();
+		verify(emitter, times(1)).complete();
+	}
+
+	@Test
+	void failingSubscriberIsDropped() throws IOException {
+		SseEmitter emitter = mock(SseEmitter.class);
+		doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+		publisher.subscribe(emitter, TallyModel.of(proposal));
+		assertEquals(0, publisher.subscriberCount(1));
+	}
+}
@@ -0,0 +1,59 @@
+package voting.services;
+
+import org.junit.jupiter.api.Test;
+import voting.annotations.TestSuite;
+import voting.domain.BoardElection;
+import voting.domain.Election;
+import voting.domain.MemberIndex;
+import voting.domain.Proposal;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class MemberIndexesTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+	private final MemberIndexes memberIndexes = new MemberIndexes();
+
+	@Test
+	void oneIndexPerHoa() {
+		MemberIndex first = memberIndexes.of(1);
+		assertSame(first, memberIndexes.of(1));
+		assertNotSame(first, memberIndexes.of(2));
+	}
+
+	@Test
+	void proposalsOfHoaShareMembers() {
+		Proposal first = proposal(1);
+		Proposal second = proposal(1);
+		Proposal other = proposal(2);
+		for (Proposal p : List.of(first, second, other)) {
+			memberIndexes.attach(p);
+			p.restoreBallot("a", "T");
+		}
+		second.restoreBallot("b", "F");
+
+		assertEquals(2, memberIndexes.of(1).size());
+		assertEquals(1, memberIndexes.of(2).size());
+		assertEquals(Map.of("a", true, "b", false), second.getVotes());
+	}
+
+	@Test
+	void boardElectionIsLeftAsIs() {
+		Election board = new BoardElection("b", "d", 1, START, 1, List.of("x"));
+		assertSame(board, memberIndexes.attach(board));
+		assertEquals(0, memberIndexes.of(1).size());
+	}
+
+	private static Proposal proposal(long hoaId) {
+		return new Proposal("p", "d", hoaId, START);
+	}
+}
@@ -0,0 +1,184 @@
+package voting.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import voting.annotations.TestSuite;
+import voting.db.repos.BallotRepository;
+import voting.db.repos.ElectionRepository;
+import voting.domain.Ballot;
+import voting.domain.Proposal;
+import voting.exceptions.CannotProceedVote;
+import voting.exceptions.ElectionDoesNotExist;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static voting.annotations.TestSuite.TestType.UNIT;
+
+@TestSuite(testType = {UNIT})
+class VoteSequencerTest {
+
+	private ElectionRepository repository;
+	private BallotRepository ballotRepository;
+	private VoteSequencer sequencer;
+	private Proposal proposal;
+	private ElectionCache cache;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ElectionRepository.class);
+		ballotRepository = mock(BallotRepository.class);
+		proposal = new Proposal("name", "desc", 1, LocalDateTime.now().minusDays(1));
+		proposal.setStatus("ongoing");
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal));
+		when(repository.findVersionByElectionId(0)).thenReturn(Optional.of(0L));
+		when(repository.save(any())).thenAnswer(i -> i.getArguments()[0]);
+		// A long flush interval puts all commands of a test in the same group
+		cache = new ElectionCache(10, 60_000, System::currentTimeMillis);
+		sequencer = new VoteSequencer(repository, ballotRepository, mock(LiveResultsPublisher.class), cache,
+			new MemberIndexes(), TransactionOperations.withoutTransaction(), 2, 100, 60_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		sequencer.shutdown();
+	}
+
+	private VoteSequencer.Command vote(String memberId, boolean choice) {
+		return state -> {
+			state.getElection().vote(memberId, choice);
+			state.record(memberId, LocalDateTime.now());
+			return state.getElection().getVoteCount();
+		};
+	}
+
+	@Test
+	void groupCommitsVotes() throws Exception {
+		Future<Integer> first = sequencer.submit(0, vote("a", true));
+		Future<Integer> second = sequencer.submit(0, vote("b", false));
+		assertEquals(1, first.get());
+		assertEquals(2, second.get());
+		assertEquals(Map.of("yes", 1, "no", 1), proposal.getTally());
+		verify(repository, times(1)).findByElectionId(0);
+		verify(repository, times(1)).save(proposal);
+		verify(ballotRepository, times(1)).saveAll(any());
+	}
+
+	@Test
+	void keepsElectionInMemory() throws Exception {
+		sequencer.submit(0, vote("a", true)).get();
+		sequencer.submit(0, vote("b", true)).get();
+		verify(repository, times(1)).findByElectionId(0);
+		verify(ballotRepository, times(1)).findAllByElectionId(0);
+		verify(repository, times(2)).save(proposal);
+	}
+
+	@Test
+	void refreshesCachedElection() throws Exception {
+		cache.put(proposal.snapshot());
+		sequencer.submit(0, vote("a", true)).get();
+		Proposal cached = (Proposal) cache.get(0).orElseThrow();
+		assertEquals(1, cached.getVoteCount());
+		assertTrue(cached.getVotes().get("a"));
+	}
+
+	@Test
+	void doesNotCacheUnreadElection() throws Exception {
+		sequencer.submit(0, vote("a", true)).get();
+		assertTrue(cache.get(0).isEmpty());
+	}
+
+	@Test
+	void unknownElection() {
+		Future<Integer> result = sequencer.submit(5, vote("a", true));
+		ExecutionException e = assertThrows(ExecutionException.class, result::get);
+		assertTrue(e.getCause() instanceof ElectionDoesNotExist);
+	}
+
+	@Test
+	void rejectedCommandIsNotWritten() {
+		Future<Integer> result = sequencer.submit(0, state -> {
+			throw new CannotProceedVote("closed");
+		});
+		ExecutionException e = assertThrows(ExecutionException.class, result::get);
+		assertTrue(e.getCause() instanceof CannotProceedVote);
+		verify(repository, never()).save(any());
+	}
+
+	@Test
+	void replaysGroupAfterConflict() throws Exception {
+		when(repository.save(any()))
+			.thenThrow(new ObjectOptimisticLockingFailureException(Proposal.class, 0))
+			.thenAnswer(i -> i.getArguments()[0]);
+		Proposal reloaded = new Proposal("name", "desc", 1, LocalDateTime.now().minusDays(1));
+		reloaded.setStatus("ongoing");
+		reloaded.vote("c", true);
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal)).thenReturn(Optional.of(reloaded));
+		when(ballotRepository.findAllByElectionId(0)).thenReturn(List.of())
+			.thenReturn(List.of(new Ballot(0, "c", "T", LocalDateTime.now())));
+
+		assertEquals(2, sequencer.submit(0, vote("a", true)).get());
+		assertEquals(Map.of("yes", 2, "no", 0), reloaded.getTally());
+		verify(repository, times(2)).findByElectionId(0);
+	}
+
+	@Test
+	void rechecksRejectionOnChangedElection() throws Exception {
+		sequencer.submit(0, vote("a", true)).get();
+		// Another instance recorded the vote of b meanwhile
+		Proposal reloaded = new Proposal("name", "desc", 1, LocalDateTime.now().minusDays(1));
+		reloaded.setStatus("ongoing");
+		reloaded.setVersion(1);
+		reloaded.vote("b", false);
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(reloaded));
+		when(ballotRepository.findAllByElectionId(0))
+			.thenReturn(List.of(new Ballot(0, "b", "F", LocalDateTime.now())));
+		when(repository.findVersionByElectionId(0)).thenReturn(Optional.of(1L));
+
+		Future<Integer> removed = sequencer.submit(0, state -> {
+			state.getElection().removeVote("b");
+			state.record("b", LocalDateTime.now());
+			return state.getElection().getVoteCount();
+		});
+
+		assertEquals(0, removed.get());
+		verify(repository, times(2)).findByElectionId(0);
+	}
+
+	@Test
+	void rejectionOnDeletedElection() {
+		when(repository.findVersionByElectionId(0)).thenReturn(Optional.empty());
+		when(repository.findByElectionId(0)).thenReturn(Optional.of(proposal)).thenReturn(Optional.empty());
+
+		Future<Integer> result = sequencer.submit(0, state -> {
+			throw new CannotProceedVote("closed");
+		});
+
+		ExecutionException e = assertThrows(ExecutionException.class, result::get);
+		assertTrue(e.getCause() instanceof ElectionDoesNotExist);
+	}
+
+	@Test
+	void reloadsElectionChangedOutside() throws Exception {
+		sequencer.submit(0, vote("a", true)).get();
+		sequencer.evictAfterCommit(0);
+		sequencer.submit(0, vote("b", true)).get();
+		verify(repository, times(2)).findByElectionId(0);
+	}
+}
@@ -0,0 +1,36 @@
+-- Schema the voting microservice had before the ballot ledger and the state column, as Hibernate created it
+CREATE SEQUENCE HIBERNATE_SEQUENCE START WITH 1;
+
+CREATE TABLE ELECTIONS(
+    ELECTION_TYPE INTEGER NOT NULL,
+    ELECTION_ID INTEGER NOT NULL,
+    DESCRIPTION VARCHAR(255),
+    HOA_ID BIGINT NOT NULL,
+    NAME VARCHAR(255),
+    SCHEDULED_FOR TIMESTAMP,
+    STATUS VARCHAR(255),
+    VOTE_COUNT INTEGER NOT NULL,
+    AMOUNT_OF_WINNERS INTEGER,
+    CANDIDATES VARCHAR(255),
+    VOTES VARCHAR(255),
+    WINNING_CHOICE BOOLEAN
+);
+
+ALTER TABLE ELECTIONS ADD CONSTRAINT PK_ELECTIONS PRIMARY KEY(ELECTION_ID);
+
+-- Election types: 0 is a board election, 1 a proposal
+INSERT INTO ELECTIONS VALUES (0, 1, 'desc', 1, 'board', TIMESTAMP '2020-01-01 10:00:00', 'finished', 2, 1, 'x,y',
+    'a=x,b=y', NULL);
+INSERT INTO ELECTIONS VALUES (0, 2, 'desc', 2, 'board', TIMESTAMP '2020-06-01 10:00:00', 'ongoing', 3, 1, 'x,y',
+    'a=x,b=y,c=x', NULL);
+INSERT INTO ELECTIONS VALUES (1, 3, 'desc', 1, 'proposal', TIMESTAMP '2020-06-01 10:00:00', 'ongoing', 3, NULL, NULL,
+    'a=T,b=F,c=T', FALSE);
+INSERT INTO ELECTIONS VALUES (1, 4, 'desc', 1, 'upcoming', TIMESTAMP '2999-01-01 10:00:00', NULL, 0, NULL, NULL,
+    '', FALSE);
+-- The previous version let a second board election of HOA 2 start next to the one above
+INSERT INTO ELECTIONS VALUES (0, 5, 'desc', 2, 'board', TIMESTAMP '2020-03-01 10:00:00', 'ongoing', 0, 1, 'x,y',
+    '', NULL);
+INSERT INTO ELECTIONS VALUES (0, 6, 'desc', 3, 'board', TIMESTAMP '2999-01-01 10:00:00', NULL, 0, 1, 'x,y',
+    '', NULL);
+
+ALTER SEQUENCE HIBERNATE_SEQUENCE RESTART WITH 7;